@@ -1,12 +1,35 @@
 package ee.taltech.todo;
 
+import ch.qos.logback.classic.LoggerContext;
 import com.sun.net.httpserver.HttpServer;
+import ee.taltech.todo.config.AppConfig;
 import ee.taltech.todo.controller.CategoryController;
+import ee.taltech.todo.controller.EventController;
 import ee.taltech.todo.controller.TaskController;
+import ee.taltech.todo.event.ChangeEventBus;
+import ee.taltech.todo.metrics.MetricsHandler;
+import ee.taltech.todo.metrics.MetricsRegistry;
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.persistence.CategoryCodec;
+import ee.taltech.todo.persistence.JournalSettings;
+import ee.taltech.todo.persistence.RepositoryJournal;
+import ee.taltech.todo.persistence.TaskCodec;
 import ee.taltech.todo.repository.CategoryRepository;
+import ee.taltech.todo.repository.Database;
 import ee.taltech.todo.repository.InMemoryCategoryRepository;
 import ee.taltech.todo.repository.InMemoryTaskRepository;
+import ee.taltech.todo.repository.JdbcCategoryRepository;
+import ee.taltech.todo.repository.JdbcTaskRepository;
 import ee.taltech.todo.repository.TaskRepository;
+import ee.taltech.todo.repository.TimedCategoryRepository;
+import ee.taltech.todo.repository.TimedTaskRepository;
+import ee.taltech.todo.server.CompressionSettings;
+import ee.taltech.todo.server.ResponseWriter;
+import ee.taltech.todo.server.Router;
+import ee.taltech.todo.server.ServerExecutors;
+import ee.taltech.todo.server.ServerSettings;
+import ee.taltech.todo.server.StaticAssets;
 import ee.taltech.todo.service.CategoryService;
 import ee.taltech.todo.service.CategoryServiceImpl;
 import ee.taltech.todo.service.TaskService;
@@ -15,11 +38,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.InetSocketAddress;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Main application class for ToDo Application.
@@ -35,6 +58,16 @@ public class TodoApplication {
     private static final Logger logger = LoggerFactory.getLogger(TodoApplication.class);
     private static final int PORT = 8081;
 
+    /**
+     * Seconds to wait for running requests on shutdown.
+     */
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    /**
+     * Storage resources to close on shutdown, in the order they were opened.
+     */
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
     public static void main(String[] args) {
         logger.info("Starting ToDo Application...");
 
@@ -53,51 +86,85 @@ public class TodoApplication {
      * Starts the application.
      */
     public void start() throws IOException {
+        long startTime = System.nanoTime();
+        AppConfig config = AppConfig.load();
+
         // Initialize Repositories
-        TaskRepository taskRepository = new InMemoryTaskRepository();
-        CategoryRepository categoryRepository = new InMemoryCategoryRepository();
+        String repositoryType = config.getString("repository.type", "memory");
+        boolean caseInsensitiveNames = config.getBoolean("category.names.caseInsensitive", false);
+        TaskRepository taskRepository;
+        CategoryRepository categoryRepository;
 
-        logger.info("Repositories initialized");
+        if ("jdbc".equalsIgnoreCase(repositoryType)) {
+            Database database = Database.fromConfig(config);
+            resources.add(database);
+            taskRepository = new JdbcTaskRepository(database);
+            categoryRepository = new JdbcCategoryRepository(database, caseInsensitiveNames);
+        } else {
+            InMemoryTaskRepository tasks = new InMemoryTaskRepository();
+            InMemoryCategoryRepository categories = new InMemoryCategoryRepository(caseInsensitiveNames);
+            if (config.getBoolean("wal.enabled", false)) {
+                openJournals(JournalSettings.fromConfig(config), tasks, categories,
+                        config.getBoolean("wal.preload", true));
+            }
+            taskRepository = tasks;
+            categoryRepository = categories;
+        }
 
-        // Initialize Services
-        TaskService taskService = new TaskServiceImpl(taskRepository, categoryRepository);
-        CategoryService categoryService = new CategoryServiceImpl(categoryRepository);
+        // Time repository operations and API requests for /metrics
+        MetricsRegistry metrics = config.getBoolean("metrics.enabled", true) ? new MetricsRegistry() : null;
+        if (metrics != null) {
+            taskRepository = new TimedTaskRepository(taskRepository, metrics, "tasks");
+            categoryRepository = new TimedCategoryRepository(categoryRepository, metrics, "categories");
+        }
+
+        logger.info("Repositories initialized (type: {})", repositoryType);
+
+        // Initialize Services (both publish their changes to the shared event bus)
+        ChangeEventBus events = new ChangeEventBus();
+        TaskService taskService = new TaskServiceImpl(taskRepository, categoryRepository, events);
+        CategoryService categoryService = new CategoryServiceImpl(categoryRepository, events);
 
         logger.info("Services initialized");
 
-        // Initialize Controllers
-        TaskController taskController = new TaskController(taskService);
-        CategoryController categoryController = new CategoryController(categoryService);
+        // Initialize Controllers (responses are compressed by one shared writer)
+        CompressionSettings compression = CompressionSettings.fromConfig(config);
+        ResponseWriter responses = new ResponseWriter(compression);
+        TaskController taskController = new TaskController(taskService, responses);
+        CategoryController categoryController = new CategoryController(categoryService, responses);
+        EventController eventController = new EventController(events,
+                config.getInt("events.coalesceMillis", 50),
+                config.getInt("events.maxPending", 1000),
+                config.getInt("events.heartbeatSeconds", 15),
+                config.getInt("events.writerThreads", 2));
 
         logger.info("Controllers initialized");
 
         // Create and configure HTTP Server
-        HttpServer server = HttpServer.create(new InetSocketAddress(PORT), 0);
+        ServerSettings serverSettings = ServerSettings.fromConfig(config);
+        serverSettings.applySystemProperties();
+        HttpServer server = HttpServer.create(new InetSocketAddress(PORT), serverSettings.getBacklog());
 
         // Register API endpoints
-        server.createContext("/api/v1/tasks", taskController);
-        server.createContext("/api/v1/categories", categoryController);
-
-        // Serve static files (frontend)
-        server.createContext("/", exchange -> {
-            String path = exchange.getRequestURI().getPath();
-
-            // Default to index.html
-            if (path.equals("/") || path.equals("/index.html")) {
-                serveStaticFile(exchange, "src/main/resources/static/index.html", "text/html");
-            } else if (path.endsWith(".css")) {
-                serveStaticFile(exchange, "src/main/resources/static" + path, "text/css");
-            } else if (path.endsWith(".js")) {
-                serveStaticFile(exchange, "src/main/resources/static" + path, "application/javascript");
-            } else {
-                // Try to serve the requested file
-                serveStaticFile(exchange, "src/main/resources/static" + path, "text/html");
-            }
-        });
+        Router router = new Router(metrics);
+        taskController.registerRoutes(router);
+        categoryController.registerRoutes(router);
+        eventController.registerRoutes(router);
+        server.createContext("/api/v1", router);
+        if (metrics != null) {
+            server.createContext("/metrics", new MetricsHandler(metrics, responses));
+        }
+
+        // Serve static files (frontend) from memory
+        StaticAssets staticAssets = loadStaticAssets(config, compression);
+        server.createContext("/", staticAssets);
 
-        server.setExecutor(null); // Use default executor
+        // Run handlers off the dispatcher thread so one slow request does not stall the others
+        ExecutorService executor = ServerExecutors.create(serverSettings);
+        server.setExecutor(executor);
 
         server.start();
+        logger.info("Ready in {} ms", (System.nanoTime() - startTime) / 1_000_000);
 
         logger.info("╔═══════════════════════════════════════════════════════════════╗");
         logger.info("║                                                               ║");
@@ -105,6 +172,9 @@ public class TodoApplication {
         logger.info("║                                                               ║");
         logger.info("║   Frontend:  http://localhost:{}                           ║", PORT);
         logger.info("║   API:       http://localhost:{}/api/v1/tasks              ║", PORT);
+        if (metrics != null) {
+            logger.info("║   Metrics:   http://localhost:{}/metrics                   ║", PORT);
+        }
         logger.info("║                                                               ║");
         logger.info("║   Press Ctrl+C to stop the server                            ║");
         logger.info("║                                                               ║");
@@ -117,45 +187,93 @@ public class TodoApplication {
         // Add shutdown hook
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             logger.info("Shutting down ToDo Application...");
+            eventController.close();
             server.stop(0);
+            ServerExecutors.shutdown(executor, SHUTDOWN_TIMEOUT_SECONDS);
+            responses.close();
+            staticAssets.close();
+            closeResources();
             logger.info("Server stopped");
+            flushLogs();
         }));
     }
 
     /**
-     * Serves a static file from the file system.
+     * Restores the in-memory repositories from their snapshots and write-ahead logs
+     * and attaches the journals. Categories are restored first so tasks can resolve
+     * their category. Snapshot entities are decoded lazily, so startup time does not
+     * grow with the data set.
      *
-     * @param exchange    The HTTP exchange
-     * @param filePath    Path to the file
-     * @param contentType Content type of the file
+     * @param settings   Journal settings
+     * @param tasks      Empty task repository
+     * @param categories Empty category repository
+     * @param preload    Whether to decode the remaining snapshot entities in the background
      */
-    private void serveStaticFile(com.sun.net.httpserver.HttpExchange exchange, String filePath, String contentType) {
-        try {
-            Path path = Paths.get(filePath);
-
-            if (Files.exists(path)) {
-                byte[] bytes = Files.readAllBytes(path);
-                exchange.getResponseHeaders().set("Content-Type", contentType);
-                exchange.sendResponseHeaders(200, bytes.length);
-                OutputStream os = exchange.getResponseBody();
-                os.write(bytes);
-                os.close();
-            } else {
-                // File not found
-                String notFound = "<h1>404 - File Not Found</h1>";
-                exchange.sendResponseHeaders(404, notFound.length());
-                OutputStream os = exchange.getResponseBody();
-                os.write(notFound.getBytes());
-                os.close();
-            }
-        } catch (IOException e) {
-            logger.error("Error serving static file: {}", filePath, e);
+    private void openJournals(JournalSettings settings, InMemoryTaskRepository tasks,
+                              InMemoryCategoryRepository categories, boolean preload) {
+        RepositoryJournal<Category> categoryJournal =
+                RepositoryJournal.open("categories", categories, new CategoryCodec(), settings);
+        resources.add(categoryJournal);
+
+        RepositoryJournal<Task> taskJournal = RepositoryJournal.open("tasks", tasks,
+                new TaskCodec(id -> categories.findById(id).orElse(null)), settings);
+        resources.add(taskJournal);
+
+        if (!preload) {
+            return;
+        }
+
+        // Snapshot entities are decoded on first access; finish decoding in the background
+        Thread preloader = new Thread(() -> {
+            categories.preload();
+            tasks.preload();
+        }, "snapshot-preload");
+        preloader.setDaemon(true);
+        preloader.start();
+    }
+
+    /**
+     * Writes out the log events still queued in the async appenders. Logback's
+     * own shutdown hook is not installed, so this runs after the last message.
+     */
+    private static void flushLogs() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext) {
+            ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        }
+    }
+
+    /**
+     * Closes the storage resources in reverse order of opening.
+     */
+    private void closeResources() {
+        for (int i = resources.size() - 1; i >= 0; i--) {
             try {
-                exchange.sendResponseHeaders(500, 0);
-                exchange.close();
-            } catch (IOException ex) {
-                logger.error("Error sending error response", ex);
+                resources.get(i).close();
+            } catch (Exception e) {
+                logger.error("Failed to close {}", resources.get(i), e);
             }
         }
+        resources.clear();
+    }
+
+    /**
+     * Loads the frontend's files: from the classpath, or in development from
+     * {@code static.devDirectory}, reloading them whenever they change.
+     *
+     * @param config      Application configuration
+     * @param compression Response compression settings
+     * @return The loaded assets
+     * @throws IOException if the files cannot be read
+     */
+    private StaticAssets loadStaticAssets(AppConfig config, CompressionSettings compression) throws IOException {
+        int maxAgeSeconds = config.getInt("static.maxAgeSeconds", 0);
+        String devDirectory = config.getString("static.devDirectory", "");
+        if (devDirectory.isEmpty()) {
+            return StaticAssets.fromClasspath("static", compression, maxAgeSeconds);
+        }
+
+        StaticAssets assets = StaticAssets.fromDirectory(Paths.get(devDirectory), compression, maxAgeSeconds);
+        assets.watch();
+        return assets;
     }
 }
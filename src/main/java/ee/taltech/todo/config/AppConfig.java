@@ -0,0 +1,121 @@
+package ee.taltech.todo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Application configuration backed by {@code application.properties}.
+ *
+ * Values are read from the classpath resource and can be overridden with JVM
+ * system properties of the same name (e.g. {@code -Drepository.type=jdbc}).
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class AppConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppConfig.class);
+
+    /**
+     * Default classpath location of the configuration file.
+     */
+    public static final String DEFAULT_RESOURCE = "/application.properties";
+
+    private final Properties properties;
+
+    /**
+     * Creates a configuration from the given properties.
+     *
+     * @param properties The configuration values
+     */
+    public AppConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Loads the configuration from the default classpath resource.
+     *
+     * @return The loaded configuration (empty if the resource is missing)
+     */
+    public static AppConfig load() {
+        return load(DEFAULT_RESOURCE);
+    }
+
+    /**
+     * Loads the configuration from a classpath resource.
+     *
+     * @param resource Classpath location of the properties file
+     * @return The loaded configuration (empty if the resource is missing)
+     */
+    public static AppConfig load(String resource) {
+        Properties properties = new Properties();
+
+        try (InputStream is = AppConfig.class.getResourceAsStream(resource)) {
+            if (is != null) {
+                properties.load(is);
+                logger.info("Configuration loaded from {}", resource);
+            } else {
+                logger.warn("Configuration resource {} not found, using defaults", resource);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read configuration resource {}, using defaults", resource, e);
+        }
+
+        return new AppConfig(properties);
+    }
+
+    /**
+     * Gets a string value.
+     *
+     * @param key          The property key
+     * @param defaultValue Value to use if the key is not set
+     * @return The configured value
+     */
+    public String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = properties.getProperty(key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    /**
+     * Gets an integer value.
+     *
+     * @param key          The property key
+     * @param defaultValue Value to use if the key is not set
+     * @return The configured value
+     * @throws IllegalArgumentException if the value is not a valid integer
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * Gets a boolean value.
+     *
+     * @param key          The property key
+     * @param defaultValue Value to use if the key is not set
+     * @return The configured value
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value);
+    }
+}
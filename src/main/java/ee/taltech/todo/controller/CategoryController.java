@@ -1,117 +1,82 @@
 package ee.taltech.todo.controller;
 
 import com.sun.net.httpserver.HttpExchange;
-import com.sun.net.httpserver.HttpHandler;
 import ee.taltech.todo.dto.CategoryDTO;
 import ee.taltech.todo.dto.CreateCategoryRequest;
 import ee.taltech.todo.exception.CategoryNotFoundException;
 import ee.taltech.todo.exception.DuplicateEntityException;
+import ee.taltech.todo.exception.OptimisticLockException;
 import ee.taltech.todo.exception.ValidationException;
 import ee.taltech.todo.model.Category;
+import ee.taltech.todo.server.CompressionSettings;
+import ee.taltech.todo.server.ConditionalRequests;
+import ee.taltech.todo.server.ResponseWriter;
+import ee.taltech.todo.server.Router;
 import ee.taltech.todo.service.CategoryService;
+import ee.taltech.todo.util.EntityJson;
 import ee.taltech.todo.util.JsonUtil;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * REST API controller for Category operations.
  *
- * Handles HTTP requests for category management.
+ * Handles HTTP requests for category management,
+ * dispatched by the shared {@link Router}.
  *
  * @author ToDo Application
  * @version 1.0
  */
-public class CategoryController implements HttpHandler {
-
-    private static final Logger logger = LoggerFactory.getLogger(CategoryController.class);
+public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ResponseWriter responses;
 
     /**
-     * Constructor with dependency injection.
+     * Constructor with dependency injection. Responses are compressed with the
+     * default settings.
      *
      * @param categoryService The category service
      */
     public CategoryController(CategoryService categoryService) {
-        this.categoryService = categoryService;
-    }
-
-    @Override
-    public void handle(HttpExchange exchange) throws IOException {
-        // Add CORS headers
-        exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
-        exchange.getResponseHeaders().add("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
-        exchange.getResponseHeaders().add("Access-Control-Allow-Headers", "Content-Type");
-
-        // Handle preflight OPTIONS request
-        if ("OPTIONS".equals(exchange.getRequestMethod())) {
-            exchange.sendResponseHeaders(204, -1);
-            return;
-        }
-
-        String method = exchange.getRequestMethod();
-        String path = exchange.getRequestURI().getPath();
-
-        logger.debug("Handling {} request to {}", method, path);
-
-        try {
-            if (path.matches("/api/v1/categories/?$")) {
-                handleCategoriesEndpoint(exchange, method);
-            } else if (path.matches("/api/v1/categories/[^/]+/?$")) {
-                String categoryId = extractId(path);
-                handleCategoryByIdEndpoint(exchange, method, categoryId);
-            } else {
-                sendError(exchange, 404, "Endpoint not found");
-            }
-        } catch (Exception e) {
-            logger.error("Error handling request", e);
-            sendError(exchange, 500, "Internal server error: " + e.getMessage());
-        }
+        this(categoryService, new ResponseWriter(CompressionSettings.defaults()));
     }
 
-    private void handleCategoriesEndpoint(HttpExchange exchange, String method) throws IOException {
-        switch (method) {
-            case "GET":
-                handleGetAllCategories(exchange);
-                break;
-            case "POST":
-                handleCreateCategory(exchange);
-                break;
-            default:
-                sendError(exchange, 405, "Method not allowed");
-        }
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param categoryService The category service
+     * @param responses       Writer for response bodies, shared with the other handlers
+     */
+    public CategoryController(CategoryService categoryService, ResponseWriter responses) {
+        this.categoryService = categoryService;
+        this.responses = responses;
     }
 
-    private void handleCategoryByIdEndpoint(HttpExchange exchange, String method, String categoryId) throws IOException {
-        switch (method) {
-            case "GET":
-                handleGetCategory(exchange, categoryId);
-                break;
-            case "PUT":
-                handleUpdateCategory(exchange, categoryId);
-                break;
-            case "DELETE":
-                handleDeleteCategory(exchange, categoryId);
-                break;
-            default:
-                sendError(exchange, 405, "Method not allowed");
-        }
+    /**
+     * Registers the category endpoints.
+     *
+     * @param router The router to register with
+     */
+    public void registerRoutes(Router router) {
+        router.add("GET", "/api/v1/categories", (exchange, vars) -> handleGetAllCategories(exchange))
+                .add("POST", "/api/v1/categories", (exchange, vars) -> handleCreateCategory(exchange))
+                .add("GET", "/api/v1/categories/{id}", (exchange, vars) -> handleGetCategory(exchange, vars[0]))
+                .add("PUT", "/api/v1/categories/{id}", (exchange, vars) -> handleUpdateCategory(exchange, vars[0]))
+                .add("DELETE", "/api/v1/categories/{id}", (exchange, vars) -> handleDeleteCategory(exchange, vars[0]));
     }
 
     private void handleGetAllCategories(HttpExchange exchange) throws IOException {
+        // Read the version before the categories, so the tag is never newer than the list
+        long version = categoryService.getCollectionVersion();
+        if (ConditionalRequests.notModified(exchange, ConditionalRequests.collectionTag(version))) {
+            return;
+        }
         List<Category> categories = categoryService.getAllCategories();
-        List<CategoryDTO> dtos = categories.stream()
-                .map(CategoryDTO::fromEntity)
-                .collect(Collectors.toList());
-
-        sendJsonResponse(exchange, 200, dtos);
+        sendCategories(exchange, categories);
     }
 
     private void handleCreateCategory(HttpExchange exchange) throws IOException {
@@ -135,6 +100,9 @@ public class CategoryController implements HttpHandler {
     private void handleGetCategory(HttpExchange exchange, String categoryId) throws IOException {
         try {
             Category category = categoryService.getCategoryById(categoryId);
+            if (ConditionalRequests.notModified(exchange, ConditionalRequests.entityTag(category.getVersion()))) {
+                return;
+            }
             CategoryDTO dto = CategoryDTO.fromEntity(category);
             sendJsonResponse(exchange, 200, dto);
         } catch (CategoryNotFoundException e) {
@@ -147,7 +115,8 @@ public class CategoryController implements HttpHandler {
             String body = readRequestBody(exchange);
             CreateCategoryRequest request = JsonUtil.fromJson(body, CreateCategoryRequest.class);
 
-            Category category = categoryService.getCategoryById(categoryId);
+            // Changes go to a copy: the stored category only changes if the save is accepted
+            Category category = categoryService.getCategoryById(categoryId).copy();
 
             // Update fields if provided
             if (request.getName() != null) category.setName(request.getName());
@@ -163,7 +132,7 @@ public class CategoryController implements HttpHandler {
             sendError(exchange, 404, e.getMessage());
         } catch (ValidationException e) {
             sendError(exchange, 400, e.getMessage());
-        } catch (DuplicateEntityException e) {
+        } catch (DuplicateEntityException | OptimisticLockException e) {
             sendError(exchange, 409, e.getMessage());
         }
     }
@@ -177,39 +146,28 @@ public class CategoryController implements HttpHandler {
         }
     }
 
-    private String extractId(String path) {
-        String[] parts = path.split("/");
-        return parts[parts.length - 1];
-    }
-
     private String readRequestBody(HttpExchange exchange) throws IOException {
         InputStream is = exchange.getRequestBody();
         return new String(is.readAllBytes(), StandardCharsets.UTF_8);
     }
 
     private void sendJsonResponse(HttpExchange exchange, int statusCode, Object data) throws IOException {
-        exchange.getResponseHeaders().set("Content-Type", "application/json");
-
-        String response = data != null ? JsonUtil.toJson(data) : "";
-        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        responses.sendJson(exchange, statusCode, data);
+    }
 
-        exchange.sendResponseHeaders(statusCode, bytes.length);
-        if (bytes.length > 0) {
-            OutputStream os = exchange.getResponseBody();
-            os.write(bytes);
-            os.close();
-        }
+    /**
+     * Streams a JSON array of categories, compressed if the client accepts it (see
+     * {@link ResponseWriter#openStream}). Each category's JSON is cached on the
+     * entity, so unchanged categories are copied as stored bytes.
+     * If writing fails part way, the connection is closed without the final chunk,
+     * so the client sees an incomplete response rather than truncated JSON.
+     */
+    private void sendCategories(HttpExchange exchange, List<Category> categories) throws IOException {
+        EntityJson.writeCategories(responses.openStream(exchange, 200, ResponseWriter.JSON), categories);
     }
 
     private void sendError(HttpExchange exchange, int statusCode, String message) throws IOException {
-        exchange.getResponseHeaders().set("Content-Type", "application/json");
-
         String error = String.format("{\"error\": \"%s\", \"status\": %d}", message, statusCode);
-        byte[] bytes = error.getBytes(StandardCharsets.UTF_8);
-
-        exchange.sendResponseHeaders(statusCode, bytes.length);
-        OutputStream os = exchange.getResponseBody();
-        os.write(bytes);
-        os.close();
+        responses.send(exchange, statusCode, ResponseWriter.JSON, error.getBytes(StandardCharsets.UTF_8));
     }
 }
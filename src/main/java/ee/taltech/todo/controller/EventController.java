@@ -0,0 +1,241 @@
+package ee.taltech.todo.controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import ee.taltech.todo.dto.CategoryDTO;
+import ee.taltech.todo.dto.TaskDTO;
+import ee.taltech.todo.event.ChangeEvent;
+import ee.taltech.todo.event.ChangeEventBus;
+import ee.taltech.todo.event.CoalescingSubscriber;
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.server.Router;
+import ee.taltech.todo.util.JsonUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams task and category changes to clients as Server-Sent Events.
+ *
+ * {@code GET /api/v1/events} keeps the response open and writes one event per
+ * changed entity, so a client can apply deltas instead of polling the lists:
+ * <ul>
+ *   <li>{@code task} / {@code category} - the entity was created or updated; data is its DTO</li>
+ *   <li>{@code task-deleted} / {@code category-deleted} - data is {@code {"id": ...}}</li>
+ *   <li>{@code resync} - the client fell behind and events were dropped; reload everything</li>
+ * </ul>
+ *
+ * Each client gets a {@link CoalescingSubscriber}, so publishing a change never
+ * waits for a client's socket, bursts are coalesced per entity, and a client that
+ * reads too slowly is sent a resync instead of buffering without bound. Writes
+ * happen on a small pool of daemon threads owned by this controller; the request
+ * handler itself returns immediately. A comment line is sent every heartbeat
+ * interval so dead connections are noticed and intermediaries keep the stream open.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class EventController implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventController.class);
+
+    /**
+     * Milliseconds a browser waits before reconnecting after the stream drops.
+     */
+    private static final int RETRY_MILLIS = 3000;
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RESYNC = "event: resync\ndata: {}\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ChangeEventBus events;
+    private final long coalesceMillis;
+    private final int maxPending;
+    private final ScheduledExecutorService executor;
+    private final Set<CoalescingSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor with all settings.
+     *
+     * @param events           The bus the services publish changes to
+     * @param coalesceMillis   How long to collect changes before writing them to a client
+     * @param maxPending       Distinct changes a client may fall behind before it is told to resync
+     * @param heartbeatSeconds Seconds between keep-alive comments
+     * @param writerThreads    Threads writing to clients
+     * @throws IllegalArgumentException if a value is invalid
+     */
+    public EventController(ChangeEventBus events, long coalesceMillis, int maxPending,
+                           int heartbeatSeconds, int writerThreads) {
+        if (events == null) {
+            throw new IllegalArgumentException("ChangeEventBus cannot be null");
+        }
+        if (coalesceMillis < 0) {
+            throw new IllegalArgumentException("Coalesce delay cannot be negative");
+        }
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Maximum pending events must be positive");
+        }
+        if (heartbeatSeconds <= 0) {
+            throw new IllegalArgumentException("Heartbeat interval must be positive");
+        }
+        if (writerThreads <= 0) {
+            throw new IllegalArgumentException("Writer thread count must be positive");
+        }
+        this.events = events;
+        this.coalesceMillis = coalesceMillis;
+        this.maxPending = maxPending;
+        this.executor = Executors.newScheduledThreadPool(writerThreads, new WriterThreadFactory());
+        executor.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Registers the event stream endpoint.
+     *
+     * @param router The router to register with
+     */
+    public void registerRoutes(Router router) {
+        router.add("GET", "/api/v1/events", (exchange, vars) -> handleSubscribe(exchange));
+    }
+
+    /**
+     * Gets the number of connected clients.
+     *
+     * @return The subscriber count
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Disconnects all clients and stops the writer threads.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (CoalescingSubscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+    }
+
+    private void handleSubscribe(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=UTF-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+
+        // Flushes the headers, so the client sees the stream open right away
+        OutputStream out = exchange.getResponseBody();
+        out.write(("retry: " + RETRY_MILLIS + "\n\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+
+        SseSink sink = new SseSink(exchange, out);
+        CoalescingSubscriber subscriber = new CoalescingSubscriber(executor, coalesceMillis, maxPending, sink);
+        sink.subscriber = subscriber;
+        subscribers.add(subscriber);
+        events.subscribe(subscriber);
+        logger.info("Event stream opened for {} ({} connected)", exchange.getRemoteAddress(), subscribers.size());
+    }
+
+    private void sendHeartbeats() {
+        for (CoalescingSubscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    /**
+     * Formats one change as an SSE event: the event name, then the JSON one {@code data:} line per line.
+     *
+     * @param event The change
+     * @return The event text, ending with the blank line that dispatches it
+     */
+    static String format(ChangeEvent event) {
+        boolean task = event.getEntityType() == ChangeEvent.EntityType.TASK;
+        String name = task ? "task" : "category";
+        String json;
+        if (event.getAction() == ChangeEvent.Action.DELETED) {
+            name += "-deleted";
+            json = JsonUtil.toJson(Collections.singletonMap("id", event.getEntityId()));
+        } else if (task) {
+            json = JsonUtil.toJson(TaskDTO.fromEntity((Task) event.getEntity()));
+        } else {
+            json = JsonUtil.toJson(CategoryDTO.fromEntity((Category) event.getEntity()));
+        }
+
+        StringBuilder text = new StringBuilder(json.length() + 64);
+        text.append("event: ").append(name).append('\n');
+        for (String line : json.split("\n", -1)) {
+            text.append("data: ").append(line).append('\n');
+        }
+        return text.append('\n').toString();
+    }
+
+    /**
+     * Writes a subscriber's events to its open response.
+     */
+    private final class SseSink implements CoalescingSubscriber.Sink {
+
+        private final HttpExchange exchange;
+        private final OutputStream out;
+        private CoalescingSubscriber subscriber;
+
+        SseSink(HttpExchange exchange, OutputStream out) {
+            this.exchange = exchange;
+            this.out = out;
+        }
+
+        @Override
+        public void send(List<ChangeEvent> changes) throws IOException {
+            StringBuilder text = new StringBuilder();
+            for (ChangeEvent change : changes) {
+                text.append(format(change));
+            }
+            out.write(text.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        @Override
+        public void resync() throws IOException {
+            out.write(RESYNC);
+            out.flush();
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            out.write(HEARTBEAT);
+            out.flush();
+        }
+
+        @Override
+        public void close() {
+            events.unsubscribe(subscriber);
+            subscribers.remove(subscriber);
+            exchange.close();
+            logger.info("Event stream closed for {} ({} connected)", exchange.getRemoteAddress(), subscribers.size());
+        }
+    }
+
+    /**
+     * Names writer threads {@code event-writer-N}; they are daemons so open streams do not keep the JVM alive.
+     */
+    private static final class WriterThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "event-writer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
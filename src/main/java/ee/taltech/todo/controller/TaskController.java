@@ -1,136 +1,122 @@
 package ee.taltech.todo.controller;
 
+import com.google.gson.JsonParseException;
 import com.sun.net.httpserver.HttpExchange;
-import com.sun.net.httpserver.HttpHandler;
+import ee.taltech.todo.dto.BatchOperationRequest;
+import ee.taltech.todo.dto.BatchResultDTO;
 import ee.taltech.todo.dto.CreateTaskRequest;
 import ee.taltech.todo.dto.TaskDTO;
+import ee.taltech.todo.dto.TaskStatsDTO;
 import ee.taltech.todo.dto.UpdateTaskRequest;
+import ee.taltech.todo.exception.OptimisticLockException;
 import ee.taltech.todo.exception.TaskNotFoundException;
 import ee.taltech.todo.exception.ValidationException;
 import ee.taltech.todo.model.Task;
 import ee.taltech.todo.model.TaskPriority;
 import ee.taltech.todo.model.TaskStatus;
+import ee.taltech.todo.repository.PageRequest;
+import ee.taltech.todo.repository.TaskPage;
+import ee.taltech.todo.repository.TaskQuery;
+import ee.taltech.todo.server.CompressionSettings;
+import ee.taltech.todo.server.ConditionalRequests;
+import ee.taltech.todo.server.ResponseWriter;
+import ee.taltech.todo.server.Router;
+import ee.taltech.todo.service.TaskBatchOperation;
+import ee.taltech.todo.service.TaskBatchResult;
 import ee.taltech.todo.service.TaskService;
+import ee.taltech.todo.util.EntityJson;
 import ee.taltech.todo.util.JsonUtil;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.UnaryOperator;
 
 /**
  * REST API controller for Task operations.
  *
  * Handles HTTP requests for task management.
- * Provides RESTful endpoints for CRUD operations and task queries.
+ * Provides RESTful endpoints for CRUD operations and task queries,
+ * dispatched by the shared {@link Router}.
  *
  * @author ToDo Application
  * @version 1.0
  */
-public class TaskController implements HttpHandler {
+public class TaskController {
 
-    private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
+    /**
+     * Response header carrying the cursor of the next page of a list.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Response header carrying a task's version, required back in If-Match by
+     * conditional updates.
+     */
+    public static final String ETAG_HEADER = ConditionalRequests.ETAG_HEADER;
 
     private final TaskService taskService;
+    private final ResponseWriter responses;
 
     /**
-     * Constructor with dependency injection.
+     * Constructor with dependency injection. Responses are compressed with the
+     * default settings.
      *
      * @param taskService The task service
      */
     public TaskController(TaskService taskService) {
-        this.taskService = taskService;
+        this(taskService, new ResponseWriter(CompressionSettings.defaults()));
     }
 
-    @Override
-    public void handle(HttpExchange exchange) throws IOException {
-        // Add CORS headers
-        exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
-        exchange.getResponseHeaders().add("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
-        exchange.getResponseHeaders().add("Access-Control-Allow-Headers", "Content-Type");
-
-        // Handle preflight OPTIONS request
-        if ("OPTIONS".equals(exchange.getRequestMethod())) {
-            exchange.sendResponseHeaders(204, -1);
-            return;
-        }
-
-        String method = exchange.getRequestMethod();
-        String path = exchange.getRequestURI().getPath();
-
-        logger.debug("Handling {} request to {}", method, path);
-
-        try {
-            if (path.matches("/api/v1/tasks/?$")) {
-                handleTasksEndpoint(exchange, method);
-            } else if (path.matches("/api/v1/tasks/[^/]+/?$")) {
-                String taskId = extractId(path);
-                handleTaskByIdEndpoint(exchange, method, taskId);
-            } else if (path.matches("/api/v1/tasks/status/[^/]+/?$")) {
-                String statusStr = extractLastSegment(path);
-                handleTasksByStatus(exchange, statusStr);
-            } else if (path.matches("/api/v1/tasks/priority/[^/]+/?$")) {
-                String priorityStr = extractLastSegment(path);
-                handleTasksByPriority(exchange, priorityStr);
-            } else if (path.matches("/api/v1/tasks/[^/]+/complete/?$")) {
-                String taskId = extractId(path);
-                handleCompleteTask(exchange, taskId);
-            } else if (path.matches("/api/v1/tasks/[^/]+/start/?$")) {
-                String taskId = extractId(path);
-                handleStartTask(exchange, taskId);
-            } else if (path.matches("/api/v1/tasks/starred/?$")) {
-                handleStarredTasks(exchange);
-            } else if (path.matches("/api/v1/tasks/overdue/?$")) {
-                handleOverdueTasks(exchange);
-            } else {
-                sendError(exchange, 404, "Endpoint not found");
-            }
-        } catch (Exception e) {
-            logger.error("Error handling request", e);
-            sendError(exchange, 500, "Internal server error: " + e.getMessage());
-        }
-    }
-
-    private void handleTasksEndpoint(HttpExchange exchange, String method) throws IOException {
-        switch (method) {
-            case "GET":
-                handleGetAllTasks(exchange);
-                break;
-            case "POST":
-                handleCreateTask(exchange);
-                break;
-            default:
-                sendError(exchange, 405, "Method not allowed");
-        }
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param taskService The task service
+     * @param responses   Writer for response bodies, shared with the other handlers
+     */
+    public TaskController(TaskService taskService, ResponseWriter responses) {
+        this.taskService = taskService;
+        this.responses = responses;
     }
 
-    private void handleTaskByIdEndpoint(HttpExchange exchange, String method, String taskId) throws IOException {
-        switch (method) {
-            case "GET":
-                handleGetTask(exchange, taskId);
-                break;
-            case "PUT":
-                handleUpdateTask(exchange, taskId);
-                break;
-            case "DELETE":
-                handleDeleteTask(exchange, taskId);
-                break;
-            default:
-                sendError(exchange, 405, "Method not allowed");
-        }
+    /**
+     * Registers the task endpoints.
+     *
+     * @param router The router to register with
+     */
+    public void registerRoutes(Router router) {
+        router.add("GET", "/api/v1/tasks", (exchange, vars) -> handleGetAllTasks(exchange))
+                .add("POST", "/api/v1/tasks", (exchange, vars) -> handleCreateTask(exchange))
+                .add("POST", "/api/v1/tasks/batch", (exchange, vars) -> handleBatch(exchange))
+                .add("GET", "/api/v1/tasks/search", (exchange, vars) -> handleSearchTasks(exchange))
+                .add("GET", "/api/v1/tasks/starred", (exchange, vars) -> handleStarredTasks(exchange))
+                .add("GET", "/api/v1/tasks/overdue", (exchange, vars) -> handleOverdueTasks(exchange))
+                .add("GET", "/api/v1/tasks/stats", (exchange, vars) -> handleTaskStats(exchange))
+                .add("GET", "/api/v1/tasks/status/{status}", (exchange, vars) -> handleTasksByStatus(exchange, vars[0]))
+                .add("GET", "/api/v1/tasks/priority/{priority}",
+                        (exchange, vars) -> handleTasksByPriority(exchange, vars[0]))
+                .add("GET", "/api/v1/tasks/{id}", (exchange, vars) -> handleGetTask(exchange, vars[0]))
+                .add("PUT", "/api/v1/tasks/{id}", (exchange, vars) -> handleUpdateTask(exchange, vars[0]))
+                .add("DELETE", "/api/v1/tasks/{id}", (exchange, vars) -> handleDeleteTask(exchange, vars[0]))
+                .add("POST", "/api/v1/tasks/{id}/complete", (exchange, vars) -> handleCompleteTask(exchange, vars[0]))
+                .add("POST", "/api/v1/tasks/{id}/start", (exchange, vars) -> handleStartTask(exchange, vars[0]));
     }
 
     private void handleGetAllTasks(HttpExchange exchange) throws IOException {
-        List<Task> tasks = taskService.getAllTasks();
-        List<TaskDTO> dtos = tasks.stream()
-                .map(TaskDTO::fromEntity)
-                .collect(Collectors.toList());
+        TaskQuery query;
+        try {
+            query = readTaskQuery(exchange);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        }
 
-        sendJsonResponse(exchange, 200, dtos);
+        sendQueryResult(exchange, query);
     }
 
     private void handleCreateTask(HttpExchange exchange) throws IOException {
@@ -146,9 +132,7 @@ public class TaskController implements HttpHandler {
             }
 
             Task created = taskService.createTask(task);
-            TaskDTO dto = TaskDTO.fromEntity(created);
-
-            sendJsonResponse(exchange, 201, dto);
+            sendTask(exchange, 201, created);
 
         } catch (ValidationException e) {
             sendError(exchange, 400, e.getMessage());
@@ -157,48 +141,126 @@ public class TaskController implements HttpHandler {
         }
     }
 
+    /**
+     * Applies an array of operations through one service call. The response is
+     * 200 with one result per operation, each with its own status, unless the
+     * request as a whole is malformed.
+     */
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        List<TaskBatchOperation> operations;
+        try {
+            BatchOperationRequest[] requests = JsonUtil.fromJson(readRequestBody(exchange), BatchOperationRequest[].class);
+            if (requests == null) {
+                throw new IllegalArgumentException("Batch must be a JSON array of operations");
+            }
+            operations = new ArrayList<>(requests.length);
+            for (int i = 0; i < requests.length; i++) {
+                if (requests[i] == null) {
+                    throw new IllegalArgumentException("Operation " + i + " is null");
+                }
+                try {
+                    operations.add(requests[i].toOperation());
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Operation " + i + ": " + e.getMessage(), e);
+                }
+            }
+        } catch (JsonParseException e) {
+            sendError(exchange, 400, "Batch must be a JSON array of operations");
+            return;
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        }
+
+        List<TaskBatchResult> results;
+        try {
+            results = taskService.applyBatch(operations);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        }
+
+        List<BatchResultDTO> body = new ArrayList<>(results.size());
+        for (TaskBatchResult result : results) {
+            body.add(BatchResultDTO.fromResult(result));
+        }
+        sendJsonResponse(exchange, 200, body);
+    }
+
     private void handleGetTask(HttpExchange exchange, String taskId) throws IOException {
         try {
             Task task = taskService.getTaskById(taskId);
-            TaskDTO dto = TaskDTO.fromEntity(task);
-            sendJsonResponse(exchange, 200, dto);
+            sendTask(exchange, 200, task);
         } catch (TaskNotFoundException e) {
             sendError(exchange, 404, e.getMessage());
         }
     }
 
     private void handleUpdateTask(HttpExchange exchange, String taskId) throws IOException {
+        long expectedVersion;
+        try {
+            expectedVersion = readIfMatch(exchange);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 412, e.getMessage());
+            return;
+        }
+
         try {
             String body = readRequestBody(exchange);
             UpdateTaskRequest request = JsonUtil.fromJson(body, UpdateTaskRequest.class);
+            String categoryId = request.getCategoryId() != null && !request.getCategoryId().isEmpty()
+                    ? request.getCategoryId() : null;
 
-            Task task = taskService.getTaskById(taskId);
-
-            // Update fields if provided
-            if (request.getTitle() != null) task.setTitle(request.getTitle());
-            if (request.getDescription() != null) task.setDescription(request.getDescription());
-            if (request.getStatus() != null) task.setStatus(request.getStatus());
-            if (request.getPriority() != null) task.setPriority(request.getPriority());
-            if (request.getDueDate() != null) task.setDueDate(request.getDueDate());
-            if (request.getStarred() != null) task.setStarred(request.getStarred());
-
-            Task updated = taskService.updateTask(task);
+            // Applied by the service to its own copy of the task, never to the stored instance
+            Task updated = taskService.updateTask(taskId, expectedVersion, categoryId, request::applyTo);
 
-            // Update category if provided
-            if (request.getCategoryId() != null && !request.getCategoryId().isEmpty()) {
-                updated = taskService.assignCategory(taskId, request.getCategoryId());
-            }
-
-            TaskDTO dto = TaskDTO.fromEntity(updated);
-            sendJsonResponse(exchange, 200, dto);
+            sendTask(exchange, 200, updated);
 
         } catch (TaskNotFoundException e) {
             sendError(exchange, 404, e.getMessage());
         } catch (ValidationException e) {
             sendError(exchange, 400, e.getMessage());
+        } catch (OptimisticLockException e) {
+            sendError(exchange, 412, e.getMessage());
         }
     }
 
+    /**
+     * Reads the version required by an If-Match header. Only a single strong
+     * entity tag can match, as weak tags never match under If-Match.
+     *
+     * @return The required version, or {@link TaskService#ANY_VERSION} without a header or for "*"
+     * @throws IllegalArgumentException if the header can never match
+     */
+    private static long readIfMatch(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("If-Match");
+        if (header == null || header.trim().equals("*")) {
+            return TaskService.ANY_VERSION;
+        }
+
+        // A tag received with a compressed body names the same version
+        String tag = ConditionalRequests.withoutEncoding(header.trim());
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                long version = Long.parseLong(tag.substring(1, tag.length() - 1));
+                if (version > 0) {
+                    return version;
+                }
+            } catch (NumberFormatException e) {
+                // Falls through to the error below
+            }
+        }
+        throw new IllegalArgumentException("If-Match does not match the current entity tag: " + header);
+    }
+
+    /**
+     * Sends a single task with its version as the entity tag.
+     */
+    private void sendTask(HttpExchange exchange, int statusCode, Task task) throws IOException {
+        exchange.getResponseHeaders().set(ETAG_HEADER, ConditionalRequests.entityTag(task.getVersion()));
+        sendJsonResponse(exchange, statusCode, TaskDTO.fromEntity(task));
+    }
+
     private void handleDeleteTask(HttpExchange exchange, String taskId) throws IOException {
         try {
             taskService.deleteTask(taskId);
@@ -209,36 +271,33 @@ public class TaskController implements HttpHandler {
     }
 
     private void handleTasksByStatus(HttpExchange exchange, String statusStr) throws IOException {
+        TaskStatus status;
         try {
-            TaskStatus status = TaskStatus.valueOf(statusStr.toUpperCase());
-            List<Task> tasks = taskService.getTasksByStatus(status);
-            List<TaskDTO> dtos = tasks.stream()
-                    .map(TaskDTO::fromEntity)
-                    .collect(Collectors.toList());
-            sendJsonResponse(exchange, 200, dtos);
+            status = TaskStatus.valueOf(statusStr.toUpperCase());
         } catch (IllegalArgumentException e) {
             sendError(exchange, 400, "Invalid status: " + statusStr);
+            return;
         }
+
+        sendFilteredQueryResult(exchange, query -> query.withStatus(status));
     }
 
     private void handleTasksByPriority(HttpExchange exchange, String priorityStr) throws IOException {
+        TaskPriority priority;
         try {
-            TaskPriority priority = TaskPriority.valueOf(priorityStr.toUpperCase());
-            List<Task> tasks = taskService.getTasksByPriority(priority);
-            List<TaskDTO> dtos = tasks.stream()
-                    .map(TaskDTO::fromEntity)
-                    .collect(Collectors.toList());
-            sendJsonResponse(exchange, 200, dtos);
+            priority = TaskPriority.valueOf(priorityStr.toUpperCase());
         } catch (IllegalArgumentException e) {
             sendError(exchange, 400, "Invalid priority: " + priorityStr);
+            return;
         }
+
+        sendFilteredQueryResult(exchange, query -> query.withPriority(priority));
     }
 
     private void handleCompleteTask(HttpExchange exchange, String taskId) throws IOException {
         try {
             Task task = taskService.completeTask(taskId);
-            TaskDTO dto = TaskDTO.fromEntity(task);
-            sendJsonResponse(exchange, 200, dto);
+            sendTask(exchange, 200, task);
         } catch (TaskNotFoundException e) {
             sendError(exchange, 404, e.getMessage());
         }
@@ -247,42 +306,179 @@ public class TaskController implements HttpHandler {
     private void handleStartTask(HttpExchange exchange, String taskId) throws IOException {
         try {
             Task task = taskService.startTask(taskId);
-            TaskDTO dto = TaskDTO.fromEntity(task);
-            sendJsonResponse(exchange, 200, dto);
+            sendTask(exchange, 200, task);
         } catch (TaskNotFoundException e) {
             sendError(exchange, 404, e.getMessage());
         }
     }
 
     private void handleStarredTasks(HttpExchange exchange) throws IOException {
-        List<Task> tasks = taskService.getStarredTasks();
-        List<TaskDTO> dtos = tasks.stream()
-                .map(TaskDTO::fromEntity)
-                .collect(Collectors.toList());
-        sendJsonResponse(exchange, 200, dtos);
+        sendFilteredQueryResult(exchange, query -> query.withStarred(true));
     }
 
     private void handleOverdueTasks(HttpExchange exchange) throws IOException {
         List<Task> tasks = taskService.getOverdueTasks();
-        List<TaskDTO> dtos = tasks.stream()
-                .map(TaskDTO::fromEntity)
-                .collect(Collectors.toList());
-        sendJsonResponse(exchange, 200, dtos);
+        sendTasks(exchange, tasks);
     }
 
-    private String extractId(String path) {
-        String[] parts = path.replaceAll("/$", "").split("/");
-        // If the path ends with an action (complete, start), get the second-to-last segment
-        String lastPart = parts[parts.length - 1];
-        if (lastPart.equals("complete") || lastPart.equals("start")) {
-            return parts[parts.length - 2];
+    private void handleTaskStats(HttpExchange exchange) throws IOException {
+        sendJsonResponse(exchange, 200, TaskStatsDTO.fromStats(taskService.getStats()));
+    }
+
+    private void handleSearchTasks(HttpExchange exchange) throws IOException {
+        String query = getQueryParameter(exchange, "q");
+        if (query == null || query.trim().isEmpty()) {
+            sendError(exchange, 400, "Query parameter 'q' is required");
+            return;
+        }
+
+        if (ConditionalRequests.notModified(exchange, collectionTag())) {
+            return;
+        }
+        List<Task> tasks = taskService.searchTasks(query);
+        sendTasks(exchange, tasks);
+    }
+
+    /**
+     * Sends the tasks matching the filter query parameters of the request,
+     * narrowed further by the endpoint's own filter.
+     */
+    private void sendFilteredQueryResult(HttpExchange exchange, UnaryOperator<TaskQuery> filter) throws IOException {
+        TaskQuery query;
+        try {
+            query = filter.apply(readTaskQuery(exchange));
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        }
+
+        sendQueryResult(exchange, query);
+    }
+
+    /**
+     * Sends the tasks matching a query: one page if the request has paging
+     * parameters, all of them otherwise. Answers 304 if the client's copy is
+     * still current.
+     */
+    private void sendQueryResult(HttpExchange exchange, TaskQuery query) throws IOException {
+        PageRequest page;
+        try {
+            page = readPageRequest(exchange);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        }
+
+        if (ConditionalRequests.notModified(exchange, collectionTag())) {
+            return;
+        }
+
+        if (page != null) {
+            sendPage(exchange, taskService.getTaskPage(query, page));
+        } else {
+            sendTasks(exchange, query.isUnfiltered() ? taskService.getAllTasks() : taskService.getTasks(query));
         }
-        return lastPart;
     }
 
-    private String extractLastSegment(String path) {
-        String[] parts = path.replaceAll("/$", "").split("/");
-        return parts[parts.length - 1];
+    /**
+     * Gets the entity tag of the task lists. The version is read before any
+     * task, so a response is never tagged newer than its content. Lists that
+     * depend on the clock, such as overdue tasks, are not tagged.
+     */
+    private String collectionTag() {
+        return ConditionalRequests.collectionTag(taskService.getCollectionVersion());
+    }
+
+    /**
+     * Reads the filter parameters of a list request: status, priority, categoryId,
+     * starred, dueFrom, dueTo (ISO local date-times, inclusive) and title.
+     *
+     * @return The query (unfiltered if the request has no filter parameters)
+     * @throws IllegalArgumentException if a parameter is invalid
+     */
+    private TaskQuery readTaskQuery(HttpExchange exchange) {
+        TaskQuery query = TaskQuery.all();
+
+        String status = getQueryParameter(exchange, "status");
+        if (status != null) {
+            query = query.withStatus(parseEnum(TaskStatus.class, "status", status));
+        }
+        String priority = getQueryParameter(exchange, "priority");
+        if (priority != null) {
+            query = query.withPriority(parseEnum(TaskPriority.class, "priority", priority));
+        }
+        String categoryId = getQueryParameter(exchange, "categoryId");
+        if (categoryId != null && !categoryId.isEmpty()) {
+            query = query.withCategoryId(categoryId);
+        }
+        String starred = getQueryParameter(exchange, "starred");
+        if (starred != null) {
+            if (!starred.equalsIgnoreCase("true") && !starred.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException("Invalid starred: " + starred);
+            }
+            query = query.withStarred(Boolean.parseBoolean(starred));
+        }
+        String dueFrom = getQueryParameter(exchange, "dueFrom");
+        String dueTo = getQueryParameter(exchange, "dueTo");
+        if (dueFrom != null || dueTo != null) {
+            query = query.withDueBetween(parseDateTime("dueFrom", dueFrom), parseDateTime("dueTo", dueTo));
+        }
+        String title = getQueryParameter(exchange, "title");
+        if (title != null) {
+            query = query.withTitle(title);
+        }
+        return query;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Reads the paging parameters (limit, sort, cursor) of a list request.
+     *
+     * @return The page request, or null if the request has no paging parameters
+     * @throws IllegalArgumentException if a parameter is invalid
+     */
+    private PageRequest readPageRequest(HttpExchange exchange) {
+        String limit = getQueryParameter(exchange, "limit");
+        String sort = getQueryParameter(exchange, "sort");
+        String cursor = getQueryParameter(exchange, "cursor");
+        if (limit == null && sort == null && cursor == null) {
+            return null;
+        }
+        return PageRequest.parse(limit, sort, cursor);
+    }
+
+    private String getQueryParameter(HttpExchange exchange, String name) {
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery == null) {
+            return null;
+        }
+
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator >= 0 ? pair.substring(0, separator) : pair;
+            if (name.equals(URLDecoder.decode(key, StandardCharsets.UTF_8))) {
+                return separator >= 0 ? URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8) : "";
+            }
+        }
+        return null;
     }
 
     private String readRequestBody(HttpExchange exchange) throws IOException {
@@ -291,28 +487,47 @@ public class TaskController implements HttpHandler {
     }
 
     private void sendJsonResponse(HttpExchange exchange, int statusCode, Object data) throws IOException {
-        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        responses.sendJson(exchange, statusCode, data);
+    }
+
+    /**
+     * Streams a JSON array of tasks, compressed if the client accepts it (see
+     * {@link ResponseWriter#openStream}). Each task's JSON is cached on the
+     * entity, so unchanged tasks are copied as stored bytes.
+     * If writing fails part way, the connection is closed without the final chunk,
+     * so the client sees an incomplete response rather than truncated JSON.
+     * If the request has paging parameters, only the requested page is sent.
+     */
+    private void sendTasks(HttpExchange exchange, List<Task> tasks) throws IOException {
+        PageRequest page;
+        try {
+            page = readPageRequest(exchange);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        }
+
+        if (page != null) {
+            sendPage(exchange, TaskPage.of(tasks, page));
+            return;
+        }
 
-        String response = data != null ? JsonUtil.toJson(data) : "";
-        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        EntityJson.writeTasks(responses.openStream(exchange, 200, ResponseWriter.JSON), tasks);
+    }
 
-        exchange.sendResponseHeaders(statusCode, bytes.length);
-        if (bytes.length > 0) {
-            OutputStream os = exchange.getResponseBody();
-            os.write(bytes);
-            os.close();
+    /**
+     * Sends one page of tasks as a JSON array. The cursor of the next page, if
+     * there is one, goes in the X-Next-Cursor header.
+     */
+    private void sendPage(HttpExchange exchange, TaskPage page) throws IOException {
+        if (page.hasNext()) {
+            exchange.getResponseHeaders().set(NEXT_CURSOR_HEADER, page.getNextCursor());
         }
+        EntityJson.writeTasks(responses.openStream(exchange, 200, ResponseWriter.JSON), page.getTasks());
     }
 
     private void sendError(HttpExchange exchange, int statusCode, String message) throws IOException {
-        exchange.getResponseHeaders().set("Content-Type", "application/json");
-
         String error = String.format("{\"error\": \"%s\", \"status\": %d}", message, statusCode);
-        byte[] bytes = error.getBytes(StandardCharsets.UTF_8);
-
-        exchange.sendResponseHeaders(statusCode, bytes.length);
-        OutputStream os = exchange.getResponseBody();
-        os.write(bytes);
-        os.close();
+        responses.send(exchange, statusCode, ResponseWriter.JSON, error.getBytes(StandardCharsets.UTF_8));
     }
 }
@@ -0,0 +1,90 @@
+package ee.taltech.todo.dto;
+
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.service.TaskBatchOperation;
+import ee.taltech.todo.service.TaskService;
+
+import java.util.Locale;
+
+/**
+ * Request DTO for one operation of a task batch.
+ *
+ * {@code op} is one of {@code create}, {@code update}, {@code complete} or
+ * {@code delete}. Every operation except create needs the task {@code id}; an
+ * update may carry the {@code version} it was based on, with the same meaning
+ * as an If-Match header. Create and update take the task fields of
+ * {@link UpdateTaskRequest}, all optional.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class BatchOperationRequest extends UpdateTaskRequest {
+
+    private String op;
+    private String id;
+    private Long version;
+
+    /**
+     * Default constructor.
+     */
+    public BatchOperationRequest() {
+    }
+
+    /**
+     * Converts this request to a service operation.
+     *
+     * @return The operation
+     * @throws IllegalArgumentException if op is missing or unknown, an ID is missing, or the version is not positive
+     */
+    public TaskBatchOperation toOperation() {
+        if (op == null) {
+            throw new IllegalArgumentException("Batch operation is missing \"op\"");
+        }
+
+        String categoryId = getCategoryId() != null && !getCategoryId().isEmpty() ? getCategoryId() : null;
+        switch (op.toLowerCase(Locale.ROOT)) {
+            case "create":
+                Task task = new Task();
+                applyTo(task);
+                return TaskBatchOperation.create(task, categoryId);
+            case "update":
+                if (version != null && version <= 0) {
+                    throw new IllegalArgumentException("Batch operation version must be positive: " + version);
+                }
+                long expectedVersion = version != null ? version : TaskService.ANY_VERSION;
+                return TaskBatchOperation.update(id, expectedVersion, categoryId, this::applyTo);
+            case "complete":
+                return TaskBatchOperation.complete(id);
+            case "delete":
+                return TaskBatchOperation.delete(id);
+            default:
+                throw new IllegalArgumentException("Unknown batch operation: " + op);
+        }
+    }
+
+    // Getters and Setters
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,113 @@
+package ee.taltech.todo.dto;
+
+import ee.taltech.todo.service.TaskBatchResult;
+
+/**
+ * Data Transfer Object for the result of one batch operation.
+ *
+ * {@code status} is the HTTP status the operation would have had as a single
+ * request: 201 for a create, 200 for an update, 204 for a delete, 400 for an
+ * invalid task, 404 for a missing task or category, 409 for a taken or
+ * repeated ID and 412 for a stale version.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class BatchResultDTO {
+
+    private int status;
+    private String id;
+    private Long version;
+    private TaskDTO task;
+    private String error;
+
+    /**
+     * Default constructor.
+     */
+    public BatchResultDTO() {
+    }
+
+    /**
+     * Creates BatchResultDTO from a batch result.
+     *
+     * @param result The result
+     * @return BatchResultDTO
+     */
+    public static BatchResultDTO fromResult(TaskBatchResult result) {
+        if (result == null) {
+            return null;
+        }
+
+        BatchResultDTO dto = new BatchResultDTO();
+        dto.setStatus(statusOf(result.getOutcome()));
+        dto.setId(result.getTaskId());
+        if (result.getTask() != null) {
+            dto.setVersion(result.getTask().getVersion());
+            dto.setTask(TaskDTO.fromEntity(result.getTask()));
+        }
+        dto.setError(result.getError());
+
+        return dto;
+    }
+
+    private static int statusOf(TaskBatchResult.Outcome outcome) {
+        switch (outcome) {
+            case CREATED:
+                return 201;
+            case UPDATED:
+                return 200;
+            case DELETED:
+                return 204;
+            case INVALID:
+                return 400;
+            case NOT_FOUND:
+                return 404;
+            case STALE_VERSION:
+                return 412;
+            default:
+                return 409;
+        }
+    }
+
+    // Getters and Setters
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public TaskDTO getTask() {
+        return task;
+    }
+
+    public void setTask(TaskDTO task) {
+        this.task = task;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -20,6 +20,7 @@ public class CategoryDTO {
     private String color;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long version;
 
     /**
      * Default constructor.
@@ -45,6 +46,7 @@ public class CategoryDTO {
         dto.setColor(category.getColor());
         dto.setCreatedAt(category.getCreatedAt());
         dto.setUpdatedAt(category.getUpdatedAt());
+        dto.setVersion(category.getVersion());
 
         return dto;
     }
@@ -98,4 +100,12 @@ public class CategoryDTO {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -30,6 +30,7 @@ public class TaskDTO {
     private boolean starred;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long version;
 
     /**
      * Default constructor.
@@ -58,6 +59,7 @@ public class TaskDTO {
         dto.setStarred(task.isStarred());
         dto.setCreatedAt(task.getCreatedAt());
         dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setVersion(task.getVersion());
 
         if (task.getCategory() != null) {
             dto.setCategoryId(task.getCategory().getId());
@@ -156,4 +158,12 @@ public class TaskDTO {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
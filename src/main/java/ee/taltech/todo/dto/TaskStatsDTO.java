@@ -0,0 +1,109 @@
+package ee.taltech.todo.dto;
+
+import ee.taltech.todo.repository.TaskStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for task statistics.
+ *
+ * Status and priority counts are keyed by the enum constant names used
+ * elsewhere in the API, category counts by category ID.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class TaskStatsDTO {
+
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byPriority;
+    private Map<String, Long> byCategory;
+    private long starred;
+    private long overdue;
+
+    /**
+     * Default constructor.
+     */
+    public TaskStatsDTO() {
+    }
+
+    /**
+     * Creates TaskStatsDTO from task statistics.
+     *
+     * @param stats The statistics
+     * @return TaskStatsDTO
+     */
+    public static TaskStatsDTO fromStats(TaskStats stats) {
+        if (stats == null) {
+            return null;
+        }
+
+        TaskStatsDTO dto = new TaskStatsDTO();
+        dto.setTotal(stats.getTotal());
+        dto.setByStatus(byName(stats.getByStatus()));
+        dto.setByPriority(byName(stats.getByPriority()));
+        dto.setByCategory(new LinkedHashMap<>(stats.getByCategory()));
+        dto.setStarred(stats.getStarred());
+        dto.setOverdue(stats.getOverdue());
+
+        return dto;
+    }
+
+    private static Map<String, Long> byName(Map<? extends Enum<?>, Long> counts) {
+        Map<String, Long> named = new LinkedHashMap<>();
+        counts.forEach((constant, count) -> named.put(constant.name(), count));
+        return named;
+    }
+
+    // Getters and Setters
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public void setByPriority(Map<String, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+
+    public Map<String, Long> getByCategory() {
+        return byCategory;
+    }
+
+    public void setByCategory(Map<String, Long> byCategory) {
+        this.byCategory = byCategory;
+    }
+
+    public long getStarred() {
+        return starred;
+    }
+
+    public void setStarred(long starred) {
+        this.starred = starred;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+}
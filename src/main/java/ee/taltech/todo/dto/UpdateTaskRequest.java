@@ -1,5 +1,6 @@
 package ee.taltech.todo.dto;
 
+import ee.taltech.todo.model.Task;
 import ee.taltech.todo.model.TaskPriority;
 import ee.taltech.todo.model.TaskStatus;
 
@@ -29,6 +30,21 @@ public class UpdateTaskRequest {
     public UpdateTaskRequest() {
     }
 
+    /**
+     * Applies the provided fields to a task; fields left null are not changed.
+     * The category is not applied, as it has to be looked up by ID.
+     *
+     * @param task The task to change
+     */
+    public void applyTo(Task task) {
+        if (title != null) task.setTitle(title);
+        if (description != null) task.setDescription(description);
+        if (status != null) task.setStatus(status);
+        if (priority != null) task.setPriority(priority);
+        if (dueDate != null) task.setDueDate(dueDate);
+        if (starred != null) task.setStarred(starred);
+    }
+
     // Getters and Setters
 
     public String getTitle() {
@@ -0,0 +1,159 @@
+package ee.taltech.todo.event;
+
+import ee.taltech.todo.model.BaseEntity;
+
+import java.util.Objects;
+
+/**
+ * A change to a stored task or category, published on the {@link ChangeEventBus}.
+ *
+ * A save carries the entity as stored, so subscribers can forward the new state
+ * without reading it back; a delete carries only the ID. Events for the same
+ * entity share a {@link #getKey() key}, which is what lets subscribers coalesce
+ * them.
+ *
+ * Services publish after the write has returned, so two concurrent writes of the
+ * same entity may be published in either order. Each event therefore carries the
+ * version it describes, and {@link #supersedes} decides which of two events is
+ * the newer one instead of the publishing order. A delete is the last event of
+ * an entity and supersedes every save.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class ChangeEvent {
+
+    /**
+     * Kinds of entities that change.
+     */
+    public enum EntityType {
+        TASK,
+        CATEGORY
+    }
+
+    /**
+     * What happened to the entity.
+     */
+    public enum Action {
+        SAVED,
+        DELETED
+    }
+
+    private final EntityType entityType;
+    private final Action action;
+    private final String entityId;
+    private final BaseEntity entity;
+    private final long version;
+
+    private ChangeEvent(EntityType entityType, Action action, String entityId, BaseEntity entity, long version) {
+        this.entityType = Objects.requireNonNull(entityType, "Entity type cannot be null");
+        this.action = action;
+        this.entityId = Objects.requireNonNull(entityId, "Entity ID cannot be null");
+        this.entity = entity;
+        this.version = version;
+    }
+
+    /**
+     * Creates the event for a created or updated entity.
+     *
+     * @param entityType The kind of entity
+     * @param entity     The entity as stored
+     * @return The event
+     */
+    public static ChangeEvent saved(EntityType entityType, BaseEntity entity) {
+        Objects.requireNonNull(entity, "Entity cannot be null");
+        return new ChangeEvent(entityType, Action.SAVED, entity.getId(), entity, entity.getVersion());
+    }
+
+    /**
+     * Creates the event for a deleted entity.
+     *
+     * @param entityType The kind of entity
+     * @param entityId   The deleted entity's ID
+     * @return The event
+     */
+    public static ChangeEvent deleted(EntityType entityType, String entityId) {
+        return new ChangeEvent(entityType, Action.DELETED, entityId, null, Long.MAX_VALUE);
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Gets the entity as stored by a save.
+     *
+     * @return The entity, null for a delete
+     */
+    public BaseEntity getEntity() {
+        return entity;
+    }
+
+    /**
+     * Gets the entity version this event describes.
+     *
+     * @return The saved entity's version, or {@link Long#MAX_VALUE} for a delete
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks whether this event describes a state at least as new as another
+     * event for the same entity, whatever order they were published in.
+     *
+     * @param other An event with the same key
+     * @return true if this event should replace the other one
+     */
+    public boolean supersedes(ChangeEvent other) {
+        return version >= other.version;
+    }
+
+    /**
+     * Gets the key shared by all events for the same entity.
+     *
+     * @return The key
+     */
+    public Key getKey() {
+        return new Key(entityType, entityId);
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" + entityType + " " + entityId + " " + action + " v" + version + '}';
+    }
+
+    /**
+     * Identifies an entity across events: its type and ID.
+     */
+    public static final class Key {
+        private final EntityType entityType;
+        private final String entityId;
+
+        private Key(EntityType entityType, String entityId) {
+            this.entityType = entityType;
+            this.entityId = entityId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return entityType == key.entityType && entityId.equals(key.entityId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * entityType.hashCode() + entityId.hashCode();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ee.taltech.todo.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Publishes task and category changes to subscribed listeners.
+ *
+ * The services publish after every successful change. Delivery is synchronous
+ * and in-process: {@link #publish} calls each listener in turn, so the cost
+ * when nobody is subscribed is one empty-list check. A listener that throws
+ * is logged and does not affect the others or the publisher.
+ *
+ * Design Pattern: Observer (subject)
+ * Thread Safety: Listeners may subscribe, unsubscribe and be notified
+ * concurrently; the listener list is copy-on-write.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class ChangeEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Adds a listener.
+     *
+     * @param listener The listener
+     * @throws IllegalArgumentException if listener is null
+     */
+    public void subscribe(ChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+        logger.debug("Listener subscribed ({} total)", listeners.size());
+    }
+
+    /**
+     * Removes a listener. Does nothing if it is not subscribed.
+     *
+     * @param listener The listener
+     */
+    public void unsubscribe(ChangeListener listener) {
+        if (listeners.remove(listener)) {
+            logger.debug("Listener unsubscribed ({} total)", listeners.size());
+        }
+    }
+
+    /**
+     * Delivers an event to every subscribed listener.
+     *
+     * @param event The event
+     */
+    public void publish(ChangeEvent event) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        for (ChangeListener listener : listeners) {
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException e) {
+                logger.warn("Change listener failed for {}", event, e);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of subscribed listeners.
+     *
+     * @return The number of listeners
+     */
+    public int getListenerCount() {
+        return listeners.size();
+    }
+}
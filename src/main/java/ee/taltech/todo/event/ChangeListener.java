@@ -0,0 +1,24 @@
+package ee.taltech.todo.event;
+
+/**
+ * Receives change events from a {@link ChangeEventBus}.
+ *
+ * Listeners are called on the thread that made the change, after it has been
+ * stored, so they must return quickly and never block: hand the event off
+ * (e.g. to a queue) instead of doing I/O.
+ *
+ * Design Pattern: Observer
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface ChangeListener {
+
+    /**
+     * Called for every published event.
+     *
+     * @param event The event
+     */
+    void onChange(ChangeEvent event);
+}
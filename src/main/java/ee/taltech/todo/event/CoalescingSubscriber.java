@@ -0,0 +1,247 @@
+package ee.taltech.todo.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers change events for one slow consumer, such as a streaming HTTP client,
+ * and delivers them in batches on a writer thread.
+ *
+ * {@link #onChange} only records the event and never blocks the publisher:
+ * pending events are kept per entity, so a newer event for the same task or
+ * category replaces the pending one (a task edited ten times while a batch is
+ * being written is delivered once, in its final state). Which event is newer is
+ * decided by {@link ChangeEvent#supersedes}, by version rather than by arrival,
+ * because concurrent writes of one entity can be published out of order. A drain is scheduled
+ * {@code delayMillis} after the first pending event, so bursts such as a batch
+ * request go out as one write.
+ *
+ * Only one drain runs at a time, and the next is scheduled when it finishes, so
+ * a consumer that reads slowly simply accumulates coalesced events. If more
+ * than {@code maxPending} distinct entities pile up, the buffer is dropped and
+ * the consumer is told to resync instead: memory per subscriber stays bounded
+ * and a consumer that fell too far behind reloads the full state once.
+ *
+ * When the sink fails the subscriber closes itself; further events are ignored.
+ *
+ * Design Pattern: Observer
+ * Thread Safety: Thread-safe; the pending buffer is guarded by this object's lock,
+ * and the sink is only called by one thread at a time.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class CoalescingSubscriber implements ChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalescingSubscriber.class);
+
+    /**
+     * Where a subscriber delivers its events.
+     */
+    public interface Sink {
+
+        /**
+         * Delivers coalesced events, oldest change first.
+         *
+         * @param events The events (never empty)
+         * @throws IOException if the consumer is gone
+         */
+        void send(List<ChangeEvent> events) throws IOException;
+
+        /**
+         * Tells the consumer that events were dropped and it must reload its state.
+         *
+         * @throws IOException if the consumer is gone
+         */
+        void resync() throws IOException;
+
+        /**
+         * Sends a keep-alive while there is nothing else to send.
+         *
+         * @throws IOException if the consumer is gone
+         */
+        void heartbeat() throws IOException;
+
+        /**
+         * Releases the consumer. Called once, when the subscriber closes.
+         */
+        void close();
+    }
+
+    private final ScheduledExecutorService executor;
+    private final long delayMillis;
+    private final int maxPending;
+    private final Sink sink;
+
+    // Guarded by this
+    private final Map<ChangeEvent.Key, ChangeEvent> pending = new LinkedHashMap<>();
+    private boolean overflowed;
+    private boolean heartbeatDue;
+    private boolean draining;
+    private boolean closed;
+
+    /**
+     * Constructor with all settings.
+     *
+     * @param executor    Executor the sink is called on
+     * @param delayMillis How long to collect events before a drain
+     * @param maxPending  Maximum distinct pending entities before falling back to a resync
+     * @param sink        Where events are delivered
+     * @throws IllegalArgumentException if a value is invalid
+     */
+    public CoalescingSubscriber(ScheduledExecutorService executor, long delayMillis, int maxPending, Sink sink) {
+        if (executor == null || sink == null) {
+            throw new IllegalArgumentException("Executor and sink cannot be null");
+        }
+        if (delayMillis < 0) {
+            throw new IllegalArgumentException("Delay cannot be negative");
+        }
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Maximum pending events must be positive");
+        }
+        this.executor = executor;
+        this.delayMillis = delayMillis;
+        this.maxPending = maxPending;
+        this.sink = sink;
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (!overflowed) {
+                ChangeEvent.Key key = event.getKey();
+                ChangeEvent current = pending.get(key);
+                if (current != null && !event.supersedes(current)) {
+                    // Published late: the pending event already has a newer state
+                    return;
+                }
+                // Remove first so the entry moves to the end: the latest change decides the order
+                pending.remove(key);
+                pending.put(key, event);
+                if (pending.size() > maxPending) {
+                    pending.clear();
+                    overflowed = true;
+                }
+            }
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        schedule(delayMillis);
+    }
+
+    /**
+     * Sends a heartbeat on the writer thread, unless events are about to be sent anyway.
+     */
+    public void heartbeat() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            heartbeatDue = true;
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        schedule(0);
+    }
+
+    /**
+     * Stops delivering events and releases the sink. Safe to call more than once.
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+        }
+        sink.close();
+    }
+
+    /**
+     * Checks whether the subscriber has been closed.
+     *
+     * @return true once closed
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Gets the number of distinct entities waiting to be sent.
+     *
+     * @return The pending event count
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    private void schedule(long delay) {
+        try {
+            executor.schedule(this::drain, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Executor shut down: nobody will write any more
+            close();
+        }
+    }
+
+    private void drain() {
+        List<ChangeEvent> batch;
+        boolean resync;
+        boolean heartbeat;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+            resync = overflowed;
+            heartbeat = heartbeatDue && batch.isEmpty() && !resync;
+            overflowed = false;
+            heartbeatDue = false;
+        }
+
+        try {
+            if (resync) {
+                logger.debug("Subscriber fell more than {} changes behind, requesting resync", maxPending);
+                sink.resync();
+            } else if (!batch.isEmpty()) {
+                sink.send(batch);
+            } else if (heartbeat) {
+                sink.heartbeat();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Subscriber closed: {}", e.toString());
+            close();
+            return;
+        }
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (pending.isEmpty() && !overflowed && !heartbeatDue) {
+                draining = false;
+                return;
+            }
+        }
+        // Changes arrived while writing: they have already waited, send them now
+        schedule(0);
+    }
+}
@@ -0,0 +1,23 @@
+package ee.taltech.todo.exception;
+
+/**
+ * Unchecked exception thrown when a persistent repository fails to access its storage.
+ *
+ * Wraps low-level exceptions such as {@link java.sql.SQLException} so that the
+ * Repository interfaces stay free of storage-specific checked exceptions.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class DataAccessException extends RuntimeException {
+
+    /**
+     * Constructs a new DataAccessException with the specified detail message and cause.
+     *
+     * @param message The detail message
+     * @param cause   The cause of this exception
+     */
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
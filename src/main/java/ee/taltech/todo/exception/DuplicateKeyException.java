@@ -0,0 +1,51 @@
+package ee.taltech.todo.exception;
+
+/**
+ * Unchecked exception thrown by a repository when saving an entity would violate
+ * a unique key (e.g., a second category with the same name).
+ *
+ * Repositories enforce uniqueness atomically inside save(), so this exception is
+ * the authoritative duplicate signal even when a service-level pre-check passed.
+ * Services translate it into a {@link DuplicateEntityException}.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class DuplicateKeyException extends RuntimeException {
+
+    /**
+     * The key value that is already taken.
+     */
+    private final String key;
+
+    /**
+     * Constructs a new DuplicateKeyException for the given key.
+     *
+     * @param message The detail message
+     * @param key     The duplicate key value
+     */
+    public DuplicateKeyException(String message, String key) {
+        super(message);
+        this.key = key;
+    }
+
+    /**
+     * Constructs a DuplicateKeyException for a specific entity type and key.
+     *
+     * @param entityType The type of entity (e.g., "Category")
+     * @param key        The key value that is already taken
+     * @return A new DuplicateKeyException with formatted message
+     */
+    public static DuplicateKeyException forKey(String entityType, String key) {
+        return new DuplicateKeyException(entityType + " key already in use: " + key, key);
+    }
+
+    /**
+     * Gets the duplicate key value.
+     *
+     * @return The key that is already taken
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,89 @@
+package ee.taltech.todo.exception;
+
+/**
+ * Unchecked exception thrown by a repository when an entity is saved from a
+ * version that is no longer the stored one: another write changed or deleted
+ * it since it was read.
+ *
+ * Repositories compare versions atomically inside save(), so a caller that gets
+ * this exception has not overwritten anything. It can re-read the entity and
+ * apply its change again, or report the conflict to its own caller.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class OptimisticLockException extends RuntimeException {
+
+    /**
+     * ID of the entity whose save was rejected.
+     */
+    private final String entityId;
+
+    /**
+     * Version the caller expected to be stored.
+     */
+    private final long expectedVersion;
+
+    /**
+     * Version that was stored, 0 if the entity no longer exists.
+     */
+    private final long actualVersion;
+
+    /**
+     * Constructs a new OptimisticLockException.
+     *
+     * @param message         The detail message
+     * @param entityId        The entity ID
+     * @param expectedVersion The version the caller expected
+     * @param actualVersion   The stored version, 0 if the entity no longer exists
+     */
+    public OptimisticLockException(String message, String entityId, long expectedVersion, long actualVersion) {
+        super(message);
+        this.entityId = entityId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    /**
+     * Constructs an OptimisticLockException for a specific entity type and ID.
+     *
+     * @param entityType      The type of entity (e.g., "Task")
+     * @param entityId        The entity ID
+     * @param expectedVersion The version the caller expected
+     * @param actualVersion   The stored version, 0 if the entity no longer exists
+     * @return A new OptimisticLockException with formatted message
+     */
+    public static OptimisticLockException forVersion(String entityType, String entityId,
+                                                     long expectedVersion, long actualVersion) {
+        String found = actualVersion > 0 ? "version " + actualVersion : "no stored version";
+        return new OptimisticLockException(entityType + " " + entityId + " was modified concurrently: expected version "
+                + expectedVersion + ", found " + found, entityId, expectedVersion, actualVersion);
+    }
+
+    /**
+     * Gets the ID of the entity whose save was rejected.
+     *
+     * @return The entity ID
+     */
+    public String getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Gets the version the caller expected to be stored.
+     *
+     * @return The expected version
+     */
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    /**
+     * Gets the version that was stored when the save was rejected.
+     *
+     * @return The stored version, 0 if the entity no longer exists
+     */
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
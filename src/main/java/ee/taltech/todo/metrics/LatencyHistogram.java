@@ -0,0 +1,179 @@
+package ee.taltech.todo.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of durations, recorded in nanoseconds, in log-linear buckets as
+ * in HdrHistogram.
+ *
+ * Each power of two is split into 16 equal buckets, so a recorded value is
+ * known to within 1/16 (6.25%) of itself from 16 ns up to the largest tracked
+ * value, about 137 seconds; longer durations are counted in the last bucket.
+ * The 544 buckets cover that whole range, so no bounds have to be chosen up
+ * front, and any percentile or Prometheus bucket boundary can be read off later.
+ *
+ * Recording is one bucket index computation and two atomic additions, without
+ * locks or allocation. Readers see each counter's current value; a count and a
+ * sum read while values are being recorded may be off by those values.
+ *
+ * Thread Safety: Thread-safe
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Highest set bit of the largest tracked value.
+     */
+    private static final int MAX_MAGNITUDE = 36;
+
+    /**
+     * Smallest value counted in the last bucket regardless of its size.
+     */
+    static final long MAX_VALUE = 1L << (MAX_MAGNITUDE + 1);
+
+    static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds; negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        counts.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} reading.
+     *
+     * @param startNanos The reading taken when the timed operation started
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the total of the recorded durations.
+     *
+     * @return The sum in nanoseconds
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Gets the number of recorded durations of at most a bound. Durations in the
+     * bucket that contains the bound are not counted, so the result may be low
+     * by the durations within 1/16 below the bound.
+     *
+     * @param boundNanos The bound in nanoseconds
+     * @return The count
+     */
+    public long getCountAtOrBelow(long boundNanos) {
+        return getCountsAtOrBelow(new long[] {boundNanos})[0];
+    }
+
+    /**
+     * Gets the cumulative counts at several bounds in one pass over the buckets,
+     * as {@link #getCountAtOrBelow} does for one.
+     *
+     * @param boundsNanos The bounds in nanoseconds, in ascending order
+     * @return The count at or below each bound
+     */
+    public long[] getCountsAtOrBelow(long[] boundsNanos) {
+        long[] result = new long[boundsNanos.length];
+        long count = 0;
+        int bucket = 0;
+        for (int i = 0; i < boundsNanos.length; i++) {
+            while (bucket < BUCKET_COUNT && highestValue(bucket) <= boundsNanos[i]) {
+                count += counts.get(bucket++);
+            }
+            result[i] = count;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the duration that the given percentage of recorded durations do not
+     * exceed, as the highest value of the bucket it falls in.
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @return The duration in nanoseconds, 0 if nothing was recorded
+     * @throws IllegalArgumentException if the percentile is out of range
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Gets the bucket a value is counted in. Values below 32 get a bucket each;
+     * above, the highest set bit picks the power of two and the next four bits
+     * the bucket within it.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        if (value >= MAX_VALUE) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Gets the largest value counted in a bucket.
+     */
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,50 @@
+package ee.taltech.todo.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import ee.taltech.todo.server.ResponseWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the metrics at {@code GET /metrics} for Prometheus to scrape.
+ *
+ * The exposition is built from the live counters on every request; it is
+ * compressed like other text responses when the scraper accepts it.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class MetricsHandler implements HttpHandler {
+
+    private static final byte[] METHOD_NOT_ALLOWED = "Method not allowed\n".getBytes(StandardCharsets.UTF_8);
+
+    private final MetricsRegistry registry;
+    private final ResponseWriter responses;
+
+    /**
+     * Constructor.
+     *
+     * @param registry  The metrics to serve
+     * @param responses Writer for response bodies
+     */
+    public MetricsHandler(MetricsRegistry registry, ResponseWriter responses) {
+        if (registry == null || responses == null) {
+            throw new IllegalArgumentException("Registry and response writer cannot be null");
+        }
+        this.registry = registry;
+        this.responses = responses;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "GET");
+            responses.send(exchange, 405, "text/plain; charset=utf-8", METHOD_NOT_ALLOWED);
+            return;
+        }
+        responses.send(exchange, 200, MetricsRegistry.CONTENT_TYPE,
+                registry.scrape().getBytes(StandardCharsets.UTF_8));
+    }
+}
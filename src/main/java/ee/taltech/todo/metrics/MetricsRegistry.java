@@ -0,0 +1,253 @@
+package ee.taltech.todo.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the application's metrics and writes them in the Prometheus text
+ * exposition format.
+ *
+ * Metrics are registered at startup by the components that record them and
+ * kept for the life of the application. Registering the same name and labels
+ * again returns the existing metric. Durations are exposed in seconds as
+ * Prometheus histograms with the fixed {@code le} boundaries below, read off
+ * each {@link LatencyHistogram} when scraped.
+ *
+ * Exposed metrics:
+ * <ul>
+ *   <li>{@code http_server_requests_seconds} - request latency by method and route</li>
+ *   <li>{@code http_server_requests_total} - responses by method, route and status</li>
+ *   <li>{@code http_server_request_errors_total} - requests whose handler threw an exception</li>
+ *   <li>histograms registered with {@link #histogram}, e.g. repository operation times</li>
+ *   <li>JVM heap use, live threads and process uptime</li>
+ * </ul>
+ *
+ * Thread Safety: Thread-safe; recording never takes the registry's lock
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class MetricsRegistry {
+
+    /**
+     * Content type of {@link #scrape()} output.
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Route label of requests that matched no route.
+     */
+    public static final String UNMATCHED_ROUTE = "unmatched";
+
+    private static final String[] BUCKET_LABELS = {
+            "0.0001", "0.00025", "0.0005", "0.001", "0.0025", "0.005", "0.01",
+            "0.025", "0.05", "0.1", "0.25", "0.5", "1", "2.5", "5", "10"
+    };
+
+    private static final long[] BUCKET_BOUNDS_NANOS = new long[BUCKET_LABELS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] = Math.round(Double.parseDouble(BUCKET_LABELS[i]) * 1e9);
+        }
+    }
+
+    private final Map<String, RequestMetrics> requests = new LinkedHashMap<>();
+    private final Map<String, HistogramFamily> histograms = new LinkedHashMap<>();
+
+    /**
+     * Gets the metrics of a route, registering them on first use.
+     *
+     * @param method HTTP method
+     * @param route  Route template
+     * @return The route's metrics
+     * @throws IllegalArgumentException if the method or route is null
+     */
+    public synchronized RequestMetrics requestMetrics(String method, String route) {
+        if (method == null || route == null) {
+            throw new IllegalArgumentException("Method and route cannot be null");
+        }
+        return requests.computeIfAbsent(method + ' ' + route, key -> new RequestMetrics(method, route));
+    }
+
+    /**
+     * Gets a latency histogram, registering it on first use.
+     *
+     * @param name   Metric name, in seconds by Prometheus convention, e.g. {@code repository_operation_seconds}
+     * @param help   Description of the metric; the first registration's is used
+     * @param labels Label names and values, alternating
+     * @return The histogram
+     * @throws IllegalArgumentException if the name is invalid or the labels are not name-value pairs
+     */
+    public synchronized LatencyHistogram histogram(String name, String help, String... labels) {
+        if (name == null || !name.matches("[a-zA-Z_:][a-zA-Z0-9_:]*")) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name-value pairs");
+        }
+
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                key.append(',');
+            }
+            appendLabel(key, labels[i], labels[i + 1]);
+        }
+        HistogramFamily family = histograms.computeIfAbsent(name, n -> new HistogramFamily(help));
+        return family.children.computeIfAbsent(key.toString(), k -> new LatencyHistogram());
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text exposition format.
+     *
+     * @return The exposition
+     */
+    public String scrape() {
+        List<RequestMetrics> routes;
+        Map<String, HistogramFamily> families;
+        synchronized (this) {
+            routes = new ArrayList<>(requests.values());
+            families = new LinkedHashMap<>();
+            for (Map.Entry<String, HistogramFamily> entry : histograms.entrySet()) {
+                families.put(entry.getKey(), entry.getValue().copy());
+            }
+        }
+
+        StringBuilder out = new StringBuilder(4096);
+        List<String> routeLabels = new ArrayList<>(routes.size());
+        for (RequestMetrics route : routes) {
+            StringBuilder labels = new StringBuilder();
+            appendLabel(labels, "method", route.getMethod());
+            labels.append(',');
+            appendLabel(labels, "route", route.getRoute());
+            routeLabels.add(labels.toString());
+        }
+
+        appendHeader(out, "http_server_requests_seconds", "histogram",
+                "Time from routing an API request until its handler returned");
+        for (int i = 0; i < routes.size(); i++) {
+            appendHistogram(out, "http_server_requests_seconds", routeLabels.get(i), routes.get(i).getLatency());
+        }
+
+        appendHeader(out, "http_server_requests_total", "counter", "API responses sent, by status");
+        for (int i = 0; i < routes.size(); i++) {
+            routes.get(i).appendStatusCounts(out, "http_server_requests_total", routeLabels.get(i));
+        }
+
+        appendHeader(out, "http_server_request_errors_total", "counter",
+                "API requests whose handler threw an exception");
+        for (int i = 0; i < routes.size(); i++) {
+            out.append("http_server_request_errors_total{").append(routeLabels.get(i)).append("} ")
+                    .append(routes.get(i).getErrorCount()).append('\n');
+        }
+
+        for (Map.Entry<String, HistogramFamily> family : families.entrySet()) {
+            appendHeader(out, family.getKey(), "histogram", family.getValue().help);
+            for (Map.Entry<String, LatencyHistogram> child : family.getValue().children.entrySet()) {
+                appendHistogram(out, family.getKey(), child.getKey(), child.getValue());
+            }
+        }
+
+        appendRuntime(out);
+        return out.toString();
+    }
+
+    /**
+     * Appends the cumulative buckets, sum and count of one histogram. The count
+     * is read first and the buckets capped at it, so values recorded meanwhile
+     * cannot make a bucket exceed +Inf.
+     */
+    private static void appendHistogram(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        long sum = histogram.getSum();
+        long count = histogram.getCount();
+        long[] buckets = histogram.getCountsAtOrBelow(BUCKET_BOUNDS_NANOS);
+        String separator = labels.isEmpty() ? "" : ",";
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            long atOrBelow = Math.min(buckets[i], count);
+            out.append(name).append("_bucket{").append(labels).append(separator)
+                    .append("le=\"").append(BUCKET_LABELS[i]).append("\"} ").append(atOrBelow).append('\n');
+        }
+        out.append(name).append("_bucket{").append(labels).append(separator)
+                .append("le=\"+Inf\"} ").append(count).append('\n');
+        out.append(name).append("_sum");
+        appendLabels(out, labels);
+        out.append(' ').append(sum / 1e9).append('\n');
+        out.append(name).append("_count");
+        appendLabels(out, labels);
+        out.append(' ').append(count).append('\n');
+    }
+
+    private static void appendRuntime(StringBuilder out) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        appendHeader(out, "jvm_memory_used_bytes", "gauge", "Used JVM heap memory");
+        out.append("jvm_memory_used_bytes{area=\"heap\"} ").append(heap.getUsed()).append('\n');
+        appendHeader(out, "jvm_memory_committed_bytes", "gauge", "Committed JVM heap memory");
+        out.append("jvm_memory_committed_bytes{area=\"heap\"} ").append(heap.getCommitted()).append('\n');
+
+        appendHeader(out, "jvm_threads_live", "gauge", "Live JVM threads");
+        out.append("jvm_threads_live ").append(ManagementFactory.getThreadMXBean().getThreadCount()).append('\n');
+
+        appendHeader(out, "process_uptime_seconds", "gauge", "Time since the JVM started");
+        out.append("process_uptime_seconds ")
+                .append(ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0).append('\n');
+    }
+
+    private static void appendHeader(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ')
+                .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void appendLabels(StringBuilder out, String labels) {
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+    }
+
+    /**
+     * Appends {@code name="value"} with the value escaped as the format requires.
+     */
+    private static void appendLabel(StringBuilder out, String name, String value) {
+        if (name == null || !name.matches("[a-zA-Z_][a-zA-Z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid label name: " + name);
+        }
+        out.append(name).append("=\"");
+        String text = String.valueOf(value);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Histograms of one name, by their rendered labels.
+     */
+    private static final class HistogramFamily {
+        private final String help;
+        private final Map<String, LatencyHistogram> children = new LinkedHashMap<>();
+
+        private HistogramFamily(String help) {
+            this.help = help != null ? help : "";
+        }
+
+        private HistogramFamily copy() {
+            HistogramFamily copy = new HistogramFamily(help);
+            copy.children.putAll(children);
+            return copy;
+        }
+    }
+}
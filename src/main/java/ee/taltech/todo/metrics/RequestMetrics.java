@@ -0,0 +1,121 @@
+package ee.taltech.todo.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, response status counts and error count of one route and method.
+ *
+ * Created once per route when it is registered, so recording a request does
+ * not look anything up.
+ *
+ * Thread Safety: Thread-safe
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class RequestMetrics {
+
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+
+    private final String method;
+    private final String route;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLongArray statusCounts = new AtomicLongArray(MAX_STATUS - MIN_STATUS + 1);
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param method HTTP method
+     * @param route  Route template, e.g. {@code /api/v1/tasks/{id}}
+     */
+    RequestMetrics(String method, String route) {
+        this.method = method;
+        this.route = route;
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param statusCode The response status; one outside 100-599 (no response
+     *                   sent) only counts towards the latency
+     * @param nanos      Time taken in nanoseconds
+     */
+    public void record(int statusCode, long nanos) {
+        latency.record(nanos);
+        if (statusCode >= MIN_STATUS && statusCode <= MAX_STATUS) {
+            statusCounts.incrementAndGet(statusCode - MIN_STATUS);
+        }
+    }
+
+    /**
+     * Records a request whose handler threw an exception.
+     */
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Gets the HTTP method.
+     *
+     * @return The method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the route template.
+     *
+     * @return The route
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Gets the latency distribution.
+     *
+     * @return The histogram
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Gets the number of responses sent with a status.
+     *
+     * @param statusCode The status
+     * @return The count, 0 for a status outside 100-599
+     */
+    public long getStatusCount(int statusCode) {
+        if (statusCode < MIN_STATUS || statusCode > MAX_STATUS) {
+            return 0;
+        }
+        return statusCounts.get(statusCode - MIN_STATUS);
+    }
+
+    /**
+     * Gets the number of requests whose handler threw an exception.
+     *
+     * @return The error count
+     */
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Appends a {@code status="..."} counter line for every status sent at least once.
+     */
+    void appendStatusCounts(StringBuilder out, String name, String labels) {
+        for (int i = 0; i < statusCounts.length(); i++) {
+            long count = statusCounts.get(i);
+            if (count > 0) {
+                out.append(name).append('{').append(labels).append(",status=\"")
+                        .append(MIN_STATUS + i).append("\"} ").append(count).append('\n');
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ee.taltech.todo.model;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Abstract base entity class providing common fields for all domain entities.
@@ -15,6 +16,11 @@ import java.util.UUID;
  */
 public abstract class BaseEntity {
 
+    /**
+     * Source of modification counts, shared by all entities.
+     */
+    private static final AtomicLong MODIFICATIONS = new AtomicLong();
+
     /**
      * Unique identifier for the entity.
      */
@@ -30,6 +36,28 @@ public abstract class BaseEntity {
      */
     private LocalDateTime updatedAt;
 
+    /**
+     * Version of the stored state this instance was read from or last saved as;
+     * 0 if it has never been stored.
+     */
+    private volatile long version;
+
+    /**
+     * Modification count, bumped by every change to this entity.
+     */
+    private volatile long modificationCount = MODIFICATIONS.incrementAndGet();
+
+    /**
+     * Cached encoded form of this entity and the modification stamp it was built from.
+     */
+    private volatile EncodedForm encodedForm;
+
+    /**
+     * Whether this instance is a stored snapshot that must no longer change.
+     * Plain field: an instance is frozen before it is published to other threads.
+     */
+    private boolean frozen;
+
     /**
      * Default constructor that generates a unique ID and sets creation timestamp.
      */
@@ -84,7 +112,74 @@ public abstract class BaseEntity {
      * Should be called whenever the entity is modified.
      */
     public void updateTimestamp() {
+        checkMutable();
         this.updatedAt = LocalDateTime.now();
+        touch();
+    }
+
+    /**
+     * Gets the stored version this instance was read from or last saved as.
+     *
+     * Repositories start each entity at version 1 and increase it by one on every
+     * save. A save is only accepted if this value equals the stored version (or is
+     * 0 for an entity that is not stored), so two writers that read the same
+     * version cannot both succeed.
+     *
+     * @return The version, 0 if this instance has never been stored
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the stored version. Called by repositories when an entity is read or
+     * saved; application code should not change it. The version is part of the
+     * encoded form, so this counts as a modification.
+     *
+     * @param version The version
+     */
+    public void setVersion(long version) {
+        checkMutable();
+        this.version = version;
+        touch();
+    }
+
+    /**
+     * Gets the modification count.
+     *
+     * Counts are drawn from one sequence shared by all entities, so every change
+     * gives the entity a count larger than any count handed out before. A value
+     * derived from several entities (e.g. the maximum) therefore also changes
+     * whenever any of them changes.
+     *
+     * @return The modification count
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Gets the cached encoded form of this entity, if it was built from the given stamp.
+     *
+     * @param stamp The modification stamp the caller expects
+     * @return The cached bytes, or null if there are none for this stamp
+     */
+    public byte[] getEncodedForm(long stamp) {
+        EncodedForm form = encodedForm;
+        return form != null && form.stamp == stamp ? form.bytes : null;
+    }
+
+    /**
+     * Caches an encoded form of this entity (e.g. its JSON).
+     * The stamp must have been read before encoding, so a concurrent change
+     * leaves the cache tagged with an outdated stamp rather than stale bytes
+     * tagged with the current one.
+     *
+     * @param stamp The modification stamp the bytes were built from
+     * @param bytes The encoded form; callers must not modify it afterwards
+     */
+    public void setEncodedForm(long stamp, byte[] bytes) {
+        this.encodedForm = new EncodedForm(stamp, bytes);
     }
 
     /**
@@ -93,7 +188,9 @@ public abstract class BaseEntity {
      * @param id The ID to set
      */
     protected void setId(String id) {
+        checkMutable();
         this.id = id;
+        touch();
     }
 
     /**
@@ -102,7 +199,9 @@ public abstract class BaseEntity {
      * @param createdAt The creation timestamp
      */
     protected void setCreatedAt(LocalDateTime createdAt) {
+        checkMutable();
         this.createdAt = createdAt;
+        touch();
     }
 
     /**
@@ -111,7 +210,44 @@ public abstract class BaseEntity {
      * @param updatedAt The update timestamp
      */
     protected void setUpdatedAt(LocalDateTime updatedAt) {
+        checkMutable();
         this.updatedAt = updatedAt;
+        touch();
+    }
+
+    /**
+     * Checks whether this instance is a frozen snapshot.
+     *
+     * @return true if this instance can no longer be modified
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Freezes this instance: every later attempt to modify it throws
+     * IllegalStateException. Repositories freeze the snapshots they store, so
+     * those can be shared with any number of readers without locks or copies.
+     * The cached encoded form may still be set, since it only mirrors the state.
+     */
+    public void freeze() {
+        this.frozen = true;
+    }
+
+    /**
+     * Throws if this instance is frozen. Called first by every mutator.
+     *
+     * @throws IllegalStateException if this instance is a frozen snapshot
+     */
+    protected void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException(getClass().getSimpleName() + " " + id
+                    + " is a stored snapshot; modify a copy() instead");
+        }
+    }
+
+    private void touch() {
+        this.modificationCount = MODIFICATIONS.incrementAndGet();
     }
 
     @Override
@@ -131,8 +267,22 @@ public abstract class BaseEntity {
     public String toString() {
         return "BaseEntity{" +
                 "id='" + id + '\'' +
+                ", version=" + version +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 '}';
     }
+
+    /**
+     * An encoded form and the modification stamp it was built from.
+     */
+    private static final class EncodedForm {
+        private final long stamp;
+        private final byte[] bytes;
+
+        private EncodedForm(long stamp, byte[] bytes) {
+            this.stamp = stamp;
+            this.bytes = bytes;
+        }
+    }
 }
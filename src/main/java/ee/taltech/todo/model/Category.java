@@ -1,5 +1,6 @@
 package ee.taltech.todo.model;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 /**
@@ -59,6 +60,55 @@ public class Category extends BaseEntity {
         this.color = color;
     }
 
+    /**
+     * Reconstructs a category from persistent storage.
+     * Unlike the setters, this keeps the stored timestamps instead of touching updatedAt.
+     *
+     * @param id          The category ID
+     * @param name        The category name
+     * @param description The category description
+     * @param color       The category color
+     * @param createdAt   The creation timestamp
+     * @param updatedAt   The last update timestamp
+     * @return The reconstructed category
+     */
+    public static Category restore(String id, String name, String description, String color,
+                                   LocalDateTime createdAt, LocalDateTime updatedAt) {
+        Category category = new Category(name, description, color);
+        category.setId(id);
+        category.setCreatedAt(createdAt);
+        category.setUpdatedAt(updatedAt);
+        return category;
+    }
+
+    /**
+     * Creates a copy of this category with the same ID, field values, timestamps
+     * and version. Changes to the copy do not affect this category, so a writer
+     * can prepare its changes on a copy and save it over the stored version.
+     *
+     * @return The copy
+     */
+    public Category copy() {
+        Category copy = restore(getId(), name, description, color, getCreatedAt(), getUpdatedAt());
+        copy.setVersion(getVersion());
+        return copy;
+    }
+
+    /**
+     * Takes over the name, description, color and update timestamp of another
+     * category. Used by repositories that keep one instance per stored category,
+     * which tasks refer to, to apply a saved copy to it.
+     *
+     * @param source The category to copy the fields from
+     */
+    public void copyFrom(Category source) {
+        checkMutable();
+        this.name = source.name;
+        this.description = source.description;
+        this.color = source.color;
+        setUpdatedAt(source.getUpdatedAt());
+    }
+
     // Getters and Setters
 
     /**
@@ -98,6 +98,53 @@ public class Task extends BaseEntity {
         this.category = category;
     }
 
+    /**
+     * Reconstructs a task from persistent storage.
+     * Unlike the setters, this keeps the stored timestamps instead of touching updatedAt.
+     *
+     * @param id          The task ID
+     * @param title       The task title
+     * @param description The task description
+     * @param status      The task status
+     * @param priority    The task priority
+     * @param dueDate     The due date (may be null)
+     * @param category    The task category (may be null)
+     * @param starred     The starred flag
+     * @param createdAt   The creation timestamp
+     * @param updatedAt   The last update timestamp
+     * @return The reconstructed task
+     */
+    public static Task restore(String id, String title, String description, TaskStatus status,
+                               TaskPriority priority, LocalDateTime dueDate, Category category,
+                               boolean starred, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        Task task = new Task();
+        task.setId(id);
+        task.title = title;
+        task.description = description;
+        task.status = status;
+        task.priority = priority;
+        task.dueDate = dueDate;
+        task.category = category;
+        task.starred = starred;
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(updatedAt);
+        return task;
+    }
+
+    /**
+     * Creates a copy of this task with the same ID, field values, timestamps and
+     * version. Changes to the copy do not affect this task, so a writer can
+     * prepare its changes on a copy and save it over the stored version.
+     *
+     * @return The copy
+     */
+    public Task copy() {
+        Task copy = restore(getId(), title, description, status, priority, dueDate, category, starred,
+                getCreatedAt(), getUpdatedAt());
+        copy.setVersion(getVersion());
+        return copy;
+    }
+
     // Business Logic Methods
 
     /**
@@ -105,6 +152,7 @@ public class Task extends BaseEntity {
      * Changes status to COMPLETED and updates timestamp.
      */
     public void complete() {
+        checkMutable();
         this.status = TaskStatus.COMPLETED;
         updateTimestamp();
     }
@@ -114,6 +162,7 @@ public class Task extends BaseEntity {
      * Changes status to IN_PROGRESS and updates timestamp.
      */
     public void start() {
+        checkMutable();
         this.status = TaskStatus.IN_PROGRESS;
         updateTimestamp();
     }
@@ -123,6 +172,7 @@ public class Task extends BaseEntity {
      * Changes status to CANCELLED and updates timestamp.
      */
     public void cancel() {
+        checkMutable();
         this.status = TaskStatus.CANCELLED;
         updateTimestamp();
     }
@@ -154,6 +204,7 @@ public class Task extends BaseEntity {
      * Toggles the starred/favorite status.
      */
     public void toggleStarred() {
+        checkMutable();
         this.starred = !this.starred;
         updateTimestamp();
     }
@@ -175,6 +226,7 @@ public class Task extends BaseEntity {
      * @param title The new title
      */
     public void setTitle(String title) {
+        checkMutable();
         this.title = title;
         updateTimestamp();
     }
@@ -194,6 +246,7 @@ public class Task extends BaseEntity {
      * @param description The new description
      */
     public void setDescription(String description) {
+        checkMutable();
         this.description = description;
         updateTimestamp();
     }
@@ -213,6 +266,7 @@ public class Task extends BaseEntity {
      * @param status The new status
      */
     public void setStatus(TaskStatus status) {
+        checkMutable();
         this.status = status;
         updateTimestamp();
     }
@@ -232,6 +286,7 @@ public class Task extends BaseEntity {
      * @param priority The new priority
      */
     public void setPriority(TaskPriority priority) {
+        checkMutable();
         this.priority = priority;
         updateTimestamp();
     }
@@ -251,6 +306,7 @@ public class Task extends BaseEntity {
      * @param dueDate The new due date
      */
     public void setDueDate(LocalDateTime dueDate) {
+        checkMutable();
         this.dueDate = dueDate;
         updateTimestamp();
     }
@@ -270,6 +326,7 @@ public class Task extends BaseEntity {
      * @param category The new category
      */
     public void setCategory(Category category) {
+        checkMutable();
         this.category = category;
         updateTimestamp();
     }
@@ -289,6 +346,7 @@ public class Task extends BaseEntity {
      * @param starred The new starred status
      */
     public void setStarred(boolean starred) {
+        checkMutable();
         this.starred = starred;
         updateTimestamp();
     }
@@ -0,0 +1,81 @@
+package ee.taltech.todo.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Encoding of nullable field values shared by the entity codecs.
+ *
+ * Strings are written as a UTF-8 byte length followed by the bytes (-1 for null),
+ * timestamps as UTC epoch seconds plus nanoseconds preceded by a presence flag and
+ * enums as a single ordinal byte (0xFF for null).
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+final class BinaryFields {
+
+    /**
+     * Ordinal byte written for a null enum value.
+     */
+    private static final int NULL_ORDINAL = 0xFF;
+
+    private BinaryFields() {
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    static LocalDateTime readDateTime(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value != null ? value.ordinal() : NULL_ORDINAL);
+    }
+
+    static <E extends Enum<E>> E readEnum(DataInput in, E[] values) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal == NULL_ORDINAL) {
+            return null;
+        }
+        if (ordinal >= values.length) {
+            throw new IOException("Unknown enum ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+}
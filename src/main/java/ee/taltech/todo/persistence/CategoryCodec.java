@@ -0,0 +1,45 @@
+package ee.taltech.todo.persistence;
+
+import ee.taltech.todo.model.Category;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary codec for categories.
+ *
+ * The version is stored right after the ID, so a restored category keeps the
+ * version its entity tags and compare-and-swap saves were based on.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class CategoryCodec implements EntityCodec<Category> {
+
+    @Override
+    public void write(Category category, DataOutput out) throws IOException {
+        BinaryFields.writeString(out, category.getId());
+        out.writeLong(category.getVersion());
+        BinaryFields.writeString(out, category.getName());
+        BinaryFields.writeString(out, category.getDescription());
+        BinaryFields.writeString(out, category.getColor());
+        BinaryFields.writeDateTime(out, category.getCreatedAt());
+        BinaryFields.writeDateTime(out, category.getUpdatedAt());
+    }
+
+    @Override
+    public Category read(DataInput in) throws IOException {
+        String id = BinaryFields.readString(in);
+        long version = in.readLong();
+        Category category = Category.restore(
+                id,
+                BinaryFields.readString(in),
+                BinaryFields.readString(in),
+                BinaryFields.readString(in),
+                BinaryFields.readDateTime(in),
+                BinaryFields.readDateTime(in));
+        category.setVersion(version);
+        return category;
+    }
+}
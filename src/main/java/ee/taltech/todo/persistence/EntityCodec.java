@@ -0,0 +1,35 @@
+package ee.taltech.todo.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts entities to and from the compact binary form used by the
+ * write-ahead log and snapshots.
+ *
+ * @param <T> The entity type
+ * @author ToDo Application
+ * @version 1.0
+ */
+public interface EntityCodec<T> {
+
+    /**
+     * Writes an entity. The ID must be written first, as a length-prefixed UTF-8
+     * string, so that snapshots can look entities up without decoding them.
+     *
+     * @param entity The entity
+     * @param out    Destination
+     * @throws IOException if writing fails
+     */
+    void write(T entity, DataOutput out) throws IOException;
+
+    /**
+     * Reads an entity written by {@link #write}.
+     *
+     * @param in Source
+     * @return The entity
+     * @throws IOException if reading fails or the data is malformed
+     */
+    T read(DataInput in) throws IOException;
+}
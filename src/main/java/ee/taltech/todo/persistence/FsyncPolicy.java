@@ -0,0 +1,29 @@
+package ee.taltech.todo.persistence;
+
+/**
+ * When the write-ahead log forces appended records to stable storage.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public enum FsyncPolicy {
+
+    /**
+     * Every commit waits until its record has been written and fsynced.
+     * Concurrent commits share one write and one fsync (group commit).
+     */
+    ALWAYS,
+
+    /**
+     * Commits return immediately; a background thread writes and fsyncs the
+     * log at a fixed interval. A crash can lose the last interval of writes.
+     */
+    INTERVAL,
+
+    /**
+     * Every commit waits until its record has been handed to the operating
+     * system, which decides when to flush it. Survives a process crash but
+     * not a power failure.
+     */
+    NEVER
+}
@@ -0,0 +1,101 @@
+package ee.taltech.todo.persistence;
+
+import ee.taltech.todo.config.AppConfig;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Settings for the write-ahead logs of the in-memory repositories.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class JournalSettings {
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final int fsyncIntervalMillis;
+    private final int snapshotThreshold;
+
+    /**
+     * Constructor with all settings.
+     *
+     * @param directory           Directory for log segments and snapshots
+     * @param fsyncPolicy         When to fsync the log
+     * @param fsyncIntervalMillis Background fsync interval for {@link FsyncPolicy#INTERVAL}
+     * @param snapshotThreshold   Number of records after which a snapshot is taken (0 disables)
+     */
+    public JournalSettings(Path directory, FsyncPolicy fsyncPolicy, int fsyncIntervalMillis, int snapshotThreshold) {
+        if (fsyncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Fsync interval must be positive");
+        }
+        if (snapshotThreshold < 0) {
+            throw new IllegalArgumentException("Snapshot threshold cannot be negative");
+        }
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.snapshotThreshold = snapshotThreshold;
+    }
+
+    /**
+     * Creates settings from the {@code wal.*} configuration keys.
+     *
+     * @param config Application configuration
+     * @return The settings
+     * @throws IllegalArgumentException if a value is invalid
+     */
+    public static JournalSettings fromConfig(AppConfig config) {
+        String policy = config.getString("wal.fsyncPolicy", FsyncPolicy.ALWAYS.name());
+        FsyncPolicy fsyncPolicy;
+        try {
+            fsyncPolicy = FsyncPolicy.valueOf(policy.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown wal.fsyncPolicy: " + policy, e);
+        }
+
+        return new JournalSettings(
+                Paths.get(config.getString("wal.directory", "data/wal")),
+                fsyncPolicy,
+                config.getInt("wal.fsyncIntervalMillis", 100),
+                config.getInt("wal.snapshotThreshold", 10000));
+    }
+
+    /**
+     * Gets the directory for log segments and snapshots.
+     *
+     * @return The directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the fsync policy.
+     *
+     * @return The fsync policy
+     */
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    /**
+     * Gets the background fsync interval.
+     *
+     * @return The interval in milliseconds
+     */
+    public int getFsyncIntervalMillis() {
+        return fsyncIntervalMillis;
+    }
+
+    /**
+     * Gets the number of records after which a snapshot is taken.
+     *
+     * @return The threshold, 0 if snapshots are disabled
+     */
+    public int getSnapshotThreshold() {
+        return snapshotThreshold;
+    }
+}
@@ -0,0 +1,329 @@
+package ee.taltech.todo.persistence;
+
+import ee.taltech.todo.exception.DataAccessException;
+import ee.taltech.todo.model.BaseEntity;
+import ee.taltech.todo.repository.SnapshotSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary snapshot that is read through a memory mapping and decoded lazily.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * header   magic (int), version (int), first log segment (long), entity count (int),
+ *          slot size (int), data offset (long)
+ * slots    one fixed-size slot per entity, sorted by ID:
+ *          record offset (int), record length (int), record CRC32 (int)
+ * data     the records, each encoded by the entity's {@link EntityCodec};
+ *          every codec writes the ID first as a length-prefixed UTF-8 string
+ * </pre>
+ *
+ * Opening only maps the file and validates the header, so it takes the same time for
+ * any number of entities. IDs are found by binary search over the slots, comparing the
+ * UTF-8 bytes in place, and a record is decoded and checksummed only when it is loaded.
+ *
+ * @param <T> The entity type
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class MappedSnapshot<T extends BaseEntity> implements SnapshotSource<T> {
+
+    static final int MAGIC = 0x54444F53;
+    /**
+     * Version 3 added the entity version to the task and category records.
+     */
+    static final int VERSION = 3;
+
+    private static final int HEADER_BYTES = 32;
+    private static final int SLOT_BYTES = 12;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final EntityCodec<T> codec;
+    private final long firstSegment;
+    private final int count;
+
+    private MappedSnapshot(Path path, FileChannel channel, MappedByteBuffer buffer, EntityCodec<T> codec) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.codec = codec;
+
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new DataAccessException("Not a snapshot file: " + path, null);
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new DataAccessException("Unsupported snapshot version " + version + ": " + path, null);
+        }
+        this.firstSegment = buffer.getLong(8);
+        this.count = buffer.getInt(16);
+        int slotBytes = buffer.getInt(20);
+        long dataOffset = buffer.getLong(24);
+        if (slotBytes != SLOT_BYTES || count < 0
+                || dataOffset != HEADER_BYTES + (long) count * SLOT_BYTES || dataOffset > buffer.capacity()) {
+            throw new DataAccessException("Corrupt snapshot header: " + path, null);
+        }
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param path  The snapshot file
+     * @param codec Codec for decoding the records
+     * @param <T>   The entity type
+     * @return The snapshot, or null if the file does not exist
+     * @throws DataAccessException if the file is not a valid snapshot
+     */
+    public static <T extends BaseEntity> MappedSnapshot<T> open(Path path, EntityCodec<T> codec) {
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new DataAccessException("Snapshot larger than 2 GB: " + path, null);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedSnapshot<>(path, channel, buffer, codec);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(channel);
+            if (e instanceof DataAccessException) {
+                throw (DataAccessException) e;
+            }
+            throw new DataAccessException("Failed to map snapshot " + path, e);
+        }
+    }
+
+    /**
+     * Writes a snapshot atomically: to a temporary file that is fsynced and then
+     * moved over the target.
+     *
+     * @param path         The snapshot file
+     * @param firstSegment First log segment to replay on top of the snapshot
+     * @param entities     The entities
+     * @param codec        Codec for encoding the records
+     * @param <T>          The entity type
+     * @throws DataAccessException if the snapshot cannot be written
+     */
+    public static <T extends BaseEntity> void write(Path path, long firstSegment, List<T> entities,
+                                                    EntityCodec<T> codec) {
+        List<Record> records = new ArrayList<>(entities.size());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            for (T entity : entities) {
+                bytes.reset();
+                codec.write(entity, out);
+                records.add(new Record(entity.getId().getBytes(StandardCharsets.UTF_8), bytes.toByteArray()));
+            }
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to encode snapshot " + path, e);
+        }
+        records.sort((a, b) -> Arrays.compareUnsigned(a.id, b.id));
+
+        long dataOffset = HEADER_BYTES + (long) records.size() * SLOT_BYTES;
+        long size = dataOffset;
+        for (Record record : records) {
+            size += record.data.length;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new DataAccessException("Snapshot larger than 2 GB: " + path, null);
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(firstSegment).putInt(records.size())
+                    .putInt(SLOT_BYTES).putLong(dataOffset);
+
+            CRC32 crc = new CRC32();
+            int offset = (int) dataOffset;
+            for (Record record : records) {
+                ensureRemaining(channel, buffer, SLOT_BYTES);
+                crc.reset();
+                crc.update(record.data);
+                buffer.putInt(offset).putInt(record.data.length).putInt((int) crc.getValue());
+                offset += record.data.length;
+            }
+            for (Record record : records) {
+                if (record.data.length > buffer.capacity()) {
+                    drain(channel, buffer);
+                    writeFully(channel, ByteBuffer.wrap(record.data));
+                } else {
+                    ensureRemaining(channel, buffer, record.data.length);
+                    buffer.put(record.data);
+                }
+            }
+            drain(channel, buffer);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to write snapshot " + tmp, e);
+        }
+
+        try {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to install snapshot " + path, e);
+        }
+    }
+
+    /**
+     * Gets the first log segment to replay on top of this snapshot.
+     *
+     * @return The segment number
+     */
+    public long getFirstSegment() {
+        return firstSegment;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int indexOf(String id) {
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareId(mid, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String idAt(int index) {
+        int offset = recordOffset(index);
+        int length = buffer.getInt(offset);
+        byte[] id = new byte[length];
+        buffer.get(offset + 4, id);
+        return new String(id, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public T load(int index) {
+        int slot = slotOffset(index);
+        int offset = buffer.getInt(slot);
+        int length = buffer.getInt(slot + 4);
+        int expected = buffer.getInt(slot + 8);
+
+        byte[] record = new byte[length];
+        buffer.get(offset, record);
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        if ((int) crc.getValue() != expected) {
+            throw new DataAccessException("Corrupt record " + index + " in snapshot " + path, null);
+        }
+
+        try {
+            return codec.read(new DataInputStream(new ByteArrayInputStream(record)));
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to decode record " + index + " in snapshot " + path, e);
+        }
+    }
+
+    /**
+     * Closes the file channel. The mapping itself is released when it is garbage collected.
+     */
+    @Override
+    public void close() {
+        closeQuietly(channel);
+    }
+
+    private int compareId(int index, byte[] key) {
+        int offset = recordOffset(index);
+        int length = buffer.getInt(offset);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.toUnsignedInt(buffer.get(offset + 4 + i)) - Byte.toUnsignedInt(key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - key.length;
+    }
+
+    private int recordOffset(int index) {
+        return buffer.getInt(slotOffset(index));
+    }
+
+    private int slotOffset(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Snapshot index " + index + " out of range 0.." + count);
+        }
+        return HEADER_BYTES + index * SLOT_BYTES;
+    }
+
+    private static void ensureRemaining(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing useful to do; the channel is read-only
+            }
+        }
+    }
+
+    /**
+     * An encoded entity and its UTF-8 ID, used for sorting while writing.
+     */
+    private static final class Record {
+        final byte[] id;
+        final byte[] data;
+
+        Record(byte[] id, byte[] data) {
+            this.id = id;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package ee.taltech.todo.persistence;
+
+import ee.taltech.todo.exception.DataAccessException;
+import ee.taltech.todo.model.BaseEntity;
+import ee.taltech.todo.repository.ChangeJournal;
+import ee.taltech.todo.repository.JournaledRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Makes an in-memory repository durable with a write-ahead log and periodic snapshots.
+ *
+ * Every save is logged as the entity's full binary state, including its version, and
+ * every delete as its ID, so replaying a record is idempotent and restored entities
+ * keep the versions clients hold in their entity tags. After a configurable number of records a
+ * snapshot is taken in the background: the log is rotated to a new segment, the
+ * repository contents are written to a snapshot file that names that segment,
+ * and older segments are deleted. On startup the latest snapshot is attached and the
+ * segments from its segment onward are replayed on top of it.
+ *
+ * Writers hold the shared side of a read-write lock from applying a change until it
+ * is visible in the repository ({@link #beginChange} to {@link #endChange}). The
+ * snapshot takes the exclusive side only while it rotates the log and captures the
+ * repository contents, so every change is either in the captured contents or logged
+ * in a segment the snapshot keeps. A change logged in the new segment may also be in
+ * the captured contents; replaying it gives the same final state.
+ *
+ * Snapshots use the {@link MappedSnapshot} format and are attached to the repository
+ * without decoding, so opening takes about the same time for any data set size.
+ *
+ * Design Pattern: Observer (the repository reports its changes to the journal)
+ * Thread Safety: Records may be appended concurrently; snapshots are serialized and
+ * block writers only while the log is rotated and the contents are captured.
+ *
+ * @param <T> The entity type
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class RepositoryJournal<T extends BaseEntity> implements ChangeJournal<T>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryJournal.class);
+
+    static final byte DELETE = 2;
+
+    /**
+     * A save whose payload carries the entity version. Type 1 was a save without
+     * the version; logs containing it are from an older format and are rejected.
+     */
+    static final byte SAVE = 3;
+    private static final byte UNVERSIONED_SAVE = 1;
+
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    private final String name;
+    private final Path snapshotPath;
+    private final JournaledRepository<T> repository;
+    private final EntityCodec<T> codec;
+    private final WriteAheadLog log;
+    private final int snapshotThreshold;
+    private final AtomicLong recordsSinceSnapshot = new AtomicLong();
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean();
+    private final ExecutorService snapshotExecutor;
+
+    /**
+     * Shared by changes in progress, held exclusively while a snapshot rotates the
+     * log and captures the repository.
+     */
+    private final ReadWriteLock captureLock = new ReentrantReadWriteLock();
+
+    private RepositoryJournal(String name, Path snapshotPath, JournaledRepository<T> repository, EntityCodec<T> codec,
+                              WriteAheadLog log, int snapshotThreshold) {
+        this.name = name;
+        this.snapshotPath = snapshotPath;
+        this.repository = repository;
+        this.codec = codec;
+        this.log = log;
+        this.snapshotThreshold = snapshotThreshold;
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Restores the repository from its snapshot and log, then attaches and returns the journal.
+     * The snapshot is attached lazily; only entities changed in the log tail are decoded.
+     *
+     * @param name       Journal name, used as the file prefix
+     * @param repository The repository to restore; must be empty
+     * @param codec      Binary codec for the entities
+     * @param settings   Journal settings
+     * @param <T>        The entity type
+     * @return The journal
+     * @throws DataAccessException if the snapshot or log cannot be read
+     */
+    public static <T extends BaseEntity> RepositoryJournal<T> open(String name, JournaledRepository<T> repository,
+                                                                   EntityCodec<T> codec, JournalSettings settings) {
+        long start = System.nanoTime();
+        Path snapshotPath = settings.getDirectory().resolve(name + SNAPSHOT_SUFFIX);
+
+        MappedSnapshot<T> snapshot = MappedSnapshot.open(snapshotPath, codec);
+        long firstSegment = 0;
+        if (snapshot != null) {
+            firstSegment = snapshot.getFirstSegment();
+            repository.attachSnapshot(snapshot);
+        }
+
+        WriteAheadLog log = WriteAheadLog.open(settings.getDirectory(), name,
+                settings.getFsyncPolicy(), settings.getFsyncIntervalMillis());
+        try {
+            // Final state per ID in the log tail; null marks a delete
+            Map<String, T> changes = new LinkedHashMap<>();
+            long replayed = log.replay(firstSegment, (type, payload) -> {
+                if (type == SAVE) {
+                    T entity = codec.read(payload);
+                    changes.put(entity.getId(), entity);
+                } else if (type == DELETE) {
+                    changes.put(BinaryFields.readString(payload), null);
+                } else if (type == UNVERSIONED_SAVE) {
+                    throw new IOException("Log record from an older format without entity versions");
+                } else {
+                    throw new IOException("Unknown record type " + type);
+                }
+            });
+
+            // Drop every changed ID before restoring the final states, so no restore can
+            // collide with a stale snapshot copy (e.g. on a unique category name)
+            for (String id : changes.keySet()) {
+                repository.deleteById(id);
+            }
+            for (T entity : changes.values()) {
+                if (entity != null) {
+                    repository.restore(entity);
+                }
+            }
+
+            logger.info("Opened {} journal in {} ms ({} entities in snapshot, {} log records replayed)",
+                    name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    snapshot != null ? snapshot.size() : 0, replayed);
+        } catch (RuntimeException e) {
+            log.close();
+            throw e;
+        }
+
+        RepositoryJournal<T> journal = new RepositoryJournal<>(name, snapshotPath, repository, codec, log,
+                settings.getSnapshotThreshold());
+        repository.setJournal(journal);
+        return journal;
+    }
+
+    @Override
+    public long recordSave(T entity) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            codec.write(entity, new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to encode " + entity.getId(), e);
+        }
+        recordsSinceSnapshot.incrementAndGet();
+        return log.append(SAVE, bytes.toByteArray());
+    }
+
+    @Override
+    public long recordDelete(String id) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try {
+            BinaryFields.writeString(new DataOutputStream(bytes), id);
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to encode " + id, e);
+        }
+        recordsSinceSnapshot.incrementAndGet();
+        return log.append(DELETE, bytes.toByteArray());
+    }
+
+    @Override
+    public void commit(long position) {
+        log.commit(position);
+
+        if (snapshotThreshold > 0 && recordsSinceSnapshot.get() >= snapshotThreshold
+                && snapshotScheduled.compareAndSet(false, true)) {
+            snapshotExecutor.execute(() -> {
+                try {
+                    snapshot();
+                } catch (DataAccessException e) {
+                    logger.error("Snapshot of {} failed", name, e);
+                } finally {
+                    snapshotScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void beginChange() {
+        captureLock.readLock().lock();
+    }
+
+    @Override
+    public void endChange() {
+        captureLock.readLock().unlock();
+    }
+
+    /**
+     * Writes a snapshot of the repository and deletes the log segments it covers.
+     */
+    public synchronized void snapshot() {
+        long start = System.nanoTime();
+        // Decode lazily attached entities first, so writers are not held up by it
+        repository.preload();
+
+        long segment;
+        List<T> entities;
+        captureLock.writeLock().lock();
+        try {
+            segment = log.rotate();
+            recordsSinceSnapshot.set(0);
+            entities = repository.findAll();
+        } finally {
+            captureLock.writeLock().unlock();
+        }
+
+        MappedSnapshot.write(snapshotPath, segment, entities, codec);
+        log.deleteSegmentsBefore(segment);
+
+        logger.info("Snapshot of {} written: {} entities in {} ms, log truncated before segment {}",
+                name, entities.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), segment);
+    }
+
+    /**
+     * Stops background snapshots and closes the log.
+     */
+    @Override
+    public void close() {
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+    }
+}
@@ -0,0 +1,80 @@
+package ee.taltech.todo.persistence;
+
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Binary codec for tasks.
+ *
+ * Status and priority are stored by ordinal, so new enum constants must only be
+ * appended. The category is stored by ID and resolved on read, so a restored
+ * task shares the Category instance held by the category repository. The
+ * version is stored right after the ID, so a restored task keeps the version
+ * its entity tags and compare-and-swap saves were based on.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class TaskCodec implements EntityCodec<Task> {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    /**
+     * Looks up a category by ID; returns null if it no longer exists.
+     */
+    private final Function<String, Category> categoryResolver;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param categoryResolver Resolves category IDs to categories (null if unknown)
+     */
+    public TaskCodec(Function<String, Category> categoryResolver) {
+        this.categoryResolver = categoryResolver;
+    }
+
+    @Override
+    public void write(Task task, DataOutput out) throws IOException {
+        BinaryFields.writeString(out, task.getId());
+        out.writeLong(task.getVersion());
+        BinaryFields.writeString(out, task.getTitle());
+        BinaryFields.writeString(out, task.getDescription());
+        BinaryFields.writeEnum(out, task.getStatus());
+        BinaryFields.writeEnum(out, task.getPriority());
+        BinaryFields.writeDateTime(out, task.getDueDate());
+        BinaryFields.writeString(out, task.getCategory() != null ? task.getCategory().getId() : null);
+        out.writeBoolean(task.isStarred());
+        BinaryFields.writeDateTime(out, task.getCreatedAt());
+        BinaryFields.writeDateTime(out, task.getUpdatedAt());
+    }
+
+    @Override
+    public Task read(DataInput in) throws IOException {
+        String id = BinaryFields.readString(in);
+        long version = in.readLong();
+        String title = BinaryFields.readString(in);
+        String description = BinaryFields.readString(in);
+        TaskStatus status = BinaryFields.readEnum(in, STATUSES);
+        TaskPriority priority = BinaryFields.readEnum(in, PRIORITIES);
+        LocalDateTime dueDate = BinaryFields.readDateTime(in);
+        String categoryId = BinaryFields.readString(in);
+        boolean starred = in.readBoolean();
+        LocalDateTime createdAt = BinaryFields.readDateTime(in);
+        LocalDateTime updatedAt = BinaryFields.readDateTime(in);
+        Category category = categoryId != null ? categoryResolver.apply(categoryId) : null;
+
+        Task task = Task.restore(id, title, description, status, priority, dueDate, category, starred,
+                createdAt, updatedAt);
+        task.setVersion(version);
+        return task;
+    }
+}
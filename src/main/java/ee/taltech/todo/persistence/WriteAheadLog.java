@@ -0,0 +1,507 @@
+package ee.taltech.todo.persistence;
+
+import ee.taltech.todo.exception.DataAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of binary change records, split into numbered segment files.
+ *
+ * Record layout: body length (int), CRC32 of the body (int), body. The body is a
+ * one-byte record type followed by the payload. A record whose length or checksum
+ * does not match is a torn write from a crash; the log is truncated before it.
+ *
+ * Appends only copy the record into an in-memory buffer. {@link #commit} then writes
+ * the buffer to the current segment according to the {@link FsyncPolicy}. Commits
+ * that arrive while another thread is writing wait for it and are then written
+ * together, so under concurrent load one write and one fsync cover many records
+ * (group commit). Records stay buffered until a write of them has succeeded, so a
+ * failed write is retried by the next commit, and a commit only returns once its
+ * record has been written.
+ *
+ * Thread Safety: appends are serialized on the log itself; writes, fsyncs and
+ * segment rotation are serialized on a separate flush lock.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class WriteAheadLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    /**
+     * Length and checksum preceding every record body.
+     */
+    private static final int HEADER_BYTES = 8;
+
+    /**
+     * Upper bound for a record body; larger lengths can only come from a torn header.
+     */
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Callback receiving replayed records.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+
+        /**
+         * Handles one record.
+         *
+         * @param type    The record type
+         * @param payload The record payload
+         * @throws IOException if the payload is malformed
+         */
+        void handle(byte type, DataInput payload) throws IOException;
+    }
+
+    private final Path directory;
+    private final String name;
+    private final FsyncPolicy policy;
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher;
+
+    // Guarded by this
+    private final PendingBuffer pending = new PendingBuffer(8192);
+    private final DataOutputStream pendingOut = new DataOutputStream(pending);
+    private final CRC32 crc = new CRC32();
+    private long appended;
+
+    // Guarded by flushLock
+    private FileChannel channel;
+    private long segment;
+    private long written;
+    private long durable;
+    private boolean closed;
+    private IOException failure;
+
+    private WriteAheadLog(Path directory, String name, FsyncPolicy policy, long fsyncIntervalMillis)
+            throws IOException {
+        this.directory = directory;
+        this.name = name;
+        this.policy = policy;
+
+        Files.createDirectories(directory);
+        List<Long> segments = listSegments();
+        this.segment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+        repairTail(segmentPath(segment));
+        this.channel = openSegment(segment);
+
+        if (policy == FsyncPolicy.INTERVAL) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wal-flusher-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushInBackground,
+                    fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Opens the log in the given directory, creating it if needed.
+     * A torn record at the end of the last segment is truncated.
+     *
+     * @param directory           Directory holding the segment files
+     * @param name                Log name, used as the segment file prefix
+     * @param policy              When to fsync
+     * @param fsyncIntervalMillis Background fsync interval for {@link FsyncPolicy#INTERVAL}
+     * @return The opened log
+     * @throws DataAccessException if the log cannot be opened
+     */
+    public static WriteAheadLog open(Path directory, String name, FsyncPolicy policy, long fsyncIntervalMillis) {
+        try {
+            WriteAheadLog log = new WriteAheadLog(directory, name, policy, fsyncIntervalMillis);
+            logger.info("Opened write-ahead log '{}' in {} (segment: {}, fsync: {})",
+                    name, directory, log.segment, policy);
+            return log;
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to open write-ahead log " + name, e);
+        }
+    }
+
+    /**
+     * Replays every record in the segments numbered fromSegment and above, oldest first.
+     * Must be called before the first append.
+     *
+     * @param fromSegment First segment to replay
+     * @param handler     Receives the records
+     * @return Number of records replayed
+     * @throws DataAccessException if a segment cannot be read or a record cannot be handled
+     */
+    public long replay(long fromSegment, RecordHandler handler) {
+        long[] count = new long[1];
+        RecordHandler counting = (type, payload) -> {
+            handler.handle(type, payload);
+            count[0]++;
+        };
+
+        for (long number : listSegments()) {
+            if (number < fromSegment) {
+                continue;
+            }
+            Path path = segmentPath(number);
+            try {
+                long valid = scan(path, counting);
+                if (number != segment && valid < Files.size(path)) {
+                    throw new DataAccessException("Corrupt record in sealed log segment " + path, null);
+                }
+            } catch (IOException e) {
+                throw new DataAccessException("Failed to replay log segment " + path, e);
+            }
+        }
+        return count[0];
+    }
+
+    /**
+     * Buffers a record. The record is not written until it is committed.
+     *
+     * @param type    The record type
+     * @param payload The record payload
+     * @return Position of the record, to be passed to {@link #commit}
+     */
+    public synchronized long append(byte type, byte[] payload) {
+        crc.reset();
+        crc.update(type);
+        crc.update(payload);
+        try {
+            pendingOut.writeInt(payload.length + 1);
+            pendingOut.writeInt((int) crc.getValue());
+            pendingOut.writeByte(type);
+            pendingOut.write(payload);
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+            throw new DataAccessException("Failed to buffer log record", e);
+        }
+        return ++appended;
+    }
+
+    /**
+     * Makes every record up to the given position as durable as the fsync policy promises.
+     *
+     * @param position Position returned by {@link #append}
+     * @throws DataAccessException if the records cannot be written, or the position
+     *         was never returned by {@link #append}
+     */
+    public void commit(long position) {
+        switch (policy) {
+            case ALWAYS:
+                sync(position, true);
+                break;
+            case NEVER:
+                sync(position, false);
+                break;
+            default:
+                // INTERVAL: the background flusher writes and fsyncs
+                break;
+        }
+    }
+
+    /**
+     * Writes and fsyncs all buffered records, then starts a new segment.
+     * Records appended afterwards go to the new segment.
+     *
+     * @return Number of the new segment
+     */
+    public long rotate() {
+        synchronized (flushLock) {
+            synchronized (this) {
+                flush(true);
+                try {
+                    channel.close();
+                    segment++;
+                    channel = openSegment(segment);
+                } catch (IOException e) {
+                    throw new DataAccessException("Failed to rotate write-ahead log " + name, e);
+                }
+            }
+            logger.debug("Rotated write-ahead log '{}' to segment {}", name, segment);
+            return segment;
+        }
+    }
+
+    /**
+     * Deletes the segments numbered below the given one.
+     *
+     * @param firstKept First segment to keep
+     */
+    public void deleteSegmentsBefore(long firstKept) {
+        for (long number : listSegments()) {
+            if (number < firstKept) {
+                try {
+                    Files.deleteIfExists(segmentPath(number));
+                } catch (IOException e) {
+                    logger.warn("Could not delete log segment {}", segmentPath(number), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of the segment currently appended to.
+     *
+     * @return The current segment number
+     */
+    public long getSegment() {
+        synchronized (flushLock) {
+            return segment;
+        }
+    }
+
+    /**
+     * Gets the fsync policy.
+     *
+     * @return The fsync policy
+     */
+    public FsyncPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Writes and fsyncs all buffered records and closes the current segment.
+     */
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (flushLock) {
+            if (closed) {
+                return;
+            }
+            flush(true);
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new DataAccessException("Failed to close write-ahead log " + name, e);
+            }
+            closed = true;
+        }
+        logger.info("Closed write-ahead log '{}'", name);
+    }
+
+    private void sync(long position, boolean force) {
+        synchronized (flushLock) {
+            // A previous leader may already have written this record as part of its batch
+            if ((force ? durable : written) >= position) {
+                return;
+            }
+            flush(force);
+            if ((force ? durable : written) < position) {
+                throw new DataAccessException("Record " + position + " was never appended to write-ahead log "
+                        + name, null);
+            }
+        }
+    }
+
+    /**
+     * Writes everything buffered so far. Must hold flushLock. The records are only
+     * removed from the buffer once they have been written; a write that fails
+     * part-way is truncated away so the retry does not leave a torn record
+     * in the middle of the segment.
+     */
+    private void flush(boolean force) {
+        if (failure != null) {
+            throw new DataAccessException("Write-ahead log " + name + " is unusable after a failed write", failure);
+        }
+
+        byte[] batch;
+        long upTo;
+        synchronized (this) {
+            batch = pending.toByteArray();
+            upTo = appended;
+        }
+
+        if (batch.length > 0) {
+            long start = -1;
+            try {
+                start = channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(batch);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                if (start >= 0) {
+                    discardPartialWrite(start, e);
+                }
+                throw new DataAccessException("Failed to write to write-ahead log " + name, e);
+            }
+            synchronized (this) {
+                pending.discard(batch.length);
+            }
+        }
+        written = upTo;
+
+        if (force && durable < upTo) {
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new DataAccessException("Failed to sync write-ahead log " + name, e);
+            }
+            durable = upTo;
+        }
+    }
+
+    /**
+     * Truncates the segment back to its size before a failed write. If that fails
+     * too, the segment may end in a torn record and no further writes are accepted.
+     */
+    private void discardPartialWrite(long size, IOException cause) {
+        try {
+            channel.truncate(size);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            failure = cause;
+            logger.error("Could not remove partial write from write-ahead log '{}'; refusing further writes", name, e);
+        }
+    }
+
+    private void flushInBackground() {
+        synchronized (flushLock) {
+            if (closed) {
+                return;
+            }
+            try {
+                flush(true);
+            } catch (DataAccessException e) {
+                logger.error("Background flush of write-ahead log '{}' failed", name, e);
+            }
+        }
+    }
+
+    /**
+     * Truncates a torn record left at the end of a segment by a crash.
+     */
+    private void repairTail(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        long valid = scan(path, null);
+        long size = Files.size(path);
+        if (valid < size) {
+            logger.warn("Truncating torn tail of log segment {} ({} of {} bytes valid)", path, valid, size);
+            try (FileChannel fc = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                fc.truncate(valid);
+                fc.force(false);
+            }
+        }
+    }
+
+    /**
+     * Reads records until the end of the segment or the first invalid record.
+     *
+     * @return Number of bytes occupied by valid records
+     */
+    private static long scan(Path path, RecordHandler handler) throws IOException {
+        long valid = 0;
+        CRC32 checksum = new CRC32();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 65536))) {
+            while (true) {
+                byte[] body;
+                int expected;
+                try {
+                    int length = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_BYTES) {
+                        break;
+                    }
+                    expected = in.readInt();
+                    body = new byte[length];
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                checksum.reset();
+                checksum.update(body);
+                if ((int) checksum.getValue() != expected) {
+                    break;
+                }
+
+                if (handler != null) {
+                    handler.handle(body[0], new DataInputStream(new ByteArrayInputStream(body, 1, body.length - 1)));
+                }
+                valid += HEADER_BYTES + body.length;
+            }
+        }
+        return valid;
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s-%020d%s", name, number, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> listSegments() {
+        String prefix = name + "-";
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(file -> file.startsWith(prefix) && file.endsWith(SEGMENT_SUFFIX))
+                    .map(file -> file.substring(prefix.length(), file.length() - SEGMENT_SUFFIX.length()))
+                    .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                    .forEach(number -> segments.add(Long.parseLong(number)));
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to list log segments in " + directory, e);
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * Buffer of appended records that can drop the records written so far while
+     * keeping the ones appended during the write.
+     */
+    private static final class PendingBuffer extends ByteArrayOutputStream {
+
+        PendingBuffer(int size) {
+            super(size);
+        }
+
+        /**
+         * Drops the first bytes of the buffer.
+         *
+         * @param length Number of bytes to drop
+         */
+        void discard(int length) {
+            System.arraycopy(buf, length, buf, 0, count - length);
+            count -= length;
+        }
+    }
+}
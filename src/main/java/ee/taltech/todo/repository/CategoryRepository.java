@@ -8,6 +8,9 @@ import java.util.Optional;
  * Repository interface for Category entity operations.
  *
  * Extends the generic Repository interface and adds category-specific query methods.
+ * Category names are unique: implementations reject a save that would give two
+ * categories the same name by throwing
+ * {@link ee.taltech.todo.exception.DuplicateKeyException}.
  *
  * @author ToDo Application
  * @version 1.0
@@ -18,7 +21,8 @@ public interface CategoryRepository extends Repository<Category> {
      * Finds a category by its name.
      * Category names should be unique.
      *
-     * @param name The category name (case-sensitive)
+     * @param name The category name (case-sensitive unless the implementation
+     *             is configured otherwise)
      * @return Optional containing the category if found, empty otherwise
      */
     Optional<Category> findByName(String name);
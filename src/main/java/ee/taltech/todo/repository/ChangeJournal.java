@@ -0,0 +1,93 @@
+package ee.taltech.todo.repository;
+
+/**
+ * Receives the changes made to an in-memory repository so they can be made durable.
+ *
+ * Repositories call {@link #recordSave} and {@link #recordDelete} while holding the
+ * storage bin for the entity's ID, so records for the same ID are journaled in the
+ * same order as they are applied. {@link #commit} is called after the bin has been
+ * released and blocks until the change is as durable as the journal promises.
+ *
+ * Each change that is recorded is bracketed by {@link #beginChange} and
+ * {@link #endChange}, from before the bin is taken until the change is visible in
+ * the repository, so the journal can capture the repository between changes.
+ *
+ * @param <T> The entity type
+ * @author ToDo Application
+ * @version 1.0
+ */
+public interface ChangeJournal<T> {
+
+    /**
+     * Journal that records nothing. Used when durability is disabled.
+     */
+    ChangeJournal<Object> DISABLED = new ChangeJournal<>() {
+        @Override
+        public long recordSave(Object entity) {
+            return 0;
+        }
+
+        @Override
+        public long recordDelete(String id) {
+            return 0;
+        }
+
+        @Override
+        public void commit(long position) {
+        }
+
+        @Override
+        public void beginChange() {
+        }
+
+        @Override
+        public void endChange() {
+        }
+    };
+
+    /**
+     * Returns the journal that records nothing.
+     *
+     * @param <T> The entity type
+     * @return The disabled journal
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ChangeJournal<T> disabled() {
+        return (ChangeJournal<T>) DISABLED;
+    }
+
+    /**
+     * Records that an entity was saved in its current state.
+     *
+     * @param entity The saved entity
+     * @return Position of the record, to be passed to {@link #commit}
+     */
+    long recordSave(T entity);
+
+    /**
+     * Records that the entity with the given ID was deleted.
+     *
+     * @param id The deleted entity's ID
+     * @return Position of the record, to be passed to {@link #commit}
+     */
+    long recordDelete(String id);
+
+    /**
+     * Waits until every record up to the given position is durable.
+     *
+     * @param position Position returned by a record method
+     */
+    void commit(long position);
+
+    /**
+     * Called before a repository applies a change that it will record.
+     * Must be followed by {@link #endChange} on the same thread.
+     */
+    void beginChange();
+
+    /**
+     * Called once the change started by {@link #beginChange} is visible in the
+     * repository, or has been abandoned.
+     */
+    void endChange();
+}
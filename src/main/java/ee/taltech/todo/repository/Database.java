@@ -0,0 +1,118 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.config.AppConfig;
+import ee.taltech.todo.exception.DataAccessException;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Pooled access to the H2 database used by the JDBC repositories.
+ *
+ * Connections come from H2's built-in {@link JdbcConnectionPool}. Pooled connections
+ * keep their H2 session open, and each session caches parsed statements by SQL text
+ * (H2's {@code QUERY_CACHE_SIZE}), so repeated prepareStatement calls with the same
+ * SQL reuse the compiled statement.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class Database implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(Database.class);
+
+    private static final String SCHEMA_RESOURCE = "/db/schema.sql";
+
+    private final JdbcConnectionPool pool;
+
+    /**
+     * Creates a connection pool and initializes the schema.
+     *
+     * @param url                JDBC URL
+     * @param username           Database user
+     * @param password           Database password
+     * @param maxConnections     Maximum number of pooled connections
+     * @param statementCacheSize Number of parsed statements cached per session
+     */
+    public Database(String url, String username, String password, int maxConnections, int statementCacheSize) {
+        String pooledUrl = statementCacheSize > 0 ? url + ";QUERY_CACHE_SIZE=" + statementCacheSize : url;
+        this.pool = JdbcConnectionPool.create(pooledUrl, username, password);
+        this.pool.setMaxConnections(maxConnections);
+        initializeSchema();
+        logger.info("Database initialized: {} (max connections: {})", url, maxConnections);
+    }
+
+    /**
+     * Creates a database from the {@code db.*} configuration keys.
+     *
+     * @param config Application configuration
+     * @return The initialized database
+     */
+    public static Database fromConfig(AppConfig config) {
+        return new Database(
+                config.getString("db.url", "jdbc:h2:mem:tododb;DB_CLOSE_DELAY=-1"),
+                config.getString("db.username", "sa"),
+                config.getString("db.password", ""),
+                config.getInt("db.pool.maxConnections", 10),
+                config.getInt("db.statementCacheSize", 64));
+    }
+
+    /**
+     * Borrows a connection from the pool. Closing it returns it to the pool.
+     *
+     * @return A pooled connection
+     * @throws SQLException if no connection can be obtained
+     */
+    public Connection getConnection() throws SQLException {
+        return pool.getConnection();
+    }
+
+    /**
+     * Closes the pool and all idle connections.
+     */
+    @Override
+    public void close() {
+        pool.dispose();
+        logger.info("Database connection pool closed");
+    }
+
+    private void initializeSchema() {
+        String script;
+        try (InputStream is = Database.class.getResourceAsStream(SCHEMA_RESOURCE)) {
+            if (is == null) {
+                throw new DataAccessException("Schema resource not found: " + SCHEMA_RESOURCE, null);
+            }
+            script = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to read schema resource", e);
+        }
+
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : script.split(";")) {
+                String trimmed = stripComments(sql);
+                if (!trimmed.isEmpty()) {
+                    statement.execute(trimmed);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to initialize database schema", e);
+        }
+    }
+
+    private static String stripComments(String sql) {
+        StringBuilder sb = new StringBuilder();
+        for (String line : sql.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString().trim();
+    }
+}
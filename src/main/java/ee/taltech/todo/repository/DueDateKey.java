@@ -0,0 +1,97 @@
+package ee.taltech.todo.repository;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Sort key for the due-date index: due date first, task ID as tie-breaker.
+ *
+ * Range queries use boundary keys that sort before or after every real key
+ * with the same due date, so any task ID can be stored without a sentinel value.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+final class DueDateKey implements Comparable<DueDateKey> {
+
+    private static final int LOWER_BOUND = -1;
+    private static final int ENTRY = 0;
+    private static final int UPPER_BOUND = 1;
+
+    private final LocalDateTime dueDate;
+    private final String taskId;
+    private final int kind;
+
+    private DueDateKey(LocalDateTime dueDate, String taskId, int kind) {
+        this.dueDate = Objects.requireNonNull(dueDate, "Due date cannot be null");
+        this.taskId = taskId;
+        this.kind = kind;
+    }
+
+    /**
+     * Creates the index key of a task.
+     *
+     * @param dueDate The task's due date
+     * @param taskId  The task ID
+     * @return Index key
+     */
+    static DueDateKey of(LocalDateTime dueDate, String taskId) {
+        return new DueDateKey(dueDate, Objects.requireNonNull(taskId, "Task ID cannot be null"), ENTRY);
+    }
+
+    /**
+     * Creates a key sorting before every task due at the given time.
+     *
+     * @param dueDate The due date
+     * @return Lower boundary key
+     */
+    static DueDateKey lowerBound(LocalDateTime dueDate) {
+        return new DueDateKey(dueDate, null, LOWER_BOUND);
+    }
+
+    /**
+     * Creates a key sorting after every task due at the given time.
+     *
+     * @param dueDate The due date
+     * @return Upper boundary key
+     */
+    static DueDateKey upperBound(LocalDateTime dueDate) {
+        return new DueDateKey(dueDate, null, UPPER_BOUND);
+    }
+
+    /**
+     * Gets the ID of the indexed task.
+     *
+     * @return Task ID, or null for boundary keys
+     */
+    String getTaskId() {
+        return taskId;
+    }
+
+    @Override
+    public int compareTo(DueDateKey other) {
+        int byDate = dueDate.compareTo(other.dueDate);
+        if (byDate != 0) {
+            return byDate;
+        }
+        if (kind != ENTRY || other.kind != ENTRY) {
+            return Integer.compare(kind, other.kind);
+        }
+        return taskId.compareTo(other.taskId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DueDateKey that = (DueDateKey) o;
+        return kind == that.kind &&
+               dueDate.equals(that.dueDate) &&
+               Objects.equals(taskId, that.taskId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dueDate, taskId, kind);
+    }
+}
@@ -1,11 +1,15 @@
 package ee.taltech.todo.repository;
 
+import ee.taltech.todo.exception.DuplicateKeyException;
+import ee.taltech.todo.exception.OptimisticLockException;
 import ee.taltech.todo.model.Category;
+import ee.taltech.todo.util.SampledLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * In-memory implementation of CategoryRepository using ConcurrentHashMap.
@@ -13,16 +17,36 @@ import java.util.concurrent.ConcurrentHashMap;
  * This implementation stores categories in memory and provides thread-safe operations.
  * Suitable for development, testing, and applications that don't require persistence.
  *
+ * Category names are unique. A name -> ID index serves findByName and existsByName
+ * in constant time and is claimed atomically inside save(), so two concurrent
+ * saves can never both succeed with the same name. Names can optionally be
+ * compared case-insensitively.
+ *
+ * Saves are compare-and-swap on the category's version, checked inside the
+ * storage map's per-key compute.
+ *
+ * The repository keeps one instance per category for as long as it is stored,
+ * because tasks refer to it: a rename must reach every task in the category. A
+ * new category is stored as a copy of the caller's instance, and a save of an
+ * existing one is copied into the stored instance once the version check has
+ * passed and the new name has been claimed. The caller's instance is never
+ * stored or changed, so callers prepare changes on a {@link Category#copy()}.
+ *
  * Design Pattern: Repository Pattern (implementation)
  * Thread Safety: Uses ConcurrentHashMap for thread-safe operations
  *
  * @author ToDo Application
  * @version 1.0
  */
-public class InMemoryCategoryRepository implements CategoryRepository {
+public class InMemoryCategoryRepository implements CategoryRepository, JournaledRepository<Category> {
 
     private static final Logger logger = LoggerFactory.getLogger(InMemoryCategoryRepository.class);
 
+    /**
+     * Logger for messages written on every call, limited under load.
+     */
+    private static final SampledLogger sampledLogger = SampledLogger.of(logger);
+
     /**
      * Thread-safe storage for categories.
      * Key: Category ID, Value: Category object
@@ -30,13 +54,67 @@ public class InMemoryCategoryRepository implements CategoryRepository {
     private final Map<String, Category> storage;
 
     /**
-     * Default constructor initializing the storage.
+     * Unique name index.
+     * Key: normalized category name, Value: Category ID
+     */
+    private final Map<String, String> nameIndex;
+
+    /**
+     * Normalized name each category is currently indexed under.
+     * Key: Category ID, Value: normalized name
+     */
+    private final Map<String, String> indexedNames;
+
+    /**
+     * Whether names are compared case-insensitively.
+     */
+    private final boolean caseInsensitiveNames;
+
+    /**
+     * Raised after every change; see {@link #getCollectionVersion()}.
+     */
+    private final AtomicLong collectionVersion = new AtomicLong();
+
+    /**
+     * Journal notified of every change; disabled unless durability is configured.
+     */
+    private volatile ChangeJournal<Category> journal = ChangeJournal.disabled();
+
+    /**
+     * Snapshot whose entities have not all been decoded yet, or null.
+     */
+    private volatile LazySnapshot<Category> snapshot;
+
+    /**
+     * Serializes preloading of the attached snapshot.
+     */
+    private final Object preloadLock = new Object();
+
+    /**
+     * Default constructor initializing the storage with case-sensitive names.
      */
     public InMemoryCategoryRepository() {
+        this(false);
+    }
+
+    /**
+     * Constructor initializing the storage.
+     *
+     * @param caseInsensitiveNames true to treat names differing only in case as duplicates
+     */
+    public InMemoryCategoryRepository(boolean caseInsensitiveNames) {
         this.storage = new ConcurrentHashMap<>();
-        logger.info("InMemoryCategoryRepository initialized");
+        this.nameIndex = new ConcurrentHashMap<>();
+        this.indexedNames = new ConcurrentHashMap<>();
+        this.caseInsensitiveNames = caseInsensitiveNames;
+        logger.info("InMemoryCategoryRepository initialized (case-insensitive names: {})", caseInsensitiveNames);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DuplicateKeyException if another category already uses the same name
+     */
     @Override
     public Category save(Category category) {
         if (category == null) {
@@ -49,16 +127,58 @@ public class InMemoryCategoryRepository implements CategoryRepository {
             throw new IllegalArgumentException("Category ID cannot be null or empty");
         }
 
+        // Names of undecoded snapshot entries must be indexed before uniqueness can be checked
+        preload();
         boolean isUpdate = storage.containsKey(category.getId());
-        storage.put(category.getId(), category);
+        long[] position = new long[1];
+        Category stored;
+        journal.beginChange();
+        try {
+            stored = storage.compute(category.getId(), (id, previous) -> {
+                long storedVersion = previous != null ? previous.getVersion() : 0;
+                if (category.getVersion() != storedVersion) {
+                    if (sampledLogger.isDebugEnabled()) {
+                        sampledLogger.debug("Rejected save of category {}: version {} is not the stored version {}",
+                                id, category.getVersion(), storedVersion);
+                    }
+                    throw OptimisticLockException.forVersion("Category", id, category.getVersion(), storedVersion);
+                }
+                // Claim the name before changing anything: if it is taken, the stored category stays as it was
+                boolean claimed = claimName(id, category.getName());
+                Category replacement = previous != null ? previous.copy() : category.copy();
+                replacement.copyFrom(category);
+                replacement.setVersion(storedVersion + 1);
+                try {
+                    position[0] = journal.recordSave(replacement);
+                } catch (RuntimeException e) {
+                    if (claimed) {
+                        nameIndex.remove(normalize(category.getName()), id);
+                    }
+                    throw e;
+                }
+
+                // Journaled, so the change can no longer fail: apply it to the index and the stored instance
+                reindexName(id, category.getName());
+                if (previous == null) {
+                    return replacement;
+                }
+                previous.copyFrom(category);
+                previous.setVersion(storedVersion + 1);
+                return previous;
+            });
+        } finally {
+            journal.endChange();
+        }
+        collectionVersion.incrementAndGet();
+        journal.commit(position[0]);
 
         if (isUpdate) {
-            logger.debug("Updated category: {}", category.getId());
+            sampledLogger.debug("Updated category: {}", category.getId());
         } else {
-            logger.debug("Created new category: {}", category.getId());
+            sampledLogger.debug("Created new category: {}", category.getId());
         }
 
-        return category;
+        return stored;
     }
 
     @Override
@@ -69,14 +189,18 @@ public class InMemoryCategoryRepository implements CategoryRepository {
         }
 
         Category category = storage.get(id);
-        logger.debug("Find category by ID {}: {}", id, category != null ? "found" : "not found");
+        if (category == null) {
+            category = faultIn(id, -1);
+        }
+        sampledLogger.debug("Find category by ID {}: {}", id, category != null ? "found" : "not found");
         return Optional.ofNullable(category);
     }
 
     @Override
     public List<Category> findAll() {
+        preload();
         List<Category> categories = new ArrayList<>(storage.values());
-        logger.debug("Retrieved all categories: {} found", categories.size());
+        sampledLogger.debug("Retrieved all categories: {} found", categories.size());
         return categories;
     }
 
@@ -87,9 +211,13 @@ public class InMemoryCategoryRepository implements CategoryRepository {
             throw new IllegalArgumentException("ID cannot be null");
         }
 
-        Category removed = storage.remove(id);
-        boolean deleted = removed != null;
-        logger.debug("Delete category by ID {}: {}", id, deleted ? "success" : "not found");
+        faultIn(id, -1);
+        long position = remove(id);
+        boolean deleted = position >= 0;
+        if (deleted) {
+            journal.commit(position);
+        }
+        sampledLogger.debug("Delete category by ID {}: {}", id, deleted ? "success" : "not found");
         return deleted;
     }
 
@@ -110,22 +238,30 @@ public class InMemoryCategoryRepository implements CategoryRepository {
             throw new IllegalArgumentException("ID cannot be null");
         }
 
-        boolean exists = storage.containsKey(id);
-        logger.debug("Check category exists by ID {}: {}", id, exists);
+        boolean exists = storage.containsKey(id) || faultIn(id, -1) != null;
+        sampledLogger.debug("Check category exists by ID {}: {}", id, exists);
         return exists;
     }
 
     @Override
     public long count() {
+        preload();
         long count = storage.size();
-        logger.debug("Total category count: {}", count);
+        sampledLogger.debug("Total category count: {}", count);
         return count;
     }
 
     @Override
     public void deleteAll() {
+        preload();
         int previousCount = storage.size();
-        storage.clear();
+        long position = -1;
+        for (String id : storage.keySet()) {
+            position = Math.max(position, remove(id));
+        }
+        if (position >= 0) {
+            journal.commit(position);
+        }
         logger.info("Deleted all categories (previous count: {})", previousCount);
     }
 
@@ -136,11 +272,13 @@ public class InMemoryCategoryRepository implements CategoryRepository {
             return Optional.empty();
         }
 
-        Optional<Category> result = storage.values().stream()
-                .filter(category -> name.equals(category.getName()))
-                .findFirst();
+        preload();
+        String key = normalize(name);
+        String id = nameIndex.get(key);
+        Optional<Category> result = Optional.ofNullable(id != null ? storage.get(id) : null)
+                .filter(category -> key.equals(normalize(category.getName())));
 
-        logger.debug("Find category by name '{}': {}", name, result.isPresent() ? "found" : "not found");
+        sampledLogger.debug("Find category by name '{}': {}", name, result.isPresent() ? "found" : "not found");
         return result;
     }
 
@@ -151,10 +289,196 @@ public class InMemoryCategoryRepository implements CategoryRepository {
             return false;
         }
 
-        boolean exists = storage.values().stream()
-                .anyMatch(category -> name.equals(category.getName()));
+        preload();
+        boolean exists = nameIndex.containsKey(normalize(name));
 
-        logger.debug("Check category exists by name '{}': {}", name, exists);
+        sampledLogger.debug("Check category exists by name '{}': {}", name, exists);
         return exists;
     }
+
+    /**
+     * Checks whether names are compared case-insensitively.
+     *
+     * @return true if names differing only in case are treated as equal
+     */
+    public boolean isCaseInsensitiveNames() {
+        return caseInsensitiveNames;
+    }
+
+    @Override
+    public long getCollectionVersion() {
+        return collectionVersion.get();
+    }
+
+    @Override
+    public void setJournal(ChangeJournal<Category> journal) {
+        this.journal = journal != null ? journal : ChangeJournal.disabled();
+    }
+
+    @Override
+    public void attachSnapshot(SnapshotSource<Category> source) {
+        if (!storage.isEmpty() || snapshot != null) {
+            throw new IllegalStateException("A snapshot can only be attached to an empty repository");
+        }
+
+        snapshot = new LazySnapshot<>(source);
+        logger.info("Attached snapshot with {} categories", source.size());
+    }
+
+    @Override
+    public void restore(Category category) {
+        if (category == null || category.getId() == null) {
+            logger.error("Attempted to restore null category or category with null ID");
+            throw new IllegalArgumentException("Category and its ID cannot be null");
+        }
+
+        preload();
+        storage.compute(category.getId(), (id, previous) -> {
+            reindexName(id, category.getName());
+            Category target = previous != null ? previous : category.copy();
+            if (previous != null) {
+                previous.copyFrom(category);
+            }
+            target.setVersion(category.getVersion());
+            return target;
+        });
+        collectionVersion.incrementAndGet();
+    }
+
+    @Override
+    public void preload() {
+        if (snapshot == null) {
+            return;
+        }
+
+        synchronized (preloadLock) {
+            LazySnapshot<Category> pending = snapshot;
+            if (pending == null) {
+                return;
+            }
+
+            for (int i = 0; i < pending.size(); i++) {
+                faultIn(pending.idAt(i), i);
+            }
+            snapshot = null;
+            pending.close();
+            logger.info("Preloaded {} snapshot categories", pending.size());
+        }
+    }
+
+    /**
+     * Decodes and indexes the snapshot copy of a category unless the ID is already
+     * present or its snapshot copy has been superseded.
+     *
+     * @param id    The category ID
+     * @param index Position of the ID in the snapshot, or -1 to look it up
+     * @return The category now stored under the ID, or null if there is none
+     */
+    private Category faultIn(String id, int index) {
+        LazySnapshot<Category> pending = snapshot;
+        if (pending == null) {
+            return null;
+        }
+
+        return storage.compute(id, (key, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            Category category = pending.claim(key, index);
+            if (category != null) {
+                reindexName(key, category.getName());
+            }
+            return category;
+        });
+    }
+
+    /**
+     * Removes a category and releases its name.
+     *
+     * @param id The category ID
+     * @return Journal position of the delete, or -1 if no category was removed
+     */
+    private long remove(String id) {
+        long[] position = {-1};
+        journal.beginChange();
+        try {
+            storage.computeIfPresent(id, (key, existing) -> {
+                position[0] = journal.recordDelete(key);
+                reindexName(key, null);
+                return null;
+            });
+        } finally {
+            journal.endChange();
+        }
+        if (position[0] >= 0) {
+            collectionVersion.incrementAndGet();
+        }
+        return position[0];
+    }
+
+    /**
+     * Claims a name for a category without releasing the name it has now, so a
+     * save can fail after the claim and leave the index as it was by removing
+     * only the new claim.
+     *
+     * @param id   The category ID
+     * @param name The name to claim (may be null)
+     * @return true if the name was newly claimed, false if there is nothing to
+     *         claim or the category already holds it
+     * @throws DuplicateKeyException if another category holds the name
+     */
+    private boolean claimName(String id, String name) {
+        if (name == null) {
+            return false;
+        }
+
+        String owner = nameIndex.putIfAbsent(normalize(name), id);
+        if (owner != null && !owner.equals(id)) {
+            logger.warn("Rejected duplicate category name: {}", name);
+            throw DuplicateKeyException.forKey("Category", name);
+        }
+        return owner == null;
+    }
+
+    /**
+     * Claims the new name for a category and releases its old one.
+     * Must be called while holding the storage bin for the ID; throwing aborts the save.
+     *
+     * @param id   The category ID
+     * @param name The new name, or null to release the current one
+     * @throws DuplicateKeyException if the name is taken by another category
+     */
+    private void reindexName(String id, String name) {
+        String current = name != null ? normalize(name) : null;
+        String previous = indexedNames.get(id);
+
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+
+        if (current != null) {
+            String owner = nameIndex.putIfAbsent(current, id);
+            if (owner != null && !owner.equals(id)) {
+                logger.warn("Rejected duplicate category name: {}", name);
+                throw DuplicateKeyException.forKey("Category", name);
+            }
+            indexedNames.put(id, current);
+        } else {
+            indexedNames.remove(id);
+        }
+
+        if (previous != null) {
+            nameIndex.remove(previous, id);
+        }
+    }
+
+    /**
+     * Normalizes a name to its index key.
+     *
+     * @param name The category name
+     * @return The name itself, or its lower-case form in case-insensitive mode
+     */
+    private String normalize(String name) {
+        return caseInsensitiveNames ? name.toLowerCase(Locale.ROOT) : name;
+    }
 }
@@ -1,16 +1,21 @@
 package ee.taltech.todo.repository;
 
+import ee.taltech.todo.exception.OptimisticLockException;
 import ee.taltech.todo.model.Category;
 import ee.taltech.todo.model.Task;
 import ee.taltech.todo.model.TaskPriority;
 import ee.taltech.todo.model.TaskStatus;
+import ee.taltech.todo.util.SampledLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * In-memory implementation of TaskRepository using ConcurrentHashMap.
@@ -18,27 +23,164 @@ import java.util.stream.Collectors;
  * This implementation stores tasks in memory and provides thread-safe operations.
  * Suitable for development, testing, and applications that don't require persistence.
  *
+ * Status and priority lookups are served from secondary indexes (one concurrent
+ * ID set per enum constant), starred lookups from a set of starred task IDs,
+ * category lookups from a category-to-task reverse index, due-date queries from
+ * sorted skip-list indexes and text search from inverted word indexes. Pages are
+ * read from one sorted skip-list index per {@link TaskSort} order. Counts per status, priority,
+ * category and starred flag are kept in {@link TaskCounters}, so
+ * {@link #getStats()} does not visit any tasks except the overdue ones.
+ *
+ * A {@link TaskQuery} is answered by a small cost-based planner: of the indexes
+ * its filters could use, it picks the one with the fewest entries for the query
+ * and checks the remaining filters on each candidate in a single pass. For a
+ * page, it compares walking the ordered index until the page is full with
+ * sorting the candidates, and does whichever visits fewer tasks. All indexes are
+ * kept in sync on every write, so query cost is proportional to the result size
+ * rather than the total number of tasks.
+ *
+ * Stored tasks are immutable snapshots ({@link Task#freeze()}): a save stores a
+ * frozen copy of the given task, and {@link #update} applies a change to a copy
+ * of the current snapshot and swaps the result in. Readers and scans are handed
+ * the snapshots themselves, without locks or defensive copies, and never see a
+ * task half-way through a change. Changes made to a task after it was saved do
+ * not reach the store until it is saved again.
+ *
+ * Saves are compare-and-swap on the task's version: the check and the version
+ * bump run inside the storage map's per-key compute, so of two writers that
+ * read the same version only the first one's save is accepted. Only the stored
+ * copy gets the new version; the caller's task is not modified, and the returned
+ * snapshot is what a further save has to start from.
+ *
+ * When restored from a snapshot, tasks are decoded lazily: a lookup by ID decodes
+ * just that task, and the first query that needs every task decodes the rest.
+ *
  * Design Pattern: Repository Pattern (implementation)
- * Thread Safety: Uses ConcurrentHashMap for thread-safe operations
+ * Thread Safety: Uses ConcurrentHashMap for thread-safe operations; index
+ * maintenance for a task runs inside the storage map's per-key compute, and
+ * stored tasks are frozen before they are published.
  *
  * @author ToDo Application
  * @version 1.0
  */
-public class InMemoryTaskRepository implements TaskRepository {
+public class InMemoryTaskRepository implements TaskRepository, JournaledRepository<Task> {
 
     private static final Logger logger = LoggerFactory.getLogger(InMemoryTaskRepository.class);
 
+    /**
+     * Logger for messages written on every call, limited under load.
+     */
+    private static final SampledLogger sampledLogger = SampledLogger.of(logger);
+
     /**
      * Thread-safe storage for tasks.
      * Key: Task ID, Value: Task object
      */
     private final Map<String, Task> storage;
 
+    /**
+     * Field values each task was last indexed under, so a replacement can move
+     * the task's index entries without looking at the snapshot it replaces.
+     */
+    private final Map<String, IndexEntry> indexEntries;
+
+    /**
+     * Secondary index: status -> IDs of tasks with that status.
+     */
+    private final Map<TaskStatus, Set<String>> statusIndex;
+
+    /**
+     * Secondary index: priority -> IDs of tasks with that priority.
+     */
+    private final Map<TaskPriority, Set<String>> priorityIndex;
+
+    /**
+     * IDs of starred tasks.
+     */
+    private final Set<String> starredIndex;
+
+    /**
+     * Reverse index: category ID -> IDs of tasks in that category.
+     * Buckets are created on first use and dropped when they become empty.
+     */
+    private final Map<String, Set<String>> categoryIndex;
+
+    /**
+     * Sorted index of all tasks that have a due date.
+     */
+    private final NavigableSet<DueDateKey> dueDateIndex;
+
+    /**
+     * Sorted index of tasks that have a due date and are neither completed
+     * nor cancelled. Its head up to "now" is exactly the set of overdue tasks.
+     */
+    private final NavigableSet<DueDateKey> openDueDateIndex;
+
+    /**
+     * Sorted indexes of all tasks, one per listing order.
+     */
+    private final Map<TaskSort, NavigableSet<SortKey>> sortIndexes;
+
+    /**
+     * Running counts per status, priority, category and starred flag.
+     */
+    private final TaskCounters counters;
+
+    /**
+     * Inverted index over task titles.
+     */
+    private final TextIndex titleIndex;
+
+    /**
+     * Inverted index over task titles and descriptions.
+     */
+    private final TextIndex fullTextIndex;
+
+    /**
+     * Raised after every change; see {@link #getCollectionVersion()}.
+     */
+    private final AtomicLong collectionVersion = new AtomicLong();
+
+    /**
+     * Journal notified of every change; disabled unless durability is configured.
+     */
+    private volatile ChangeJournal<Task> journal = ChangeJournal.disabled();
+
+    /**
+     * Snapshot whose entities have not all been decoded yet, or null.
+     */
+    private volatile LazySnapshot<Task> snapshot;
+
+    /**
+     * Serializes preloading of the attached snapshot.
+     */
+    private final Object preloadLock = new Object();
+
     /**
      * Default constructor initializing the storage.
      */
     public InMemoryTaskRepository() {
         this.storage = new ConcurrentHashMap<>();
+        this.indexEntries = new ConcurrentHashMap<>();
+        this.statusIndex = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            statusIndex.put(status, ConcurrentHashMap.newKeySet());
+        }
+        this.priorityIndex = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            priorityIndex.put(priority, ConcurrentHashMap.newKeySet());
+        }
+        this.starredIndex = ConcurrentHashMap.newKeySet();
+        this.categoryIndex = new ConcurrentHashMap<>();
+        this.dueDateIndex = new ConcurrentSkipListSet<>();
+        this.openDueDateIndex = new ConcurrentSkipListSet<>();
+        this.sortIndexes = new EnumMap<>(TaskSort.class);
+        for (TaskSort sort : TaskSort.values()) {
+            sortIndexes.put(sort, new ConcurrentSkipListSet<>());
+        }
+        this.counters = new TaskCounters();
+        this.titleIndex = new TextIndex();
+        this.fullTextIndex = new TextIndex();
         logger.info("InMemoryTaskRepository initialized");
     }
 
@@ -54,16 +196,173 @@ public class InMemoryTaskRepository implements TaskRepository {
             throw new IllegalArgumentException("Task ID cannot be null or empty");
         }
 
+        faultIn(task.getId(), -1);
         boolean isUpdate = storage.containsKey(task.getId());
-        storage.put(task.getId(), task);
+        long[] position = new long[1];
+        Task stored = store(task, position);
+        journal.commit(position[0]);
 
         if (isUpdate) {
-            logger.debug("Updated task: {}", task.getId());
+            sampledLogger.debug("Updated task: {}", task.getId());
         } else {
-            logger.debug("Created new task: {}", task.getId());
+            sampledLogger.debug("Created new task: {}", task.getId());
         }
 
-        return task;
+        return stored;
+    }
+
+    /**
+     * Stores every task with one journal commit for the whole batch, so with
+     * an fsync-per-commit journal the batch pays for a single fsync.
+     */
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        if (tasks == null) {
+            logger.error("Attempted to save null task list");
+            throw new IllegalArgumentException("Tasks cannot be null");
+        }
+
+        for (Task task : tasks) {
+            if (task == null || task.getId() == null || task.getId().isEmpty()) {
+                logger.error("Attempted to save null task or task with null/empty ID in a batch");
+                throw new IllegalArgumentException("Tasks and their IDs cannot be null or empty");
+            }
+        }
+
+        List<Task> saved = new ArrayList<>(tasks.size());
+        long[] position = new long[1];
+        long last = -1;
+        int rejected = 0;
+        for (Task task : tasks) {
+            faultIn(task.getId(), -1);
+            try {
+                saved.add(store(task, position));
+                last = Math.max(last, position[0]);
+            } catch (OptimisticLockException e) {
+                saved.add(null);
+                rejected++;
+            }
+        }
+        if (last >= 0) {
+            journal.commit(last);
+        }
+
+        sampledLogger.debug("Saved batch of {} tasks ({} rejected)", tasks.size(), rejected);
+        return saved;
+    }
+
+    @Override
+    public Set<String> deleteAllById(Collection<String> ids) {
+        if (ids == null) {
+            logger.error("Attempted to delete tasks with null ID list");
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+
+        for (String id : ids) {
+            if (id == null) {
+                logger.error("Attempted to delete task with null ID in a batch");
+                throw new IllegalArgumentException("ID cannot be null");
+            }
+        }
+
+        Set<String> deleted = new LinkedHashSet<>();
+        long last = -1;
+        for (String id : ids) {
+            faultIn(id, -1);
+            long position = remove(id);
+            if (position >= 0) {
+                deleted.add(id);
+                last = Math.max(last, position);
+            }
+        }
+        if (last >= 0) {
+            journal.commit(last);
+        }
+
+        sampledLogger.debug("Deleted batch of {} tasks ({} found)", ids.size(), deleted.size());
+        return deleted;
+    }
+
+    /**
+     * Stores a frozen copy of the task if its version is the stored version,
+     * without waiting for the journal.
+     *
+     * @param task     The task to store; left unchanged, so it may be a frozen snapshot
+     * @param position Receives the journal position of the save
+     * @return The stored snapshot, which carries the new version
+     * @throws OptimisticLockException if the task's version is not the stored version
+     */
+    private Task store(Task task, long[] position) {
+        Task stored;
+        journal.beginChange();
+        try {
+            stored = storage.compute(task.getId(), (id, previous) -> {
+                long storedVersion = previous != null ? previous.getVersion() : 0;
+                if (task.getVersion() != storedVersion) {
+                    if (sampledLogger.isDebugEnabled()) {
+                        sampledLogger.debug("Rejected save of task {}: version {} is not the stored version {}",
+                                id, task.getVersion(), storedVersion);
+                    }
+                    throw OptimisticLockException.forVersion("Task", id, task.getVersion(), storedVersion);
+                }
+
+                Task replacement = task.copy();
+                replacement.setVersion(storedVersion + 1);
+                position[0] = journal.recordSave(freeze(replacement));
+
+                // Journaled, so the change can no longer fail: apply it to the snapshot and the indexes
+                LazySnapshot<Task> pending = snapshot;
+                if (pending != null) {
+                    pending.supersede(id);
+                }
+                reindex(id, replacement);
+                return replacement;
+            });
+        } finally {
+            journal.endChange();
+        }
+        collectionVersion.incrementAndGet();
+        return stored;
+    }
+
+    /**
+     * Applies the change inside the storage map's per-key compute: the current
+     * snapshot is copied, changed, frozen and swapped in as one step, so the change
+     * runs exactly once and concurrent updates of the same task queue up instead of
+     * retrying. The change must not access this repository.
+     */
+    @Override
+    public Optional<Task> update(String id, Consumer<Task> change) {
+        if (id == null || change == null) {
+            logger.error("Attempted to update task with null ID or change");
+            throw new IllegalArgumentException("ID and change cannot be null");
+        }
+
+        faultIn(id, -1);
+        long[] position = {-1};
+        Task updated;
+        journal.beginChange();
+        try {
+            updated = storage.computeIfPresent(id, (key, previous) -> {
+                Task task = previous.copy();
+                change.accept(task);
+                task.setVersion(previous.getVersion() + 1);
+                position[0] = journal.recordSave(freeze(task));
+                reindex(key, task);
+                return task;
+            });
+        } finally {
+            journal.endChange();
+        }
+        if (updated == null) {
+            sampledLogger.debug("Update task by ID {}: not found", id);
+            return Optional.empty();
+        }
+
+        collectionVersion.incrementAndGet();
+        journal.commit(position[0]);
+        sampledLogger.debug("Updated task: {}", id);
+        return Optional.of(updated);
     }
 
     @Override
@@ -74,14 +373,18 @@ public class InMemoryTaskRepository implements TaskRepository {
         }
 
         Task task = storage.get(id);
-        logger.debug("Find task by ID {}: {}", id, task != null ? "found" : "not found");
+        if (task == null) {
+            task = faultIn(id, -1);
+        }
+        sampledLogger.debug("Find task by ID {}: {}", id, task != null ? "found" : "not found");
         return Optional.ofNullable(task);
     }
 
     @Override
     public List<Task> findAll() {
+        preload();
         List<Task> tasks = new ArrayList<>(storage.values());
-        logger.debug("Retrieved all tasks: {} found", tasks.size());
+        sampledLogger.debug("Retrieved all tasks: {} found", tasks.size());
         return tasks;
     }
 
@@ -92,9 +395,13 @@ public class InMemoryTaskRepository implements TaskRepository {
             throw new IllegalArgumentException("ID cannot be null");
         }
 
-        Task removed = storage.remove(id);
-        boolean deleted = removed != null;
-        logger.debug("Delete task by ID {}: {}", id, deleted ? "success" : "not found");
+        faultIn(id, -1);
+        long position = remove(id);
+        boolean deleted = position >= 0;
+        if (deleted) {
+            journal.commit(position);
+        }
+        sampledLogger.debug("Delete task by ID {}: {}", id, deleted ? "success" : "not found");
         return deleted;
     }
 
@@ -115,22 +422,30 @@ public class InMemoryTaskRepository implements TaskRepository {
             throw new IllegalArgumentException("ID cannot be null");
         }
 
-        boolean exists = storage.containsKey(id);
-        logger.debug("Check task exists by ID {}: {}", id, exists);
+        boolean exists = storage.containsKey(id) || faultIn(id, -1) != null;
+        sampledLogger.debug("Check task exists by ID {}: {}", id, exists);
         return exists;
     }
 
     @Override
     public long count() {
+        preload();
         long count = storage.size();
-        logger.debug("Total task count: {}", count);
+        sampledLogger.debug("Total task count: {}", count);
         return count;
     }
 
     @Override
     public void deleteAll() {
+        preload();
         int previousCount = storage.size();
-        storage.clear();
+        long position = -1;
+        for (String id : storage.keySet()) {
+            position = Math.max(position, remove(id));
+        }
+        if (position >= 0) {
+            journal.commit(position);
+        }
         logger.info("Deleted all tasks (previous count: {})", previousCount);
     }
 
@@ -141,11 +456,10 @@ public class InMemoryTaskRepository implements TaskRepository {
             return Collections.emptyList();
         }
 
-        List<Task> tasks = storage.values().stream()
-                .filter(task -> status.equals(task.getStatus()))
-                .collect(Collectors.toList());
+        preload();
+        List<Task> tasks = resolve(statusIndex.get(status), task -> status == task.getStatus());
 
-        logger.debug("Found {} tasks with status {}", tasks.size(), status);
+        sampledLogger.debug("Found {} tasks with status {}", tasks.size(), status);
         return tasks;
     }
 
@@ -156,11 +470,10 @@ public class InMemoryTaskRepository implements TaskRepository {
             return Collections.emptyList();
         }
 
-        List<Task> tasks = storage.values().stream()
-                .filter(task -> priority.equals(task.getPriority()))
-                .collect(Collectors.toList());
+        preload();
+        List<Task> tasks = resolve(priorityIndex.get(priority), task -> priority == task.getPriority());
 
-        logger.debug("Found {} tasks with priority {}", tasks.size(), priority);
+        sampledLogger.debug("Found {} tasks with priority {}", tasks.size(), priority);
         return tasks;
     }
 
@@ -171,32 +484,78 @@ public class InMemoryTaskRepository implements TaskRepository {
             return Collections.emptyList();
         }
 
-        List<Task> tasks = storage.values().stream()
-                .filter(task -> task.getCategory() != null &&
-                               category.getId().equals(task.getCategory().getId()))
-                .collect(Collectors.toList());
+        List<Task> tasks = findByCategoryId(category.getId());
 
-        logger.debug("Found {} tasks in category {}", tasks.size(), category.getName());
+        sampledLogger.debug("Found {} tasks in category {}", tasks.size(), category.getName());
         return tasks;
     }
 
+    @Override
+    public List<Task> findByCategoryId(String categoryId) {
+        if (categoryId == null) {
+            logger.warn("findByCategoryId called with null category ID, returning empty list");
+            return Collections.emptyList();
+        }
+
+        preload();
+        List<Task> tasks = resolve(categoryIndex.getOrDefault(categoryId, Collections.emptySet()),
+                task -> task.getCategory() != null && categoryId.equals(task.getCategory().getId()));
+
+        sampledLogger.debug("Found {} tasks in category ID {}", tasks.size(), categoryId);
+        return tasks;
+    }
+
+    @Override
+    public long countByCategoryId(String categoryId) {
+        if (categoryId == null) {
+            return 0;
+        }
+
+        preload();
+        Set<String> ids = categoryIndex.get(categoryId);
+        return ids != null ? ids.size() : 0;
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        if (status == null) {
+            return 0;
+        }
+
+        preload();
+        return counters.status(status);
+    }
+
+    @Override
+    public TaskStats getStats() {
+        preload();
+        // Overdue depends on the clock, so it cannot be a running count: it is the
+        // size of the open due-date index's head, which costs one step per overdue task
+        long overdue = openDueDateIndex.headSet(DueDateKey.lowerBound(LocalDateTime.now()), false).size();
+        TaskStats stats = new TaskStats(counters.total(), counters.byStatus(), counters.byPriority(),
+                counters.byCategory(), counters.starred(), overdue);
+
+        sampledLogger.debug("Task statistics: {}", stats);
+        return stats;
+    }
+
     @Override
     public List<Task> findStarred() {
-        List<Task> tasks = storage.values().stream()
-                .filter(Task::isStarred)
-                .collect(Collectors.toList());
+        preload();
+        List<Task> tasks = resolve(starredIndex, Task::isStarred);
 
-        logger.debug("Found {} starred tasks", tasks.size());
+        sampledLogger.debug("Found {} starred tasks", tasks.size());
         return tasks;
     }
 
     @Override
     public List<Task> findOverdue() {
-        List<Task> tasks = storage.values().stream()
-                .filter(Task::isOverdue)
-                .collect(Collectors.toList());
+        preload();
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = resolveKeys(openDueDateIndex.headSet(DueDateKey.lowerBound(now), false),
+                task -> task.getDueDate() != null && task.getDueDate().isBefore(now) && isOpen(task.getStatus()));
 
-        logger.debug("Found {} overdue tasks", tasks.size());
+        sampledLogger.debug("Found {} overdue tasks", tasks.size());
         return tasks;
     }
 
@@ -207,13 +566,20 @@ public class InMemoryTaskRepository implements TaskRepository {
             return Collections.emptyList();
         }
 
-        List<Task> tasks = storage.values().stream()
-                .filter(task -> task.getDueDate() != null)
-                .filter(task -> !task.getDueDate().isBefore(start) &&
-                               !task.getDueDate().isAfter(end))
-                .collect(Collectors.toList());
+        if (start.isAfter(end)) {
+            return Collections.emptyList();
+        }
+
+        preload();
+        List<Task> tasks = resolveKeys(
+                dueDateIndex.subSet(DueDateKey.lowerBound(start), true, DueDateKey.upperBound(end), true),
+                task -> task.getDueDate() != null &&
+                        !task.getDueDate().isBefore(start) &&
+                        !task.getDueDate().isAfter(end));
 
-        logger.debug("Found {} tasks due between {} and {}", tasks.size(), start, end);
+        if (sampledLogger.isDebugEnabled()) {
+            sampledLogger.debug("Found {} tasks due between {} and {}", tasks.size(), start, end);
+        }
         return tasks;
     }
 
@@ -224,13 +590,535 @@ public class InMemoryTaskRepository implements TaskRepository {
             return findAll();
         }
 
-        String lowerKeyword = keyword.toLowerCase();
-        List<Task> tasks = storage.values().stream()
-                .filter(task -> task.getTitle() != null &&
-                               task.getTitle().toLowerCase().contains(lowerKeyword))
-                .collect(Collectors.toList());
+        preload();
+        List<Task> tasks = resolve(titleIndex.search(keyword), task -> true);
+
+        sampledLogger.debug("Found {} tasks matching keyword '{}'", tasks.size(), keyword);
+        return tasks;
+    }
+
+    @Override
+    public List<Task> search(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            logger.warn("search called with empty query, returning all tasks");
+            return findAll();
+        }
+
+        preload();
+        List<Task> tasks = resolve(fullTextIndex.search(query), task -> true);
+
+        sampledLogger.debug("Found {} tasks matching query '{}'", tasks.size(), query);
+        return tasks;
+    }
+
+    @Override
+    public List<Task> find(TaskQuery query) {
+        if (query == null) {
+            logger.error("Attempted to find tasks with null query");
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+
+        preload();
+        AccessPath path = plan(query);
+        List<Task> tasks = resolve(path.ids, query::matches);
 
-        logger.debug("Found {} tasks matching keyword '{}'", tasks.size(), keyword);
+        if (sampledLogger.isDebugEnabled()) {
+            sampledLogger.debug("Found {} tasks for {} using {}", tasks.size(), query, path.name);
+        }
         return tasks;
     }
+
+    @Override
+    public TaskPage findPage(TaskQuery query, PageRequest page) {
+        if (query == null || page == null) {
+            logger.error("Attempted to find page with null query or request");
+            throw new IllegalArgumentException("Query and page request cannot be null");
+        }
+
+        preload();
+        AccessPath path = plan(query);
+        if (path.indexed && sortCost(path) < walkCost(path, page)) {
+            sampledLogger.debug("Sorting candidates for {} using {}", query, path.name);
+            return TaskPage.of(resolve(path.ids, query::matches), page);
+        }
+
+        TaskSort sort = page.getSort();
+        NavigableSet<SortKey> index = sortIndexes.get(sort);
+        if (page.isDescending()) {
+            index = index.descendingSet();
+        }
+        if (page.getAfter() != null) {
+            index = index.tailSet(page.getAfter(), false);
+        }
+
+        // One task more than the page holds tells whether another page follows
+        List<Task> tasks = new ArrayList<>(page.getLimit() + 1);
+        for (SortKey key : index) {
+            Task task = storage.get(key.getTaskId());
+            // A task updated since the key was read is listed at its new position
+            if (task != null && key.equals(sort.keyOf(task)) && query.matches(task)) {
+                tasks.add(task);
+                if (tasks.size() > page.getLimit()) {
+                    break;
+                }
+            }
+        }
+
+        if (sampledLogger.isDebugEnabled()) {
+            sampledLogger.debug("Found page of {} tasks for {} {}", tasks.size(), query, page);
+        }
+        return TaskPage.fromOrdered(tasks, page);
+    }
+
+    /**
+     * Chooses the candidates of a query: the IDs from the index with the fewest
+     * entries for the query's filters, or all IDs if no filter has an index.
+     * Every candidate still has to be checked against the whole query.
+     *
+     * @param query The query
+     * @return The chosen access path
+     */
+    private AccessPath plan(TaskQuery query) {
+        AccessPath best = AccessPath.fullScan(storage.size(), storage.keySet());
+
+        if (query.getStatus() != null) {
+            best = cheaper(best, "status index", statusIndex.get(query.getStatus()));
+        }
+        if (query.getPriority() != null) {
+            best = cheaper(best, "priority index", priorityIndex.get(query.getPriority()));
+        }
+        if (query.getCategoryId() != null) {
+            best = cheaper(best, "category index",
+                    categoryIndex.getOrDefault(query.getCategoryId(), Collections.emptySet()));
+        }
+        if (Boolean.TRUE.equals(query.getStarred())) {
+            best = cheaper(best, "starred index", starredIndex);
+        }
+        if (query.hasDueRange()) {
+            NavigableSet<DueDateKey> range = dueDateRange(query.getDueFrom(), query.getDueTo());
+            // Sizing a skip-list range means walking it, so stop once it cannot win
+            long size = 0;
+            for (Iterator<DueDateKey> it = range.iterator(); it.hasNext() && size < best.estimate; it.next()) {
+                size++;
+            }
+            if (size < best.estimate) {
+                best = new AccessPath("due date index", size,
+                        () -> range.stream().map(DueDateKey::getTaskId).iterator());
+            }
+        }
+        if (!query.getTitleTerms().isEmpty()) {
+            long estimate = titleIndex.estimate(query.getTitleTerms());
+            if (estimate < best.estimate) {
+                best = new AccessPath("title index", estimate, () -> titleIndex.search(query.getTitleTerms()).iterator());
+            }
+        }
+        return best;
+    }
+
+    private static AccessPath cheaper(AccessPath best, String name, Set<String> ids) {
+        int size = ids.size();
+        return size < best.estimate ? new AccessPath(name, size, ids) : best;
+    }
+
+    /**
+     * Estimated number of tasks visited when walking the ordered index and
+     * filtering until the page is full, if the candidates are spread evenly.
+     */
+    private double walkCost(AccessPath path, PageRequest page) {
+        return (page.getLimit() + 1.0) * storage.size() / Math.max(1, path.estimate);
+    }
+
+    /**
+     * Estimated cost of resolving and sorting all candidates.
+     */
+    private static double sortCost(AccessPath path) {
+        return path.estimate * Math.max(1.0, Math.log(path.estimate) / Math.log(2));
+    }
+
+    private NavigableSet<DueDateKey> dueDateRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null) {
+            return dueDateIndex.headSet(DueDateKey.upperBound(to), true);
+        }
+        if (to == null) {
+            return dueDateIndex.tailSet(DueDateKey.lowerBound(from), true);
+        }
+        return dueDateIndex.subSet(DueDateKey.lowerBound(from), true, DueDateKey.upperBound(to), true);
+    }
+
+    @Override
+    public long getCollectionVersion() {
+        return collectionVersion.get();
+    }
+
+    @Override
+    public void setJournal(ChangeJournal<Task> journal) {
+        this.journal = journal != null ? journal : ChangeJournal.disabled();
+    }
+
+    @Override
+    public void attachSnapshot(SnapshotSource<Task> source) {
+        if (!storage.isEmpty() || snapshot != null) {
+            throw new IllegalStateException("A snapshot can only be attached to an empty repository");
+        }
+
+        snapshot = new LazySnapshot<>(source);
+        logger.info("Attached snapshot with {} tasks", source.size());
+    }
+
+    @Override
+    public void restore(Task task) {
+        if (task == null || task.getId() == null) {
+            logger.error("Attempted to restore null task or task with null ID");
+            throw new IllegalArgumentException("Task and its ID cannot be null");
+        }
+
+        storage.compute(task.getId(), (id, previous) -> {
+            LazySnapshot<Task> pending = snapshot;
+            if (pending != null) {
+                pending.supersede(id);
+            }
+            Task replacement = freeze(task.copy());
+            reindex(id, replacement);
+            return replacement;
+        });
+        collectionVersion.incrementAndGet();
+    }
+
+    @Override
+    public void preload() {
+        if (snapshot == null) {
+            return;
+        }
+
+        synchronized (preloadLock) {
+            LazySnapshot<Task> pending = snapshot;
+            if (pending == null) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < pending.size(); i++) {
+                faultIn(pending.idAt(i), i);
+            }
+            snapshot = null;
+            pending.close();
+            logger.info("Preloaded snapshot tasks in {} ms", (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Decodes and indexes the snapshot copy of a task unless the ID is already
+     * present or its snapshot copy has been superseded.
+     *
+     * @param id    The task ID
+     * @param index Position of the ID in the snapshot, or -1 to look it up
+     * @return The task now stored under the ID, or null if there is none
+     */
+    private Task faultIn(String id, int index) {
+        LazySnapshot<Task> pending = snapshot;
+        if (pending == null) {
+            return null;
+        }
+
+        return storage.compute(id, (key, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            Task task = pending.claim(key, index);
+            if (task != null) {
+                freeze(task);
+                reindex(key, task);
+            }
+            return task;
+        });
+    }
+
+    private static Task freeze(Task task) {
+        task.freeze();
+        return task;
+    }
+
+    /**
+     * Removes a task and its index entries atomically with respect to other
+     * writes of the same ID.
+     *
+     * @param id The task ID
+     * @return Journal position of the delete, or -1 if no task was removed
+     */
+    private long remove(String id) {
+        long[] position = {-1};
+        journal.beginChange();
+        try {
+            storage.computeIfPresent(id, (key, existing) -> {
+                position[0] = journal.recordDelete(key);
+                unindex(key);
+                return null;
+            });
+        } finally {
+            journal.endChange();
+        }
+        if (position[0] >= 0) {
+            collectionVersion.incrementAndGet();
+        }
+        return position[0];
+    }
+
+    /**
+     * Moves a task's index entries from its previously indexed values to its
+     * current values. Must be called while holding the storage bin for the ID.
+     *
+     * @param id   The task ID
+     * @param task The task in its current state
+     */
+    private void reindex(String id, Task task) {
+        IndexEntry current = IndexEntry.of(id, task);
+        IndexEntry previous = indexEntries.put(id, current);
+        if (previous == null) {
+            previous = IndexEntry.EMPTY;
+        } else {
+            count(previous, -1);
+        }
+        count(current, 1);
+
+        move(statusIndex, previous.status, current.status, id);
+        move(priorityIndex, previous.priority, current.priority, id);
+        if (previous.starred != current.starred) {
+            if (current.starred) {
+                starredIndex.add(id);
+            } else {
+                starredIndex.remove(id);
+            }
+        }
+        moveBucket(categoryIndex, previous.categoryId, current.categoryId, id);
+        move(dueDateIndex, previous.dueDateKey, current.dueDateKey);
+        move(openDueDateIndex, previous.openDueDateKey, current.openDueDateKey);
+        for (TaskSort sort : TaskSort.values()) {
+            move(sortIndexes.get(sort), previous.sortKey(sort), current.sortKey(sort));
+        }
+
+        titleIndex.put(id, task.getTitle());
+        fullTextIndex.put(id, task.getTitle(), task.getDescription());
+    }
+
+    /**
+     * Removes all index entries of a task.
+     * Must be called while holding the storage bin for the ID.
+     *
+     * @param id The task ID
+     */
+    private void unindex(String id) {
+        titleIndex.remove(id);
+        fullTextIndex.remove(id);
+
+        IndexEntry previous = indexEntries.remove(id);
+        if (previous == null) {
+            return;
+        }
+
+        count(previous, -1);
+        move(statusIndex, previous.status, null, id);
+        move(priorityIndex, previous.priority, null, id);
+        if (previous.starred) {
+            starredIndex.remove(id);
+        }
+        moveBucket(categoryIndex, previous.categoryId, null, id);
+        move(dueDateIndex, previous.dueDateKey, null);
+        move(openDueDateIndex, previous.openDueDateKey, null);
+        for (TaskSort sort : TaskSort.values()) {
+            move(sortIndexes.get(sort), previous.sortKey(sort), null);
+        }
+    }
+
+    private void count(IndexEntry entry, int delta) {
+        counters.add(entry.status, entry.priority, entry.categoryId, entry.starred, delta);
+    }
+
+    /**
+     * Moves an ID between the buckets of a keyed index. Either key may be null,
+     * meaning the task is not (or no longer) present under that index.
+     */
+    private static <K> void move(Map<K, Set<String>> index, K previous, K current, String id) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            index.get(previous).remove(id);
+        }
+        if (current != null) {
+            index.get(current).add(id);
+        }
+    }
+
+    /**
+     * Moves an ID between buckets of an index whose keys are not known up front.
+     * Buckets are created and removed inside the map's per-key compute so that a
+     * concurrent add never lands in a bucket that is being dropped.
+     */
+    private static <K> void moveBucket(Map<K, Set<String>> index, K previous, K current, String id) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            index.computeIfPresent(previous, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (current != null) {
+            index.compute(current, (key, ids) -> {
+                Set<String> bucket = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                bucket.add(id);
+                return bucket;
+            });
+        }
+    }
+
+    /**
+     * Replaces a key in a sorted index. Either key may be null.
+     */
+    private static <K> void move(NavigableSet<K> index, K previous, K current) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            index.remove(previous);
+        }
+        if (current != null) {
+            index.add(current);
+        }
+    }
+
+    /**
+     * Resolves a set of indexed IDs to tasks.
+     * The filter re-checks the live task so that a concurrent write between the
+     * index read and the storage read never produces a wrong result.
+     *
+     * @param ids    IDs taken from a secondary index
+     * @param filter Predicate the task must still satisfy
+     * @return Matching tasks
+     */
+    private List<Task> resolve(Iterable<String> ids, Predicate<Task> filter) {
+        List<Task> tasks = new ArrayList<>(ids instanceof Collection ? ((Collection<String>) ids).size() : 16);
+        for (String id : ids) {
+            Task task = storage.get(id);
+            if (task != null && filter.test(task)) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Resolves a range of the due-date index to tasks, in due-date order.
+     *
+     * @param keys   Keys taken from a due-date index
+     * @param filter Predicate the task must still satisfy
+     * @return Matching tasks
+     */
+    private List<Task> resolveKeys(Collection<DueDateKey> keys, Predicate<Task> filter) {
+        List<Task> tasks = new ArrayList<>();
+        for (DueDateKey key : keys) {
+            Task task = storage.get(key.getTaskId());
+            if (task != null && filter.test(task)) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Checks if a status still counts towards overdue tasks.
+     *
+     * @param status The task status
+     * @return true unless the task is completed or cancelled
+     */
+    private static boolean isOpen(TaskStatus status) {
+        return status != TaskStatus.COMPLETED && status != TaskStatus.CANCELLED;
+    }
+
+    /**
+     * Way of finding the candidate IDs of a query.
+     */
+    private static final class AccessPath {
+
+        private final String name;
+
+        /**
+         * Upper bound of the number of candidates.
+         */
+        private final long estimate;
+
+        private final Iterable<String> ids;
+
+        /**
+         * False for the scan of all tasks.
+         */
+        private final boolean indexed;
+
+        private AccessPath(String name, long estimate, Iterable<String> ids) {
+            this(name, estimate, ids, true);
+        }
+
+        private AccessPath(String name, long estimate, Iterable<String> ids, boolean indexed) {
+            this.name = name;
+            this.estimate = estimate;
+            this.ids = ids;
+            this.indexed = indexed;
+        }
+
+        static AccessPath fullScan(long size, Iterable<String> ids) {
+            return new AccessPath("full scan", size, ids, false);
+        }
+    }
+
+    /**
+     * Snapshot of the indexed field values of a task.
+     */
+    private static final class IndexEntry {
+
+        static final IndexEntry EMPTY = new IndexEntry(null, null, false, null, null, null, new SortKey[0]);
+
+        private final TaskStatus status;
+        private final TaskPriority priority;
+        private final boolean starred;
+        private final String categoryId;
+        private final DueDateKey dueDateKey;
+
+        /**
+         * Same as dueDateKey, but only set while the task is still open.
+         */
+        private final DueDateKey openDueDateKey;
+
+        /**
+         * Keys in the sort indexes, by TaskSort ordinal; empty for EMPTY.
+         */
+        private final SortKey[] sortKeys;
+
+        private IndexEntry(TaskStatus status, TaskPriority priority, boolean starred, String categoryId,
+                           DueDateKey dueDateKey, DueDateKey openDueDateKey, SortKey[] sortKeys) {
+            this.status = status;
+            this.priority = priority;
+            this.starred = starred;
+            this.categoryId = categoryId;
+            this.dueDateKey = dueDateKey;
+            this.openDueDateKey = openDueDateKey;
+            this.sortKeys = sortKeys;
+        }
+
+        SortKey sortKey(TaskSort sort) {
+            return sort.ordinal() < sortKeys.length ? sortKeys[sort.ordinal()] : null;
+        }
+
+        static IndexEntry of(String id, Task task) {
+            DueDateKey dueDateKey = task.getDueDate() != null ? DueDateKey.of(task.getDueDate(), id) : null;
+            DueDateKey openDueDateKey = isOpen(task.getStatus()) ? dueDateKey : null;
+            String categoryId = task.getCategory() != null ? task.getCategory().getId() : null;
+            SortKey[] sortKeys = new SortKey[TaskSort.values().length];
+            for (TaskSort sort : TaskSort.values()) {
+                sortKeys[sort.ordinal()] = sort.keyOf(task);
+            }
+            return new IndexEntry(task.getStatus(), task.getPriority(), task.isStarred(), categoryId, dueDateKey,
+                    openDueDateKey, sortKeys);
+        }
+    }
 }
@@ -0,0 +1,347 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.exception.DataAccessException;
+import ee.taltech.todo.exception.DuplicateKeyException;
+import ee.taltech.todo.exception.OptimisticLockException;
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.util.SampledLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JDBC implementation of CategoryRepository backed by H2.
+ *
+ * Name uniqueness is enforced by a unique constraint on a normalized name column,
+ * so it holds across concurrent writers and application restarts. Saves are
+ * compare-and-swap on a version column.
+ *
+ * Design Pattern: Repository Pattern (implementation)
+ * Thread Safety: Each operation borrows its own pooled connection
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class JdbcCategoryRepository implements CategoryRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcCategoryRepository.class);
+
+    /**
+     * Logger for messages written on every call, limited under load.
+     */
+    private static final SampledLogger sampledLogger = SampledLogger.of(logger);
+
+    /**
+     * H2 error code for a unique constraint violation.
+     */
+    private static final int DUPLICATE_KEY_ERROR = 23505;
+
+    private static final String COLUMNS = "id, name, description, color, created_at, updated_at, version";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO categories (name, description, color, created_at, updated_at, name_key, id, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 1)";
+    private static final String UPDATE_SQL =
+            "UPDATE categories SET name = ?, description = ?, color = ?, created_at = ?, updated_at = ?, " +
+            "name_key = ?, version = version + 1 WHERE id = ? AND version = ?";
+    private static final String VERSION_SQL = "SELECT version FROM categories WHERE id = ?";
+    private static final String SELECT_BY_ID_SQL = "SELECT " + COLUMNS + " FROM categories WHERE id = ?";
+    private static final String SELECT_ALL_SQL = "SELECT " + COLUMNS + " FROM categories";
+    private static final String SELECT_BY_NAME_SQL = "SELECT " + COLUMNS + " FROM categories WHERE name_key = ?";
+    private static final String EXISTS_BY_ID_SQL = "SELECT 1 FROM categories WHERE id = ?";
+    private static final String EXISTS_BY_NAME_SQL = "SELECT 1 FROM categories WHERE name_key = ?";
+    private static final String DELETE_BY_ID_SQL = "DELETE FROM categories WHERE id = ?";
+    private static final String DELETE_ALL_SQL = "DELETE FROM categories";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM categories";
+
+    private final Database database;
+
+    /**
+     * Raised after every committed change made through this repository; see
+     * {@link #getCollectionVersion()}. Changes made to the tables by other
+     * means are not seen.
+     */
+    private final AtomicLong collectionVersion = new AtomicLong();
+
+    /**
+     * Whether names are compared case-insensitively.
+     */
+    private final boolean caseInsensitiveNames;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param database             The database to use
+     * @param caseInsensitiveNames true to treat names differing only in case as duplicates
+     */
+    public JdbcCategoryRepository(Database database, boolean caseInsensitiveNames) {
+        this.database = database;
+        this.caseInsensitiveNames = caseInsensitiveNames;
+        logger.info("JdbcCategoryRepository initialized (case-insensitive names: {})", caseInsensitiveNames);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DuplicateKeyException if another category already uses the same name
+     */
+    @Override
+    public Category save(Category category) {
+        if (category == null) {
+            logger.error("Attempted to save null category");
+            throw new IllegalArgumentException("Category cannot be null");
+        }
+
+        if (category.getId() == null || category.getId().isEmpty()) {
+            logger.error("Attempted to save category with null/empty ID");
+            throw new IllegalArgumentException("Category ID cannot be null or empty");
+        }
+
+        // Compare-and-swap on the version: an unsaved category is inserted, which
+        // fails if the ID is taken, and a saved one only updates the row it was read from
+        long version = category.getVersion();
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(version == 0 ? INSERT_SQL : UPDATE_SQL)) {
+            ps.setString(1, category.getName());
+            ps.setString(2, category.getDescription());
+            ps.setString(3, category.getColor());
+            ps.setTimestamp(4, Timestamp.valueOf(category.getCreatedAt()));
+            ps.setTimestamp(5, Timestamp.valueOf(category.getUpdatedAt()));
+            ps.setString(6, category.getName() != null ? normalize(category.getName()) : null);
+            ps.setString(7, category.getId());
+            if (version != 0) {
+                ps.setLong(8, version);
+            }
+            try {
+                if (ps.executeUpdate() == 0) {
+                    throw conflict(connection, category);
+                }
+            } catch (SQLException e) {
+                if (e.getErrorCode() != DUPLICATE_KEY_ERROR) {
+                    throw e;
+                }
+                if (version == 0 && storedVersion(connection, category.getId()) > 0) {
+                    throw conflict(connection, category);
+                }
+                logger.warn("Rejected duplicate category name: {}", category.getName());
+                throw DuplicateKeyException.forKey("Category", category.getName());
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to save category " + category.getId(), e);
+        }
+        Category stored = category.copy();
+        stored.setVersion(version + 1);
+        collectionVersion.incrementAndGet();
+
+        sampledLogger.debug("Saved category: {}", category.getId());
+        return stored;
+    }
+
+    @Override
+    public long getCollectionVersion() {
+        return collectionVersion.get();
+    }
+
+    @Override
+    public Optional<Category> findById(String id) {
+        if (id == null) {
+            logger.error("Attempted to find category with null ID");
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+
+        Optional<Category> category = queryOne(SELECT_BY_ID_SQL, id);
+        sampledLogger.debug("Find category by ID {}: {}", id, category.isPresent() ? "found" : "not found");
+        return category;
+    }
+
+    @Override
+    public List<Category> findAll() {
+        List<Category> categories = new ArrayList<>();
+
+        try (Connection connection = database.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(SELECT_ALL_SQL)) {
+            while (rs.next()) {
+                categories.add(mapRow(rs));
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load categories", e);
+        }
+
+        sampledLogger.debug("Retrieved all categories: {} found", categories.size());
+        return categories;
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        if (id == null) {
+            logger.error("Attempted to delete category with null ID");
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+
+        boolean deleted = executeUpdate(DELETE_BY_ID_SQL, id) > 0;
+        sampledLogger.debug("Delete category by ID {}: {}", id, deleted ? "success" : "not found");
+        return deleted;
+    }
+
+    @Override
+    public boolean delete(Category category) {
+        if (category == null) {
+            logger.error("Attempted to delete null category");
+            throw new IllegalArgumentException("Category cannot be null");
+        }
+
+        return deleteById(category.getId());
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        if (id == null) {
+            logger.error("Attempted to check existence with null ID");
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+
+        boolean exists = exists(EXISTS_BY_ID_SQL, id);
+        sampledLogger.debug("Check category exists by ID {}: {}", id, exists);
+        return exists;
+    }
+
+    @Override
+    public long count() {
+        try (Connection connection = database.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(COUNT_SQL)) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to count categories", e);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        int deleted = executeUpdate(DELETE_ALL_SQL, null);
+        logger.info("Deleted all categories (previous count: {})", deleted);
+    }
+
+    @Override
+    public Optional<Category> findByName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            logger.warn("findByName called with null/empty name");
+            return Optional.empty();
+        }
+
+        Optional<Category> result = queryOne(SELECT_BY_NAME_SQL, normalize(name));
+        sampledLogger.debug("Find category by name '{}': {}", name, result.isPresent() ? "found" : "not found");
+        return result;
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            logger.warn("existsByName called with null/empty name");
+            return false;
+        }
+
+        boolean exists = exists(EXISTS_BY_NAME_SQL, normalize(name));
+        sampledLogger.debug("Check category exists by name '{}': {}", name, exists);
+        return exists;
+    }
+
+    private static OptimisticLockException conflict(Connection connection, Category category) throws SQLException {
+        long stored = storedVersion(connection, category.getId());
+        if (sampledLogger.isDebugEnabled()) {
+            sampledLogger.debug("Rejected save of category {}: version {} is not the stored version {}",
+                    category.getId(), category.getVersion(), stored);
+        }
+        return OptimisticLockException.forVersion("Category", category.getId(), category.getVersion(), stored);
+    }
+
+    /**
+     * Reads the stored version of a category.
+     *
+     * @return The version, 0 if there is no category with the ID
+     */
+    private static long storedVersion(Connection connection, String id) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(VERSION_SQL)) {
+            ps.setString(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Maps the current result set row to a Category.
+     *
+     * @param rs Result set positioned on a category row
+     * @return The category
+     * @throws SQLException if a column cannot be read
+     */
+    private static Category mapRow(ResultSet rs) throws SQLException {
+        Category category = Category.restore(
+                rs.getString("id"),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getString("color"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getTimestamp("updated_at").toLocalDateTime());
+        category.setVersion(rs.getLong("version"));
+        return category;
+    }
+
+    private Optional<Category> queryOne(String sql, String parameter) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, parameter);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? Optional.of(mapRow(rs)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load category", e);
+        }
+    }
+
+    private boolean exists(String sql, String parameter) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, parameter);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to query categories", e);
+        }
+    }
+
+    private int executeUpdate(String sql, String parameter) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            if (parameter != null) {
+                ps.setString(1, parameter);
+            }
+            int count = ps.executeUpdate();
+            if (count > 0) {
+                collectionVersion.incrementAndGet();
+            }
+            return count;
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to update categories", e);
+        }
+    }
+
+    private String normalize(String name) {
+        return caseInsensitiveNames ? name.toLowerCase(Locale.ROOT) : name;
+    }
+}
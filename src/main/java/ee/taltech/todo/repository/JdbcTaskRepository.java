@@ -0,0 +1,780 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.exception.DataAccessException;
+import ee.taltech.todo.exception.OptimisticLockException;
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+import ee.taltech.todo.util.SampledLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JDBC implementation of TaskRepository backed by H2.
+ *
+ * Every filter method maps to a single SQL query on an indexed column
+ * (status, priority, category_id, due_date, starred). The task's category is
+ * loaded with a join in the same query. Pages are read by keyset from a
+ * composite (sorted column, id) index, so a page never scans the rows before it.
+ * Saves are compare-and-swap on a version column.
+ *
+ * Design Pattern: Repository Pattern (implementation)
+ * Thread Safety: Each operation borrows its own pooled connection
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class JdbcTaskRepository implements TaskRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTaskRepository.class);
+
+    /**
+     * Logger for messages written on every call, limited under load.
+     */
+    private static final SampledLogger sampledLogger = SampledLogger.of(logger);
+
+    private static final String SELECT_SQL =
+            "SELECT t.id, t.title, t.description, t.status, t.priority, t.due_date, t.starred, " +
+            "t.created_at, t.updated_at, t.version, c.id AS c_id, c.name AS c_name, " +
+            "c.description AS c_description, c.color AS c_color, c.created_at AS c_created_at, " +
+            "c.updated_at AS c_updated_at, c.version AS c_version " +
+            "FROM tasks t LEFT JOIN categories c ON c.id = t.category_id";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tasks (title, description, status, priority, due_date, category_id, starred, " +
+            "created_at, updated_at, id, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE tasks SET title = ?, description = ?, status = ?, priority = ?, due_date = ?, " +
+            "category_id = ?, starred = ?, created_at = ?, updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND version = ?";
+
+    /**
+     * H2 error code for a unique constraint violation.
+     */
+    private static final int DUPLICATE_KEY_ERROR = 23505;
+
+    /**
+     * Regular expression prefix matching the start of a word.
+     */
+    private static final String WORD_START = "(^|[^\\p{L}\\p{N}])";
+
+    private final Database database;
+
+    /**
+     * Raised after every committed change made through this repository; see
+     * {@link #getCollectionVersion()}. Changes made to the tables by other
+     * means are not seen.
+     */
+    private final AtomicLong collectionVersion = new AtomicLong();
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param database The database to use
+     */
+    public JdbcTaskRepository(Database database) {
+        this.database = database;
+        logger.info("JdbcTaskRepository initialized");
+    }
+
+    @Override
+    public Task save(Task task) {
+        if (task == null) {
+            logger.error("Attempted to save null task");
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+
+        if (task.getId() == null || task.getId().isEmpty()) {
+            logger.error("Attempted to save task with null/empty ID");
+            throw new IllegalArgumentException("Task ID cannot be null or empty");
+        }
+
+        // Compare-and-swap on the version: an unsaved task is inserted, which
+        // fails if the ID is taken, and a saved one only updates the row it was read from
+        long version = task.getVersion();
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(version == 0 ? INSERT_SQL : UPDATE_SQL)) {
+            if (!write(ps, task)) {
+                throw conflict(connection, task);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to save task " + task.getId(), e);
+        }
+        Task stored = task.copy();
+        stored.setVersion(version + 1);
+        collectionVersion.incrementAndGet();
+
+        sampledLogger.debug("Saved task: {}", task.getId());
+        return stored;
+    }
+
+    /**
+     * Saves the tasks in one transaction on one connection, reusing one insert
+     * and one update statement, so the batch pays for a single commit.
+     * The stored copies with their new versions are only returned once the
+     * transaction has committed.
+     */
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        if (tasks == null) {
+            logger.error("Attempted to save null task list");
+            throw new IllegalArgumentException("Tasks cannot be null");
+        }
+
+        for (Task task : tasks) {
+            if (task == null || task.getId() == null || task.getId().isEmpty()) {
+                logger.error("Attempted to save null task or task with null/empty ID in a batch");
+                throw new IllegalArgumentException("Tasks and their IDs cannot be null or empty");
+            }
+        }
+
+        List<Task> saved = new ArrayList<>(tasks.size());
+        try (Connection connection = database.getConnection()) {
+            inTransaction(connection, () -> {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL);
+                     PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+                    for (Task task : tasks) {
+                        saved.add(write(task.getVersion() == 0 ? insert : update, task) ? task : null);
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to save batch of " + tasks.size() + " tasks", e);
+        }
+
+        int rejected = 0;
+        for (int i = 0; i < saved.size(); i++) {
+            Task task = saved.get(i);
+            if (task != null) {
+                Task stored = task.copy();
+                stored.setVersion(task.getVersion() + 1);
+                saved.set(i, stored);
+            } else {
+                rejected++;
+            }
+        }
+        if (rejected < saved.size()) {
+            collectionVersion.incrementAndGet();
+        }
+        sampledLogger.debug("Saved batch of {} tasks ({} rejected)", tasks.size(), rejected);
+        return saved;
+    }
+
+    @Override
+    public Set<String> deleteAllById(Collection<String> ids) {
+        if (ids == null) {
+            logger.error("Attempted to delete tasks with null ID list");
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+
+        for (String id : ids) {
+            if (id == null) {
+                logger.error("Attempted to delete task with null ID in a batch");
+                throw new IllegalArgumentException("ID cannot be null");
+            }
+        }
+
+        Set<String> deleted = new LinkedHashSet<>();
+        try (Connection connection = database.getConnection()) {
+            inTransaction(connection, () -> {
+                try (PreparedStatement ps = connection.prepareStatement("DELETE FROM tasks WHERE id = ?")) {
+                    for (String id : ids) {
+                        ps.setString(1, id);
+                        if (ps.executeUpdate() > 0) {
+                            deleted.add(id);
+                        }
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to delete batch of " + ids.size() + " tasks", e);
+        }
+        if (!deleted.isEmpty()) {
+            collectionVersion.incrementAndGet();
+        }
+
+        sampledLogger.debug("Deleted batch of {} tasks ({} found)", ids.size(), deleted.size());
+        return deleted;
+    }
+
+    @Override
+    public long getCollectionVersion() {
+        return collectionVersion.get();
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        if (id == null) {
+            logger.error("Attempted to find task with null ID");
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+
+        List<Task> tasks = query(" WHERE t.id = ?", id);
+        sampledLogger.debug("Find task by ID {}: {}", id, tasks.isEmpty() ? "not found" : "found");
+        return tasks.isEmpty() ? Optional.empty() : Optional.of(tasks.get(0));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> tasks = query("");
+        sampledLogger.debug("Retrieved all tasks: {} found", tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        if (id == null) {
+            logger.error("Attempted to delete task with null ID");
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+
+        boolean deleted = update("DELETE FROM tasks WHERE id = ?", id) > 0;
+        sampledLogger.debug("Delete task by ID {}: {}", id, deleted ? "success" : "not found");
+        return deleted;
+    }
+
+    @Override
+    public boolean delete(Task task) {
+        if (task == null) {
+            logger.error("Attempted to delete null task");
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+
+        return deleteById(task.getId());
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        if (id == null) {
+            logger.error("Attempted to check existence with null ID");
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+
+        boolean exists = count("SELECT COUNT(*) FROM tasks WHERE id = ?", id) > 0;
+        sampledLogger.debug("Check task exists by ID {}: {}", id, exists);
+        return exists;
+    }
+
+    @Override
+    public long count() {
+        long count = count("SELECT COUNT(*) FROM tasks");
+        sampledLogger.debug("Total task count: {}", count);
+        return count;
+    }
+
+    @Override
+    public void deleteAll() {
+        int deleted = update("DELETE FROM tasks");
+        logger.info("Deleted all tasks (previous count: {})", deleted);
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status) {
+        if (status == null) {
+            logger.warn("findByStatus called with null status, returning empty list");
+            return Collections.emptyList();
+        }
+
+        List<Task> tasks = query(" WHERE t.status = ?", status.name());
+        sampledLogger.debug("Found {} tasks with status {}", tasks.size(), status);
+        return tasks;
+    }
+
+    @Override
+    public List<Task> findByPriority(TaskPriority priority) {
+        if (priority == null) {
+            logger.warn("findByPriority called with null priority, returning empty list");
+            return Collections.emptyList();
+        }
+
+        List<Task> tasks = query(" WHERE t.priority = ?", priority.name());
+        sampledLogger.debug("Found {} tasks with priority {}", tasks.size(), priority);
+        return tasks;
+    }
+
+    @Override
+    public List<Task> findByCategory(Category category) {
+        if (category == null) {
+            logger.warn("findByCategory called with null category, returning empty list");
+            return Collections.emptyList();
+        }
+
+        return findByCategoryId(category.getId());
+    }
+
+    @Override
+    public List<Task> findByCategoryId(String categoryId) {
+        if (categoryId == null) {
+            logger.warn("findByCategoryId called with null category ID, returning empty list");
+            return Collections.emptyList();
+        }
+
+        List<Task> tasks = query(" WHERE t.category_id = ?", categoryId);
+        sampledLogger.debug("Found {} tasks in category ID {}", tasks.size(), categoryId);
+        return tasks;
+    }
+
+    @Override
+    public long countByCategoryId(String categoryId) {
+        if (categoryId == null) {
+            return 0;
+        }
+
+        return count("SELECT COUNT(*) FROM tasks WHERE category_id = ?", categoryId);
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        if (status == null) {
+            return 0;
+        }
+
+        return count("SELECT COUNT(*) FROM tasks WHERE status = ?", status.name());
+    }
+
+    @Override
+    public TaskStats getStats() {
+        // Aggregated in the database: only the counts cross the connection
+        try (Connection connection = database.getConnection()) {
+            Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+            countGroups(connection, "SELECT status, COUNT(*) FROM tasks GROUP BY status")
+                    .forEach((status, count) -> byStatus.put(TaskStatus.valueOf(status), count));
+            Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+            countGroups(connection, "SELECT priority, COUNT(*) FROM tasks GROUP BY priority")
+                    .forEach((priority, count) -> byPriority.put(TaskPriority.valueOf(priority), count));
+            Map<String, Long> byCategory = countGroups(connection,
+                    "SELECT category_id, COUNT(*) FROM tasks WHERE category_id IS NOT NULL GROUP BY category_id");
+
+            long total = 0;
+            for (long count : byStatus.values()) {
+                total += count;
+            }
+            long starred = countIn(connection, "SELECT COUNT(*) FROM tasks WHERE starred = TRUE");
+            long overdue = countIn(connection, "SELECT COUNT(*) FROM tasks WHERE due_date < ? AND status NOT IN (?, ?)",
+                    Timestamp.valueOf(LocalDateTime.now()), TaskStatus.COMPLETED.name(), TaskStatus.CANCELLED.name());
+
+            TaskStats stats = new TaskStats(total, byStatus, byPriority, byCategory, starred, overdue);
+            sampledLogger.debug("Task statistics: {}", stats);
+            return stats;
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to count tasks", e);
+        }
+    }
+
+    @Override
+    public List<Task> findStarred() {
+        List<Task> tasks = query(" WHERE t.starred = TRUE");
+        sampledLogger.debug("Found {} starred tasks", tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public List<Task> findOverdue() {
+        List<Task> tasks = query(" WHERE t.due_date < ? AND t.status NOT IN (?, ?) ORDER BY t.due_date",
+                Timestamp.valueOf(LocalDateTime.now()), TaskStatus.COMPLETED.name(), TaskStatus.CANCELLED.name());
+        sampledLogger.debug("Found {} overdue tasks", tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            logger.warn("findByDueDateBetween called with null dates, returning empty list");
+            return Collections.emptyList();
+        }
+
+        List<Task> tasks = query(" WHERE t.due_date BETWEEN ? AND ? ORDER BY t.due_date",
+                Timestamp.valueOf(start), Timestamp.valueOf(end));
+        if (sampledLogger.isDebugEnabled()) {
+            sampledLogger.debug("Found {} tasks due between {} and {}", tasks.size(), start, end);
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<Task> searchByTitle(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            logger.warn("searchByTitle called with empty keyword, returning all tasks");
+            return findAll();
+        }
+
+        List<Task> tasks = searchTerms(keyword, false);
+        sampledLogger.debug("Found {} tasks matching keyword '{}'", tasks.size(), keyword);
+        return tasks;
+    }
+
+    @Override
+    public List<Task> search(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            logger.warn("search called with empty query, returning all tasks");
+            return findAll();
+        }
+
+        List<Task> tasks = searchTerms(query, true);
+        sampledLogger.debug("Found {} tasks matching query '{}'", tasks.size(), query);
+        return tasks;
+    }
+
+    @Override
+    public List<Task> find(TaskQuery query) {
+        if (query == null) {
+            logger.error("Attempted to find tasks with null query");
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        addConditions(query, conditions, parameters);
+
+        List<Task> tasks = query(where(conditions), parameters.toArray());
+        sampledLogger.debug("Found {} tasks for {}", tasks.size(), query);
+        return tasks;
+    }
+
+    @Override
+    public TaskPage findPage(TaskQuery query, PageRequest page) {
+        if (query == null || page == null) {
+            logger.error("Attempted to find page with null query or request");
+            throw new IllegalArgumentException("Query and page request cannot be null");
+        }
+
+        // One row more than the page holds tells whether another page follows
+        int wanted = page.getLimit() + 1;
+        List<Task> tasks;
+        if (page.getSort() != TaskSort.DUE_DATE) {
+            tasks = queryPage(query, page, false, wanted);
+        } else {
+            // Tasks without a due date sort last. The null and non-null parts are
+            // read separately, as an OR of both would not be an index range.
+            boolean firstPartNull = page.isDescending();
+            SortKey after = page.getAfter();
+            tasks = new ArrayList<>();
+            // Skip the first part if the cursor lies beyond it
+            if (after == null || (after.getValue() == null) == firstPartNull) {
+                tasks.addAll(queryPage(query, page, firstPartNull, wanted));
+            }
+            if (tasks.size() < wanted) {
+                tasks.addAll(queryPage(query, page, !firstPartNull, wanted - tasks.size()));
+            }
+        }
+
+        if (sampledLogger.isDebugEnabled()) {
+            sampledLogger.debug("Found page of {} tasks for {} {}", tasks.size(), query, page);
+        }
+        return TaskPage.fromOrdered(tasks, page);
+    }
+
+    /**
+     * Reads tasks matching a query and following the page's cursor from one index range.
+     *
+     * @param query    The query
+     * @param page     The page request
+     * @param nullPart For due dates: true to read the tasks without a due date,
+     *                 false for those with one; ignored for other orders
+     * @param limit    Maximum number of tasks to read
+     * @return Tasks in page order
+     */
+    private List<Task> queryPage(TaskQuery query, PageRequest page, boolean nullPart, int limit) {
+        String column = sortColumn(page.getSort());
+        boolean nullable = page.getSort() == TaskSort.DUE_DATE;
+        String comparison = page.isDescending() ? " < " : " > ";
+        SortKey after = page.getAfter();
+
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        addConditions(query, conditions, parameters);
+        // A cursor in the other part lies entirely before this one
+        if (after != null && (after.getValue() == null) == (nullable && nullPart)) {
+            if (after.getValue() == null) {
+                conditions.add(column + " IS NULL AND t.id" + comparison + "?");
+            } else {
+                // Also excludes null due dates
+                conditions.add("(" + column + ", t.id)" + comparison + "(?, ?)");
+                parameters.add(after.getValue() instanceof LocalDateTime
+                        ? Timestamp.valueOf((LocalDateTime) after.getValue()) : after.getValue());
+            }
+            parameters.add(after.getTaskId());
+        } else if (nullable) {
+            conditions.add(column + (nullPart ? " IS NULL" : " IS NOT NULL"));
+        }
+
+        // Null ordering must match the index for H2 to read it in order and stop early
+        String sql = where(conditions) +
+                " ORDER BY " + column + (page.isDescending() ? " DESC NULLS FIRST" : " ASC NULLS LAST") +
+                ", t.id" + (page.isDescending() ? " DESC" : " ASC") + " LIMIT ?";
+        parameters.add(limit);
+
+        return query(sql, parameters.toArray());
+    }
+
+    /**
+     * Adds the SQL conditions of a query's filters. H2 picks the index to use.
+     */
+    private static void addConditions(TaskQuery query, List<String> conditions, List<Object> parameters) {
+        if (query.getStatus() != null) {
+            conditions.add("t.status = ?");
+            parameters.add(query.getStatus().name());
+        }
+        if (query.getPriority() != null) {
+            conditions.add("t.priority = ?");
+            parameters.add(query.getPriority().name());
+        }
+        if (query.getCategoryId() != null) {
+            conditions.add("t.category_id = ?");
+            parameters.add(query.getCategoryId());
+        }
+        if (query.getStarred() != null) {
+            conditions.add("t.starred = ?");
+            parameters.add(query.getStarred());
+        }
+        if (query.getDueFrom() != null) {
+            conditions.add("t.due_date >= ?");
+            parameters.add(Timestamp.valueOf(query.getDueFrom()));
+        }
+        if (query.getDueTo() != null) {
+            conditions.add("t.due_date <= ?");
+            parameters.add(Timestamp.valueOf(query.getDueTo()));
+        }
+        for (String term : query.getTitleTerms()) {
+            conditions.add("REGEXP_LIKE(LOWER(t.title), ?)");
+            parameters.add(WORD_START + term);
+        }
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static String sortColumn(TaskSort sort) {
+        switch (sort) {
+            case DUE_DATE:
+                return "t.due_date";
+            case PRIORITY:
+                return "t.priority_level";
+            case CREATED_AT:
+                return "t.created_at";
+            default:
+                return "t.updated_at";
+        }
+    }
+
+    /**
+     * Runs a word-prefix search with the same tokenization as the in-memory text index.
+     *
+     * @param query              The search query
+     * @param includeDescription true to also match words in the description
+     * @return Tasks matching every term
+     */
+    private List<Task> searchTerms(String query, boolean includeDescription) {
+        Set<String> terms = TextIndex.tokenize(query, new LinkedHashSet<>());
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        StringBuilder where = new StringBuilder(" WHERE ");
+        List<Object> parameters = new ArrayList<>();
+        for (String term : terms) {
+            if (!parameters.isEmpty()) {
+                where.append(" AND ");
+            }
+            String pattern = WORD_START + term;
+            where.append("(REGEXP_LIKE(LOWER(t.title), ?)");
+            parameters.add(pattern);
+            if (includeDescription) {
+                where.append(" OR REGEXP_LIKE(LOWER(t.description), ?)");
+                parameters.add(pattern);
+            }
+            where.append(')');
+        }
+
+        return query(where.toString(), parameters.toArray());
+    }
+
+    /**
+     * Runs the insert or the version-checked update of a task.
+     *
+     * @param ps   {@link #INSERT_SQL} for an unsaved task, {@link #UPDATE_SQL} otherwise
+     * @param task The task
+     * @return false if the compare-and-swap failed: the ID is taken or the version is not stored
+     * @throws SQLException on any other database error
+     */
+    private static boolean write(PreparedStatement ps, Task task) throws SQLException {
+        ps.setString(1, task.getTitle());
+        ps.setString(2, task.getDescription());
+        ps.setString(3, task.getStatus().name());
+        ps.setString(4, task.getPriority().name());
+        ps.setTimestamp(5, task.getDueDate() != null ? Timestamp.valueOf(task.getDueDate()) : null);
+        ps.setString(6, task.getCategory() != null ? task.getCategory().getId() : null);
+        ps.setBoolean(7, task.isStarred());
+        ps.setTimestamp(8, Timestamp.valueOf(task.getCreatedAt()));
+        ps.setTimestamp(9, Timestamp.valueOf(task.getUpdatedAt()));
+        ps.setString(10, task.getId());
+        if (task.getVersion() != 0) {
+            ps.setLong(11, task.getVersion());
+        }
+        try {
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            if (e.getErrorCode() == DUPLICATE_KEY_ERROR) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs work in one transaction on the connection, rolling back if it fails,
+     * and restores the connection's auto-commit mode before it goes back to the pool.
+     */
+    private static void inTransaction(Connection connection, SqlWork work) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            work.run();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Database work that may throw SQLException.
+     */
+    @FunctionalInterface
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    private static OptimisticLockException conflict(Connection connection, Task task) throws SQLException {
+        long stored = countIn(connection, "SELECT COALESCE(MAX(version), 0) FROM tasks WHERE id = ?", task.getId());
+        if (sampledLogger.isDebugEnabled()) {
+            sampledLogger.debug("Rejected save of task {}: version {} is not the stored version {}",
+                    task.getId(), task.getVersion(), stored);
+        }
+        return OptimisticLockException.forVersion("Task", task.getId(), task.getVersion(), stored);
+    }
+
+    private List<Task> query(String whereClause, Object... parameters) {
+        List<Task> tasks = new ArrayList<>();
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(SELECT_SQL + whereClause)) {
+            bind(ps, parameters);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load tasks", e);
+        }
+
+        return tasks;
+    }
+
+    private long count(String sql, Object... parameters) {
+        try (Connection connection = database.getConnection()) {
+            return countIn(connection, sql, parameters);
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to count tasks", e);
+        }
+    }
+
+    private static long countIn(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            bind(ps, parameters);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Runs a "SELECT key, COUNT(*) ... GROUP BY key" query.
+     *
+     * @return Key -> count, in result order
+     */
+    private static Map<String, Long> countGroups(Connection connection, String sql) throws SQLException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                counts.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return counts;
+    }
+
+    private int update(String sql, Object... parameters) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            bind(ps, parameters);
+            int count = ps.executeUpdate();
+            if (count > 0) {
+                collectionVersion.incrementAndGet();
+            }
+            return count;
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to update tasks", e);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Object[] parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            ps.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    private static Task mapRow(ResultSet rs) throws SQLException {
+        Category category = null;
+        if (rs.getString("c_id") != null) {
+            category = Category.restore(
+                    rs.getString("c_id"),
+                    rs.getString("c_name"),
+                    rs.getString("c_description"),
+                    rs.getString("c_color"),
+                    rs.getTimestamp("c_created_at").toLocalDateTime(),
+                    rs.getTimestamp("c_updated_at").toLocalDateTime());
+            category.setVersion(rs.getLong("c_version"));
+        }
+
+        Timestamp dueDate = rs.getTimestamp("due_date");
+        Task task = Task.restore(
+                rs.getString("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                TaskStatus.valueOf(rs.getString("status")),
+                TaskPriority.valueOf(rs.getString("priority")),
+                dueDate != null ? dueDate.toLocalDateTime() : null,
+                category,
+                rs.getBoolean("starred"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getTimestamp("updated_at").toLocalDateTime());
+        task.setVersion(rs.getLong("version"));
+        return task;
+    }
+}
@@ -0,0 +1,47 @@
+package ee.taltech.todo.repository;
+
+/**
+ * Repository whose contents can be restored from a snapshot and whose changes can be journaled.
+ *
+ * @param <T> The entity type
+ * @author ToDo Application
+ * @version 1.0
+ */
+public interface JournaledRepository<T> extends Repository<T> {
+
+    /**
+     * Attaches the journal that every subsequent change is recorded in.
+     * Attach it after the repository has been restored, so that restored
+     * entities are not journaled again.
+     *
+     * @param journal The journal
+     */
+    void setJournal(ChangeJournal<T> journal);
+
+    /**
+     * Makes the entities of a snapshot available without decoding them.
+     * An entity is decoded and indexed the first time it is looked up by ID;
+     * operations that need every entity (findAll, count, filtered queries)
+     * decode the rest first. Saving or deleting an ID supersedes its snapshot copy.
+     *
+     * @param snapshot The snapshot; the repository must be empty
+     * @throws IllegalStateException if the repository already holds entities
+     */
+    void attachSnapshot(SnapshotSource<T> snapshot);
+
+    /**
+     * Stores an entity recovered from the journal as it is, keeping its version.
+     * Unlike a save, the version is neither checked nor incremented and nothing
+     * is journaled.
+     *
+     * @param entity The recovered entity
+     * @throws IllegalArgumentException if the entity or its ID is null
+     */
+    void restore(T entity);
+
+    /**
+     * Decodes every entity of the attached snapshot that has not been decoded yet
+     * and releases the snapshot. Does nothing if no snapshot is attached.
+     */
+    void preload();
+}
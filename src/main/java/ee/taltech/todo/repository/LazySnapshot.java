@@ -0,0 +1,64 @@
+package ee.taltech.todo.repository;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which entries of an attached snapshot are still authoritative.
+ *
+ * An ID is claimed the first time the repository either decodes its snapshot copy
+ * or writes the ID itself. After that the snapshot copy is never handed out again,
+ * so a write is never overwritten by a later fault-in of stale snapshot data.
+ *
+ * Thread Safety: claims for one ID must be made while holding the repository's
+ * storage bin for that ID.
+ *
+ * @param <T> The entity type
+ * @author ToDo Application
+ * @version 1.0
+ */
+final class LazySnapshot<T> {
+
+    private final SnapshotSource<T> source;
+    private final Set<String> claimed = ConcurrentHashMap.newKeySet();
+
+    LazySnapshot(SnapshotSource<T> source) {
+        this.source = source;
+    }
+
+    int size() {
+        return source.size();
+    }
+
+    String idAt(int index) {
+        return source.idAt(index);
+    }
+
+    /**
+     * Claims an ID and decodes its snapshot copy.
+     *
+     * @param id    The entity ID
+     * @param index Position of the ID in the snapshot, or -1 to look it up
+     * @return The decoded entity, or null if the ID was already claimed or is not in the snapshot
+     */
+    T claim(String id, int index) {
+        if (!claimed.add(id)) {
+            return null;
+        }
+        int position = index >= 0 ? index : source.indexOf(id);
+        return position >= 0 ? source.load(position) : null;
+    }
+
+    /**
+     * Claims an ID without decoding it, because the repository is overwriting it.
+     *
+     * @param id The entity ID
+     */
+    void supersede(String id) {
+        claimed.add(id);
+    }
+
+    void close() {
+        source.close();
+    }
+}
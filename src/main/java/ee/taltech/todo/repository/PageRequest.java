@@ -0,0 +1,209 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Request for one page of a task listing: the order, the page size and the
+ * position after which the page starts.
+ *
+ * Pages are addressed by keyset rather than offset: the continuation cursor
+ * holds the sort key of the last task of the previous page, so fetching a page
+ * costs the same wherever it is in the listing, and tasks added or removed
+ * elsewhere never shift a page. The cursor is an opaque URL-safe token that
+ * also records the order it belongs to.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class PageRequest {
+
+    /**
+     * Page size used when none is given.
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * Largest accepted page size.
+     */
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Order used when none is given.
+     */
+    public static final TaskSort DEFAULT_SORT = TaskSort.CREATED_AT;
+
+    private static final String CURSOR_VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    private final TaskSort sort;
+    private final boolean descending;
+    private final int limit;
+    private final SortKey after;
+
+    private PageRequest(TaskSort sort, boolean descending, int limit, SortKey after) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        this.sort = Objects.requireNonNull(sort, "Sort cannot be null");
+        this.descending = descending;
+        this.limit = limit;
+        this.after = after;
+    }
+
+    /**
+     * Creates a request for the first page.
+     *
+     * @param sort       The order
+     * @param descending true to reverse the order
+     * @param limit      Maximum number of tasks on the page (1 to {@link #MAX_LIMIT})
+     * @return The request
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    public static PageRequest first(TaskSort sort, boolean descending, int limit) {
+        return new PageRequest(sort, descending, limit, null);
+    }
+
+    /**
+     * Creates a request from the query parameters of a list endpoint.
+     * Each parameter may be null.
+     *
+     * @param limit  Page size, defaults to {@link #DEFAULT_LIMIT}
+     * @param sort   Order as a {@link TaskSort} parameter name, prefixed with '-' for
+     *               descending; defaults to the cursor's order, or {@link #DEFAULT_SORT}
+     * @param cursor Continuation cursor from the previous page, or null for the first page
+     * @return The request
+     * @throws IllegalArgumentException if a parameter is invalid, or the cursor
+     *                                  belongs to a different order than requested
+     */
+    public static PageRequest parse(String limit, String sort, String cursor) {
+        int size = DEFAULT_LIMIT;
+        if (limit != null) {
+            try {
+                size = Integer.parseInt(limit.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid limit: " + limit);
+            }
+        }
+
+        TaskSort order = null;
+        boolean descending = false;
+        if (sort != null && !sort.isEmpty()) {
+            descending = sort.startsWith("-");
+            order = TaskSort.fromParameterName(descending ? sort.substring(1) : sort);
+        }
+
+        if (cursor == null || cursor.isEmpty()) {
+            return new PageRequest(order != null ? order : DEFAULT_SORT, descending, size, null);
+        }
+
+        PageRequest position = decode(cursor);
+        if (order != null && (order != position.sort || descending != position.descending)) {
+            throw new IllegalArgumentException("Cursor does not match sort: " + sort);
+        }
+        return new PageRequest(position.sort, position.descending, size, position.after);
+    }
+
+    /**
+     * Gets the order.
+     *
+     * @return The order
+     */
+    public TaskSort getSort() {
+        return sort;
+    }
+
+    /**
+     * Checks if the order is reversed.
+     *
+     * @return true for descending order
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Gets the maximum number of tasks on the page.
+     *
+     * @return The page size
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Checks if this is a request for the first page.
+     *
+     * @return true if the request has no cursor
+     */
+    public boolean isFirstPage() {
+        return after == null;
+    }
+
+    /**
+     * Gets the key of the last task of the previous page.
+     *
+     * @return The key, or null for the first page
+     */
+    SortKey getAfter() {
+        return after;
+    }
+
+    /**
+     * Creates the cursor for the page following the given task.
+     *
+     * @param last Last task of the current page
+     * @return Opaque continuation cursor
+     */
+    String cursorAfter(Task last) {
+        Object value = sort.valueOf(last);
+        String text = String.join(SEPARATOR, CURSOR_VERSION, sort.getParameterName(), descending ? "d" : "a",
+                value != null ? value.toString() : "", last.getId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PageRequest decode(String cursor) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The task ID is last, so it may contain the separator
+            String[] parts = text.split("\\" + SEPARATOR, 5);
+            if (parts.length != 5 || !CURSOR_VERSION.equals(parts[0]) || parts[4].isEmpty()
+                    || !(parts[2].equals("a") || parts[2].equals("d"))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            TaskSort sort = TaskSort.fromParameterName(parts[1]);
+            SortKey after = SortKey.of(parseValue(sort, parts[3]), parts[4]);
+            return new PageRequest(sort, parts[2].equals("d"), DEFAULT_LIMIT, after);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Covers malformed Base64 and numbers as well
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static Comparable<?> parseValue(TaskSort sort, String value) {
+        switch (sort) {
+            case PRIORITY:
+                return Integer.valueOf(value);
+            case DUE_DATE:
+                return value.isEmpty() ? null : LocalDateTime.parse(value);
+            default:
+                return LocalDateTime.parse(value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PageRequest{" +
+                "sort=" + sort +
+                ", descending=" + descending +
+                ", limit=" + limit +
+                ", firstPage=" + isFirstPage() +
+                '}';
+    }
+}
@@ -22,9 +22,19 @@ public interface Repository<T> {
      * Saves an entity to the repository.
      * If entity already exists (by ID), it will be updated.
      *
-     * @param entity The entity to save
-     * @return The saved entity
+     * The save is a compare-and-swap on the entity's version: an entity with
+     * version 0 is only stored if no entity has its ID, and any other version
+     * only replaces the stored entity if that is still the same version.
+     *
+     * The entity passed in is never changed: its version stays the one it was
+     * read with. Callers that keep working with the entity continue from the
+     * returned one, which carries the new stored version.
+     *
+     * @param entity The entity to save; left unchanged
+     * @return The entity as stored, with the new version
      * @throws IllegalArgumentException if entity is null
+     * @throws ee.taltech.todo.exception.OptimisticLockException if the stored
+     *         version is not the entity's version
      */
     T save(T entity);
 
@@ -82,4 +92,16 @@ public interface Repository<T> {
      * Deletes all entities from the repository.
      */
     void deleteAll();
+
+    /**
+     * Gets the version of the collection as a whole. It increases with every
+     * change made through this repository and never decreases while the
+     * repository is open, so two reads that return the same version saw the
+     * same entities. It is raised after a change becomes visible: a caller that
+     * reads the version before the entities may see newer entities than the
+     * version, but never older ones.
+     *
+     * @return The collection version
+     */
+    long getCollectionVersion();
 }
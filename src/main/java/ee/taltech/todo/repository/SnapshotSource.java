@@ -0,0 +1,51 @@
+package ee.taltech.todo.repository;
+
+/**
+ * Read-only, indexed view of a snapshot whose entities are decoded on demand.
+ *
+ * Entries are addressed by position; {@link #indexOf} finds the position of an ID
+ * without decoding any entity.
+ *
+ * @param <T> The entity type
+ * @author ToDo Application
+ * @version 1.0
+ */
+public interface SnapshotSource<T> extends AutoCloseable {
+
+    /**
+     * Gets the number of entities in the snapshot.
+     *
+     * @return The entity count
+     */
+    int size();
+
+    /**
+     * Finds the position of an entity.
+     *
+     * @param id The entity ID
+     * @return The position, or -1 if the snapshot does not contain the ID
+     */
+    int indexOf(String id);
+
+    /**
+     * Reads the ID of the entity at a position without decoding the entity.
+     *
+     * @param index The position
+     * @return The entity ID
+     */
+    String idAt(int index);
+
+    /**
+     * Decodes the entity at a position. Every call returns a new instance.
+     *
+     * @param index The position
+     * @return The entity
+     */
+    T load(int index);
+
+    /**
+     * Releases the snapshot file.
+     */
+    @Override
+    void close();
+}
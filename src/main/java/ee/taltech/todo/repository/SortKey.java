@@ -0,0 +1,79 @@
+package ee.taltech.todo.repository;
+
+import java.util.Objects;
+
+/**
+ * Position of a task in one of the {@link TaskSort} orders: the sorted value
+ * first, with null values last, and the task ID as tie-breaker.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+final class SortKey implements Comparable<SortKey> {
+
+    private final Comparable<Object> value;
+    private final String taskId;
+
+    private SortKey(Comparable<Object> value, String taskId) {
+        this.value = value;
+        this.taskId = Objects.requireNonNull(taskId, "Task ID cannot be null");
+    }
+
+    /**
+     * Creates a key.
+     *
+     * @param value  The sorted value (may be null); keys of one order must hold the same type
+     * @param taskId The task ID
+     * @return The key
+     */
+    @SuppressWarnings("unchecked")
+    static SortKey of(Comparable<?> value, String taskId) {
+        return new SortKey((Comparable<Object>) value, taskId);
+    }
+
+    /**
+     * Gets the sorted value.
+     *
+     * @return The value, or null
+     */
+    Object getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the ID of the task.
+     *
+     * @return Task ID
+     */
+    String getTaskId() {
+        return taskId;
+    }
+
+    @Override
+    public int compareTo(SortKey other) {
+        if (value == null || other.value == null) {
+            if (value != other.value) {
+                return value == null ? 1 : -1;
+            }
+        } else {
+            int byValue = value.compareTo(other.value);
+            if (byValue != 0) {
+                return byValue;
+            }
+        }
+        return taskId.compareTo(other.taskId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SortKey that = (SortKey) o;
+        return Objects.equals(value, that.value) && taskId.equals(that.taskId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, taskId);
+    }
+}
@@ -0,0 +1,105 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running task counts per status, priority, category and starred flag.
+ *
+ * Each count is a {@link LongAdder}, so concurrent writers update separate
+ * cells instead of contending on one value, and reading a count costs the same
+ * however many tasks there are. Counts read while tasks are being written may
+ * not all reflect the same moment.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+final class TaskCounters {
+
+    private final LongAdder total = new LongAdder();
+    private final Map<TaskStatus, LongAdder> byStatus = new EnumMap<>(TaskStatus.class);
+    private final Map<TaskPriority, LongAdder> byPriority = new EnumMap<>(TaskPriority.class);
+
+    /**
+     * Category ID -> count. Entries stay once created; categories with no
+     * tasks are left out of {@link #byCategory()}.
+     */
+    private final Map<String, LongAdder> byCategory = new ConcurrentHashMap<>();
+
+    private final LongAdder starred = new LongAdder();
+
+    TaskCounters() {
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * Adds a task to the counts, or removes it with a delta of -1.
+     *
+     * @param status     The task's status (may be null)
+     * @param priority   The task's priority (may be null)
+     * @param categoryId The task's category ID (may be null)
+     * @param isStarred  Whether the task is starred
+     * @param delta      1 to add the task, -1 to remove it
+     */
+    void add(TaskStatus status, TaskPriority priority, String categoryId, boolean isStarred, int delta) {
+        total.add(delta);
+        if (status != null) {
+            byStatus.get(status).add(delta);
+        }
+        if (priority != null) {
+            byPriority.get(priority).add(delta);
+        }
+        if (categoryId != null) {
+            byCategory.computeIfAbsent(categoryId, id -> new LongAdder()).add(delta);
+        }
+        if (isStarred) {
+            starred.add(delta);
+        }
+    }
+
+    long total() {
+        return total.sum();
+    }
+
+    long status(TaskStatus status) {
+        return byStatus.get(status).sum();
+    }
+
+    long starred() {
+        return starred.sum();
+    }
+
+    Map<TaskStatus, Long> byStatus() {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        byStatus.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    Map<TaskPriority, Long> byPriority() {
+        Map<TaskPriority, Long> counts = new EnumMap<>(TaskPriority.class);
+        byPriority.forEach((priority, count) -> counts.put(priority, count.sum()));
+        return counts;
+    }
+
+    Map<String, Long> byCategory() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        byCategory.forEach((categoryId, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                counts.put(categoryId, sum);
+            }
+        });
+        return counts;
+    }
+}
@@ -0,0 +1,110 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One page of a task listing, with the cursor of the next page.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class TaskPage {
+
+    private final List<Task> tasks;
+    private final String nextCursor;
+
+    private TaskPage(List<Task> tasks, String nextCursor) {
+        this.tasks = Collections.unmodifiableList(tasks);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Creates a page from tasks read in page order, reading one task more than
+     * the page holds to find out whether another page follows.
+     *
+     * @param tasks Up to limit + 1 tasks following the requested position, in order
+     * @param page  The request
+     * @return The page
+     */
+    static TaskPage fromOrdered(List<Task> tasks, PageRequest page) {
+        if (tasks.size() <= page.getLimit()) {
+            return new TaskPage(tasks, null);
+        }
+
+        List<Task> content = new ArrayList<>(tasks.subList(0, page.getLimit()));
+        return new TaskPage(content, page.cursorAfter(content.get(content.size() - 1)));
+    }
+
+    /**
+     * Cuts a page out of an unordered list of tasks, such as the result of a
+     * filter query. Pages taken this way continue seamlessly with each other
+     * and with pages read from a repository in the same order.
+     *
+     * @param tasks The tasks to page through, in any order
+     * @param page  The request
+     * @return The page
+     */
+    public static TaskPage of(List<Task> tasks, PageRequest page) {
+        TaskSort sort = page.getSort();
+        SortKey after = page.getAfter();
+        Comparator<SortKey> order = page.isDescending() ? Comparator.reverseOrder() : Comparator.naturalOrder();
+
+        List<Keyed> remaining = new ArrayList<>();
+        for (Task task : tasks) {
+            SortKey key = sort.keyOf(task);
+            if (after == null || order.compare(key, after) > 0) {
+                remaining.add(new Keyed(key, task));
+            }
+        }
+        remaining.sort((a, b) -> order.compare(a.key, b.key));
+
+        List<Task> ordered = new ArrayList<>(Math.min(remaining.size(), page.getLimit() + 1));
+        for (int i = 0; i < remaining.size() && i <= page.getLimit(); i++) {
+            ordered.add(remaining.get(i).task);
+        }
+        return fromOrdered(ordered, page);
+    }
+
+    /**
+     * Gets the tasks on this page.
+     *
+     * @return Unmodifiable list of tasks, in page order
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Gets the cursor of the next page.
+     *
+     * @return Opaque cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks if another page follows.
+     *
+     * @return true if there is a next page
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    private static final class Keyed {
+
+        private final SortKey key;
+        private final Task task;
+
+        private Keyed(SortKey key, Task task) {
+            this.key = key;
+            this.task = task;
+        }
+    }
+}
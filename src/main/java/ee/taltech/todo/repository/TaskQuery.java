@@ -0,0 +1,276 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Combination of task filters: status, priority, category, starred flag, due-date
+ * range and title words. A task matches if it satisfies every filter that is set.
+ *
+ * Queries are immutable; each {@code with} method returns a copy with one more
+ * filter set. Title words use the same rules as {@link TaskRepository#searchByTitle}:
+ * every word must match the start of a word of the title, ignoring case.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class TaskQuery {
+
+    private static final TaskQuery ALL = new TaskQuery(null, null, null, null, null, null, Collections.emptySet());
+
+    private final TaskStatus status;
+    private final TaskPriority priority;
+    private final String categoryId;
+    private final Boolean starred;
+    private final LocalDateTime dueFrom;
+    private final LocalDateTime dueTo;
+    private final Set<String> titleTerms;
+
+    private TaskQuery(TaskStatus status, TaskPriority priority, String categoryId, Boolean starred,
+                      LocalDateTime dueFrom, LocalDateTime dueTo, Set<String> titleTerms) {
+        this.status = status;
+        this.priority = priority;
+        this.categoryId = categoryId;
+        this.starred = starred;
+        this.dueFrom = dueFrom;
+        this.dueTo = dueTo;
+        this.titleTerms = titleTerms;
+    }
+
+    /**
+     * Gets the query without filters, matching every task.
+     *
+     * @return The unfiltered query
+     */
+    public static TaskQuery all() {
+        return ALL;
+    }
+
+    /**
+     * Returns a copy that only matches tasks with the given status.
+     *
+     * @param status The status, or null to match any status
+     * @return The new query
+     */
+    public TaskQuery withStatus(TaskStatus status) {
+        return new TaskQuery(status, priority, categoryId, starred, dueFrom, dueTo, titleTerms);
+    }
+
+    /**
+     * Returns a copy that only matches tasks with the given priority.
+     *
+     * @param priority The priority, or null to match any priority
+     * @return The new query
+     */
+    public TaskQuery withPriority(TaskPriority priority) {
+        return new TaskQuery(status, priority, categoryId, starred, dueFrom, dueTo, titleTerms);
+    }
+
+    /**
+     * Returns a copy that only matches tasks in the category with the given ID.
+     *
+     * @param categoryId The category ID, or null to match tasks in any or no category
+     * @return The new query
+     */
+    public TaskQuery withCategoryId(String categoryId) {
+        return new TaskQuery(status, priority, categoryId, starred, dueFrom, dueTo, titleTerms);
+    }
+
+    /**
+     * Returns a copy that only matches starred or only matches unstarred tasks.
+     *
+     * @param starred true for starred tasks, false for unstarred ones, null for both
+     * @return The new query
+     */
+    public TaskQuery withStarred(Boolean starred) {
+        return new TaskQuery(status, priority, categoryId, starred, dueFrom, dueTo, titleTerms);
+    }
+
+    /**
+     * Returns a copy that only matches tasks due within the given range.
+     * Tasks without a due date never match a due-date range.
+     *
+     * @param from Start of the range (inclusive), or null for no lower bound
+     * @param to   End of the range (inclusive), or null for no upper bound
+     * @return The new query
+     * @throws IllegalArgumentException if from is after to
+     */
+    public TaskQuery withDueBetween(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Due date range start must not be after its end");
+        }
+        return new TaskQuery(status, priority, categoryId, starred, from, to, titleTerms);
+    }
+
+    /**
+     * Returns a copy that only matches tasks whose title contains every word of the text.
+     *
+     * @param text Words to match as word prefixes, or null to match any title
+     * @return The new query
+     */
+    public TaskQuery withTitle(String text) {
+        Set<String> terms = Collections.unmodifiableSet(TextIndex.tokenize(text, new LinkedHashSet<>()));
+        return new TaskQuery(status, priority, categoryId, starred, dueFrom, dueTo, terms);
+    }
+
+    /**
+     * Gets the status filter.
+     *
+     * @return The status, or null if not filtered
+     */
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the priority filter.
+     *
+     * @return The priority, or null if not filtered
+     */
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Gets the category filter.
+     *
+     * @return The category ID, or null if not filtered
+     */
+    public String getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Gets the starred filter.
+     *
+     * @return true or false, or null if not filtered
+     */
+    public Boolean getStarred() {
+        return starred;
+    }
+
+    /**
+     * Gets the start of the due-date range.
+     *
+     * @return The inclusive start, or null for no lower bound
+     */
+    public LocalDateTime getDueFrom() {
+        return dueFrom;
+    }
+
+    /**
+     * Gets the end of the due-date range.
+     *
+     * @return The inclusive end, or null for no upper bound
+     */
+    public LocalDateTime getDueTo() {
+        return dueTo;
+    }
+
+    /**
+     * Gets the lower-cased title words to match.
+     *
+     * @return Unmodifiable set of words, empty if titles are not filtered
+     */
+    public Set<String> getTitleTerms() {
+        return titleTerms;
+    }
+
+    /**
+     * Checks if the query filters on the due date.
+     *
+     * @return true if a due-date bound is set
+     */
+    public boolean hasDueRange() {
+        return dueFrom != null || dueTo != null;
+    }
+
+    /**
+     * Checks if the query has no filters and so matches every task.
+     *
+     * @return true if no filter is set
+     */
+    public boolean isUnfiltered() {
+        return status == null && priority == null && categoryId == null && starred == null &&
+               !hasDueRange() && titleTerms.isEmpty();
+    }
+
+    /**
+     * Checks a task against every filter of the query.
+     *
+     * @param task The task
+     * @return true if the task matches
+     */
+    public boolean matches(Task task) {
+        if (status != null && status != task.getStatus()) {
+            return false;
+        }
+        if (priority != null && priority != task.getPriority()) {
+            return false;
+        }
+        if (categoryId != null && (task.getCategory() == null || !categoryId.equals(task.getCategory().getId()))) {
+            return false;
+        }
+        if (starred != null && starred != task.isStarred()) {
+            return false;
+        }
+        if (hasDueRange()) {
+            LocalDateTime dueDate = task.getDueDate();
+            if (dueDate == null || (dueFrom != null && dueDate.isBefore(dueFrom))
+                    || (dueTo != null && dueDate.isAfter(dueTo))) {
+                return false;
+            }
+        }
+        return titleTerms.isEmpty() || titleMatches(task.getTitle());
+    }
+
+    private boolean titleMatches(String title) {
+        Set<String> words = TextIndex.tokenize(title, new HashSet<>());
+        for (String term : titleTerms) {
+            if (!words.contains(term) && words.stream().noneMatch(word -> word.startsWith(term))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TaskQuery that = (TaskQuery) o;
+        return status == that.status &&
+               priority == that.priority &&
+               Objects.equals(categoryId, that.categoryId) &&
+               Objects.equals(starred, that.starred) &&
+               Objects.equals(dueFrom, that.dueFrom) &&
+               Objects.equals(dueTo, that.dueTo) &&
+               titleTerms.equals(that.titleTerms);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(status, priority, categoryId, starred, dueFrom, dueTo, titleTerms);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskQuery{" +
+                "status=" + status +
+                ", priority=" + priority +
+                ", categoryId='" + categoryId + '\'' +
+                ", starred=" + starred +
+                ", dueFrom=" + dueFrom +
+                ", dueTo=" + dueTo +
+                ", titleTerms=" + titleTerms +
+                '}';
+    }
+}
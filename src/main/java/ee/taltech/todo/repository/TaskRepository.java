@@ -1,12 +1,19 @@
 package ee.taltech.todo.repository;
 
+import ee.taltech.todo.exception.OptimisticLockException;
 import ee.taltech.todo.model.Category;
 import ee.taltech.todo.model.Task;
 import ee.taltech.todo.model.TaskPriority;
 import ee.taltech.todo.model.TaskStatus;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for Task entity operations.
@@ -43,6 +50,132 @@ public interface TaskRepository extends Repository<Task> {
      */
     List<Task> findByCategory(Category category);
 
+    /**
+     * Finds all tasks in the category with the given ID.
+     * Does not require the category itself to be loaded.
+     *
+     * @param categoryId The category ID
+     * @return List of tasks in the category (empty if none)
+     */
+    List<Task> findByCategoryId(String categoryId);
+
+    /**
+     * Counts the tasks in the category with the given ID.
+     *
+     * @param categoryId The category ID
+     * @return Number of tasks in the category
+     */
+    long countByCategoryId(String categoryId);
+
+    /**
+     * Counts the tasks with the given status.
+     *
+     * @param status The status
+     * @return Number of tasks with the status
+     */
+    long countByStatus(TaskStatus status);
+
+    /**
+     * Returns task counts in total, per status, per priority, per category,
+     * starred and overdue, without loading the tasks themselves.
+     *
+     * @return The statistics
+     */
+    TaskStats getStats();
+
+    /**
+     * Saves several tasks as one bulk write.
+     *
+     * Each task is saved with the same compare-and-swap as {@link #save}. A task
+     * whose save is rejected is reported in the result and does not stop the
+     * others; every other task is stored. As with {@link #save}, the tasks passed
+     * in are left unchanged and the new versions are on the returned tasks.
+     *
+     * This default implementation saves the tasks one by one; implementations
+     * override it to share the cost of a write (a commit, an fsync) across the batch.
+     *
+     * @param tasks The tasks to save
+     * @return For each task in order, the task as stored, or null if its save was
+     *         rejected because the stored version was not the task's version
+     * @throws IllegalArgumentException if tasks or any of its elements is null
+     */
+    default List<Task> saveAll(List<Task> tasks) {
+        if (tasks == null) {
+            throw new IllegalArgumentException("Tasks cannot be null");
+        }
+
+        List<Task> saved = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            try {
+                saved.add(save(task));
+            } catch (OptimisticLockException e) {
+                saved.add(null);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Deletes several tasks as one bulk write.
+     *
+     * This default implementation deletes the tasks one by one; implementations
+     * override it to share the cost of a write across the batch.
+     *
+     * @param ids The IDs of the tasks to delete
+     * @return The IDs of the tasks that existed and were deleted
+     * @throws IllegalArgumentException if ids or any of its elements is null
+     */
+    default Set<String> deleteAllById(Collection<String> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+
+        Set<String> deleted = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (deleteById(id)) {
+                deleted.add(id);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Atomically applies a change to the stored task with the given ID.
+     *
+     * The change is applied to a copy of the stored task, which then replaces it
+     * with the next version. If another writer replaces the task first, the change
+     * is applied again to the newer version, so it is never lost and never applied
+     * to an outdated state. The change may therefore run more than once and must
+     * not have side effects other than on the task it is given.
+     *
+     * This default implementation retries {@link #save} until it succeeds;
+     * implementations that can replace a task in one atomic step override it.
+     *
+     * @param id     The task ID
+     * @param change The change to apply
+     * @return The task as stored after the change, empty if there is no task with the ID
+     * @throws IllegalArgumentException if id or change is null
+     */
+    default Optional<Task> update(String id, Consumer<Task> change) {
+        if (id == null || change == null) {
+            throw new IllegalArgumentException("ID and change cannot be null");
+        }
+
+        while (true) {
+            Optional<Task> current = findById(id);
+            if (current.isEmpty()) {
+                return current;
+            }
+            Task task = current.get().copy();
+            change.accept(task);
+            try {
+                return Optional.of(save(task));
+            } catch (OptimisticLockException e) {
+                // Replaced or deleted since it was read: try again with what is stored now
+            }
+        }
+    }
+
     /**
      * Finds all tasks that are marked as starred/favorite.
      *
@@ -67,13 +200,52 @@ public interface TaskRepository extends Repository<Task> {
     List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end);
 
     /**
-     * Searches tasks by title (case-insensitive partial match).
+     * Searches tasks by title (case-insensitive word-prefix match).
+     * If the keyword contains several words, all of them must match.
      *
      * @param keyword The keyword to search for in titles
      * @return List of tasks matching the keyword
      */
     List<Task> searchByTitle(String keyword);
 
+    /**
+     * Full-text search over task titles and descriptions.
+     * Each word of the query is matched case-insensitively as a word prefix,
+     * and a task must match all words of the query.
+     *
+     * @param query The search query (e.g. "proj java")
+     * @return List of tasks matching the query
+     */
+    List<Task> search(String query);
+
+    /**
+     * Finds all tasks matching every filter of a query.
+     *
+     * @param query The query
+     * @return List of matching tasks
+     */
+    List<Task> find(TaskQuery query);
+
+    /**
+     * Reads one page of the tasks matching a query, in the requested order.
+     *
+     * @param query The query
+     * @param page  The page request
+     * @return The page, with the cursor of the next page if there is one
+     */
+    TaskPage findPage(TaskQuery query, PageRequest page);
+
+    /**
+     * Reads one page of all tasks in the requested order.
+     * Reading a page costs the same wherever it is in the listing.
+     *
+     * @param page The page request
+     * @return The page, with the cursor of the next page if there is one
+     */
+    default TaskPage findPage(PageRequest page) {
+        return findPage(TaskQuery.all(), page);
+    }
+
     /**
      * Finds all completed tasks.
      * Convenience method equivalent to findByStatus(TaskStatus.COMPLETED).
@@ -0,0 +1,96 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.model.Task;
+
+/**
+ * Orders in which a page of tasks can be listed.
+ *
+ * Each order sorts by one field and breaks ties by task ID, so every task has a
+ * unique position and a page can continue exactly after the last task of the
+ * previous one. Tasks without a due date sort after all tasks that have one.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public enum TaskSort {
+
+    /**
+     * By due date; tasks without a due date last.
+     */
+    DUE_DATE("dueDate"),
+
+    /**
+     * By priority level (LOW first).
+     */
+    PRIORITY("priority"),
+
+    /**
+     * By creation time.
+     */
+    CREATED_AT("createdAt"),
+
+    /**
+     * By last modification time.
+     */
+    UPDATED_AT("updatedAt");
+
+    private final String parameterName;
+
+    TaskSort(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    /**
+     * Gets the name used for this order in the {@code sort} query parameter.
+     *
+     * @return The parameter name (e.g. "dueDate")
+     */
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    /**
+     * Finds the order with the given parameter name.
+     *
+     * @param parameterName The parameter name (e.g. "dueDate")
+     * @return The order
+     * @throws IllegalArgumentException if no order has that name
+     */
+    public static TaskSort fromParameterName(String parameterName) {
+        for (TaskSort sort : values()) {
+            if (sort.parameterName.equals(parameterName)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Invalid sort: " + parameterName);
+    }
+
+    /**
+     * Gets the sort key of a task.
+     *
+     * @param task The task
+     * @return Key for this order
+     */
+    SortKey keyOf(Task task) {
+        return SortKey.of(valueOf(task), task.getId());
+    }
+
+    /**
+     * Gets the value of the sorted field.
+     *
+     * @param task The task
+     * @return The value: a LocalDateTime, a priority level, or null for no due date
+     */
+    Comparable<?> valueOf(Task task) {
+        switch (this) {
+            case DUE_DATE:
+                return task.getDueDate();
+            case PRIORITY:
+                return task.getPriority().getLevel();
+            case CREATED_AT:
+                return task.getCreatedAt();
+            default:
+                return task.getUpdatedAt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aggregate task counts: in total, per status, per priority, per category,
+ * starred and overdue.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class TaskStats {
+
+    private final long total;
+    private final Map<TaskStatus, Long> byStatus;
+    private final Map<TaskPriority, Long> byPriority;
+    private final Map<String, Long> byCategory;
+    private final long starred;
+    private final long overdue;
+
+    /**
+     * Creates the statistics. Statuses and priorities missing from the maps count as zero.
+     *
+     * @param total      Total number of tasks
+     * @param byStatus   Status -> number of tasks
+     * @param byPriority Priority -> number of tasks
+     * @param byCategory Category ID -> number of tasks, for categories that have tasks
+     * @param starred    Number of starred tasks
+     * @param overdue    Number of overdue tasks
+     */
+    public TaskStats(long total, Map<TaskStatus, Long> byStatus, Map<TaskPriority, Long> byPriority,
+                     Map<String, Long> byCategory, long starred, long overdue) {
+        this.total = total;
+        this.byStatus = Collections.unmodifiableMap(withZeros(TaskStatus.class, byStatus));
+        this.byPriority = Collections.unmodifiableMap(withZeros(TaskPriority.class, byPriority));
+        this.byCategory = Collections.unmodifiableMap(new LinkedHashMap<>(byCategory));
+        this.starred = starred;
+        this.overdue = overdue;
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> withZeros(Class<E> type, Map<E, Long> counts) {
+        Map<E, Long> all = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            all.put(constant, counts.getOrDefault(constant, 0L));
+        }
+        return all;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<TaskStatus, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public Map<TaskPriority, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public Map<String, Long> getByCategory() {
+        return byCategory;
+    }
+
+    public long getStarred() {
+        return starred;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskStats{" +
+                "total=" + total +
+                ", byStatus=" + byStatus +
+                ", byPriority=" + byPriority +
+                ", byCategory=" + byCategory +
+                ", starred=" + starred +
+                ", overdue=" + overdue +
+                '}';
+    }
+}
@@ -0,0 +1,247 @@
+package ee.taltech.todo.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Inverted index mapping lower-cased word tokens to the IDs of the documents containing them.
+ *
+ * Queries are split into terms with the same tokenizer as the documents. Every term
+ * is matched as a word prefix and all terms must match (AND semantics). The most
+ * selective term is resolved through the posting lists; the remaining terms are
+ * checked against the candidate's own token set, so query cost follows posting-list
+ * size rather than the number of indexed documents.
+ *
+ * Thread Safety: postings are updated inside per-token compute calls. Updates for
+ * the same document ID must be serialized by the caller.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+final class TextIndex {
+
+    /**
+     * Token -> IDs of documents containing the token.
+     */
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+
+    /**
+     * Sorted view of the tokens present in postings, used for prefix lookups.
+     */
+    private final NavigableSet<String> tokens = new ConcurrentSkipListSet<>();
+
+    /**
+     * Document ID -> tokens it is currently indexed under.
+     */
+    private final Map<String, Set<String>> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes (or re-indexes) a document.
+     *
+     * @param id    The document ID
+     * @param texts The document's text fields; null values are ignored
+     */
+    void put(String id, String... texts) {
+        Set<String> current = new HashSet<>();
+        for (String text : texts) {
+            tokenize(text, current);
+        }
+
+        Set<String> previous = current.isEmpty() ? documents.remove(id) : documents.put(id, current);
+        if (previous == null) {
+            previous = Collections.emptySet();
+        }
+
+        for (String token : previous) {
+            if (!current.contains(token)) {
+                removePosting(token, id);
+            }
+        }
+        for (String token : current) {
+            if (!previous.contains(token)) {
+                addPosting(token, id);
+            }
+        }
+    }
+
+    /**
+     * Removes a document from the index.
+     *
+     * @param id The document ID
+     */
+    void remove(String id) {
+        Set<String> previous = documents.remove(id);
+        if (previous != null) {
+            for (String token : previous) {
+                removePosting(token, id);
+            }
+        }
+    }
+
+    /**
+     * Finds the IDs of documents matching every term of the query.
+     *
+     * @param query Free-text query
+     * @return Matching document IDs (empty if the query has no terms)
+     */
+    Set<String> search(String query) {
+        return search(tokenize(query, new LinkedHashSet<>()));
+    }
+
+    /**
+     * Finds the IDs of documents matching every one of the given terms.
+     *
+     * @param queryTerms Lower-cased terms, as produced by {@link #tokenize}
+     * @return Matching document IDs (empty if there are no terms)
+     */
+    Set<String> search(Collection<String> queryTerms) {
+        List<String> terms = new ArrayList<>(queryTerms);
+        if (terms.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        // Resolve the most selective term through the postings, verify the rest per candidate
+        terms.sort(Comparator.comparingLong(this::estimateMatches));
+        String driver = terms.get(0);
+        List<String> remaining = terms.subList(1, terms.size());
+
+        Set<String> result = new HashSet<>();
+        for (String token : tokensWithPrefix(driver)) {
+            Set<String> ids = postings.get(token);
+            if (ids == null) {
+                continue;
+            }
+            for (String id : ids) {
+                if (!result.contains(id) && matchesAll(id, remaining)) {
+                    result.add(id);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Estimates the number of documents matching every one of the given terms:
+     * the number of postings of the most selective term. Never less than the
+     * actual number of matches.
+     *
+     * @param queryTerms Lower-cased terms, as produced by {@link #tokenize}
+     * @return Upper bound of the number of matches, 0 if there are no terms
+     */
+    long estimate(Collection<String> queryTerms) {
+        long estimate = queryTerms.isEmpty() ? 0 : Long.MAX_VALUE;
+        for (String term : queryTerms) {
+            estimate = Math.min(estimate, estimateMatches(term));
+        }
+        return estimate;
+    }
+
+    /**
+     * Splits text into distinct lower-cased tokens of letters and digits.
+     *
+     * @param text   The text to tokenize (may be null)
+     * @param target Collection to add tokens to
+     * @return The target collection
+     */
+    static <C extends Collection<String>> C tokenize(String text, C target) {
+        if (text == null) {
+            return target;
+        }
+
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                target.add(toLowerCase(text, start, i));
+                start = -1;
+            }
+        }
+        return target;
+    }
+
+    private static String toLowerCase(String text, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = Character.toLowerCase(text.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    private boolean matchesAll(String id, List<String> terms) {
+        if (terms.isEmpty()) {
+            return true;
+        }
+
+        Set<String> documentTokens = documents.get(id);
+        if (documentTokens == null) {
+            return false;
+        }
+
+        for (String term : terms) {
+            if (documentTokens.contains(term)) {
+                continue;
+            }
+            boolean found = false;
+            for (String token : documentTokens) {
+                if (token.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long estimateMatches(String term) {
+        long total = 0;
+        for (String token : tokensWithPrefix(term)) {
+            Set<String> ids = postings.get(token);
+            if (ids != null) {
+                total += ids.size();
+            }
+        }
+        return total;
+    }
+
+    private NavigableSet<String> tokensWithPrefix(String prefix) {
+        return tokens.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void addPosting(String token, String id) {
+        postings.compute(token, (key, ids) -> {
+            if (ids == null) {
+                ids = ConcurrentHashMap.newKeySet();
+                tokens.add(key);
+            }
+            ids.add(id);
+            return ids;
+        });
+    }
+
+    private void removePosting(String token, String id) {
+        postings.computeIfPresent(token, (key, ids) -> {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                tokens.remove(key);
+                return null;
+            }
+            return ids;
+        });
+    }
+}
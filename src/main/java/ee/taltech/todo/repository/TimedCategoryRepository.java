@@ -0,0 +1,173 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.metrics.LatencyHistogram;
+import ee.taltech.todo.metrics.MetricsRegistry;
+import ee.taltech.todo.model.Category;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Times every operation of a CategoryRepository and records the durations in a
+ * {@link MetricsRegistry} as {@code repository_operation_seconds}, labelled with the
+ * repository and operation.
+ *
+ * Each operation's histogram is looked up once, when the decorator is created;
+ * a call costs two {@link System#nanoTime()} readings and one recording. Failed
+ * calls are timed as well.
+ *
+ * Design Pattern: Decorator
+ * Thread Safety: As thread-safe as the decorated repository
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class TimedCategoryRepository implements CategoryRepository {
+
+    private final CategoryRepository delegate;
+    private final LatencyHistogram saveTimer;
+    private final LatencyHistogram findByIdTimer;
+    private final LatencyHistogram findAllTimer;
+    private final LatencyHistogram deleteByIdTimer;
+    private final LatencyHistogram deleteTimer;
+    private final LatencyHistogram existsByIdTimer;
+    private final LatencyHistogram countTimer;
+    private final LatencyHistogram deleteAllTimer;
+    private final LatencyHistogram findByNameTimer;
+    private final LatencyHistogram existsByNameTimer;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate The repository to time
+     * @param registry Registry to record in
+     * @param name     Value of the {@code repository} label, e.g. {@code categories}
+     */
+    public TimedCategoryRepository(CategoryRepository delegate, MetricsRegistry registry, String name) {
+        if (delegate == null || registry == null || name == null) {
+            throw new IllegalArgumentException("Repository, registry and name cannot be null");
+        }
+        this.delegate = delegate;
+        this.saveTimer = timer(registry, name, "save");
+        this.findByIdTimer = timer(registry, name, "findById");
+        this.findAllTimer = timer(registry, name, "findAll");
+        this.deleteByIdTimer = timer(registry, name, "deleteById");
+        this.deleteTimer = timer(registry, name, "delete");
+        this.existsByIdTimer = timer(registry, name, "existsById");
+        this.countTimer = timer(registry, name, "count");
+        this.deleteAllTimer = timer(registry, name, "deleteAll");
+        this.findByNameTimer = timer(registry, name, "findByName");
+        this.existsByNameTimer = timer(registry, name, "existsByName");
+    }
+
+    @Override
+    public Category save(Category category) {
+        long started = System.nanoTime();
+        try {
+            return delegate.save(category);
+        } finally {
+            saveTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public Optional<Category> findById(String id) {
+        long started = System.nanoTime();
+        try {
+            return delegate.findById(id);
+        } finally {
+            findByIdTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Category> findAll() {
+        long started = System.nanoTime();
+        try {
+            return delegate.findAll();
+        } finally {
+            findAllTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        long started = System.nanoTime();
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            deleteByIdTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public boolean delete(Category category) {
+        long started = System.nanoTime();
+        try {
+            return delegate.delete(category);
+        } finally {
+            deleteTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        long started = System.nanoTime();
+        try {
+            return delegate.existsById(id);
+        } finally {
+            existsByIdTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public long count() {
+        long started = System.nanoTime();
+        try {
+            return delegate.count();
+        } finally {
+            countTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        long started = System.nanoTime();
+        try {
+            delegate.deleteAll();
+        } finally {
+            deleteAllTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public Optional<Category> findByName(String name) {
+        long started = System.nanoTime();
+        try {
+            return delegate.findByName(name);
+        } finally {
+            findByNameTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        long started = System.nanoTime();
+        try {
+            return delegate.existsByName(name);
+        } finally {
+            existsByNameTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public long getCollectionVersion() {
+        // A single field read: timing it would cost more than the call itself
+        return delegate.getCollectionVersion();
+    }
+
+    private static LatencyHistogram timer(MetricsRegistry registry, String name, String operation) {
+        return registry.histogram(TimedTaskRepository.METRIC, TimedTaskRepository.HELP,
+                "repository", name, "operation", operation);
+    }
+}
@@ -0,0 +1,368 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.metrics.LatencyHistogram;
+import ee.taltech.todo.metrics.MetricsRegistry;
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Times every operation of a TaskRepository and records the durations in a
+ * {@link MetricsRegistry} as {@code repository_operation_seconds}, labelled with the
+ * repository and operation.
+ *
+ * Each operation's histogram is looked up once, when the decorator is created;
+ * a call costs two {@link System#nanoTime()} readings and one recording. Failed
+ * calls are timed as well.
+ * The bulk operations and {@code update} are passed on whole, so the decorated
+ * repository's own implementations of them are kept.
+ *
+ * Design Pattern: Decorator
+ * Thread Safety: As thread-safe as the decorated repository
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class TimedTaskRepository implements TaskRepository {
+
+    /**
+     * Name of the metric the operation times of all repositories are recorded in.
+     */
+    static final String METRIC = "repository_operation_seconds";
+
+    static final String HELP = "Time taken by repository operations";
+
+    private final TaskRepository delegate;
+    private final LatencyHistogram saveTimer;
+    private final LatencyHistogram saveAllTimer;
+    private final LatencyHistogram deleteAllByIdTimer;
+    private final LatencyHistogram updateTimer;
+    private final LatencyHistogram findByIdTimer;
+    private final LatencyHistogram findAllTimer;
+    private final LatencyHistogram deleteByIdTimer;
+    private final LatencyHistogram deleteTimer;
+    private final LatencyHistogram existsByIdTimer;
+    private final LatencyHistogram countTimer;
+    private final LatencyHistogram deleteAllTimer;
+    private final LatencyHistogram findByStatusTimer;
+    private final LatencyHistogram findByPriorityTimer;
+    private final LatencyHistogram findByCategoryTimer;
+    private final LatencyHistogram findByCategoryIdTimer;
+    private final LatencyHistogram countByCategoryIdTimer;
+    private final LatencyHistogram countByStatusTimer;
+    private final LatencyHistogram getStatsTimer;
+    private final LatencyHistogram findStarredTimer;
+    private final LatencyHistogram findOverdueTimer;
+    private final LatencyHistogram findByDueDateBetweenTimer;
+    private final LatencyHistogram searchByTitleTimer;
+    private final LatencyHistogram searchTimer;
+    private final LatencyHistogram findTimer;
+    private final LatencyHistogram findPageTimer;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate The repository to time
+     * @param registry Registry to record in
+     * @param name     Value of the {@code repository} label, e.g. {@code tasks}
+     */
+    public TimedTaskRepository(TaskRepository delegate, MetricsRegistry registry, String name) {
+        if (delegate == null || registry == null || name == null) {
+            throw new IllegalArgumentException("Repository, registry and name cannot be null");
+        }
+        this.delegate = delegate;
+        this.saveTimer = timer(registry, name, "save");
+        this.saveAllTimer = timer(registry, name, "saveAll");
+        this.deleteAllByIdTimer = timer(registry, name, "deleteAllById");
+        this.updateTimer = timer(registry, name, "update");
+        this.findByIdTimer = timer(registry, name, "findById");
+        this.findAllTimer = timer(registry, name, "findAll");
+        this.deleteByIdTimer = timer(registry, name, "deleteById");
+        this.deleteTimer = timer(registry, name, "delete");
+        this.existsByIdTimer = timer(registry, name, "existsById");
+        this.countTimer = timer(registry, name, "count");
+        this.deleteAllTimer = timer(registry, name, "deleteAll");
+        this.findByStatusTimer = timer(registry, name, "findByStatus");
+        this.findByPriorityTimer = timer(registry, name, "findByPriority");
+        this.findByCategoryTimer = timer(registry, name, "findByCategory");
+        this.findByCategoryIdTimer = timer(registry, name, "findByCategoryId");
+        this.countByCategoryIdTimer = timer(registry, name, "countByCategoryId");
+        this.countByStatusTimer = timer(registry, name, "countByStatus");
+        this.getStatsTimer = timer(registry, name, "getStats");
+        this.findStarredTimer = timer(registry, name, "findStarred");
+        this.findOverdueTimer = timer(registry, name, "findOverdue");
+        this.findByDueDateBetweenTimer = timer(registry, name, "findByDueDateBetween");
+        this.searchByTitleTimer = timer(registry, name, "searchByTitle");
+        this.searchTimer = timer(registry, name, "search");
+        this.findTimer = timer(registry, name, "find");
+        this.findPageTimer = timer(registry, name, "findPage");
+    }
+
+    @Override
+    public Task save(Task task) {
+        long started = System.nanoTime();
+        try {
+            return delegate.save(task);
+        } finally {
+            saveTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        long started = System.nanoTime();
+        try {
+            return delegate.saveAll(tasks);
+        } finally {
+            saveAllTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public Set<String> deleteAllById(Collection<String> ids) {
+        long started = System.nanoTime();
+        try {
+            return delegate.deleteAllById(ids);
+        } finally {
+            deleteAllByIdTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public Optional<Task> update(String id, Consumer<Task> change) {
+        long started = System.nanoTime();
+        try {
+            return delegate.update(id, change);
+        } finally {
+            updateTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        long started = System.nanoTime();
+        try {
+            return delegate.findById(id);
+        } finally {
+            findByIdTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> findAll() {
+        long started = System.nanoTime();
+        try {
+            return delegate.findAll();
+        } finally {
+            findAllTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        long started = System.nanoTime();
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            deleteByIdTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public boolean delete(Task task) {
+        long started = System.nanoTime();
+        try {
+            return delegate.delete(task);
+        } finally {
+            deleteTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        long started = System.nanoTime();
+        try {
+            return delegate.existsById(id);
+        } finally {
+            existsByIdTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public long count() {
+        long started = System.nanoTime();
+        try {
+            return delegate.count();
+        } finally {
+            countTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        long started = System.nanoTime();
+        try {
+            delegate.deleteAll();
+        } finally {
+            deleteAllTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status) {
+        long started = System.nanoTime();
+        try {
+            return delegate.findByStatus(status);
+        } finally {
+            findByStatusTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> findByPriority(TaskPriority priority) {
+        long started = System.nanoTime();
+        try {
+            return delegate.findByPriority(priority);
+        } finally {
+            findByPriorityTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> findByCategory(Category category) {
+        long started = System.nanoTime();
+        try {
+            return delegate.findByCategory(category);
+        } finally {
+            findByCategoryTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> findByCategoryId(String categoryId) {
+        long started = System.nanoTime();
+        try {
+            return delegate.findByCategoryId(categoryId);
+        } finally {
+            findByCategoryIdTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public long countByCategoryId(String categoryId) {
+        long started = System.nanoTime();
+        try {
+            return delegate.countByCategoryId(categoryId);
+        } finally {
+            countByCategoryIdTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        long started = System.nanoTime();
+        try {
+            return delegate.countByStatus(status);
+        } finally {
+            countByStatusTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public TaskStats getStats() {
+        long started = System.nanoTime();
+        try {
+            return delegate.getStats();
+        } finally {
+            getStatsTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> findStarred() {
+        long started = System.nanoTime();
+        try {
+            return delegate.findStarred();
+        } finally {
+            findStarredTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> findOverdue() {
+        long started = System.nanoTime();
+        try {
+            return delegate.findOverdue();
+        } finally {
+            findOverdueTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end) {
+        long started = System.nanoTime();
+        try {
+            return delegate.findByDueDateBetween(start, end);
+        } finally {
+            findByDueDateBetweenTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> searchByTitle(String keyword) {
+        long started = System.nanoTime();
+        try {
+            return delegate.searchByTitle(keyword);
+        } finally {
+            searchByTitleTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> search(String query) {
+        long started = System.nanoTime();
+        try {
+            return delegate.search(query);
+        } finally {
+            searchTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public List<Task> find(TaskQuery query) {
+        long started = System.nanoTime();
+        try {
+            return delegate.find(query);
+        } finally {
+            findTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public TaskPage findPage(TaskQuery query, PageRequest page) {
+        long started = System.nanoTime();
+        try {
+            return delegate.findPage(query, page);
+        } finally {
+            findPageTimer.recordSince(started);
+        }
+    }
+
+    @Override
+    public long getCollectionVersion() {
+        // A single field read: timing it would cost more than the call itself
+        return delegate.getCollectionVersion();
+    }
+
+    private static LatencyHistogram timer(MetricsRegistry registry, String name, String operation) {
+        return registry.histogram(METRIC, HELP, "repository", name, "operation", operation);
+    }
+}
@@ -0,0 +1,126 @@
+package ee.taltech.todo.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses everything written to it into another stream, in gzip or zlib
+ * format, with a deflater borrowed from a {@link DeflaterPool}.
+ *
+ * {@link java.util.zip.GZIPOutputStream} always creates its own Deflater, so the
+ * gzip header and trailer are written here instead. Closing the stream finishes
+ * the compressed data, returns the deflater to its pool and closes the target.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+final class CompressingOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Gzip member header: magic, deflate method, no flags, no time, no extra flags, unknown OS.
+     */
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final OutputStream out;
+    private final DeflaterPool pool;
+    private final CRC32 crc;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private Deflater deflater;
+
+    /**
+     * Creates the stream and, for gzip, writes the header.
+     *
+     * @param out      Stream receiving the compressed data
+     * @param encoding Format of the compressed data
+     * @param pool     Pool to borrow the deflater from; must match the format
+     * @throws IOException if writing the header fails
+     */
+    CompressingOutputStream(OutputStream out, ContentEncoding encoding, DeflaterPool pool) throws IOException {
+        this.out = out;
+        this.pool = pool;
+        this.crc = encoding == ContentEncoding.GZIP ? new CRC32() : null;
+        if (crc != null) {
+            out.write(GZIP_HEADER);
+        }
+        this.deflater = pool.acquire();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (crc != null) {
+            crc.update(b, off, len);
+        }
+        // The deflater keeps a reference to the input: consume it all before returning
+        deflater.setInput(b, off, len);
+        while (!deflater.needsInput()) {
+            deflate(Deflater.NO_FLUSH);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        // A full buffer means the deflater may have more output for this flush
+        while (deflate(Deflater.SYNC_FLUSH) == buffer.length) {
+            // keep draining
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (deflater == null) {
+            return;
+        }
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate(Deflater.NO_FLUSH);
+            }
+            if (crc != null) {
+                writeTrailer(deflater.getBytesRead());
+            }
+        } finally {
+            pool.release(deflater);
+            deflater = null;
+            out.close();
+        }
+    }
+
+    private int deflate(int flush) throws IOException {
+        int length = deflater.deflate(buffer, 0, buffer.length, flush);
+        if (length > 0) {
+            out.write(buffer, 0, length);
+        }
+        return length;
+    }
+
+    /**
+     * Writes the gzip trailer: CRC-32 and length of the uncompressed data, little-endian.
+     */
+    private void writeTrailer(long uncompressedLength) throws IOException {
+        long value = crc.getValue();
+        byte[] trailer = new byte[8];
+        for (int i = 0; i < 4; i++) {
+            trailer[i] = (byte) (value >>> (8 * i));
+            trailer[4 + i] = (byte) (uncompressedLength >>> (8 * i));
+        }
+        out.write(trailer);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (deflater == null) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ee.taltech.todo.server;
+
+import ee.taltech.todo.config.AppConfig;
+
+import java.util.zip.Deflater;
+
+/**
+ * Settings for compressing response bodies.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class CompressionSettings {
+
+    private static final int DEFAULT_MIN_SIZE = 1024;
+    private static final int DEFAULT_LEVEL = 1;
+    private static final int DEFAULT_POOL_SIZE = 32;
+
+    private final boolean enabled;
+    private final int minSize;
+    private final int level;
+    private final int poolSize;
+
+    /**
+     * Constructor with all settings.
+     *
+     * @param enabled  Whether responses are compressed for clients that accept it
+     * @param minSize  Smallest body, in bytes, worth compressing
+     * @param level    Deflate level, 1 (fastest) to 9 (smallest), or -1 for the zlib default
+     * @param poolSize Number of idle compressors kept for reuse per encoding
+     */
+    public CompressionSettings(boolean enabled, int minSize, int level, int poolSize) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException("Minimum size cannot be negative");
+        }
+        if (level != Deflater.DEFAULT_COMPRESSION
+                && (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Compression level must be between 1 and 9, or -1");
+        }
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.enabled = enabled;
+        this.minSize = minSize;
+        this.level = level;
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Creates settings with the defaults of the {@code compression.*} keys.
+     *
+     * @return The default settings
+     */
+    public static CompressionSettings defaults() {
+        return new CompressionSettings(true, DEFAULT_MIN_SIZE, DEFAULT_LEVEL, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Creates settings from the {@code compression.*} configuration keys.
+     *
+     * @param config Application configuration
+     * @return The settings
+     * @throws IllegalArgumentException if a value is invalid
+     */
+    public static CompressionSettings fromConfig(AppConfig config) {
+        return new CompressionSettings(
+                config.getBoolean("compression.enabled", true),
+                config.getInt("compression.minSize", DEFAULT_MIN_SIZE),
+                config.getInt("compression.level", DEFAULT_LEVEL),
+                config.getInt("compression.poolSize", DEFAULT_POOL_SIZE));
+    }
+
+    /**
+     * Checks whether responses are compressed for clients that accept it.
+     *
+     * @return true if compression is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the smallest body worth compressing.
+     *
+     * @return The minimum size in bytes
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Gets the deflate level.
+     *
+     * @return The level, -1 for the zlib default
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the number of idle compressors kept for reuse per encoding.
+     *
+     * @return The pool size
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+}
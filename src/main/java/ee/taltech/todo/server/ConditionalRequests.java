@@ -0,0 +1,160 @@
+package ee.taltech.todo.server;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+
+/**
+ * Entity tags and conditional GET handling (RFC 9110, section 13.1.2).
+ *
+ * A list response is tagged with the version of the collection it was read
+ * from, taken before the data is read. A poll that sends the tag back in
+ * If-None-Match is answered with 304 Not Modified from the version alone,
+ * without reading or serializing anything.
+ *
+ * Collection versions restart at zero with the process, so collection tags
+ * also carry an ID of the running instance; a tag from before a restart never
+ * matches. Entity versions are persisted with the entity, in the database or
+ * in the journal's log and snapshots, and survive a restart, so single-entity
+ * tags are just the version, as If-Match on updates expects.
+ *
+ * A compressed body is a different representation than the identity one, so
+ * its tag gets the coding appended ({@code "3-gzip"}, see {@link #encodedTag}):
+ * a cache holding both variants never confuses them. The tag stays tied to the
+ * same version, so comparisons ignore the suffix and a 304 names the variant
+ * the client already has, together with {@code Vary: Accept-Encoding}.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class ConditionalRequests {
+
+    /**
+     * Response header carrying the entity tag.
+     */
+    public static final String ETAG_HEADER = "ETag";
+
+    /**
+     * Identifies this run of the application in collection tags.
+     */
+    private static final String INSTANCE_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Gets the strong entity tag of a single entity.
+     *
+     * @param version The entity's version
+     * @return The quoted tag
+     */
+    public static String entityTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Gets the strong entity tag of a list read at a collection version.
+     *
+     * @param collectionVersion The collection version, read before the list
+     * @return The quoted tag
+     */
+    public static String collectionTag(long collectionVersion) {
+        return "\"" + INSTANCE_ID + "-" + collectionVersion + "\"";
+    }
+
+    /**
+     * Sets the response's entity tag and, if the request's If-None-Match lists
+     * it, answers 304 Not Modified. Responses are marked {@code no-cache}, so
+     * browsers revalidate with the tag instead of reusing a stale copy.
+     *
+     * @param exchange The exchange
+     * @param tag      The current entity tag of the requested resource
+     * @return true if the 304 was sent and the handler is done
+     * @throws IOException if sending fails
+     */
+    public static boolean notModified(HttpExchange exchange, String tag) throws IOException {
+        exchange.getResponseHeaders().set(ETAG_HEADER, tag);
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+
+        String matched = matchingTag(exchange.getRequestHeaders().getFirst("If-None-Match"), tag);
+        if (matched == null) {
+            return false;
+        }
+        exchange.getResponseHeaders().set(ETAG_HEADER, matched);
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        // A bodiless response is complete as soon as its headers are sent. If the
+        // request body has not been read by then, the JDK server closes the
+        // connection instead of keeping it alive for the next poll.
+        exchange.getRequestBody().close();
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+        return true;
+    }
+
+    /**
+     * Gets the tag of a body sent with a content coding: the coding is appended
+     * inside the quotes, e.g. {@code "3"} becomes {@code "3-gzip"}.
+     *
+     * @param tag      The quoted tag of the identity body
+     * @param encoding The coding the body is sent with
+     * @return The quoted tag of the encoded body
+     */
+    public static String encodedTag(String tag, ContentEncoding encoding) {
+        return tag.substring(0, tag.length() - 1) + "-" + encoding.getToken() + "\"";
+    }
+
+    /**
+     * Removes the coding that {@link #encodedTag} appended, if there is one.
+     *
+     * @param tag A quoted tag
+     * @return The quoted tag of the identity body
+     */
+    public static String withoutEncoding(String tag) {
+        for (ContentEncoding encoding : ContentEncoding.values()) {
+            String suffix = "-" + encoding.getToken() + "\"";
+            if (tag.endsWith(suffix) && tag.length() > suffix.length()) {
+                return tag.substring(0, tag.length() - suffix.length()) + "\"";
+            }
+        }
+        return tag;
+    }
+
+    /**
+     * Checks an If-None-Match header against a tag. If-None-Match uses the weak
+     * comparison, so a {@code W/} prefix is ignored, and so is a coding suffix.
+     *
+     * @param header The header value, may be null
+     * @param tag    The quoted current tag
+     * @return true if the header is "*" or lists the tag
+     */
+    static boolean matchesAny(String header, String tag) {
+        return matchingTag(header, tag) != null;
+    }
+
+    /**
+     * Finds the entry of an If-None-Match header that matches a tag.
+     *
+     * @param header The header value, may be null
+     * @param tag    The quoted current tag
+     * @return The matching entry without a {@code W/} prefix, the tag itself
+     *         for "*", or null if nothing matches
+     */
+    static String matchingTag(String header, String tag) {
+        if (header == null) {
+            return null;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return tag;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (withoutEncoding(value).equals(tag)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+package ee.taltech.todo.server;
+
+import java.util.Locale;
+
+/**
+ * Content codings the server can compress responses with.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public enum ContentEncoding {
+
+    /**
+     * Deflate data in a gzip wrapper (RFC 1952).
+     */
+    GZIP("gzip"),
+
+    /**
+     * Deflate data in a zlib wrapper (RFC 1950).
+     */
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Gets the name of the coding as used in Content-Encoding.
+     *
+     * @return The coding name
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Picks the coding for a response from an Accept-Encoding header. Codings
+     * the client rates {@code q=0} are never picked; gzip wins a tie, as every
+     * client that accepts deflate also accepts gzip.
+     *
+     * @param acceptEncoding The header value, may be null
+     * @return The coding to use, or null to send the body as is
+     */
+    public static ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        for (String part : acceptEncoding.split(",")) {
+            int semicolon = part.indexOf(';');
+            String coding = (semicolon < 0 ? part : part.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+            double quality = semicolon < 0 ? 1 : quality(part.substring(semicolon + 1));
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = quality;
+            } else if (coding.equals("deflate")) {
+                deflate = quality;
+            } else if (coding.equals("*")) {
+                any = quality;
+            }
+        }
+
+        // A coding that is not listed is acceptable only through "*"
+        if (gzip < 0) {
+            gzip = Math.max(any, 0);
+        }
+        if (deflate < 0) {
+            deflate = Math.max(any, 0);
+        }
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        return deflate > 0 ? DEFLATE : null;
+    }
+
+    private static double quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.length() > 2 && (trimmed.charAt(0) == 'q' || trimmed.charAt(0) == 'Q')
+                    && trimmed.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(trimmed.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,84 @@
+package ee.taltech.todo.server;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * A bounded pool of {@link Deflater}s with the same level and format.
+ *
+ * A Deflater holds a few hundred kilobytes of native zlib state, allocated when
+ * it is created and freed only by {@link Deflater#end()} or, much later, by a
+ * cleaner after garbage collection. Creating one per response makes native
+ * allocation and cleanup the main cost of compressing a small body; resetting
+ * a released one costs almost nothing.
+ *
+ * Design Pattern: Object Pool
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class DeflaterPool implements AutoCloseable {
+
+    private final int level;
+    private final boolean nowrap;
+    private final BlockingQueue<Deflater> idle;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param level    Deflate level of the pooled deflaters
+     * @param nowrap   true for raw deflate data (as inside gzip), false for the zlib format
+     * @param capacity Number of idle deflaters kept; more are created on demand and ended on release
+     */
+    public DeflaterPool(int level, boolean nowrap, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pool capacity must be positive");
+        }
+        this.level = level;
+        this.nowrap = nowrap;
+        this.idle = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Takes an idle deflater, or creates one if none is idle.
+     *
+     * @return A deflater ready for new input
+     */
+    public Deflater acquire() {
+        Deflater deflater = idle.poll();
+        return deflater != null ? deflater : new Deflater(level, nowrap);
+    }
+
+    /**
+     * Returns a deflater to the pool. It must not be used by the caller afterwards.
+     *
+     * @param deflater A deflater from {@link #acquire()}
+     */
+    public void release(Deflater deflater) {
+        deflater.reset();
+        if (!idle.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Gets the number of deflaters waiting for reuse.
+     *
+     * @return The idle count
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Frees the native memory of the idle deflaters.
+     */
+    @Override
+    public void close() {
+        Deflater deflater;
+        while ((deflater = idle.poll()) != null) {
+            deflater.end();
+        }
+    }
+}
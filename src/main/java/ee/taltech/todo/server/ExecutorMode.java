@@ -0,0 +1,31 @@
+package ee.taltech.todo.server;
+
+/**
+ * How the HTTP server runs request handlers.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public enum ExecutorMode {
+
+    /**
+     * Virtual threads when the JVM supports them (JDK 21+), otherwise a bounded platform pool.
+     */
+    AUTO,
+
+    /**
+     * One virtual thread per request. Falls back to the platform pool on JVMs
+     * without virtual threads.
+     */
+    VIRTUAL,
+
+    /**
+     * A fixed-size pool of platform threads with a bounded queue.
+     */
+    PLATFORM,
+
+    /**
+     * Handlers run on the server's single dispatcher thread, one request at a time.
+     */
+    DISPATCHER
+}
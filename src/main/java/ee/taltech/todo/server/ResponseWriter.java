@@ -0,0 +1,275 @@
+package ee.taltech.todo.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import ee.taltech.todo.util.JsonUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes response bodies, compressed when the client accepts it.
+ *
+ * The coding is picked from the request's Accept-Encoding (see
+ * {@link ContentEncoding#negotiate}). Text-like bodies of at least the configured
+ * minimum size are compressed; smaller ones cost more to compress than they save
+ * on the wire. Fixed bodies are compressed up front and sent with a length;
+ * streamed bodies are held back until they reach the minimum size, then sent
+ * compressed with chunked transfer encoding. Responses that may be compressed
+ * carry {@code Vary: Accept-Encoding}, so caches keep the variants apart, and
+ * a compressed body's entity tag names the coding
+ * ({@link ConditionalRequests#encodedTag}).
+ *
+ * Deflaters come from one {@link DeflaterPool} per coding, shared by all
+ * requests.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class ResponseWriter implements AutoCloseable {
+
+    /**
+     * Content type of JSON responses.
+     */
+    public static final String JSON = "application/json";
+
+    private final CompressionSettings settings;
+    private final DeflaterPool gzipPool;
+    private final DeflaterPool deflatePool;
+
+    /**
+     * Creates a writer with the given compression settings.
+     *
+     * @param settings Compression settings
+     */
+    public ResponseWriter(CompressionSettings settings) {
+        if (settings == null) {
+            throw new IllegalArgumentException("Compression settings cannot be null");
+        }
+        this.settings = settings;
+        this.gzipPool = new DeflaterPool(settings.getLevel(), true, settings.getPoolSize());
+        this.deflatePool = new DeflaterPool(settings.getLevel(), false, settings.getPoolSize());
+    }
+
+    /**
+     * Sends a complete response.
+     *
+     * An empty body is sent as a response without a body. The request body is
+     * closed first: otherwise the JDK server closes the connection instead of
+     * keeping it alive.
+     *
+     * @param exchange    The exchange
+     * @param statusCode  The status code
+     * @param contentType Content type of the body, or null for none
+     * @param body        The body, possibly empty
+     * @throws IOException if sending fails
+     */
+    public void send(HttpExchange exchange, int statusCode, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        if (body.length == 0) {
+            exchange.getRequestBody().close();
+            exchange.sendResponseHeaders(statusCode, -1);
+            exchange.close();
+            return;
+        }
+
+        byte[] payload = body;
+        ContentEncoding encoding = negotiate(exchange, contentType);
+        if (encoding != null && body.length >= settings.getMinSize()) {
+            byte[] compressed = compress(body, encoding);
+            // Already compressed data can grow; then the original is the better choice
+            if (compressed.length < body.length) {
+                markEncoded(exchange, encoding);
+                payload = compressed;
+            }
+        }
+
+        exchange.sendResponseHeaders(statusCode, payload.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(payload);
+        }
+    }
+
+    /**
+     * Sends an object as JSON, or a response without a body if it is null.
+     *
+     * @param exchange   The exchange
+     * @param statusCode The status code
+     * @param data       The object to serialize, may be null
+     * @throws IOException if sending fails
+     */
+    public void sendJson(HttpExchange exchange, int statusCode, Object data) throws IOException {
+        String json = data != null ? JsonUtil.toJson(data) : "";
+        send(exchange, statusCode, JSON, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Starts a streamed response. The response is complete when the returned
+     * stream is closed.
+     *
+     * If the body may be compressed, up to the minimum size is buffered: a body
+     * that ends within it is sent as is, with a length; a longer one is sent
+     * compressed. Otherwise the headers are sent at once and the body is
+     * written through with chunked transfer encoding.
+     *
+     * @param exchange    The exchange
+     * @param statusCode  The status code
+     * @param contentType Content type of the body
+     * @return Stream for the body
+     * @throws IOException if sending the headers fails
+     */
+    public OutputStream openStream(HttpExchange exchange, int statusCode, String contentType) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        ContentEncoding encoding = negotiate(exchange, contentType);
+        if (encoding == null) {
+            exchange.sendResponseHeaders(statusCode, 0);
+            return exchange.getResponseBody();
+        }
+        return new DeferredStream(exchange, statusCode, encoding);
+    }
+
+    /**
+     * Frees the native memory of the pooled deflaters.
+     */
+    @Override
+    public void close() {
+        gzipPool.close();
+        deflatePool.close();
+    }
+
+    /**
+     * Compresses a body.
+     *
+     * @param body     The uncompressed body
+     * @param encoding The coding
+     * @return The compressed body
+     * @throws IOException never in practice, as the data stays in memory
+     */
+    byte[] compress(byte[] body, ContentEncoding encoding) throws IOException {
+        // JSON lists typically shrink to a tenth or less
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 8 + 64);
+        try (OutputStream compressing = new CompressingOutputStream(out, encoding, pool(encoding))) {
+            compressing.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Gets the coding to send a body of this type with, and marks the response as
+     * varying by Accept-Encoding if it could be compressed at all.
+     */
+    private ContentEncoding negotiate(HttpExchange exchange, String contentType) {
+        if (!settings.isEnabled() || !isCompressible(contentType)) {
+            return null;
+        }
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        return ContentEncoding.negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+    }
+
+    /**
+     * Sets Content-Encoding and gives the entity tag, if any, the coding's suffix.
+     */
+    private static void markEncoded(HttpExchange exchange, ContentEncoding encoding) {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Encoding", encoding.getToken());
+        String tag = headers.getFirst(ConditionalRequests.ETAG_HEADER);
+        if (tag != null) {
+            headers.set(ConditionalRequests.ETAG_HEADER, ConditionalRequests.encodedTag(tag, encoding));
+        }
+    }
+
+    private DeflaterPool pool(ContentEncoding encoding) {
+        return encoding == ContentEncoding.GZIP ? gzipPool : deflatePool;
+    }
+
+    /**
+     * Checks whether a content type is text that compresses well. Images and
+     * archives are compressed already.
+     */
+    static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        return contentType.startsWith("text/")
+                || contentType.startsWith("application/json")
+                || contentType.startsWith("application/javascript")
+                || contentType.startsWith("image/svg+xml");
+    }
+
+    /**
+     * Buffers a streamed body until it is clear whether it is worth compressing.
+     */
+    private final class DeferredStream extends OutputStream {
+
+        private final HttpExchange exchange;
+        private final int statusCode;
+        private final ContentEncoding encoding;
+        private byte[] pending;
+        private int count;
+        private OutputStream target;
+        private boolean closed;
+
+        DeferredStream(HttpExchange exchange, int statusCode, ContentEncoding encoding) {
+            this.exchange = exchange;
+            this.statusCode = statusCode;
+            this.encoding = encoding;
+            this.pending = new byte[settings.getMinSize()];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target != null) {
+                target.write(b, off, len);
+                return;
+            }
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (count + len < pending.length) {
+                System.arraycopy(b, off, pending, count, len);
+                count += len;
+                return;
+            }
+
+            // Large enough: start the compressed response with what was held back
+            markEncoded(exchange, encoding);
+            exchange.sendResponseHeaders(statusCode, 0);
+            target = new CompressingOutputStream(exchange.getResponseBody(), encoding, pool(encoding));
+            target.write(pending, 0, count);
+            target.write(b, off, len);
+            pending = null;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (target != null) {
+                target.close();
+                return;
+            }
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // Ended below the minimum size: send it as is
+            byte[] body = new byte[count];
+            System.arraycopy(pending, 0, body, 0, count);
+            send(exchange, statusCode, null, body);
+        }
+    }
+}
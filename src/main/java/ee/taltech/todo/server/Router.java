@@ -0,0 +1,353 @@
+package ee.taltech.todo.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import ee.taltech.todo.metrics.MetricsRegistry;
+import ee.taltech.todo.metrics.RequestMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes API requests to controller handlers by HTTP method and path.
+ *
+ * Routes are registered once at startup as path templates such as
+ * {@code /api/v1/tasks/{id}/complete} and compiled into a trie with one node
+ * per path segment. Matching walks the request path segment by segment without
+ * regular expressions or splitting; only path variables are copied out, and a
+ * handler receives them by position in its template. Literal segments take
+ * precedence over variables, so {@code /api/v1/tasks/starred} is not read as a
+ * task ID. A trailing slash is ignored.
+ *
+ * Also applies the CORS headers, answers preflight requests, and turns unmatched
+ * paths, unsupported methods and handler exceptions into JSON errors.
+ *
+ * With a {@link MetricsRegistry}, every routed request's latency and response
+ * status are recorded under its method and route template, and exceptions
+ * counted as errors. Requests matching no route are recorded together under
+ * method {@code *} and route {@value MetricsRegistry#UNMATCHED_ROUTE}, so
+ * arbitrary paths cannot create new metrics.
+ *
+ * Design Pattern: Front Controller
+ * Thread Safety: Routes must be registered before the router handles requests
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class Router implements HttpHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(Router.class);
+
+    private static final String[] NO_VARIABLES = new String[0];
+
+    /**
+     * Handles a request matched by a route.
+     */
+    @FunctionalInterface
+    public interface RouteHandler {
+
+        /**
+         * Handles the request.
+         *
+         * @param exchange      The HTTP exchange
+         * @param pathVariables Values of the template's variables, in template order
+         * @throws IOException if the response cannot be written
+         */
+        void handle(HttpExchange exchange, String[] pathVariables) throws IOException;
+    }
+
+    private final Node root = new Node();
+    private final MetricsRegistry metrics;
+    private final RequestMetrics unmatched;
+
+    /**
+     * Largest number of variables in any registered template.
+     */
+    private int maxVariables;
+
+    /**
+     * Creates a router that records no metrics.
+     */
+    public Router() {
+        this(null);
+    }
+
+    /**
+     * Creates a router that records request metrics.
+     *
+     * @param metrics Registry to record in, or null for none
+     */
+    public Router(MetricsRegistry metrics) {
+        this.metrics = metrics;
+        this.unmatched = metrics != null ? metrics.requestMetrics("*", MetricsRegistry.UNMATCHED_ROUTE) : null;
+    }
+
+    /**
+     * Registers a route.
+     *
+     * @param method   HTTP method, e.g. {@code GET}
+     * @param template Path template; segments in braces are variables, e.g. {@code /api/v1/tasks/{id}}
+     * @param handler  The handler
+     * @return This router
+     * @throws IllegalArgumentException if the template is malformed or the route is already registered
+     */
+    public Router add(String method, String template, RouteHandler handler) {
+        if (method == null || handler == null) {
+            throw new IllegalArgumentException("Method and handler cannot be null");
+        }
+        if (template == null || !template.startsWith("/")) {
+            throw new IllegalArgumentException("Route template must start with '/': " + template);
+        }
+
+        Node node = root;
+        int variables = 0;
+        for (String segment : template.substring(1).split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                if (node.variableChild == null) {
+                    node.variableChild = new Node();
+                }
+                node = node.variableChild;
+                variables++;
+            } else {
+                node = node.staticChild(segment);
+            }
+        }
+
+        if (node.handlers.containsKey(method)) {
+            throw new IllegalArgumentException("Route already registered: " + method + " " + template);
+        }
+        RequestMetrics routeMetrics = metrics != null ? metrics.requestMetrics(method, template) : null;
+        node.handlers.put(method, new Route(handler, variables, routeMetrics));
+        maxVariables = Math.max(maxVariables, variables);
+        return this;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        // Add CORS headers
+        exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
+        exchange.getResponseHeaders().add("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
+        exchange.getResponseHeaders().add("Access-Control-Allow-Headers", "Content-Type, If-Match, If-None-Match");
+        exchange.getResponseHeaders().add("Access-Control-Expose-Headers", "X-Next-Cursor, ETag");
+
+        String method = exchange.getRequestMethod();
+
+        // Handle preflight OPTIONS request
+        if ("OPTIONS".equals(method)) {
+            exchange.sendResponseHeaders(204, -1);
+            return;
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        logger.debug("Handling {} request to {}", method, path);
+
+        long start = System.nanoTime();
+        RequestMetrics requestMetrics = unmatched;
+        try {
+            Match match = match(method, path);
+            if (match == Match.NOT_FOUND) {
+                sendError(exchange, 404, "Endpoint not found");
+            } else if (match == Match.METHOD_NOT_ALLOWED) {
+                sendError(exchange, 405, "Method not allowed");
+            } else {
+                requestMetrics = match.metrics;
+                match.handler.handle(exchange, match.pathVariables);
+            }
+        } catch (Exception e) {
+            logger.error("Error handling request", e);
+            if (requestMetrics != null) {
+                requestMetrics.recordError();
+            }
+            sendError(exchange, 500, "Internal server error: " + e.getMessage());
+        } finally {
+            if (requestMetrics != null) {
+                requestMetrics.record(exchange.getResponseCode(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Finds the route for a request.
+     *
+     * @param method HTTP method
+     * @param path   Decoded request path
+     * @return The match, {@link Match#NOT_FOUND} or {@link Match#METHOD_NOT_ALLOWED}
+     */
+    public Match match(String method, String path) {
+        int end = path.length();
+        if (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        String[] captured = maxVariables == 0 ? NO_VARIABLES : new String[maxVariables];
+        Node node = find(root, path, 1, end, captured, 0);
+        if (node == null) {
+            return Match.NOT_FOUND;
+        }
+
+        Route route = node.handlers.get(method);
+        if (route == null) {
+            return Match.METHOD_NOT_ALLOWED;
+        }
+        if (route.variables == 0) {
+            return new Match(route.handler, NO_VARIABLES, route.metrics);
+        }
+        return new Match(route.handler,
+                route.variables == captured.length ? captured : Arrays.copyOf(captured, route.variables),
+                route.metrics);
+    }
+
+    /**
+     * Matches the segments from {@code start} to {@code end} below a node,
+     * preferring literal segments and falling back to the variable child.
+     *
+     * @return The node with handlers reached by the path, or null if there is none
+     */
+    private static Node find(Node node, String path, int start, int end, String[] captured, int depth) {
+        if (start >= end) {
+            return node.handlers.isEmpty() ? null : node;
+        }
+
+        int slash = path.indexOf('/', start);
+        int segmentEnd = slash < 0 || slash > end ? end : slash;
+        int segmentLength = segmentEnd - start;
+        if (segmentLength == 0) {
+            return null;
+        }
+
+        for (int i = 0; i < node.staticKeys.length; i++) {
+            String key = node.staticKeys[i];
+            if (key.length() == segmentLength && path.regionMatches(start, key, 0, segmentLength)) {
+                Node found = find(node.staticChildren[i], path, segmentEnd + 1, end, captured, depth);
+                if (found != null) {
+                    return found;
+                }
+                break;
+            }
+        }
+
+        if (node.variableChild != null) {
+            Node found = find(node.variableChild, path, segmentEnd + 1, end, captured, depth + 1);
+            if (found != null) {
+                captured[depth] = path.substring(start, segmentEnd);
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sends a JSON error response.
+     *
+     * @param exchange   The HTTP exchange
+     * @param statusCode HTTP status code
+     * @param message    Error message
+     * @throws IOException if the response cannot be written
+     */
+    private static void sendError(HttpExchange exchange, int statusCode, String message) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+
+        String error = String.format("{\"error\": \"%s\", \"status\": %d}", message, statusCode);
+        byte[] bytes = error.getBytes(StandardCharsets.UTF_8);
+
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        OutputStream os = exchange.getResponseBody();
+        os.write(bytes);
+        os.close();
+    }
+
+    /**
+     * Result of matching a request against the routes.
+     */
+    public static final class Match {
+
+        /**
+         * No route matches the path.
+         */
+        public static final Match NOT_FOUND = new Match(null, NO_VARIABLES, null);
+
+        /**
+         * Routes match the path, but none for the request method.
+         */
+        public static final Match METHOD_NOT_ALLOWED = new Match(null, NO_VARIABLES, null);
+
+        private final RouteHandler handler;
+        private final String[] pathVariables;
+        private final RequestMetrics metrics;
+
+        private Match(RouteHandler handler, String[] pathVariables, RequestMetrics metrics) {
+            this.handler = handler;
+            this.pathVariables = pathVariables;
+            this.metrics = metrics;
+        }
+
+        /**
+         * Gets the matched handler.
+         *
+         * @return The handler, null for NOT_FOUND and METHOD_NOT_ALLOWED
+         */
+        public RouteHandler getHandler() {
+            return handler;
+        }
+
+        /**
+         * Gets the values of the template's variables.
+         *
+         * @return The values, in template order
+         */
+        public String[] getPathVariables() {
+            return pathVariables;
+        }
+    }
+
+    /**
+     * A registered handler, the number of variables in its template and its
+     * metrics, null if the router records none.
+     */
+    private static final class Route {
+        private final RouteHandler handler;
+        private final int variables;
+        private final RequestMetrics metrics;
+
+        private Route(RouteHandler handler, int variables, RequestMetrics metrics) {
+            this.handler = handler;
+            this.variables = variables;
+            this.metrics = metrics;
+        }
+    }
+
+    /**
+     * One path segment of the trie. Literal children are kept in parallel arrays:
+     * there are only a handful per node, and scanning them with regionMatches
+     * avoids creating a substring per segment.
+     */
+    private static final class Node {
+        private String[] staticKeys = new String[0];
+        private Node[] staticChildren = new Node[0];
+        private Node variableChild;
+        private final Map<String, Route> handlers = new HashMap<>();
+
+        private Node staticChild(String segment) {
+            for (int i = 0; i < staticKeys.length; i++) {
+                if (staticKeys[i].equals(segment)) {
+                    return staticChildren[i];
+                }
+            }
+            Node child = new Node();
+            staticKeys = Arrays.copyOf(staticKeys, staticKeys.length + 1);
+            staticChildren = Arrays.copyOf(staticChildren, staticChildren.length + 1);
+            staticKeys[staticKeys.length - 1] = segment;
+            staticChildren[staticChildren.length - 1] = child;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ee.taltech.todo.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executor that runs the HTTP server's request handlers.
+ *
+ * Virtual threads are looked up reflectively so the application still compiles
+ * and runs on JDK 17. The platform pool is bounded in both threads and queued
+ * requests; when both are full the dispatcher thread runs the request itself,
+ * which stops it accepting new connections until a worker frees up, so excess
+ * load waits in the listen backlog instead of piling up in memory.
+ *
+ * Design Pattern: Factory
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class ServerExecutors {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerExecutors.class);
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor}, or null on JVMs without virtual threads.
+     */
+    private static final Method VIRTUAL_THREAD_FACTORY = findVirtualThreadFactory();
+
+    private ServerExecutors() {
+    }
+
+    /**
+     * Checks whether the running JVM supports virtual threads.
+     *
+     * @return true on JDK 21 and later
+     */
+    public static boolean virtualThreadsAvailable() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * Resolves the mode that will actually be used on this JVM.
+     *
+     * @param mode The configured mode
+     * @return VIRTUAL, PLATFORM or DISPATCHER
+     */
+    public static ExecutorMode resolve(ExecutorMode mode) {
+        if (mode == ExecutorMode.AUTO || mode == ExecutorMode.VIRTUAL) {
+            return virtualThreadsAvailable() ? ExecutorMode.VIRTUAL : ExecutorMode.PLATFORM;
+        }
+        return mode;
+    }
+
+    /**
+     * Creates the executor for the configured mode.
+     *
+     * @param settings Server settings
+     * @return The executor, or null for {@link ExecutorMode#DISPATCHER}
+     *         (the server then runs handlers on its dispatcher thread)
+     */
+    public static ExecutorService create(ServerSettings settings) {
+        ExecutorMode mode = resolve(settings.getExecutorMode());
+        if (settings.getExecutorMode() == ExecutorMode.VIRTUAL && mode != ExecutorMode.VIRTUAL) {
+            logger.warn("Virtual threads require JDK 21+, falling back to a platform thread pool");
+        }
+
+        switch (mode) {
+            case VIRTUAL:
+                logger.info("HTTP handlers run on virtual threads");
+                return newVirtualThreadExecutor();
+            case PLATFORM:
+                logger.info("HTTP handlers run on {} platform threads (queue capacity: {})",
+                        settings.getWorkerThreads(), settings.getQueueCapacity());
+                return newPlatformExecutor(settings.getWorkerThreads(), settings.getQueueCapacity());
+            default:
+                logger.info("HTTP handlers run on the dispatcher thread");
+                return null;
+        }
+    }
+
+    /**
+     * Shuts an executor down, waiting briefly for running requests to finish.
+     *
+     * @param executor       The executor (may be null)
+     * @param timeoutSeconds How long to wait for running requests
+     */
+    public static void shutdown(ExecutorService executor, long timeoutSeconds) {
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                logger.warn("HTTP handlers still running after {} s, interrupting", timeoutSeconds);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ExecutorService newPlatformExecutor(int workerThreads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                workerThreads, workerThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new WorkerThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) VIRTUAL_THREAD_FACTORY.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    private static Method findVirtualThreadFactory() {
+        // JDK 19 and 20 have the method, but only as a preview feature
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Names worker threads {@code http-worker-N} so they are recognizable in thread dumps.
+     */
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "http-worker-" + counter.incrementAndGet());
+        }
+    }
+}
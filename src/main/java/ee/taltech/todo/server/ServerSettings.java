@@ -0,0 +1,135 @@
+package ee.taltech.todo.server;
+
+import ee.taltech.todo.config.AppConfig;
+
+import java.util.Locale;
+
+/**
+ * Settings for the embedded HTTP server and the executor running its handlers.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class ServerSettings {
+
+    /**
+     * System property read by the JDK HttpServer to set TCP_NODELAY on its sockets.
+     */
+    static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final ExecutorMode executorMode;
+    private final int backlog;
+    private final int workerThreads;
+    private final int queueCapacity;
+    private final boolean tcpNoDelay;
+
+    /**
+     * Constructor with all settings.
+     *
+     * @param executorMode  How request handlers are run
+     * @param backlog       Maximum number of pending connections (0 uses the system default)
+     * @param workerThreads Number of platform worker threads
+     * @param queueCapacity Number of requests that can wait for a platform worker
+     * @param tcpNoDelay    Whether to disable Nagle's algorithm on accepted connections
+     */
+    public ServerSettings(ExecutorMode executorMode, int backlog, int workerThreads, int queueCapacity,
+                          boolean tcpNoDelay) {
+        if (executorMode == null) {
+            throw new IllegalArgumentException("Executor mode cannot be null");
+        }
+        if (backlog < 0) {
+            throw new IllegalArgumentException("Backlog cannot be negative");
+        }
+        if (workerThreads <= 0) {
+            throw new IllegalArgumentException("Worker thread count must be positive");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.executorMode = executorMode;
+        this.backlog = backlog;
+        this.workerThreads = workerThreads;
+        this.queueCapacity = queueCapacity;
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    /**
+     * Creates settings from the {@code server.*} configuration keys.
+     *
+     * @param config Application configuration
+     * @return The settings
+     * @throws IllegalArgumentException if a value is invalid
+     */
+    public static ServerSettings fromConfig(AppConfig config) {
+        String mode = config.getString("server.executor", ExecutorMode.AUTO.name());
+        ExecutorMode executorMode;
+        try {
+            executorMode = ExecutorMode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown server.executor: " + mode, e);
+        }
+
+        return new ServerSettings(
+                executorMode,
+                config.getInt("server.backlog", 128),
+                config.getInt("server.workerThreads", 32),
+                config.getInt("server.queueCapacity", 1000),
+                config.getBoolean("server.tcpNoDelay", true));
+    }
+
+    /**
+     * Gets how request handlers are run.
+     *
+     * @return The executor mode
+     */
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    /**
+     * Gets the maximum number of pending connections.
+     *
+     * @return The backlog, 0 for the system default
+     */
+    public int getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * Gets the number of platform worker threads.
+     *
+     * @return The worker thread count
+     */
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    /**
+     * Gets the number of requests that can wait for a platform worker.
+     *
+     * @return The queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Checks whether Nagle's algorithm is disabled on accepted connections.
+     *
+     * @return true if responses are sent without waiting to coalesce packets
+     */
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * Applies the settings the JDK server reads from system properties.
+     * Must be called before the first HttpServer is created, as the server
+     * reads them only once. An explicitly set system property wins.
+     */
+    public void applySystemProperties() {
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, String.valueOf(tcpNoDelay));
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package ee.taltech.todo.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+/**
+ * Serves the frontend's static files from memory.
+ *
+ * All files under the asset directory are read once, when loaded, together with
+ * a gzip copy compressed at the highest level for those worth compressing. A
+ * request is answered from those bytes with a single write, without touching
+ * the file system. Responses carry a strong entity tag (a hash of the content)
+ * and Last-Modified, so revalidating an unchanged file costs a 304 without a body.
+ *
+ * Assets are normally loaded from the classpath, from the build output directory
+ * or the application jar. In development they can be loaded from the source
+ * directory instead and reloaded whenever a file in it changes (see
+ * {@link #watch()}).
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public class StaticAssets implements HttpHandler, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssets.class);
+
+    private static final String INDEX = "index.html";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final byte[] NOT_FOUND = "<h1>404 - File Not Found</h1>".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Changes arriving within this time of each other cause one reload, as editors
+     * often write a file in several steps.
+     */
+    private static final long RELOAD_DELAY_MILLIS = 100;
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html",
+            "css", "text/css",
+            "js", "application/javascript",
+            "json", "application/json",
+            "svg", "image/svg+xml",
+            "png", "image/png",
+            "ico", "image/x-icon",
+            "txt", "text/plain");
+
+    private final Path root;
+    private final FileSystem fileSystem;
+    private final CompressionSettings compression;
+    private final String cacheControl;
+    private volatile Map<String, Asset> assets = Collections.emptyMap();
+    private WatchService watchService;
+
+    /**
+     * Creates an empty cache for the files under a directory.
+     *
+     * @param root          Asset directory
+     * @param fileSystem    File system to close with the cache, or null
+     * @param compression   Compression settings; gzip copies are kept only if enabled
+     * @param maxAgeSeconds How long browsers may use a file without revalidating, 0 to always revalidate
+     */
+    private StaticAssets(Path root, FileSystem fileSystem, CompressionSettings compression, int maxAgeSeconds) {
+        if (maxAgeSeconds < 0) {
+            throw new IllegalArgumentException("Max age cannot be negative");
+        }
+        this.root = root;
+        this.fileSystem = fileSystem;
+        this.compression = compression;
+        this.cacheControl = maxAgeSeconds == 0 ? "no-cache" : "public, max-age=" + maxAgeSeconds;
+    }
+
+    /**
+     * Loads the assets under a classpath directory, in the build output or in a jar.
+     *
+     * @param resourceDirectory Directory name on the classpath, e.g. "static"
+     * @param compression       Compression settings
+     * @param maxAgeSeconds     How long browsers may use a file without revalidating, 0 to always revalidate
+     * @return The loaded assets
+     * @throws IOException if the directory is missing or cannot be read
+     */
+    public static StaticAssets fromClasspath(String resourceDirectory, CompressionSettings compression,
+                                             int maxAgeSeconds) throws IOException {
+        URL url = StaticAssets.class.getClassLoader().getResource(resourceDirectory);
+        if (url == null) {
+            throw new IOException("Static asset directory not found on the classpath: " + resourceDirectory);
+        }
+
+        StaticAssets assets;
+        try {
+            URI uri = url.toURI();
+            if ("jar".equals(uri.getScheme())) {
+                FileSystem jar = openJar(uri);
+                assets = new StaticAssets(jar.getPath("/" + resourceDirectory), jar, compression, maxAgeSeconds);
+            } else {
+                assets = new StaticAssets(Paths.get(uri), null, compression, maxAgeSeconds);
+            }
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid classpath location: " + url, e);
+        }
+        assets.reload();
+        return assets;
+    }
+
+    /**
+     * Loads the assets under a directory on disk.
+     *
+     * @param directory     Asset directory
+     * @param compression   Compression settings
+     * @param maxAgeSeconds How long browsers may use a file without revalidating, 0 to always revalidate
+     * @return The loaded assets
+     * @throws IOException if the directory cannot be read
+     */
+    public static StaticAssets fromDirectory(Path directory, CompressionSettings compression,
+                                             int maxAgeSeconds) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Static asset directory not found: " + directory);
+        }
+        StaticAssets assets = new StaticAssets(directory, null, compression, maxAgeSeconds);
+        assets.reload();
+        return assets;
+    }
+
+    /**
+     * Reads all files again and replaces the cached ones at once, so a request
+     * sees either the old or the new set.
+     *
+     * @throws IOException if a file cannot be read
+     */
+    public void reload() throws IOException {
+        Map<String, Asset> loaded = new HashMap<>();
+        long bytes = 0;
+        long compressedBytes = 0;
+        try (DeflaterPool pool = new DeflaterPool(Deflater.BEST_COMPRESSION, true, 1);
+             Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                Asset asset = load(file, pool);
+                loaded.put(relativeName(file), asset);
+                bytes += asset.content.length;
+                compressedBytes += asset.gzipped != null ? asset.gzipped.length : asset.content.length;
+            }
+        }
+        assets = Collections.unmodifiableMap(loaded);
+        logger.info("Loaded {} static assets from {} ({} KB, {} KB compressed)",
+                loaded.size(), root, bytes / 1024, compressedBytes / 1024);
+    }
+
+    /**
+     * Starts a background thread that reloads the assets when a file under the
+     * directory is created, changed or deleted. Meant for development, with
+     * assets loaded from the source directory.
+     *
+     * @throws IOException if the directory cannot be watched
+     */
+    public synchronized void watch() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        watchService = root.getFileSystem().newWatchService();
+        registerDirectories(watchService);
+
+        WatchService service = watchService;
+        Thread watcher = new Thread(() -> watchLoop(service), "static-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching {} for changes", root);
+    }
+
+    /**
+     * Gets the number of cached files.
+     *
+     * @return The asset count
+     */
+    public int size() {
+        return assets.size();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            Asset asset = assets.get(path.equals("/") ? INDEX : path.substring(1));
+            if (asset == null) {
+                exchange.getResponseHeaders().set("Content-Type", "text/html");
+                exchange.sendResponseHeaders(404, NOT_FOUND.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(NOT_FOUND);
+                }
+                return;
+            }
+
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("Content-Type", asset.contentType);
+            headers.set(ConditionalRequests.ETAG_HEADER, asset.tag);
+            headers.set("Last-Modified", asset.lastModified);
+            headers.set("Cache-Control", cacheControl);
+            if (asset.gzipped != null) {
+                headers.set("Vary", "Accept-Encoding");
+            }
+
+            boolean gzip = asset.gzipped != null && ContentEncoding.negotiate(
+                    exchange.getRequestHeaders().getFirst("Accept-Encoding")) == ContentEncoding.GZIP;
+            if (gzip) {
+                headers.set(ConditionalRequests.ETAG_HEADER,
+                        ConditionalRequests.encodedTag(asset.tag, ContentEncoding.GZIP));
+            }
+
+            if (isNotModified(exchange, asset)) {
+                // See ConditionalRequests.notModified: keeps the connection alive
+                exchange.getRequestBody().close();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            byte[] body = asset.content;
+            if (gzip) {
+                headers.set("Content-Encoding", ContentEncoding.GZIP.getToken());
+                body = asset.gzipped;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Stops watching for changes and releases the jar the assets came from.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+            if (fileSystem != null) {
+                fileSystem.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to close static assets", e);
+        }
+    }
+
+    /**
+     * Checks the request's validators. If-None-Match takes precedence; If-Modified-Since
+     * is only checked without it (RFC 9110, section 13.2.2).
+     */
+    private static boolean isNotModified(HttpExchange exchange, Asset asset) {
+        Headers request = exchange.getRequestHeaders();
+        String ifNoneMatch = request.getFirst("If-None-Match");
+        if (ifNoneMatch != null) {
+            return ConditionalRequests.matchesAny(ifNoneMatch, asset.tag);
+        }
+        String ifModifiedSince = request.getFirst("If-Modified-Since");
+        if (ifModifiedSince == null) {
+            return false;
+        }
+        try {
+            long since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            return asset.lastModifiedSeconds <= since;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private Asset load(Path file, DeflaterPool pool) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        String contentType = contentType(file.getFileName().toString());
+        long modified = Files.getLastModifiedTime(file).toMillis() / 1000;
+
+        byte[] gzipped = null;
+        if (compression.isEnabled() && content.length >= compression.getMinSize()
+                && ResponseWriter.isCompressible(contentType)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 64);
+            try (OutputStream gzip = new CompressingOutputStream(out, ContentEncoding.GZIP, pool)) {
+                gzip.write(content);
+            }
+            if (out.size() < content.length) {
+                gzipped = out.toByteArray();
+            }
+        }
+        return new Asset(content, gzipped, contentType, tag(content), modified);
+    }
+
+    private String relativeName(Path file) {
+        Path relative = root.relativize(file);
+        StringBuilder name = new StringBuilder();
+        for (Path part : relative) {
+            if (name.length() > 0) {
+                name.append('/');
+            }
+            name.append(part.toString());
+        }
+        return name.toString();
+    }
+
+    private void registerDirectories(WatchService service) throws IOException {
+        List<Path> directories;
+        try (Stream<Path> paths = Files.walk(root)) {
+            directories = paths.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+        // Registering a directory again returns its existing key
+        for (Path directory : directories) {
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        }
+    }
+
+    private void watchLoop(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Thread.sleep(RELOAD_DELAY_MILLIS);
+                do {
+                    key.pollEvents();
+                    key.reset();
+                } while ((key = service.poll()) != null);
+
+                try {
+                    registerDirectories(service);
+                    reload();
+                } catch (IOException e) {
+                    // A file may be half written; the next change triggers another reload
+                    logger.warn("Failed to reload static assets from {}", root, e);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Stopped watching {}", root);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static FileSystem openJar(URI uri) throws IOException {
+        try {
+            return FileSystems.newFileSystem(uri, Collections.emptyMap());
+        } catch (FileSystemAlreadyExistsException e) {
+            return FileSystems.getFileSystem(uri);
+        }
+    }
+
+    private static String contentType(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return CONTENT_TYPES.getOrDefault(extension, DEFAULT_CONTENT_TYPE);
+    }
+
+    /**
+     * Builds a strong entity tag from a hash of the content, so an unchanged file
+     * keeps its tag across restarts and redeployments.
+     */
+    private static String tag(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String httpDate(long epochSeconds) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                Instant.ofEpochSecond(epochSeconds).atZone(ZoneOffset.UTC));
+    }
+
+    /**
+     * A cached file.
+     */
+    private static final class Asset {
+
+        private final byte[] content;
+        private final byte[] gzipped;
+        private final String contentType;
+        private final String tag;
+        private final long lastModifiedSeconds;
+        private final String lastModified;
+
+        private Asset(byte[] content, byte[] gzipped, String contentType, String tag, long lastModifiedSeconds) {
+            this.content = content;
+            this.gzipped = gzipped;
+            this.contentType = contentType;
+            this.tag = tag;
+            this.lastModifiedSeconds = lastModifiedSeconds;
+            this.lastModified = httpDate(lastModifiedSeconds);
+        }
+    }
+}
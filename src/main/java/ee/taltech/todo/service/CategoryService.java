@@ -86,4 +86,13 @@ public interface CategoryService {
      * @return Total number of categories
      */
     long getTotalCount();
+
+    /**
+     * Gets a version that changes whenever the category list changes.
+     * Reading it does not touch the categories.
+     *
+     * @return The version of the category collection
+     * @see ee.taltech.todo.repository.Repository#getCollectionVersion()
+     */
+    long getCollectionVersion();
 }
@@ -1,16 +1,21 @@
 package ee.taltech.todo.service;
 
+import ee.taltech.todo.event.ChangeEvent;
+import ee.taltech.todo.event.ChangeEventBus;
 import ee.taltech.todo.exception.CategoryNotFoundException;
 import ee.taltech.todo.exception.DuplicateEntityException;
+import ee.taltech.todo.exception.DuplicateKeyException;
 import ee.taltech.todo.exception.ValidationException;
 import ee.taltech.todo.model.Category;
 import ee.taltech.todo.repository.CategoryRepository;
+import ee.taltech.todo.util.SampledLogger;
 import ee.taltech.todo.validator.CategoryValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Implementation of CategoryService interface.
@@ -21,6 +26,7 @@ import java.util.Objects;
  * Design Patterns:
  * - Composition: Service has-a Repository
  * - Strategy Pattern: Uses CategoryValidator for validation
+ * - Observer Pattern: Publishes every successful change to a ChangeEventBus
  *
  * @author ToDo Application
  * @version 1.0
@@ -29,6 +35,11 @@ public class CategoryServiceImpl implements CategoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(CategoryServiceImpl.class);
 
+    /**
+     * Logger for messages written on every call, limited under load.
+     */
+    private static final SampledLogger sampledLogger = SampledLogger.of(logger);
+
     /**
      * Composition: CategoryService HAS-A CategoryRepository.
      */
@@ -39,21 +50,37 @@ public class CategoryServiceImpl implements CategoryService {
      */
     private final CategoryValidator categoryValidator;
 
+    /**
+     * Bus every successful change is published to.
+     */
+    private final ChangeEventBus events;
+
     /**
      * Constructor with dependency injection.
      *
      * @param categoryRepository The category repository
      */
     public CategoryServiceImpl(CategoryRepository categoryRepository) {
+        this(categoryRepository, new ChangeEventBus());
+    }
+
+    /**
+     * Constructor with dependency injection and a shared change event bus.
+     *
+     * @param categoryRepository The category repository
+     * @param events             The bus to publish category changes to
+     */
+    public CategoryServiceImpl(CategoryRepository categoryRepository, ChangeEventBus events) {
         this.categoryRepository = Objects.requireNonNull(categoryRepository,
                 "CategoryRepository cannot be null");
+        this.events = Objects.requireNonNull(events, "ChangeEventBus cannot be null");
         this.categoryValidator = new CategoryValidator();
         logger.info("CategoryServiceImpl initialized");
     }
 
     @Override
     public Category createCategory(Category category) throws ValidationException, DuplicateEntityException {
-        logger.debug("Creating new category: {}", category != null ? category.getName() : "null");
+        sampledLogger.debug("Creating new category: {}", category != null ? category.getName() : "null");
 
         validateCategory(category);
 
@@ -63,8 +90,9 @@ public class CategoryServiceImpl implements CategoryService {
             throw DuplicateEntityException.forEntity("Category", category.getName());
         }
 
-        Category savedCategory = categoryRepository.save(category);
-        logger.info("Category created successfully: ID={}, Name={}", savedCategory.getId(), savedCategory.getName());
+        Category savedCategory = saveUnique(category);
+        sampledLogger.info("Category created successfully: ID={}, Name={}",
+                savedCategory.getId(), savedCategory.getName());
 
         return savedCategory;
     }
@@ -72,7 +100,7 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     public Category updateCategory(Category category)
             throws CategoryNotFoundException, ValidationException, DuplicateEntityException {
-        logger.debug("Updating category: {}", category != null ? category.getId() : "null");
+        sampledLogger.debug("Updating category: {}", category != null ? category.getId() : "null");
 
         validateCategory(category);
 
@@ -83,17 +111,14 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         // Check for duplicate name (excluding current category)
-        categoryRepository.findByName(category.getName()).ifPresent(existing -> {
-            if (!existing.getId().equals(category.getId())) {
-                logger.warn("Attempted to update category to duplicate name: {}", category.getName());
-                throw new RuntimeException(
-                        new DuplicateEntityException("Category name already exists: " + category.getName())
-                );
-            }
-        });
-
-        Category updatedCategory = categoryRepository.save(category);
-        logger.info("Category updated successfully: ID={}, Name={}",
+        Optional<Category> existing = categoryRepository.findByName(category.getName());
+        if (existing.isPresent() && !existing.get().getId().equals(category.getId())) {
+            logger.warn("Attempted to update category to duplicate name: {}", category.getName());
+            throw DuplicateEntityException.forEntity("Category", category.getName());
+        }
+
+        Category updatedCategory = saveUnique(category);
+        sampledLogger.info("Category updated successfully: ID={}, Name={}",
                 updatedCategory.getId(), updatedCategory.getName());
 
         return updatedCategory;
@@ -101,7 +126,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public Category getCategoryById(String id) throws CategoryNotFoundException {
-        logger.debug("Fetching category by ID: {}", id);
+        sampledLogger.debug("Fetching category by ID: {}", id);
 
         if (id == null || id.trim().isEmpty()) {
             logger.error("getCategoryById called with null or empty ID");
@@ -117,7 +142,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public Category getCategoryByName(String name) throws CategoryNotFoundException {
-        logger.debug("Fetching category by name: {}", name);
+        sampledLogger.debug("Fetching category by name: {}", name);
 
         if (name == null || name.trim().isEmpty()) {
             logger.error("getCategoryByName called with null or empty name");
@@ -133,15 +158,15 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public List<Category> getAllCategories() {
-        logger.debug("Fetching all categories");
+        sampledLogger.debug("Fetching all categories");
         List<Category> categories = categoryRepository.findAll();
-        logger.debug("Retrieved {} categories", categories.size());
+        sampledLogger.debug("Retrieved {} categories", categories.size());
         return categories;
     }
 
     @Override
     public void deleteCategory(String id) throws CategoryNotFoundException {
-        logger.debug("Deleting category: {}", id);
+        sampledLogger.debug("Deleting category: {}", id);
 
         if (id == null || id.trim().isEmpty()) {
             logger.error("deleteCategory called with null or empty ID");
@@ -154,13 +179,15 @@ public class CategoryServiceImpl implements CategoryService {
             throw CategoryNotFoundException.forId(id);
         }
 
-        categoryRepository.deleteById(id);
-        logger.info("Category deleted successfully: {}", id);
+        if (categoryRepository.deleteById(id)) {
+            events.publish(ChangeEvent.deleted(ChangeEvent.EntityType.CATEGORY, id));
+        }
+        sampledLogger.info("Category deleted successfully: {}", id);
     }
 
     @Override
     public boolean existsByName(String name) {
-        logger.debug("Checking if category exists by name: {}", name);
+        sampledLogger.debug("Checking if category exists by name: {}", name);
 
         if (name == null || name.trim().isEmpty()) {
             logger.warn("existsByName called with null or empty name");
@@ -168,18 +195,43 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         boolean exists = categoryRepository.existsByName(name);
-        logger.debug("Category exists with name '{}': {}", name, exists);
+        sampledLogger.debug("Category exists with name '{}': {}", name, exists);
         return exists;
     }
 
     @Override
     public long getTotalCount() {
-        logger.debug("Getting total category count");
+        sampledLogger.debug("Getting total category count");
         long count = categoryRepository.count();
-        logger.debug("Total category count: {}", count);
+        sampledLogger.debug("Total category count: {}", count);
         return count;
     }
 
+    @Override
+    public long getCollectionVersion() {
+        return categoryRepository.getCollectionVersion();
+    }
+
+    /**
+     * Saves a category, translating the repository's atomic unique-name check
+     * into a DuplicateEntityException. The existsByName/findByName checks above
+     * give a cheap early answer; this one also covers concurrent requests.
+     *
+     * @param category The category to save
+     * @return The saved category
+     * @throws DuplicateEntityException if another category already uses the name
+     */
+    private Category saveUnique(Category category) throws DuplicateEntityException {
+        try {
+            Category saved = categoryRepository.save(category);
+            events.publish(ChangeEvent.saved(ChangeEvent.EntityType.CATEGORY, saved));
+            return saved;
+        } catch (DuplicateKeyException e) {
+            logger.warn("Concurrent duplicate category name rejected: {}", category.getName());
+            throw DuplicateEntityException.forEntity("Category", category.getName());
+        }
+    }
+
     /**
      * Validates a category before saving or updating.
      * Uses CategoryValidator (Strategy Pattern) for validation.
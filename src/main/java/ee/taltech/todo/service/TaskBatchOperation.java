@@ -0,0 +1,134 @@
+package ee.taltech.todo.service;
+
+import ee.taltech.todo.model.Task;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * One operation of a task batch, see {@link TaskService#applyBatch}.
+ *
+ * Instances are created with the static factory methods, one per operation type.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class TaskBatchOperation {
+
+    /**
+     * Kinds of batch operations.
+     */
+    public enum Type {
+        CREATE,
+        UPDATE,
+        COMPLETE,
+        DELETE
+    }
+
+    private final Type type;
+    private final String taskId;
+    private final Task task;
+    private final long expectedVersion;
+    private final String categoryId;
+    private final Consumer<Task> changes;
+
+    private TaskBatchOperation(Type type, String taskId, Task task, long expectedVersion, String categoryId,
+                               Consumer<Task> changes) {
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+        this.expectedVersion = expectedVersion;
+        this.categoryId = categoryId;
+        this.changes = changes;
+    }
+
+    /**
+     * Creates an operation storing a new task.
+     *
+     * @param task       The new task (not stored yet)
+     * @param categoryId ID of a category to assign, or null for none
+     * @return The operation
+     */
+    public static TaskBatchOperation create(Task task, String categoryId) {
+        Objects.requireNonNull(task, "Task cannot be null");
+        return new TaskBatchOperation(Type.CREATE, task.getId(), task, TaskService.ANY_VERSION, categoryId, null);
+    }
+
+    /**
+     * Creates an operation changing a stored task, with the same semantics as
+     * {@link TaskService#updateTask(String, long, String, Consumer)}.
+     *
+     * @param taskId          The task ID
+     * @param expectedVersion The version the caller last saw, or {@link TaskService#ANY_VERSION}
+     * @param categoryId      ID of a category to assign, or null to keep the current one
+     * @param changes         Changes to the task's own fields
+     * @return The operation
+     */
+    public static TaskBatchOperation update(String taskId, long expectedVersion, String categoryId,
+                                            Consumer<Task> changes) {
+        return new TaskBatchOperation(Type.UPDATE, requireId(taskId), null, expectedVersion, categoryId,
+                Objects.requireNonNull(changes, "Changes cannot be null"));
+    }
+
+    /**
+     * Creates an operation marking a stored task as completed.
+     *
+     * @param taskId The task ID
+     * @return The operation
+     */
+    public static TaskBatchOperation complete(String taskId) {
+        return new TaskBatchOperation(Type.COMPLETE, requireId(taskId), null, TaskService.ANY_VERSION, null,
+                Task::complete);
+    }
+
+    /**
+     * Creates an operation deleting a stored task.
+     *
+     * @param taskId The task ID
+     * @return The operation
+     */
+    public static TaskBatchOperation delete(String taskId) {
+        return new TaskBatchOperation(Type.DELETE, requireId(taskId), null, TaskService.ANY_VERSION, null, null);
+    }
+
+    private static String requireId(String taskId) {
+        if (taskId == null || taskId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Task ID cannot be null or empty");
+        }
+        return taskId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Gets the new task of a {@link Type#CREATE} operation.
+     *
+     * @return The new task, null for other types
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public String getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Gets the changes of an {@link Type#UPDATE} or {@link Type#COMPLETE} operation.
+     *
+     * @return The changes, null for other types
+     */
+    public Consumer<Task> getChanges() {
+        return changes;
+    }
+}
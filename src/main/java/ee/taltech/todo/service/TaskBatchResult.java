@@ -0,0 +1,123 @@
+package ee.taltech.todo.service;
+
+import ee.taltech.todo.model.Task;
+
+/**
+ * Result of one operation of a task batch, see {@link TaskService#applyBatch}.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class TaskBatchResult {
+
+    /**
+     * How an operation ended.
+     */
+    public enum Outcome {
+        CREATED(true),
+        UPDATED(true),
+        DELETED(true),
+        /** The resulting task failed validation. */
+        INVALID(false),
+        /** The task, or the category to assign, does not exist. */
+        NOT_FOUND(false),
+        /** The stored task does not have the expected version. */
+        STALE_VERSION(false),
+        /** The task ID is taken, or already used by an earlier operation of the batch. */
+        CONFLICT(false);
+
+        private final boolean success;
+
+        Outcome(boolean success) {
+            this.success = success;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+    }
+
+    private final Outcome outcome;
+    private final String taskId;
+    private final Task task;
+    private final String error;
+
+    private TaskBatchResult(Outcome outcome, String taskId, Task task, String error) {
+        this.outcome = outcome;
+        this.taskId = taskId;
+        this.task = task;
+        this.error = error;
+    }
+
+    /**
+     * Creates the result of an operation that stored a task.
+     *
+     * @param outcome {@link Outcome#CREATED} or {@link Outcome#UPDATED}
+     * @param task    The task as stored
+     * @return The result
+     */
+    static TaskBatchResult stored(Outcome outcome, Task task) {
+        return new TaskBatchResult(outcome, task.getId(), task, null);
+    }
+
+    /**
+     * Creates the result of an operation that deleted a task.
+     *
+     * @param taskId The deleted task's ID
+     * @return The result
+     */
+    static TaskBatchResult deleted(String taskId) {
+        return new TaskBatchResult(Outcome.DELETED, taskId, null, null);
+    }
+
+    /**
+     * Creates the result of a failed operation.
+     *
+     * @param outcome Why it failed
+     * @param taskId  The task ID the operation was for
+     * @param error   Error message
+     * @return The result
+     */
+    static TaskBatchResult failed(Outcome outcome, String taskId, String error) {
+        return new TaskBatchResult(outcome, taskId, null, error);
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isSuccess() {
+        return outcome.isSuccess();
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Gets the task as stored by a create or update.
+     *
+     * @return The task, null for deletes and failures
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Gets the error message of a failed operation.
+     *
+     * @return The message, null on success
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskBatchResult{" +
+                "outcome=" + outcome +
+                ", taskId='" + taskId + '\'' +
+                (error != null ? ", error='" + error + '\'' : "") +
+                '}';
+    }
+}
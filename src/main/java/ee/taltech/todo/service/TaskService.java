@@ -5,9 +5,14 @@ import ee.taltech.todo.exception.ValidationException;
 import ee.taltech.todo.model.Task;
 import ee.taltech.todo.model.TaskPriority;
 import ee.taltech.todo.model.TaskStatus;
+import ee.taltech.todo.repository.PageRequest;
+import ee.taltech.todo.repository.TaskPage;
+import ee.taltech.todo.repository.TaskQuery;
+import ee.taltech.todo.repository.TaskStats;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for task business logic operations.
@@ -20,6 +25,17 @@ import java.util.List;
  */
 public interface TaskService {
 
+    /**
+     * Expected version meaning "whatever is stored": the change is retried on
+     * conflicting writes instead of failing.
+     */
+    long ANY_VERSION = -1;
+
+    /**
+     * Largest number of operations {@link #applyBatch} accepts in one call.
+     */
+    int MAX_BATCH_SIZE = 1000;
+
     /**
      * Creates a new task.
      *
@@ -36,9 +52,56 @@ public interface TaskService {
      * @return The updated task
      * @throws TaskNotFoundException if task doesn't exist
      * @throws ValidationException   if task validation fails
+     * @throws ee.taltech.todo.exception.OptimisticLockException if the task's
+     *         version is no longer the stored version
+     * @deprecated Replaces the whole stored task with a caller-built one. Use
+     *             {@link #updateTask(String, long, String, Consumer)}, which applies
+     *             the changes to a copy of the stored task as one compare-and-swap write.
      */
+    @Deprecated
     Task updateTask(Task task) throws TaskNotFoundException, ValidationException;
 
+    /**
+     * Applies changes to a task as one compare-and-swap write.
+     *
+     * The changes are made to a private copy of the stored task, so readers never
+     * see a half-applied update. With an expected version, the write fails if the
+     * stored task has any other version. With {@link #ANY_VERSION}, a conflicting
+     * write makes it re-read the task and apply the changes again.
+     *
+     * @param id              The task ID
+     * @param expectedVersion The version the caller last saw, or {@link #ANY_VERSION}
+     * @param categoryId      ID of a category to assign, or null to keep the current one
+     * @param changes         Changes to the task's own fields
+     * @return The updated task
+     * @throws TaskNotFoundException if the task or category doesn't exist
+     * @throws ValidationException   if the changed task is invalid
+     * @throws ee.taltech.todo.exception.OptimisticLockException if the stored
+     *         version is not the expected version
+     */
+    Task updateTask(String id, long expectedVersion, String categoryId, Consumer<Task> changes)
+            throws TaskNotFoundException, ValidationException;
+
+    /**
+     * Applies a batch of create, update, complete and delete operations.
+     *
+     * All operations are prepared and validated in one pass, then the resulting
+     * tasks are written with one bulk save and one bulk delete. Each operation
+     * succeeds or fails on its own; a failed one is reported in its result and
+     * does not stop the others. The batch as a whole is not atomic.
+     *
+     * Each task ID may appear in only one operation of a batch; later operations
+     * on the same ID fail with {@link TaskBatchResult.Outcome#CONFLICT}. Updates
+     * without an expected version, and completions, that lose a race with
+     * another writer are retried one by one.
+     *
+     * @param operations The operations, at most {@link #MAX_BATCH_SIZE}
+     * @return One result per operation, in the same order
+     * @throws IllegalArgumentException if operations is null, empty, too large
+     *                                  or contains null
+     */
+    List<TaskBatchResult> applyBatch(List<TaskBatchOperation> operations);
+
     /**
      * Finds a task by its ID.
      *
@@ -55,6 +118,31 @@ public interface TaskService {
      */
     List<Task> getAllTasks();
 
+    /**
+     * Retrieves one page of all tasks in the requested order.
+     *
+     * @param page The page request
+     * @return The page, with the cursor of the next page if there is one
+     */
+    TaskPage getTaskPage(PageRequest page);
+
+    /**
+     * Retrieves all tasks matching a query.
+     *
+     * @param query The query
+     * @return List of matching tasks
+     */
+    List<Task> getTasks(TaskQuery query);
+
+    /**
+     * Retrieves one page of the tasks matching a query.
+     *
+     * @param query The query
+     * @param page  The page request
+     * @return The page, with the cursor of the next page if there is one
+     */
+    TaskPage getTaskPage(TaskQuery query, PageRequest page);
+
     /**
      * Deletes a task by its ID.
      *
@@ -168,9 +256,10 @@ public interface TaskService {
     List<Task> getOverdueTasks();
 
     /**
-     * Searches tasks by title keyword.
+     * Searches tasks by words in their title or description.
+     * Every word is matched as a case-insensitive prefix and all words must match.
      *
-     * @param keyword The search keyword
+     * @param keyword The search query
      * @return List of matching tasks
      */
     List<Task> searchTasks(String keyword);
@@ -183,10 +272,36 @@ public interface TaskService {
      */
     long countByStatus(TaskStatus status);
 
+    /**
+     * Gets count of tasks in a category.
+     *
+     * @param categoryId The category ID
+     * @return Number of tasks in that category
+     */
+    long countByCategory(String categoryId);
+
     /**
      * Gets total task count.
      *
      * @return Total number of tasks
      */
     long getTotalCount();
+
+    /**
+     * Gets task counts in total, per status, per priority, per category,
+     * starred and overdue.
+     *
+     * @return The statistics
+     */
+    TaskStats getStats();
+
+    /**
+     * Gets a version that changes whenever any task list response could change:
+     * it covers the tasks and, as tasks show their category's name, the categories.
+     * Reading it does not touch the tasks.
+     *
+     * @return The version of the task collection
+     * @see ee.taltech.todo.repository.Repository#getCollectionVersion()
+     */
+    long getCollectionVersion();
 }
@@ -1,5 +1,8 @@
 package ee.taltech.todo.service;
 
+import ee.taltech.todo.event.ChangeEvent;
+import ee.taltech.todo.event.ChangeEventBus;
+import ee.taltech.todo.exception.OptimisticLockException;
 import ee.taltech.todo.exception.TaskNotFoundException;
 import ee.taltech.todo.exception.ValidationException;
 import ee.taltech.todo.model.Category;
@@ -7,14 +10,27 @@ import ee.taltech.todo.model.Task;
 import ee.taltech.todo.model.TaskPriority;
 import ee.taltech.todo.model.TaskStatus;
 import ee.taltech.todo.repository.CategoryRepository;
+import ee.taltech.todo.repository.PageRequest;
+import ee.taltech.todo.repository.TaskPage;
+import ee.taltech.todo.repository.TaskQuery;
 import ee.taltech.todo.repository.TaskRepository;
+import ee.taltech.todo.repository.TaskStats;
+import ee.taltech.todo.util.SampledLogger;
 import ee.taltech.todo.validator.TaskValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Implementation of TaskService interface.
@@ -26,6 +42,7 @@ import java.util.Objects;
  * - Composition: Service has-a Repository
  * - Dependency Injection: Repositories injected via constructor
  * - Strategy Pattern: Uses TaskValidator for validation
+ * - Observer Pattern: Publishes every successful change to a ChangeEventBus
  *
  * @author ToDo Application
  * @version 1.0
@@ -34,6 +51,11 @@ public class TaskServiceImpl implements TaskService {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
 
+    /**
+     * Logger for messages written on every call, limited under load.
+     */
+    private static final SampledLogger sampledLogger = SampledLogger.of(logger);
+
     /**
      * Composition: TaskService HAS-A TaskRepository.
      */
@@ -49,6 +71,11 @@ public class TaskServiceImpl implements TaskService {
      */
     private final TaskValidator taskValidator;
 
+    /**
+     * Bus every successful change is published to.
+     */
+    private final ChangeEventBus events;
+
     /**
      * Constructor with dependency injection.
      *
@@ -56,27 +83,42 @@ public class TaskServiceImpl implements TaskService {
      * @param categoryRepository The category repository
      */
     public TaskServiceImpl(TaskRepository taskRepository, CategoryRepository categoryRepository) {
+        this(taskRepository, categoryRepository, new ChangeEventBus());
+    }
+
+    /**
+     * Constructor with dependency injection and a shared change event bus.
+     *
+     * @param taskRepository     The task repository
+     * @param categoryRepository The category repository
+     * @param events             The bus to publish task changes to
+     */
+    public TaskServiceImpl(TaskRepository taskRepository, CategoryRepository categoryRepository,
+                           ChangeEventBus events) {
         this.taskRepository = Objects.requireNonNull(taskRepository, "TaskRepository cannot be null");
         this.categoryRepository = Objects.requireNonNull(categoryRepository, "CategoryRepository cannot be null");
+        this.events = Objects.requireNonNull(events, "ChangeEventBus cannot be null");
         this.taskValidator = new TaskValidator();
         logger.info("TaskServiceImpl initialized");
     }
 
     @Override
     public Task createTask(Task task) throws ValidationException {
-        logger.debug("Creating new task: {}", task != null ? task.getTitle() : "null");
+        sampledLogger.debug("Creating new task: {}", task != null ? task.getTitle() : "null");
 
         validateTask(task);
 
         Task savedTask = taskRepository.save(task);
-        logger.info("Task created successfully: ID={}, Title={}", savedTask.getId(), savedTask.getTitle());
+        publishSaved(savedTask);
+        sampledLogger.info("Task created successfully: ID={}, Title={}", savedTask.getId(), savedTask.getTitle());
 
         return savedTask;
     }
 
     @Override
+    @Deprecated
     public Task updateTask(Task task) throws TaskNotFoundException, ValidationException {
-        logger.debug("Updating task: {}", task != null ? task.getId() : "null");
+        sampledLogger.debug("Updating task: {}", task != null ? task.getId() : "null");
 
         validateTask(task);
 
@@ -87,14 +129,196 @@ public class TaskServiceImpl implements TaskService {
         }
 
         Task updatedTask = taskRepository.save(task);
-        logger.info("Task updated successfully: ID={}, Title={}", updatedTask.getId(), updatedTask.getTitle());
+        publishSaved(updatedTask);
+        sampledLogger.info("Task updated successfully: ID={}, Title={}", updatedTask.getId(), updatedTask.getTitle());
+
+        return updatedTask;
+    }
 
+    @Override
+    public Task updateTask(String id, long expectedVersion, String categoryId, Consumer<Task> changes)
+            throws TaskNotFoundException, ValidationException {
+        sampledLogger.debug("Updating task {} from version {}", id, expectedVersion);
+
+        Category category = categoryId != null ? findCategory(categoryId) : null;
+        Task updatedTask = modify(id, expectedVersion, task -> {
+            changes.accept(task);
+            if (category != null) {
+                task.setCategory(category);
+            }
+            validateTask(task);
+        });
+        publishSaved(updatedTask);
+
+        if (sampledLogger.isInfoEnabled()) {
+            sampledLogger.info("Task updated successfully: ID={}, Title={}, Version={}",
+                    updatedTask.getId(), updatedTask.getTitle(), updatedTask.getVersion());
+        }
         return updatedTask;
     }
 
+    @Override
+    public List<TaskBatchResult> applyBatch(List<TaskBatchOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            logger.error("applyBatch called with null or empty operations");
+            throw new IllegalArgumentException("Batch must contain at least one operation");
+        }
+        if (operations.size() > MAX_BATCH_SIZE) {
+            logger.error("applyBatch called with {} operations", operations.size());
+            throw new IllegalArgumentException("Batch cannot contain more than " + MAX_BATCH_SIZE + " operations");
+        }
+        for (TaskBatchOperation operation : operations) {
+            if (operation == null) {
+                logger.error("applyBatch called with a null operation");
+                throw new IllegalArgumentException("Batch operations cannot be null");
+            }
+        }
+
+        sampledLogger.debug("Applying batch of {} operations", operations.size());
+        TaskBatchResult[] results = new TaskBatchResult[operations.size()];
+        Map<String, Optional<Category>> categories = new HashMap<>();
+        Set<String> seenIds = new HashSet<>();
+        List<Task> saves = new ArrayList<>();
+        List<Integer> saveIndexes = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        List<Integer> deleteIndexes = new ArrayList<>();
+
+        // One pass preparing and validating every operation, without writing anything
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            String id = operation.getTaskId();
+            if (!seenIds.add(id)) {
+                results[i] = TaskBatchResult.failed(TaskBatchResult.Outcome.CONFLICT, id,
+                        "Task " + id + " appears more than once in the batch");
+            } else if (operation.getType() == TaskBatchOperation.Type.DELETE) {
+                deletes.add(id);
+                deleteIndexes.add(i);
+            } else {
+                try {
+                    Task task = prepare(operation, categories);
+                    List<String> errors = taskValidator.getValidationErrors(task);
+                    if (errors.isEmpty()) {
+                        saves.add(task);
+                        saveIndexes.add(i);
+                    } else {
+                        results[i] = TaskBatchResult.failed(TaskBatchResult.Outcome.INVALID, id,
+                                String.join("; ", errors));
+                    }
+                } catch (TaskNotFoundException e) {
+                    results[i] = TaskBatchResult.failed(TaskBatchResult.Outcome.NOT_FOUND, id, e.getMessage());
+                } catch (OptimisticLockException e) {
+                    results[i] = TaskBatchResult.failed(TaskBatchResult.Outcome.STALE_VERSION, id, e.getMessage());
+                }
+            }
+        }
+
+        // One bulk save and one bulk delete
+        List<Task> saved = saves.isEmpty() ? List.of() : taskRepository.saveAll(saves);
+        for (int j = 0; j < saved.size(); j++) {
+            int i = saveIndexes.get(j);
+            results[i] = saved.get(j) != null
+                    ? TaskBatchResult.stored(outcomeOf(operations.get(i)), saved.get(j))
+                    : rejected(operations.get(i), saves.get(j));
+        }
+        Set<String> deleted = deletes.isEmpty() ? Set.of() : taskRepository.deleteAllById(deletes);
+        for (int j = 0; j < deletes.size(); j++) {
+            String id = deletes.get(j);
+            results[deleteIndexes.get(j)] = deleted.contains(id)
+                    ? TaskBatchResult.deleted(id)
+                    : TaskBatchResult.failed(TaskBatchResult.Outcome.NOT_FOUND, id, "Task not found with ID: " + id);
+        }
+
+        int failed = 0;
+        for (TaskBatchResult result : results) {
+            if (result.getOutcome() == TaskBatchResult.Outcome.DELETED) {
+                events.publish(ChangeEvent.deleted(ChangeEvent.EntityType.TASK, result.getTaskId()));
+            } else if (result.isSuccess()) {
+                publishSaved(result.getTask());
+            } else {
+                failed++;
+            }
+        }
+        if (sampledLogger.isInfoEnabled()) {
+            sampledLogger.info("Applied batch of {} operations: {} succeeded, {} failed",
+                    results.length, results.length - failed, failed);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Builds the task an operation would store, from a copy of the stored task
+     * for updates and completions.
+     */
+    private Task prepare(TaskBatchOperation operation, Map<String, Optional<Category>> categories)
+            throws TaskNotFoundException {
+        Task task;
+        if (operation.getType() == TaskBatchOperation.Type.CREATE) {
+            task = operation.getTask();
+        } else {
+            String id = operation.getTaskId();
+            Task current = taskRepository.findById(id).orElseThrow(() -> TaskNotFoundException.forId(id));
+            long expectedVersion = operation.getExpectedVersion();
+            if (expectedVersion != ANY_VERSION && current.getVersion() != expectedVersion) {
+                throw OptimisticLockException.forVersion("Task", id, expectedVersion, current.getVersion());
+            }
+            task = current.copy();
+            operation.getChanges().accept(task);
+        }
+
+        String categoryId = operation.getCategoryId();
+        if (categoryId != null) {
+            // Each category is looked up once per batch
+            Category category = categories.computeIfAbsent(categoryId, categoryRepository::findById)
+                    .orElseThrow(() -> new TaskNotFoundException("Category not found with ID: " + categoryId));
+            task.setCategory(category);
+        }
+        return task;
+    }
+
+    /**
+     * Builds the result of an operation whose save was rejected because the
+     * stored version changed after it was read.
+     */
+    private TaskBatchResult rejected(TaskBatchOperation operation, Task task) {
+        String id = operation.getTaskId();
+        if (operation.getType() == TaskBatchOperation.Type.CREATE) {
+            return TaskBatchResult.failed(TaskBatchResult.Outcome.CONFLICT, id, "Task ID is already taken: " + id);
+        }
+        if (operation.getExpectedVersion() != ANY_VERSION) {
+            long stored = taskRepository.findById(id).map(Task::getVersion).orElse(0L);
+            return TaskBatchResult.failed(TaskBatchResult.Outcome.STALE_VERSION, id,
+                    OptimisticLockException.forVersion("Task", id, operation.getExpectedVersion(), stored)
+                            .getMessage());
+        }
+
+        // Lost a race with another writer: apply it again on its own
+        sampledLogger.debug("Retrying batch update of task {} after a concurrent write", id);
+        Category category = task.getCategory();
+        try {
+            Task updated = modify(id, ANY_VERSION, copy -> {
+                operation.getChanges().accept(copy);
+                if (operation.getCategoryId() != null) {
+                    copy.setCategory(category);
+                }
+                validateTask(copy);
+            });
+            return TaskBatchResult.stored(TaskBatchResult.Outcome.UPDATED, updated);
+        } catch (TaskNotFoundException e) {
+            return TaskBatchResult.failed(TaskBatchResult.Outcome.NOT_FOUND, id, e.getMessage());
+        } catch (ValidationException e) {
+            return TaskBatchResult.failed(TaskBatchResult.Outcome.INVALID, id, e.getMessage());
+        }
+    }
+
+    private static TaskBatchResult.Outcome outcomeOf(TaskBatchOperation operation) {
+        return operation.getType() == TaskBatchOperation.Type.CREATE
+                ? TaskBatchResult.Outcome.CREATED
+                : TaskBatchResult.Outcome.UPDATED;
+    }
+
     @Override
     public Task getTaskById(String id) throws TaskNotFoundException {
-        logger.debug("Fetching task by ID: {}", id);
+        sampledLogger.debug("Fetching task by ID: {}", id);
 
         if (id == null || id.trim().isEmpty()) {
             logger.error("getTaskById called with null or empty ID");
@@ -110,15 +334,35 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public List<Task> getAllTasks() {
-        logger.debug("Fetching all tasks");
+        sampledLogger.debug("Fetching all tasks");
         List<Task> tasks = taskRepository.findAll();
-        logger.debug("Retrieved {} tasks", tasks.size());
+        sampledLogger.debug("Retrieved {} tasks", tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public TaskPage getTaskPage(PageRequest page) {
+        sampledLogger.debug("Fetching task page {}", page);
+        return taskRepository.findPage(page);
+    }
+
+    @Override
+    public List<Task> getTasks(TaskQuery query) {
+        sampledLogger.debug("Fetching tasks for {}", query);
+        List<Task> tasks = taskRepository.find(query);
+        sampledLogger.debug("Found {} tasks for {}", tasks.size(), query);
         return tasks;
     }
 
+    @Override
+    public TaskPage getTaskPage(TaskQuery query, PageRequest page) {
+        sampledLogger.debug("Fetching task page {} for {}", page, query);
+        return taskRepository.findPage(query, page);
+    }
+
     @Override
     public void deleteTask(String id) throws TaskNotFoundException {
-        logger.debug("Deleting task: {}", id);
+        sampledLogger.debug("Deleting task: {}", id);
 
         if (id == null || id.trim().isEmpty()) {
             logger.error("deleteTask called with null or empty ID");
@@ -131,90 +375,81 @@ public class TaskServiceImpl implements TaskService {
             throw TaskNotFoundException.forId(id);
         }
 
-        taskRepository.deleteById(id);
-        logger.info("Task deleted successfully: {}", id);
+        if (taskRepository.deleteById(id)) {
+            events.publish(ChangeEvent.deleted(ChangeEvent.EntityType.TASK, id));
+        }
+        sampledLogger.info("Task deleted successfully: {}", id);
     }
 
     @Override
     public Task completeTask(String id) throws TaskNotFoundException {
-        logger.debug("Completing task: {}", id);
+        sampledLogger.debug("Completing task: {}", id);
 
-        Task task = getTaskById(id);
-        task.complete();
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = change(id, Task::complete);
 
-        logger.info("Task completed: ID={}, Title={}", updatedTask.getId(), updatedTask.getTitle());
+        sampledLogger.info("Task completed: ID={}, Title={}", updatedTask.getId(), updatedTask.getTitle());
         return updatedTask;
     }
 
     @Override
     public Task startTask(String id) throws TaskNotFoundException {
-        logger.debug("Starting task: {}", id);
+        sampledLogger.debug("Starting task: {}", id);
 
-        Task task = getTaskById(id);
-        task.start();
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = change(id, Task::start);
 
-        logger.info("Task started: ID={}, Title={}", updatedTask.getId(), updatedTask.getTitle());
+        sampledLogger.info("Task started: ID={}, Title={}", updatedTask.getId(), updatedTask.getTitle());
         return updatedTask;
     }
 
     @Override
     public Task cancelTask(String id) throws TaskNotFoundException {
-        logger.debug("Cancelling task: {}", id);
+        sampledLogger.debug("Cancelling task: {}", id);
 
-        Task task = getTaskById(id);
-        task.cancel();
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = change(id, Task::cancel);
 
-        logger.info("Task cancelled: ID={}, Title={}", updatedTask.getId(), updatedTask.getTitle());
+        sampledLogger.info("Task cancelled: ID={}, Title={}", updatedTask.getId(), updatedTask.getTitle());
         return updatedTask;
     }
 
     @Override
     public Task toggleStarred(String id) throws TaskNotFoundException {
-        logger.debug("Toggling starred status for task: {}", id);
+        sampledLogger.debug("Toggling starred status for task: {}", id);
 
-        Task task = getTaskById(id);
-        task.toggleStarred();
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = change(id, Task::toggleStarred);
 
-        logger.info("Task starred status toggled: ID={}, Starred={}", updatedTask.getId(), updatedTask.isStarred());
+        sampledLogger.info("Task starred status toggled: ID={}, Starred={}",
+                updatedTask.getId(), updatedTask.isStarred());
         return updatedTask;
     }
 
     @Override
     public Task setPriority(String id, TaskPriority priority) throws TaskNotFoundException {
-        logger.debug("Setting priority for task {}: {}", id, priority);
+        sampledLogger.debug("Setting priority for task {}: {}", id, priority);
 
         if (priority == null) {
             logger.error("setPriority called with null priority");
             throw new IllegalArgumentException("Priority cannot be null");
         }
 
-        Task task = getTaskById(id);
-        task.setPriority(priority);
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = change(id, task -> task.setPriority(priority));
 
-        logger.info("Task priority updated: ID={}, Priority={}", updatedTask.getId(), priority);
+        sampledLogger.info("Task priority updated: ID={}, Priority={}", updatedTask.getId(), priority);
         return updatedTask;
     }
 
     @Override
     public Task setDueDate(String id, LocalDateTime dueDate) throws TaskNotFoundException {
-        logger.debug("Setting due date for task {}: {}", id, dueDate);
+        sampledLogger.debug("Setting due date for task {}: {}", id, dueDate);
 
-        Task task = getTaskById(id);
-        task.setDueDate(dueDate);
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = change(id, task -> task.setDueDate(dueDate));
 
-        logger.info("Task due date updated: ID={}, DueDate={}", updatedTask.getId(), dueDate);
+        sampledLogger.info("Task due date updated: ID={}, DueDate={}", updatedTask.getId(), dueDate);
         return updatedTask;
     }
 
     @Override
     public Task assignCategory(String taskId, String categoryId) throws TaskNotFoundException {
-        logger.debug("Assigning category {} to task {}", categoryId, taskId);
+        sampledLogger.debug("Assigning category {} to task {}", categoryId, taskId);
 
         // Validate inputs
         if (taskId == null || taskId.trim().isEmpty()) {
@@ -227,27 +462,19 @@ public class TaskServiceImpl implements TaskService {
             throw new IllegalArgumentException("Category ID cannot be null or empty");
         }
 
-        // Get task
-        Task task = getTaskById(taskId);
-
-        // Get category
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> {
-                    logger.warn("Category not found: {}", categoryId);
-                    return new TaskNotFoundException("Category not found with ID: " + categoryId);
-                });
-
-        task.setCategory(category);
-        Task updatedTask = taskRepository.save(task);
+        Category category = findCategory(categoryId);
+        Task updatedTask = change(taskId, task -> task.setCategory(category));
 
-        logger.info("Category assigned to task: TaskID={}, CategoryID={}, CategoryName={}",
-                taskId, categoryId, category.getName());
+        if (sampledLogger.isInfoEnabled()) {
+            sampledLogger.info("Category assigned to task: TaskID={}, CategoryID={}, CategoryName={}",
+                    taskId, categoryId, category.getName());
+        }
         return updatedTask;
     }
 
     @Override
     public List<Task> getTasksByStatus(TaskStatus status) {
-        logger.debug("Fetching tasks by status: {}", status);
+        sampledLogger.debug("Fetching tasks by status: {}", status);
 
         if (status == null) {
             logger.warn("getTasksByStatus called with null status, returning all tasks");
@@ -255,13 +482,13 @@ public class TaskServiceImpl implements TaskService {
         }
 
         List<Task> tasks = taskRepository.findByStatus(status);
-        logger.debug("Found {} tasks with status {}", tasks.size(), status);
+        sampledLogger.debug("Found {} tasks with status {}", tasks.size(), status);
         return tasks;
     }
 
     @Override
     public List<Task> getTasksByPriority(TaskPriority priority) {
-        logger.debug("Fetching tasks by priority: {}", priority);
+        sampledLogger.debug("Fetching tasks by priority: {}", priority);
 
         if (priority == null) {
             logger.warn("getTasksByPriority called with null priority, returning all tasks");
@@ -269,82 +496,182 @@ public class TaskServiceImpl implements TaskService {
         }
 
         List<Task> tasks = taskRepository.findByPriority(priority);
-        logger.debug("Found {} tasks with priority {}", tasks.size(), priority);
+        sampledLogger.debug("Found {} tasks with priority {}", tasks.size(), priority);
         return tasks;
     }
 
     @Override
     public List<Task> getTasksByCategory(String categoryId) {
-        logger.debug("Fetching tasks by category: {}", categoryId);
+        sampledLogger.debug("Fetching tasks by category: {}", categoryId);
 
         if (categoryId == null || categoryId.trim().isEmpty()) {
             logger.warn("getTasksByCategory called with null or empty category ID");
             return getAllTasks();
         }
 
-        Category category = categoryRepository.findById(categoryId).orElse(null);
-        if (category == null) {
-            logger.warn("Category not found: {}, returning empty list", categoryId);
-            return List.of();
-        }
-
-        List<Task> tasks = taskRepository.findByCategory(category);
-        logger.debug("Found {} tasks in category {}", tasks.size(), category.getName());
+        List<Task> tasks = taskRepository.findByCategoryId(categoryId);
+        sampledLogger.debug("Found {} tasks in category {}", tasks.size(), categoryId);
         return tasks;
     }
 
     @Override
     public List<Task> getStarredTasks() {
-        logger.debug("Fetching starred tasks");
+        sampledLogger.debug("Fetching starred tasks");
         List<Task> tasks = taskRepository.findStarred();
-        logger.debug("Found {} starred tasks", tasks.size());
+        sampledLogger.debug("Found {} starred tasks", tasks.size());
         return tasks;
     }
 
     @Override
     public List<Task> getOverdueTasks() {
-        logger.debug("Fetching overdue tasks");
+        sampledLogger.debug("Fetching overdue tasks");
         List<Task> tasks = taskRepository.findOverdue();
-        logger.debug("Found {} overdue tasks", tasks.size());
+        sampledLogger.debug("Found {} overdue tasks", tasks.size());
         return tasks;
     }
 
     @Override
     public List<Task> searchTasks(String keyword) {
-        logger.debug("Searching tasks with keyword: {}", keyword);
+        sampledLogger.debug("Searching tasks with keyword: {}", keyword);
 
         if (keyword == null || keyword.trim().isEmpty()) {
             logger.warn("searchTasks called with empty keyword, returning all tasks");
             return getAllTasks();
         }
 
-        List<Task> tasks = taskRepository.searchByTitle(keyword);
-        logger.debug("Found {} tasks matching '{}'", tasks.size(), keyword);
+        List<Task> tasks = taskRepository.search(keyword);
+        sampledLogger.debug("Found {} tasks matching '{}'", tasks.size(), keyword);
         return tasks;
     }
 
     @Override
     public long countByStatus(TaskStatus status) {
-        logger.debug("Counting tasks by status: {}", status);
+        sampledLogger.debug("Counting tasks by status: {}", status);
 
         if (status == null) {
             logger.warn("countByStatus called with null status");
             return 0;
         }
 
-        long count = taskRepository.findByStatus(status).size();
-        logger.debug("Count of tasks with status {}: {}", status, count);
+        long count = taskRepository.countByStatus(status);
+        sampledLogger.debug("Count of tasks with status {}: {}", status, count);
+        return count;
+    }
+
+    @Override
+    public long countByCategory(String categoryId) {
+        sampledLogger.debug("Counting tasks by category: {}", categoryId);
+
+        if (categoryId == null || categoryId.trim().isEmpty()) {
+            logger.warn("countByCategory called with null or empty category ID");
+            return 0;
+        }
+
+        long count = taskRepository.countByCategoryId(categoryId);
+        sampledLogger.debug("Count of tasks in category {}: {}", categoryId, count);
         return count;
     }
 
     @Override
     public long getTotalCount() {
-        logger.debug("Getting total task count");
+        sampledLogger.debug("Getting total task count");
         long count = taskRepository.count();
-        logger.debug("Total task count: {}", count);
+        sampledLogger.debug("Total task count: {}", count);
         return count;
     }
 
+    @Override
+    public TaskStats getStats() {
+        sampledLogger.debug("Getting task statistics");
+        return taskRepository.getStats();
+    }
+
+    /**
+     * Both versions only increase, so their sum changes whenever either does.
+     */
+    @Override
+    public long getCollectionVersion() {
+        return taskRepository.getCollectionVersion() + categoryRepository.getCollectionVersion();
+    }
+
+    /**
+     * Reads a task, applies a change to a copy of it and saves the copy with a
+     * compare-and-swap on the version it was read at. With {@link #ANY_VERSION},
+     * a rejected save is retried on a fresh copy until one goes through; no lock
+     * is held, so a writer only repeats its own change when another write won.
+     *
+     * @param id              The task ID
+     * @param expectedVersion The version the caller last saw, or {@link #ANY_VERSION}
+     * @param change          The change to apply
+     * @return The saved task
+     * @throws TaskNotFoundException     if the task doesn't exist (or was deleted meanwhile)
+     * @throws OptimisticLockException   if the stored version is not the expected version
+     * @throws E                         if the change fails
+     */
+    private <E extends Exception> Task modify(String id, long expectedVersion, TaskChange<E> change)
+            throws TaskNotFoundException, E {
+        while (true) {
+            Task current = getTaskById(id);
+            if (expectedVersion != ANY_VERSION && current.getVersion() != expectedVersion) {
+                logger.warn("Rejected update of task {}: version {} is not the stored version {}",
+                        id, expectedVersion, current.getVersion());
+                throw OptimisticLockException.forVersion("Task", id, expectedVersion, current.getVersion());
+            }
+
+            Task task = current.copy();
+            change.apply(task);
+            try {
+                return taskRepository.save(task);
+            } catch (OptimisticLockException e) {
+                if (expectedVersion != ANY_VERSION) {
+                    throw e;
+                }
+                sampledLogger.debug("Retrying update of task {} after a concurrent write", id);
+            }
+        }
+    }
+
+    /**
+     * Applies a change that cannot fail to the stored task, atomically with
+     * respect to other writers of the same task.
+     */
+    private Task change(String id, Consumer<Task> change) throws TaskNotFoundException {
+        if (id == null || id.trim().isEmpty()) {
+            logger.error("Task change requested with null or empty ID");
+            throw new IllegalArgumentException("Task ID cannot be null or empty");
+        }
+
+        Task updatedTask = taskRepository.update(id, change)
+                .orElseThrow(() -> {
+                    logger.warn("Task not found: {}", id);
+                    return TaskNotFoundException.forId(id);
+                });
+        publishSaved(updatedTask);
+        return updatedTask;
+    }
+
+    private void publishSaved(Task task) {
+        events.publish(ChangeEvent.saved(ChangeEvent.EntityType.TASK, task));
+    }
+
+    private Category findCategory(String categoryId) throws TaskNotFoundException {
+        return categoryRepository.findById(categoryId)
+                .orElseThrow(() -> {
+                    logger.warn("Category not found: {}", categoryId);
+                    return new TaskNotFoundException("Category not found with ID: " + categoryId);
+                });
+    }
+
+    /**
+     * A change to a task that may fail with a checked exception.
+     *
+     * @param <E> The exception the change may throw
+     */
+    @FunctionalInterface
+    private interface TaskChange<E extends Exception> {
+        void apply(Task task) throws E;
+    }
+
     /**
      * Validates a task before saving or updating.
      * Uses TaskValidator (Strategy Pattern) for validation.
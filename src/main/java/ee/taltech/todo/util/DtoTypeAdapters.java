@@ -0,0 +1,394 @@
+package ee.taltech.todo.util;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import ee.taltech.todo.dto.CategoryDTO;
+import ee.taltech.todo.dto.CreateCategoryRequest;
+import ee.taltech.todo.dto.CreateTaskRequest;
+import ee.taltech.todo.dto.TaskDTO;
+import ee.taltech.todo.dto.UpdateTaskRequest;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Hand-written Gson type adapters for the API DTOs.
+ *
+ * They read and write the fields directly through the streaming API instead of
+ * reflecting over them, and encode timestamps with {@link JsonTimestamps}. The JSON
+ * is the same as the reflective adapters produce: fields in declaration order,
+ * null fields omitted (unless the Gson instance serializes nulls), unknown fields
+ * ignored, and unknown enum constants read as null.
+ *
+ * Design Pattern: Adapter
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+final class DtoTypeAdapters {
+
+    private DtoTypeAdapters() {
+    }
+
+    /**
+     * Registers the adapters, and the LocalDateTime adapter for other types.
+     *
+     * @param builder The Gson builder
+     * @return The builder
+     */
+    static GsonBuilder register(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter().nullSafe())
+                .registerTypeAdapter(TaskDTO.class, new TaskDTOAdapter().nullSafe())
+                .registerTypeAdapter(CategoryDTO.class, new CategoryDTOAdapter().nullSafe())
+                .registerTypeAdapter(CreateTaskRequest.class, new CreateTaskRequestAdapter().nullSafe())
+                .registerTypeAdapter(UpdateTaskRequest.class, new UpdateTaskRequestAdapter().nullSafe())
+                .registerTypeAdapter(CreateCategoryRequest.class, new CreateCategoryRequestAdapter().nullSafe());
+    }
+
+    static final class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
+
+        @Override
+        public void write(JsonWriter out, LocalDateTime value) throws IOException {
+            JsonTimestamps.write(out, value);
+        }
+
+        @Override
+        public LocalDateTime read(JsonReader in) throws IOException {
+            return JsonTimestamps.read(in);
+        }
+    }
+
+    static final class TaskDTOAdapter extends TypeAdapter<TaskDTO> {
+
+        @Override
+        public void write(JsonWriter out, TaskDTO dto) throws IOException {
+            out.beginObject();
+            out.name("id").value(dto.getId());
+            out.name("title").value(dto.getTitle());
+            out.name("description").value(dto.getDescription());
+            out.name("status").value(name(dto.getStatus()));
+            out.name("priority").value(name(dto.getPriority()));
+            out.name("dueDate");
+            JsonTimestamps.write(out, dto.getDueDate());
+            out.name("categoryId").value(dto.getCategoryId());
+            out.name("categoryName").value(dto.getCategoryName());
+            out.name("starred").value(dto.isStarred());
+            out.name("createdAt");
+            JsonTimestamps.write(out, dto.getCreatedAt());
+            out.name("updatedAt");
+            JsonTimestamps.write(out, dto.getUpdatedAt());
+            out.name("version").value(dto.getVersion());
+            out.endObject();
+        }
+
+        @Override
+        public TaskDTO read(JsonReader in) throws IOException {
+            TaskDTO dto = new TaskDTO();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        dto.setId(readString(in));
+                        break;
+                    case "title":
+                        dto.setTitle(readString(in));
+                        break;
+                    case "description":
+                        dto.setDescription(readString(in));
+                        break;
+                    case "status":
+                        dto.setStatus(readEnum(in, TaskStatus.class));
+                        break;
+                    case "priority":
+                        dto.setPriority(readEnum(in, TaskPriority.class));
+                        break;
+                    case "dueDate":
+                        dto.setDueDate(JsonTimestamps.read(in));
+                        break;
+                    case "categoryId":
+                        dto.setCategoryId(readString(in));
+                        break;
+                    case "categoryName":
+                        dto.setCategoryName(readString(in));
+                        break;
+                    case "starred":
+                        Boolean starred = readBoolean(in);
+                        if (starred != null) {
+                            dto.setStarred(starred);
+                        }
+                        break;
+                    case "createdAt":
+                        dto.setCreatedAt(JsonTimestamps.read(in));
+                        break;
+                    case "updatedAt":
+                        dto.setUpdatedAt(JsonTimestamps.read(in));
+                        break;
+                    case "version":
+                        Long version = readLong(in);
+                        if (version != null) {
+                            dto.setVersion(version);
+                        }
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return dto;
+        }
+    }
+
+    static final class CategoryDTOAdapter extends TypeAdapter<CategoryDTO> {
+
+        @Override
+        public void write(JsonWriter out, CategoryDTO dto) throws IOException {
+            out.beginObject();
+            out.name("id").value(dto.getId());
+            out.name("name").value(dto.getName());
+            out.name("description").value(dto.getDescription());
+            out.name("color").value(dto.getColor());
+            out.name("createdAt");
+            JsonTimestamps.write(out, dto.getCreatedAt());
+            out.name("updatedAt");
+            JsonTimestamps.write(out, dto.getUpdatedAt());
+            out.name("version").value(dto.getVersion());
+            out.endObject();
+        }
+
+        @Override
+        public CategoryDTO read(JsonReader in) throws IOException {
+            CategoryDTO dto = new CategoryDTO();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        dto.setId(readString(in));
+                        break;
+                    case "name":
+                        dto.setName(readString(in));
+                        break;
+                    case "description":
+                        dto.setDescription(readString(in));
+                        break;
+                    case "color":
+                        dto.setColor(readString(in));
+                        break;
+                    case "createdAt":
+                        dto.setCreatedAt(JsonTimestamps.read(in));
+                        break;
+                    case "updatedAt":
+                        dto.setUpdatedAt(JsonTimestamps.read(in));
+                        break;
+                    case "version":
+                        Long version = readLong(in);
+                        if (version != null) {
+                            dto.setVersion(version);
+                        }
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return dto;
+        }
+    }
+
+    static final class CreateTaskRequestAdapter extends TypeAdapter<CreateTaskRequest> {
+
+        @Override
+        public void write(JsonWriter out, CreateTaskRequest request) throws IOException {
+            out.beginObject();
+            out.name("title").value(request.getTitle());
+            out.name("description").value(request.getDescription());
+            out.name("priority").value(name(request.getPriority()));
+            out.name("dueDate");
+            JsonTimestamps.write(out, request.getDueDate());
+            out.name("categoryId").value(request.getCategoryId());
+            out.endObject();
+        }
+
+        @Override
+        public CreateTaskRequest read(JsonReader in) throws IOException {
+            CreateTaskRequest request = new CreateTaskRequest();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "title":
+                        request.setTitle(readString(in));
+                        break;
+                    case "description":
+                        request.setDescription(readString(in));
+                        break;
+                    case "priority":
+                        request.setPriority(readEnum(in, TaskPriority.class));
+                        break;
+                    case "dueDate":
+                        request.setDueDate(JsonTimestamps.read(in));
+                        break;
+                    case "categoryId":
+                        request.setCategoryId(readString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return request;
+        }
+    }
+
+    static final class UpdateTaskRequestAdapter extends TypeAdapter<UpdateTaskRequest> {
+
+        @Override
+        public void write(JsonWriter out, UpdateTaskRequest request) throws IOException {
+            out.beginObject();
+            out.name("title").value(request.getTitle());
+            out.name("description").value(request.getDescription());
+            out.name("status").value(name(request.getStatus()));
+            out.name("priority").value(name(request.getPriority()));
+            out.name("dueDate");
+            JsonTimestamps.write(out, request.getDueDate());
+            out.name("categoryId").value(request.getCategoryId());
+            out.name("starred").value(request.getStarred());
+            out.endObject();
+        }
+
+        @Override
+        public UpdateTaskRequest read(JsonReader in) throws IOException {
+            UpdateTaskRequest request = new UpdateTaskRequest();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "title":
+                        request.setTitle(readString(in));
+                        break;
+                    case "description":
+                        request.setDescription(readString(in));
+                        break;
+                    case "status":
+                        request.setStatus(readEnum(in, TaskStatus.class));
+                        break;
+                    case "priority":
+                        request.setPriority(readEnum(in, TaskPriority.class));
+                        break;
+                    case "dueDate":
+                        request.setDueDate(JsonTimestamps.read(in));
+                        break;
+                    case "categoryId":
+                        request.setCategoryId(readString(in));
+                        break;
+                    case "starred":
+                        request.setStarred(readBoolean(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return request;
+        }
+    }
+
+    static final class CreateCategoryRequestAdapter extends TypeAdapter<CreateCategoryRequest> {
+
+        @Override
+        public void write(JsonWriter out, CreateCategoryRequest request) throws IOException {
+            out.beginObject();
+            out.name("name").value(request.getName());
+            out.name("description").value(request.getDescription());
+            out.name("color").value(request.getColor());
+            out.endObject();
+        }
+
+        @Override
+        public CreateCategoryRequest read(JsonReader in) throws IOException {
+            CreateCategoryRequest request = new CreateCategoryRequest();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name":
+                        request.setName(readString(in));
+                        break;
+                    case "description":
+                        request.setDescription(readString(in));
+                        break;
+                    case "color":
+                        request.setColor(readString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return request;
+        }
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    /**
+     * Reads a string the way Gson's built-in adapter does: numbers and booleans
+     * are accepted as their text.
+     */
+    private static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    /**
+     * Reads a long the way Gson's built-in adapter does: numeric strings are accepted.
+     */
+    private static Long readLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextLong();
+    }
+
+    /**
+     * Reads a boolean the way Gson's built-in adapter does: strings are parsed leniently.
+     */
+    private static Boolean readBoolean(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    /**
+     * Reads an enum constant by name; unknown names read as null, as with Gson's built-in adapter.
+     */
+    private static <E extends Enum<E>> E readEnum(JsonReader in, Class<E> type) throws IOException {
+        String value = readString(in);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
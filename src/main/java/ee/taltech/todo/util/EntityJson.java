@@ -0,0 +1,108 @@
+package ee.taltech.todo.util;
+
+import ee.taltech.todo.dto.CategoryDTO;
+import ee.taltech.todo.dto.TaskDTO;
+import ee.taltech.todo.model.BaseEntity;
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Writes JSON arrays of entities from per-entity cached UTF-8 fragments.
+ *
+ * Each entity's JSON, as it appears as an element of a pretty-printed array, is
+ * cached on the entity itself ({@link BaseEntity#setEncodedForm}) together with
+ * the modification stamp it was built from. A list response then only converts
+ * and encodes entities that changed since they were last written; unchanged ones
+ * are copied to the stream as stored bytes. The output is byte-for-byte the same
+ * as {@link JsonUtil#writeArray} of the DTOs.
+ *
+ * A task's JSON includes its category's name, so a task's stamp is the larger of
+ * its own and its category's modification count. Counts come from one shared
+ * sequence, so that value changes when either entity changes.
+ *
+ * Each cached fragment costs about as much memory as the entity's JSON, held for
+ * as long as the entity.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class EntityJson {
+
+    private static final byte[] OPEN = "[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FIRST_SEPARATOR = "\n  ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SEPARATOR = ",\n  ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLOSE = "]".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLOSE_AFTER_ELEMENTS = "\n]".getBytes(StandardCharsets.US_ASCII);
+
+    private EntityJson() {
+    }
+
+    /**
+     * Writes tasks as a JSON array of {@link TaskDTO}s and closes the stream.
+     *
+     * @param out   Stream to write to
+     * @param tasks The tasks
+     * @throws IOException if writing fails
+     */
+    public static void writeTasks(OutputStream out, Iterable<Task> tasks) throws IOException {
+        writeArray(out, tasks, EntityJson::stamp, TaskDTO::fromEntity);
+    }
+
+    /**
+     * Writes categories as a JSON array of {@link CategoryDTO}s and closes the stream.
+     *
+     * @param out        Stream to write to
+     * @param categories The categories
+     * @throws IOException if writing fails
+     */
+    public static void writeCategories(OutputStream out, Iterable<Category> categories) throws IOException {
+        writeArray(out, categories, BaseEntity::getModificationCount, CategoryDTO::fromEntity);
+    }
+
+    private static <T extends BaseEntity> void writeArray(OutputStream out, Iterable<T> items,
+                                                          ToLongFunction<T> stamp, Function<T, ?> mapper)
+            throws IOException {
+        try (OutputStream stream = out) {
+            stream.write(OPEN);
+            boolean first = true;
+            for (T item : items) {
+                stream.write(first ? FIRST_SEPARATOR : SEPARATOR);
+                stream.write(fragment(item, stamp, mapper));
+                first = false;
+            }
+            stream.write(first ? CLOSE : CLOSE_AFTER_ELEMENTS);
+        }
+    }
+
+    private static <T extends BaseEntity> byte[] fragment(T entity, ToLongFunction<T> stamp,
+                                                          Function<T, ?> mapper) {
+        // Read the stamp before encoding: see BaseEntity.setEncodedForm
+        long current = stamp.applyAsLong(entity);
+        byte[] cached = entity.getEncodedForm(current);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Encode as the only element of an array, then cut out the element:
+        // that yields exactly the indentation it has inside any list response
+        String array = JsonUtil.toJson(Collections.singletonList(mapper.apply(entity)));
+        String element = array.substring(OPEN.length + FIRST_SEPARATOR.length,
+                array.length() - CLOSE_AFTER_ELEMENTS.length);
+        byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+        entity.setEncodedForm(current, bytes);
+        return bytes;
+    }
+
+    private static long stamp(Task task) {
+        Category category = task.getCategory();
+        long count = task.getModificationCount();
+        return category != null ? Math.max(count, category.getModificationCount()) : count;
+    }
+}
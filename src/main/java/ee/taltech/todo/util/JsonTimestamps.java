@@ -0,0 +1,174 @@
+package ee.taltech.todo.util;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Reads and writes {@link LocalDateTime} values as ISO-8601 local date-time strings
+ * (the format of {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}).
+ *
+ * Values are formatted digit by digit into a small char buffer instead of going
+ * through the DateTimeFormatter, and parsed the same way for the common
+ * {@code yyyy-MM-ddTHH:mm[:ss[.fraction]]} shape. Anything else, such as years
+ * outside 0000-9999, falls back to the formatter, so the accepted input and
+ * the error thrown for invalid input are unchanged.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+final class JsonTimestamps {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    /**
+     * Longest formatted value: quotes, yyyy-MM-ddTHH:mm:ss and a nine-digit fraction.
+     */
+    private static final int MAX_LENGTH = 2 + 19 + 10;
+
+    private JsonTimestamps() {
+    }
+
+    /**
+     * Writes a value, or null.
+     *
+     * @param out   The writer
+     * @param value The value (may be null)
+     * @throws IOException if writing fails
+     */
+    static void write(JsonWriter out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            out.value(value.format(FORMATTER));
+            return;
+        }
+
+        // Digits never need escaping, so the quoted value is written as raw JSON
+        char[] buffer = new char[MAX_LENGTH];
+        int pos = 0;
+        buffer[pos++] = '"';
+        pos = digits(buffer, pos, year, 4);
+        buffer[pos++] = '-';
+        pos = digits(buffer, pos, value.getMonthValue(), 2);
+        buffer[pos++] = '-';
+        pos = digits(buffer, pos, value.getDayOfMonth(), 2);
+        buffer[pos++] = 'T';
+        pos = digits(buffer, pos, value.getHour(), 2);
+        buffer[pos++] = ':';
+        pos = digits(buffer, pos, value.getMinute(), 2);
+        buffer[pos++] = ':';
+        pos = digits(buffer, pos, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            // As the formatter does: only the significant fraction digits
+            int length = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                length--;
+            }
+            buffer[pos++] = '.';
+            pos = digits(buffer, pos, nano, length);
+        }
+        buffer[pos++] = '"';
+
+        out.jsonValue(new String(buffer, 0, pos));
+    }
+
+    /**
+     * Reads a value, or null.
+     *
+     * @param in The reader
+     * @return The value, null for JSON null
+     * @throws IOException                 if reading fails
+     * @throws java.time.DateTimeException if the text is not a valid local date-time
+     */
+    static LocalDateTime read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return parse(in.nextString());
+    }
+
+    /**
+     * Parses an ISO local date-time.
+     *
+     * @param text The text
+     * @return The value
+     * @throws java.time.DateTimeException if the text is not a valid local date-time
+     */
+    static LocalDateTime parse(String text) {
+        int length = text.length();
+        if (length >= 16 && text.charAt(4) == '-' && text.charAt(7) == '-' && text.charAt(10) == 'T'
+                && text.charAt(13) == ':') {
+            int year = number(text, 0, 4);
+            int month = number(text, 5, 7);
+            int day = number(text, 8, 10);
+            int hour = number(text, 11, 13);
+            int minute = number(text, 14, 16);
+            int second = 0;
+            int nano = 0;
+            boolean valid = year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0;
+
+            if (valid && length > 16) {
+                valid = length >= 19 && text.charAt(16) == ':';
+                second = valid ? number(text, 17, 19) : -1;
+                valid = second >= 0;
+                if (valid && length > 19) {
+                    int digits = length - 20;
+                    valid = text.charAt(19) == '.' && digits >= 1 && digits <= 9;
+                    nano = valid ? number(text, 20, length) : -1;
+                    valid = nano >= 0;
+                    for (int i = digits; valid && i < 9; i++) {
+                        nano *= 10;
+                    }
+                }
+            }
+
+            if (valid) {
+                try {
+                    return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+                } catch (DateTimeException e) {
+                    // Out-of-range field: let the formatter report it
+                }
+            }
+        }
+        return LocalDateTime.parse(text, FORMATTER);
+    }
+
+    private static int digits(char[] buffer, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+    /**
+     * Parses the ASCII digits between start and end.
+     *
+     * @return The number, or -1 if the range contains a non-digit
+     */
+    private static int number(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
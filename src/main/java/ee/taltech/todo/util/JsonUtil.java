@@ -2,17 +2,21 @@ package ee.taltech.todo.util;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonWriter;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
 
 /**
  * Utility class for JSON serialization and deserialization.
  *
- * Uses Gson library with custom adapters for LocalDateTime.
+ * Uses Gson library with hand-written streaming adapters for the API DTOs
+ * and LocalDateTime (see {@link DtoTypeAdapters}), so the request and response
+ * types are encoded without reflection.
  *
  * @author ToDo Application
  * @version 1.0
@@ -22,17 +26,7 @@ public class JsonUtil {
     private static final Gson gson;
 
     static {
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-
-        gson = new GsonBuilder()
-                .setPrettyPrinting()
-                .registerTypeAdapter(LocalDateTime.class,
-                        (JsonSerializer<LocalDateTime>) (src, typeOfSrc, context) ->
-                                new JsonPrimitive(src.format(formatter)))
-                .registerTypeAdapter(LocalDateTime.class,
-                        (JsonDeserializer<LocalDateTime>) (json, typeOfT, context) ->
-                                LocalDateTime.parse(json.getAsString(), formatter))
-                .create();
+        gson = DtoTypeAdapters.register(new GsonBuilder().setPrettyPrinting()).create();
     }
 
     /**
@@ -45,6 +39,36 @@ public class JsonUtil {
         return gson.toJson(object);
     }
 
+    /**
+     * Writes a JSON array to a stream, converting and encoding one element at a time.
+     *
+     * Only the current element is held in memory, so the memory used does not grow
+     * with the number of elements. The output is the same as
+     * {@code toJson} of the mapped list. The stream is closed when done.
+     *
+     * @param out    Stream to write the UTF-8 encoded JSON to
+     * @param items  Elements to write
+     * @param mapper Converts an element to the object to serialize (e.g. a DTO)
+     * @param <T>    The element type
+     * @throws IOException if writing to the stream fails
+     */
+    public static <T> void writeArray(OutputStream out, Iterable<T> items, Function<? super T, ?> mapper)
+            throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (JsonWriter json = gson.newJsonWriter(writer)) {
+            json.beginArray();
+            for (T item : items) {
+                Object value = mapper.apply(item);
+                if (value == null) {
+                    json.nullValue();
+                } else {
+                    gson.toJson(value, value.getClass(), json);
+                }
+            }
+            json.endArray();
+        }
+    }
+
     /**
      * Converts JSON string to object.
      *
@@ -0,0 +1,195 @@
+package ee.taltech.todo.util;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs events that happen on every request, such as a repository lookup or a
+ * validation, without letting them set the pace under load.
+ *
+ * A message is only built when its level is enabled, and at most a fixed number
+ * of messages per second are passed on to the logger; the rest are counted, and
+ * the count is logged once the next second starts. At normal request rates
+ * every message gets through.
+ *
+ * The limit is the system property {@code todo.log.messagesPerSecond}
+ * (default 100), per SampledLogger.
+ *
+ * @author ToDo Application
+ * @version 1.0
+ */
+public final class SampledLogger {
+
+    private static final int DEFAULT_MESSAGES_PER_SECOND =
+            Integer.getInteger("todo.log.messagesPerSecond", 100);
+
+    private final Logger logger;
+    private final int messagesPerSecond;
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger passed = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param logger            The logger to pass messages to
+     * @param messagesPerSecond Messages passed on per second
+     */
+    public SampledLogger(Logger logger, int messagesPerSecond) {
+        if (logger == null) {
+            throw new IllegalArgumentException("Logger cannot be null");
+        }
+        if (messagesPerSecond <= 0) {
+            throw new IllegalArgumentException("Messages per second must be positive");
+        }
+        this.logger = logger;
+        this.messagesPerSecond = messagesPerSecond;
+    }
+
+    /**
+     * Creates a sampled logger with the default limit.
+     *
+     * @param logger The logger to pass messages to
+     * @return The sampled logger
+     */
+    public static SampledLogger of(Logger logger) {
+        return new SampledLogger(logger, DEFAULT_MESSAGES_PER_SECOND);
+    }
+
+    /**
+     * Checks whether DEBUG messages are logged at all. Use it to guard calls whose
+     * arguments are expensive to compute, or that pass more than two arguments.
+     *
+     * @return true if DEBUG is enabled
+     */
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    /**
+     * Checks whether INFO messages are logged at all.
+     *
+     * @return true if INFO is enabled
+     */
+    public boolean isInfoEnabled() {
+        return logger.isInfoEnabled();
+    }
+
+    /**
+     * Logs a DEBUG message if DEBUG is enabled and this second's limit is not used up.
+     *
+     * @param message The message
+     */
+    public void debug(String message) {
+        if (logger.isDebugEnabled() && tryPass()) {
+            logger.debug(message);
+        }
+    }
+
+    /**
+     * Logs a DEBUG message if DEBUG is enabled and this second's limit is not used up.
+     *
+     * @param format The message format
+     * @param arg    The argument
+     */
+    public void debug(String format, Object arg) {
+        if (logger.isDebugEnabled() && tryPass()) {
+            logger.debug(format, arg);
+        }
+    }
+
+    /**
+     * Logs a DEBUG message if DEBUG is enabled and this second's limit is not used up.
+     *
+     * @param format The message format
+     * @param arg1   The first argument
+     * @param arg2   The second argument
+     */
+    public void debug(String format, Object arg1, Object arg2) {
+        if (logger.isDebugEnabled() && tryPass()) {
+            logger.debug(format, arg1, arg2);
+        }
+    }
+
+    /**
+     * Logs a DEBUG message if DEBUG is enabled and this second's limit is not used up.
+     *
+     * @param format The message format
+     * @param args   The arguments
+     */
+    public void debug(String format, Object... args) {
+        if (logger.isDebugEnabled() && tryPass()) {
+            logger.debug(format, args);
+        }
+    }
+
+    /**
+     * Logs an INFO message if INFO is enabled and this second's limit is not used up.
+     *
+     * @param format The message format
+     * @param arg    The argument
+     */
+    public void info(String format, Object arg) {
+        if (logger.isInfoEnabled() && tryPass()) {
+            logger.info(format, arg);
+        }
+    }
+
+    /**
+     * Logs an INFO message if INFO is enabled and this second's limit is not used up.
+     *
+     * @param format The message format
+     * @param arg1   The first argument
+     * @param arg2   The second argument
+     */
+    public void info(String format, Object arg1, Object arg2) {
+        if (logger.isInfoEnabled() && tryPass()) {
+            logger.info(format, arg1, arg2);
+        }
+    }
+
+    /**
+     * Logs an INFO message if INFO is enabled and this second's limit is not used up.
+     *
+     * @param format The message format
+     * @param args   The arguments
+     */
+    public void info(String format, Object... args) {
+        if (logger.isInfoEnabled() && tryPass()) {
+            logger.info(format, args);
+        }
+    }
+
+    /**
+     * Gets the number of messages dropped in the current second so far.
+     *
+     * @return The dropped count
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Takes one of this second's passes. The thread that starts a new second
+     * reports what the previous one dropped.
+     */
+    private boolean tryPass() {
+        long second = System.nanoTime() / 1_000_000_000L;
+        long previous = currentSecond.get();
+        if (second != previous && currentSecond.compareAndSet(previous, second)) {
+            passed.set(0);
+            long count = dropped.getAndSet(0);
+            if (count > 0) {
+                logger.info("{} log messages were dropped over the limit of {} per second",
+                        count, messagesPerSecond);
+            }
+        }
+        if (passed.incrementAndGet() <= messagesPerSecond) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+}
@@ -1,6 +1,7 @@
 package ee.taltech.todo.validator;
 
 import ee.taltech.todo.exception.ValidationException;
+import ee.taltech.todo.util.SampledLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,6 +26,11 @@ public abstract class BaseValidator<T> implements Validator<T> {
 
     private static final Logger logger = LoggerFactory.getLogger(BaseValidator.class);
 
+    /**
+     * Logger for messages written on every call, limited under load.
+     */
+    private static final SampledLogger sampledLogger = SampledLogger.of(logger);
+
     /**
      * Template method for validation.
      * Validates the entity and throws an exception if validation fails.
@@ -34,7 +40,7 @@ public abstract class BaseValidator<T> implements Validator<T> {
      */
     @Override
     public void validate(T entity) throws ValidationException {
-        logger.debug("Validating entity: {}", entity != null ? entity.getClass().getSimpleName() : "null");
+        sampledLogger.debug("Validating entity: {}", entity != null ? entity.getClass().getSimpleName() : "null");
 
         List<String> errors = getValidationErrors(entity);
 
@@ -44,7 +50,7 @@ public abstract class BaseValidator<T> implements Validator<T> {
             throw new ValidationException(errorMessage);
         }
 
-        logger.debug("Validation successful");
+        sampledLogger.debug("Validation successful");
     }
 
     /**
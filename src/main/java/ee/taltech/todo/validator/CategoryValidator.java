@@ -1,6 +1,7 @@
 package ee.taltech.todo.validator;
 
 import ee.taltech.todo.model.Category;
+import ee.taltech.todo.util.SampledLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,13 +25,18 @@ public class CategoryValidator extends BaseValidator<Category> {
 
     private static final Logger logger = LoggerFactory.getLogger(CategoryValidator.class);
 
+    /**
+     * Logger for messages written on every call, limited under load.
+     */
+    private static final SampledLogger sampledLogger = SampledLogger.of(logger);
+
     private static final int MAX_NAME_LENGTH = 100;
     private static final int MAX_DESCRIPTION_LENGTH = 500;
     private static final Pattern HEX_COLOR_PATTERN = Pattern.compile("^#[0-9A-Fa-f]{6}$");
 
     @Override
     protected void validateRequired(Category category, List<String> errors) {
-        logger.debug("Validating required fields for category");
+        sampledLogger.debug("Validating required fields for category");
 
         // Name is required
         if (isNullOrEmpty(category.getName())) {
@@ -40,7 +46,7 @@ public class CategoryValidator extends BaseValidator<Category> {
 
     @Override
     protected void validateFormat(Category category, List<String> errors) {
-        logger.debug("Validating field formats for category");
+        sampledLogger.debug("Validating field formats for category");
 
         // Validate color format if present
         if (category.getColor() != null && !category.getColor().isEmpty()) {
@@ -53,7 +59,7 @@ public class CategoryValidator extends BaseValidator<Category> {
 
     @Override
     protected void validateLength(Category category, List<String> errors) {
-        logger.debug("Validating field lengths for category");
+        sampledLogger.debug("Validating field lengths for category");
 
         // Validate name length
         if (exceedsMaxLength(category.getName(), MAX_NAME_LENGTH)) {
@@ -70,7 +76,7 @@ public class CategoryValidator extends BaseValidator<Category> {
 
     @Override
     protected void validateBusinessRules(Category category, List<String> errors) {
-        logger.debug("Validating business rules for category");
+        sampledLogger.debug("Validating business rules for category");
 
         // Ensure name doesn't contain only whitespace
         if (category.getName() != null && category.getName().trim().isEmpty()) {
@@ -80,7 +86,7 @@ public class CategoryValidator extends BaseValidator<Category> {
         // Ensure name doesn't start or end with whitespace
         if (category.getName() != null &&
             (!category.getName().equals(category.getName().trim()))) {
-            logger.debug("Category name has leading/trailing whitespace - will be trimmed");
+            sampledLogger.debug("Category name has leading/trailing whitespace - will be trimmed");
             // This is just a warning, we could auto-trim in the service
         }
     }
@@ -1,6 +1,7 @@
 package ee.taltech.todo.validator;
 
 import ee.taltech.todo.model.Task;
+import ee.taltech.todo.util.SampledLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,12 +25,17 @@ public class TaskValidator extends BaseValidator<Task> {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskValidator.class);
 
+    /**
+     * Logger for messages written on every call, limited under load.
+     */
+    private static final SampledLogger sampledLogger = SampledLogger.of(logger);
+
     private static final int MAX_TITLE_LENGTH = 200;
     private static final int MAX_DESCRIPTION_LENGTH = 1000;
 
     @Override
     protected void validateRequired(Task task, List<String> errors) {
-        logger.debug("Validating required fields for task");
+        sampledLogger.debug("Validating required fields for task");
 
         // Title is required
         if (isNullOrEmpty(task.getTitle())) {
@@ -49,7 +55,7 @@ public class TaskValidator extends BaseValidator<Task> {
 
     @Override
     protected void validateLength(Task task, List<String> errors) {
-        logger.debug("Validating field lengths for task");
+        sampledLogger.debug("Validating field lengths for task");
 
         // Validate title length
         if (exceedsMaxLength(task.getTitle(), MAX_TITLE_LENGTH)) {
@@ -66,7 +72,7 @@ public class TaskValidator extends BaseValidator<Task> {
 
     @Override
     protected void validateBusinessRules(Task task, List<String> errors) {
-        logger.debug("Validating business rules for task");
+        sampledLogger.debug("Validating business rules for task");
 
         // Check if due date is in the past (warning, not error)
         if (task.getDueDate() != null && task.getDueDate().isBefore(LocalDateTime.now())) {
@@ -79,7 +85,7 @@ public class TaskValidator extends BaseValidator<Task> {
         // (optional business rule - can be adjusted based on requirements)
         if (task.isCompleted() && task.getDueDate() != null &&
             task.getDueDate().isAfter(LocalDateTime.now())) {
-            logger.debug("Completed task has future due date - this is acceptable");
+            sampledLogger.debug("Completed task has future due date - this is acceptable");
             // This is acceptable, just noting it
         }
     }
@@ -0,0 +1,53 @@
+-- Schema for the JDBC repositories (H2).
+-- Statements are separated by semicolons and must be idempotent.
+
+CREATE TABLE IF NOT EXISTS categories (
+    id          VARCHAR(64)   PRIMARY KEY,
+    name        VARCHAR(100),
+    name_key    VARCHAR(100),
+    description VARCHAR(500),
+    color       VARCHAR(7),
+    created_at  TIMESTAMP(9)  NOT NULL,
+    updated_at  TIMESTAMP(9)  NOT NULL,
+    CONSTRAINT uk_categories_name_key UNIQUE (name_key)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          VARCHAR(64)   PRIMARY KEY,
+    title       VARCHAR(200),
+    description VARCHAR(1000),
+    status      VARCHAR(20)   NOT NULL,
+    priority    VARCHAR(20)   NOT NULL,
+    due_date    TIMESTAMP(9),
+    category_id VARCHAR(64),
+    starred     BOOLEAN       NOT NULL DEFAULT FALSE,
+    created_at  TIMESTAMP(9)  NOT NULL,
+    updated_at  TIMESTAMP(9)  NOT NULL,
+    CONSTRAINT fk_tasks_category FOREIGN KEY (category_id)
+        REFERENCES categories (id) ON DELETE SET NULL
+);
+
+-- Version of each row, compared and increased by every save (optimistic locking)
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_status ON tasks (status);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority ON tasks (priority);
+CREATE INDEX IF NOT EXISTS idx_tasks_category ON tasks (category_id);
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_starred ON tasks (starred);
+
+-- Listing orders (TaskSort): sorted column plus id, so a page is an index range scan.
+-- H2 only reads an index forwards when sorting, so each order has a descending twin.
+-- Priority is stored by name, so a generated level column sorts it by urgency.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS priority_level INT GENERATED ALWAYS AS (
+    CASE priority WHEN 'LOW' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'HIGH' THEN 3 WHEN 'CRITICAL' THEN 4 END);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date_id ON tasks (due_date NULLS LAST, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_level_id ON tasks (priority_level, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at_id ON tasks (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date_id_desc ON tasks (due_date DESC NULLS FIRST, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_level_id_desc ON tasks (priority_level DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id_desc ON tasks (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at_id_desc ON tasks (updated_at DESC, id DESC);
@@ -7,6 +7,11 @@ let currentFilter = 'all';
 let tasks = [];
 let categories = [];
 
+// Change feed: while it is connected, changes arrive as events and the lists
+// are not reloaded after every action
+let changeFeed = null;
+let statisticsTimer = null;
+
 // Initialize app
 document.addEventListener('DOMContentLoaded', () => {
     initializeApp();
@@ -16,7 +21,7 @@ async function initializeApp() {
     await loadCategories();
     await loadTasks();
     setupEventListeners();
-    updateStatistics();
+    connectChangeFeed();
 }
 
 // Event Listeners
@@ -176,6 +181,86 @@ async function deleteCategory(categoryId) {
     }
 }
 
+// Change feed (Server-Sent Events)
+function connectChangeFeed() {
+    if (!window.EventSource) return;
+
+    changeFeed = new EventSource(`${API_BASE}/events`);
+
+    changeFeed.addEventListener('task', (e) => {
+        if (!upsert(tasks, JSON.parse(e.data))) return;
+        renderTasks();
+        scheduleStatisticsUpdate();
+    });
+    changeFeed.addEventListener('task-deleted', (e) => {
+        remove(tasks, JSON.parse(e.data).id);
+        renderTasks();
+        scheduleStatisticsUpdate();
+    });
+    changeFeed.addEventListener('category', (e) => {
+        const category = JSON.parse(e.data);
+        if (!upsert(categories, category)) return;
+        tasks.filter(t => t.categoryId === category.id).forEach(t => t.categoryName = category.name);
+        renderCategories();
+        updateCategoryDropdowns();
+        renderTasks();
+    });
+    changeFeed.addEventListener('category-deleted', (e) => {
+        remove(categories, JSON.parse(e.data).id);
+        renderCategories();
+        updateCategoryDropdowns();
+        loadTasks();
+    });
+    // Too many changes were missed: reload everything once
+    changeFeed.addEventListener('resync', () => {
+        loadCategories();
+        loadTasks();
+    });
+    // The browser reconnects by itself; changes made while disconnected were missed
+    changeFeed.addEventListener('open', () => {
+        if (changeFeed.wasConnected) {
+            loadCategories();
+            loadTasks();
+        }
+        changeFeed.wasConnected = true;
+    });
+}
+
+function isChangeFeedOpen() {
+    return changeFeed !== null && changeFeed.readyState === EventSource.OPEN;
+}
+
+async function refreshTasks() {
+    if (!isChangeFeedOpen()) await loadTasks();
+}
+
+async function refreshCategories() {
+    if (!isChangeFeedOpen()) await loadCategories();
+}
+
+// Events can arrive out of order; an older version never replaces a newer one
+function upsert(list, item) {
+    const index = list.findIndex(x => x.id === item.id);
+    if (index >= 0) {
+        if (list[index].version > item.version) return false;
+        list[index] = item;
+    } else {
+        list.push(item);
+    }
+    return true;
+}
+
+function remove(list, id) {
+    const index = list.findIndex(x => x.id === id);
+    if (index >= 0) list.splice(index, 1);
+}
+
+// Fetch statistics once per burst of changes
+function scheduleStatisticsUpdate() {
+    clearTimeout(statisticsTimer);
+    statisticsTimer = setTimeout(updateStatistics, 100);
+}
+
 // Event Handlers
 async function handleCreateTask(e) {
     e.preventDefault();
@@ -196,7 +281,7 @@ async function handleCreateTask(e) {
 
     try {
         await createTask(taskData);
-        await loadTasks();
+        await refreshTasks();
         e.target.reset();
         showSuccess('Ülesanne lisatud!');
     } catch (error) {
@@ -217,7 +302,7 @@ async function handleUpdateTask(e) {
 
     try {
         await updateTask(taskId, updates);
-        await loadTasks();
+        await refreshTasks();
         closeEditModal();
         showSuccess('Ülesanne uuendatud!');
     } catch (error) {
@@ -228,7 +313,7 @@ async function handleUpdateTask(e) {
 async function handleCompleteTask(taskId) {
     try {
         await completeTask(taskId);
-        await loadTasks();
+        await refreshTasks();
         showSuccess('Ülesanne märgitud tehtuks!');
     } catch (error) {
         showError('Viga ülesande täitmisel');
@@ -238,7 +323,7 @@ async function handleCompleteTask(taskId) {
 async function handleStartTask(taskId) {
     try {
         await startTask(taskId);
-        await loadTasks();
+        await refreshTasks();
         showSuccess('Ülesanne alustatud!');
     } catch (error) {
         showError('Viga ülesande alustamisel');
@@ -252,7 +337,7 @@ async function handleDeleteTask(taskId) {
 
     try {
         await deleteTask(taskId);
-        await loadTasks();
+        await refreshTasks();
         showSuccess('Ülesanne kustutatud!');
     } catch (error) {
         showError('Viga ülesande kustutamisel');
@@ -269,7 +354,7 @@ async function handleCreateCategory(e) {
 
     try {
         await createCategory(categoryData);
-        await loadCategories();
+        await refreshCategories();
         e.target.reset();
         showSuccess('Kategooria lisatud!');
     } catch (error) {
@@ -284,8 +369,8 @@ async function handleDeleteCategory(categoryId) {
 
     try {
         await deleteCategory(categoryId);
-        await loadCategories();
-        await loadTasks();
+        await refreshCategories();
+        await refreshTasks();
         showSuccess('Kategooria kustutatud!');
     } catch (error) {
         showError('Viga kategooria kustutamisel');
@@ -366,11 +451,18 @@ function updateCategoryDropdowns() {
         categories.map(cat => `<option value="${cat.id}">${escapeHtml(cat.name)}</option>`).join('');
 }
 
-function updateStatistics() {
-    document.getElementById('totalTasks').textContent = tasks.length;
-    document.getElementById('pendingTasks').textContent = tasks.filter(t => t.status === 'PENDING').length;
-    document.getElementById('inProgressTasks').textContent = tasks.filter(t => t.status === 'IN_PROGRESS').length;
-    document.getElementById('completedTasks').textContent = tasks.filter(t => t.status === 'COMPLETED').length;
+async function updateStatistics() {
+    try {
+        const response = await fetch(`${API_BASE}/tasks/stats`);
+        if (!response.ok) throw new Error('Failed to load statistics');
+        const stats = await response.json();
+        document.getElementById('totalTasks').textContent = stats.total;
+        document.getElementById('pendingTasks').textContent = stats.byStatus.PENDING;
+        document.getElementById('inProgressTasks').textContent = stats.byStatus.IN_PROGRESS;
+        document.getElementById('completedTasks').textContent = stats.byStatus.COMPLETED;
+    } catch (error) {
+        console.error('Error loading statistics:', error);
+    }
 }
 
 // Modal
@@ -397,7 +489,7 @@ async function toggleStar(taskId) {
 
     try {
         await updateTask(taskId, { starred: !task.starred });
-        await loadTasks();
+        await refreshTasks();
     } catch (error) {
         showError('Viga tärni muutmisel');
     }
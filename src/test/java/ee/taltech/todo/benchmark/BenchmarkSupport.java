@@ -0,0 +1,75 @@
+package ee.taltech.todo.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared fixtures for the JMH benchmarks.
+ *
+ * Benchmarks live in the test tree and are not run by Surefire. Run them with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TaskRepositoryBenchmark"
+ * </pre>
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Raises the application log level so DEBUG logging does not dominate
+     * the measured time.
+     */
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger("ee.taltech.todo")).setLevel(Level.WARN);
+    }
+
+    /**
+     * Generates a deterministic task data set.
+     * One task in a hundred is CANCELLED and one in a hundred is CRITICAL,
+     * so those values act as selective filters.
+     *
+     * @param count Number of tasks
+     * @return Generated tasks
+     */
+    static List<Task> generateTasks(int count) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Task " + i + " " + WORDS[random.nextInt(WORDS.length)],
+                    "Generated description " + WORDS[random.nextInt(WORDS.length)]);
+            task.setStatus(i % 100 == 0 ? TaskStatus.CANCELLED : COMMON_STATUSES[i % COMMON_STATUSES.length]);
+            task.setPriority(i % 100 == 1 ? TaskPriority.CRITICAL : COMMON_PRIORITIES[i % COMMON_PRIORITIES.length]);
+            task.setDueDate(now.plusHours(random.nextInt(24 * 365) - 24 * 30));
+            task.setStarred(i % 50 == 0);
+            tasks.add(task);
+        }
+
+        return tasks;
+    }
+
+    private static final TaskStatus[] COMMON_STATUSES = {
+            TaskStatus.PENDING, TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED
+    };
+
+    private static final TaskPriority[] COMMON_PRIORITIES = {
+            TaskPriority.LOW, TaskPriority.MEDIUM, TaskPriority.HIGH
+    };
+
+    private static final String[] WORDS = {
+            "report", "meeting", "groceries", "homework", "invoice", "release",
+            "review", "deploy", "backup", "dentist", "budget", "presentation"
+    };
+}
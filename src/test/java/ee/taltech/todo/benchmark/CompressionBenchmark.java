@@ -0,0 +1,88 @@
+package ee.taltech.todo.benchmark;
+
+import ee.taltech.todo.server.DeflaterPool;
+import ee.taltech.todo.util.EntityJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Compares compressing a task list response with a new Deflater per response
+ * against a deflater from a {@link DeflaterPool}, at the fastest and the
+ * default level.
+ *
+ * A new Deflater allocates its zlib state in native memory, which neither the
+ * heap nor {@code -prof gc} shows; watch the process's resident memory under
+ * load instead. {@code setUp} prints the compressed size of each body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int tasks;
+
+    @Param({"1", "6"})
+    private int level;
+
+    private byte[] body;
+    private DeflaterPool pool;
+
+    @Setup
+    public void setUp() throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        EntityJson.writeTasks(json, BenchmarkSupport.generateTasks(tasks));
+        body = json.toByteArray();
+        pool = new DeflaterPool(level, false, 4);
+        System.out.printf("%n%d tasks, level %d: %d bytes, %d compressed%n",
+                tasks, level, body.length, pooledDeflater().length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public byte[] newDeflater() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 8 + 64);
+        Deflater deflater = new Deflater(level);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater, 8192)) {
+            deflate.write(body);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] pooledDeflater() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 8 + 64);
+        Deflater deflater = pool.acquire();
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater, 8192)) {
+            deflate.write(body);
+        } finally {
+            pool.release(deflater);
+        }
+        return out.toByteArray();
+    }
+}
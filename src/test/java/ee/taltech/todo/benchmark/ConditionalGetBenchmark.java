@@ -0,0 +1,107 @@
+package ee.taltech.todo.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import ee.taltech.todo.controller.TaskController;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.repository.InMemoryCategoryRepository;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import ee.taltech.todo.server.ExecutorMode;
+import ee.taltech.todo.server.Router;
+import ee.taltech.todo.server.ServerExecutors;
+import ee.taltech.todo.server.ServerSettings;
+import ee.taltech.todo.service.TaskServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares an idle poll of {@code GET /api/v1/tasks} with and without the
+ * entity tag of the previous response.
+ *
+ * {@code fullPoll} reads and serializes every task; {@code conditionalPoll}
+ * sends If-None-Match and gets a bodiless 304 decided from the collection
+ * version alone, so its cost should not grow with {@code tasks}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionalGetBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int tasks;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private HttpClient client;
+    private HttpRequest fullRequest;
+    private HttpRequest conditionalRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        BenchmarkSupport.quietLogging();
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        for (Task task : BenchmarkSupport.generateTasks(tasks)) {
+            repository.save(task);
+        }
+
+        ServerSettings settings = new ServerSettings(ExecutorMode.PLATFORM, 128, 4, 100, true);
+        settings.applySystemProperties();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), settings.getBacklog());
+        Router router = new Router();
+        new TaskController(new TaskServiceImpl(repository, new InMemoryCategoryRepository())).registerRoutes(router);
+        server.createContext("/api/v1", router);
+        executor = ServerExecutors.create(settings);
+        server.setExecutor(executor);
+        server.start();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/tasks");
+        fullRequest = HttpRequest.newBuilder(uri).build();
+        String tag = client.send(fullRequest, HttpResponse.BodyHandlers.discarding())
+                .headers().firstValue("ETag").orElseThrow();
+        conditionalRequest = HttpRequest.newBuilder(uri).header("If-None-Match", tag).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+        ServerExecutors.shutdown(executor, 5);
+    }
+
+    @Benchmark
+    public byte[] fullPoll() throws IOException, InterruptedException {
+        return client.send(fullRequest, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public int conditionalPoll() throws IOException, InterruptedException {
+        int status = client.send(conditionalRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 304) {
+            throw new IllegalStateException("Expected 304, got " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,93 @@
+package ee.taltech.todo.benchmark;
+
+import ee.taltech.todo.dto.TaskDTO;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.util.EntityJson;
+import ee.taltech.todo.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing a task list response from the per-entity JSON cache against
+ * encoding every task with {@link JsonUtil#writeArray}.
+ *
+ * The cached case repeats a list request for unchanged tasks, so after the first
+ * call every task is copied from its stored bytes. {@code mostlyCached} changes
+ * one task in a hundred before each write, as edits between list requests would.
+ * Run with {@code -prof gc} to compare allocation per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class EntityJsonBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Task> tasks;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkSupport.generateTasks(size);
+    }
+
+    @Benchmark
+    public void encoded(Blackhole blackhole) throws IOException {
+        JsonUtil.writeArray(new DiscardingOutputStream(blackhole), tasks, TaskDTO::fromEntity);
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) throws IOException {
+        EntityJson.writeTasks(new DiscardingOutputStream(blackhole), tasks);
+    }
+
+    @Benchmark
+    public void mostlyCached(Blackhole blackhole) throws IOException {
+        for (int i = 0; i < size / 100; i++) {
+            tasks.get(next).setStarred(!tasks.get(next).isStarred());
+            next = (next + 1) % size;
+        }
+        EntityJson.writeTasks(new DiscardingOutputStream(blackhole), tasks);
+    }
+
+    /**
+     * Stand-in for the response body.
+     */
+    private static final class DiscardingOutputStream extends OutputStream {
+
+        private final Blackhole blackhole;
+
+        private DiscardingOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+        }
+    }
+}
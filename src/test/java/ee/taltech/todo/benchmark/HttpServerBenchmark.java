@@ -0,0 +1,152 @@
+package ee.taltech.todo.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import ee.taltech.todo.controller.TaskController;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.repository.InMemoryCategoryRepository;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import ee.taltech.todo.server.ExecutorMode;
+import ee.taltech.todo.server.Router;
+import ee.taltech.todo.server.ServerExecutors;
+import ee.taltech.todo.server.ServerSettings;
+import ee.taltech.todo.service.TaskServiceImpl;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for the HTTP server's executor modes.
+ *
+ * Each operation sends one request per simulated client concurrently and waits
+ * for all responses; the {@code requests} counter reports the resulting request
+ * throughput. {@code getTask} goes through the real TaskController;
+ * {@code blockingRequest} waits 5 ms in the handler, standing in for blocking
+ * work such as an fsync or a slow client. On the dispatcher thread throughput
+ * stays flat as clients are added; with a worker executor it should grow with
+ * the number of clients until the workers or CPUs are saturated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class HttpServerBenchmark {
+
+    private static final int TASKS = 1000;
+    private static final long BLOCKING_MILLIS = 5;
+
+    @Param({"DISPATCHER", "AUTO"})
+    private ExecutorMode mode;
+
+    @Param({"1", "4", "16", "64"})
+    private int clients;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest getTaskRequest;
+    private HttpRequest blockingRequest;
+
+    /**
+     * Counts completed requests; JMH reports it as requests per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long requests;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkSupport.quietLogging();
+        InMemoryTaskRepository tasks = new InMemoryTaskRepository();
+        List<Task> generated = BenchmarkSupport.generateTasks(TASKS);
+        generated.forEach(tasks::save);
+
+        ServerSettings settings = new ServerSettings(mode, 1024, 64, 1000, true);
+        settings.applySystemProperties();
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), settings.getBacklog());
+        Router router = new Router();
+        new TaskController(new TaskServiceImpl(tasks, new InMemoryCategoryRepository())).registerRoutes(router);
+        server.createContext("/api/v1", router);
+        server.createContext("/blocking", exchange -> {
+            try {
+                Thread.sleep(BLOCKING_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{}".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        executor = ServerExecutors.create(settings);
+        server.setExecutor(executor);
+        server.start();
+
+        clientExecutor = Executors.newFixedThreadPool(4);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        getTaskRequest = HttpRequest.newBuilder(
+                URI.create(base + "/api/v1/tasks/" + generated.get(TASKS / 2).getId())).build();
+        blockingRequest = HttpRequest.newBuilder(URI.create(base + "/blocking")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+        ServerExecutors.shutdown(executor, 5);
+        clientExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public void getTask(Counters counters) {
+        sendConcurrently(getTaskRequest, counters);
+    }
+
+    @Benchmark
+    public void blockingRequest(Counters counters) {
+        sendConcurrently(blockingRequest, counters);
+    }
+
+    private void sendConcurrently(HttpRequest request, Counters counters) {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        counters.requests += clients;
+    }
+}
@@ -0,0 +1,110 @@
+package ee.taltech.todo.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import ee.taltech.todo.dto.CreateTaskRequest;
+import ee.taltech.todo.dto.TaskDTO;
+import ee.taltech.todo.dto.UpdateTaskRequest;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the hand-written DTO adapters behind {@link JsonUtil} against the
+ * reflective Gson configuration it used before (tree-based LocalDateTime
+ * serializer and deserializer). Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private Gson reflective;
+    private TaskDTO task;
+    private List<TaskDTO> page;
+    private String createJson;
+    private String updateJson;
+
+    @Setup
+    public void setUp() {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        reflective = new GsonBuilder()
+                .setPrettyPrinting()
+                .registerTypeAdapter(LocalDateTime.class,
+                        (JsonSerializer<LocalDateTime>) (src, typeOfSrc, context) ->
+                                new JsonPrimitive(src.format(formatter)))
+                .registerTypeAdapter(LocalDateTime.class,
+                        (JsonDeserializer<LocalDateTime>) (json, typeOfT, context) ->
+                                LocalDateTime.parse(json.getAsString(), formatter))
+                .create();
+
+        List<Task> tasks = BenchmarkSupport.generateTasks(100);
+        page = tasks.stream().map(TaskDTO::fromEntity).collect(Collectors.toList());
+        task = page.get(0);
+        createJson = "{\"title\":\"Write report\",\"description\":\"Quarterly numbers\","
+                + "\"priority\":\"HIGH\",\"dueDate\":\"2025-10-04T12:30:00\",\"categoryId\":\"c-1\"}";
+        updateJson = "{\"title\":\"Write report\",\"status\":\"IN_PROGRESS\",\"priority\":\"LOW\","
+                + "\"dueDate\":\"2025-10-04T12:30:00\",\"starred\":true}";
+    }
+
+    @Benchmark
+    public String writeTaskReflective() {
+        return reflective.toJson(task);
+    }
+
+    @Benchmark
+    public String writeTaskAdapter() {
+        return JsonUtil.toJson(task);
+    }
+
+    @Benchmark
+    public String writePageReflective() {
+        return reflective.toJson(page);
+    }
+
+    @Benchmark
+    public String writePageAdapter() {
+        return JsonUtil.toJson(page);
+    }
+
+    @Benchmark
+    public CreateTaskRequest readCreateReflective() {
+        return reflective.fromJson(createJson, CreateTaskRequest.class);
+    }
+
+    @Benchmark
+    public CreateTaskRequest readCreateAdapter() {
+        return JsonUtil.fromJson(createJson, CreateTaskRequest.class);
+    }
+
+    @Benchmark
+    public UpdateTaskRequest readUpdateReflective() {
+        return reflective.fromJson(updateJson, UpdateTaskRequest.class);
+    }
+
+    @Benchmark
+    public UpdateTaskRequest readUpdateAdapter() {
+        return JsonUtil.fromJson(updateJson, UpdateTaskRequest.class);
+    }
+}
@@ -0,0 +1,89 @@
+package ee.taltech.todo.benchmark;
+
+import ee.taltech.todo.dto.TaskDTO;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares buffering a task list response (DTO list, String, byte[]) against
+ * streaming it with {@link JsonUtil#writeArray}.
+ *
+ * The response goes to a stream that discards its input, as the socket would
+ * take it away. Run with {@code -prof gc}: both allocate garbage per task, but
+ * the buffered path also holds the whole payload three times at its peak.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class JsonStreamingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkSupport.generateTasks(size);
+    }
+
+    @Benchmark
+    public void buffered(Blackhole blackhole) throws IOException {
+        OutputStream out = new DiscardingOutputStream(blackhole);
+        List<TaskDTO> dtos = tasks.stream()
+                .map(TaskDTO::fromEntity)
+                .collect(Collectors.toList());
+        byte[] bytes = JsonUtil.toJson(dtos).getBytes(StandardCharsets.UTF_8);
+        out.write(bytes);
+        out.close();
+    }
+
+    @Benchmark
+    public void streamed(Blackhole blackhole) throws IOException {
+        JsonUtil.writeArray(new DiscardingOutputStream(blackhole), tasks, TaskDTO::fromEntity);
+    }
+
+    /**
+     * Stand-in for the response body.
+     */
+    private static final class DiscardingOutputStream extends OutputStream {
+
+        private final Blackhole blackhole;
+
+        private DiscardingOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ee.taltech.todo.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.core.joran.spi.JoranException;
+import ee.taltech.todo.exception.TaskNotFoundException;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.repository.InMemoryCategoryRepository;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import ee.taltech.todo.service.TaskService;
+import ee.taltech.todo.service.TaskServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Load test of the task service with the application's real logging setup.
+ *
+ * Each operation reads a task, lists a small page of tasks and toggles a star,
+ * as a busy client would, from four threads. Logging is configured from the
+ * given logback file on the classpath, writing its log file to a temporary
+ * directory; console output is formatted as usual but discarded, so the
+ * terminal does not set the pace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"logback.xml", "logback-production.xml"})
+    private String config;
+
+    private TaskService service;
+    private List<Task> tasks;
+    private Path logDirectory;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, JoranException {
+        logDirectory = Files.createTempDirectory("todo-logs");
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        context.putProperty("LOG_DIR", logDirectory.toString());
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        URL url = getClass().getClassLoader().getResource(config);
+        configurator.doConfigure(url);
+
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        service = new TaskServiceImpl(repository, new InMemoryCategoryRepository());
+        for (Task task : BenchmarkSupport.generateTasks(50)) {
+            repository.save(task);
+        }
+        tasks = repository.findAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        System.setOut(originalOut);
+        try (Stream<Path> files = Files.walk(logDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Object requestMix() throws TaskNotFoundException {
+        String id = tasks.get(ThreadLocalRandom.current().nextInt(tasks.size())).getId();
+        service.getTaskById(id);
+        service.toggleStarred(id);
+        return service.getAllTasks();
+    }
+}
@@ -0,0 +1,100 @@
+package ee.taltech.todo.benchmark;
+
+import ee.taltech.todo.metrics.LatencyHistogram;
+import ee.taltech.todo.metrics.MetricsRegistry;
+import ee.taltech.todo.metrics.RequestMetrics;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import ee.taltech.todo.repository.TaskRepository;
+import ee.taltech.todo.repository.TimedTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what recording metrics adds to a request.
+ *
+ * {@code recordRequest} is the Router's per-request work: two clock readings
+ * and one latency and status recording, from four threads sharing one route.
+ * {@code findById} looks up a task through the repository with and without the
+ * timing decorator, and {@code scrape} renders the exposition for a registry
+ * with as many routes and repository operations as the application has.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"false", "true"})
+    private boolean timed;
+
+    private RequestMetrics route;
+    private TaskRepository repository;
+    private List<String> ids;
+    private MetricsRegistry fullRegistry;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        MetricsRegistry registry = new MetricsRegistry();
+        route = registry.requestMetrics("GET", "/api/v1/tasks/{id}");
+
+        InMemoryTaskRepository tasks = new InMemoryTaskRepository();
+        tasks.saveAll(BenchmarkSupport.generateTasks(1000));
+        ids = tasks.findAll().stream().map(Task::getId).toList();
+        repository = timed ? new TimedTaskRepository(tasks, registry, "tasks") : tasks;
+
+        // The application's shape: about 20 routes and 25 repository operations, all used
+        fullRegistry = new MetricsRegistry();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 20; i++) {
+            RequestMetrics metrics = fullRegistry.requestMetrics("GET", "/api/v1/route" + i);
+            for (int j = 0; j < 1000; j++) {
+                metrics.record(j % 10 == 0 ? 404 : 200, random.nextLong(50_000, 50_000_000));
+            }
+        }
+        for (int i = 0; i < 25; i++) {
+            LatencyHistogram histogram = fullRegistry.histogram("repository_operation_seconds", "Operations",
+                    "repository", "tasks", "operation", "op" + i);
+            for (int j = 0; j < 1000; j++) {
+                histogram.record(random.nextLong(1_000, 5_000_000));
+            }
+        }
+    }
+
+    @Benchmark
+    public long recordRequest() {
+        long start = System.nanoTime();
+        route.record(200, System.nanoTime() - start);
+        return start;
+    }
+
+    @Benchmark
+    public Optional<Task> findById() {
+        return repository.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String scrape() {
+        return fullRegistry.scrape();
+    }
+}
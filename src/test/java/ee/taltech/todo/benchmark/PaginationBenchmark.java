@@ -0,0 +1,121 @@
+package ee.taltech.todo.benchmark;
+
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.repository.Database;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import ee.taltech.todo.repository.JdbcTaskRepository;
+import ee.taltech.todo.repository.PageRequest;
+import ee.taltech.todo.repository.TaskPage;
+import ee.taltech.todo.repository.TaskRepository;
+import ee.taltech.todo.repository.TaskSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading one page of 50 tasks by due date, at the start and in the
+ * middle of the listing, against what a client had to do before: load every
+ * task and sort them itself.
+ *
+ * With keyset pages from the ordered indexes, the page cost should stay the same
+ * as the table grows and be the same for the middle page as for the first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class PaginationBenchmark {
+
+    private static final int LIMIT = 50;
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private InMemoryTaskRepository memory;
+    private Database database;
+    private JdbcTaskRepository jdbc;
+
+    private PageRequest firstPage;
+    private PageRequest middlePage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        memory = new InMemoryTaskRepository();
+        database = new Database("jdbc:h2:mem:pages-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 4, 16);
+        jdbc = new JdbcTaskRepository(database);
+
+        for (Task task : BenchmarkSupport.generateTasks(size)) {
+            memory.save(task);
+            jdbc.save(task);
+        }
+
+        firstPage = PageRequest.first(TaskSort.DUE_DATE, false, LIMIT);
+        middlePage = cursorAt(memory, size / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public TaskPage memoryFirstPage() {
+        return memory.findPage(firstPage);
+    }
+
+    @Benchmark
+    public TaskPage memoryMiddlePage() {
+        return memory.findPage(middlePage);
+    }
+
+    @Benchmark
+    public TaskPage memoryAllSorted() {
+        List<Task> tasks = memory.findAll();
+        return TaskPage.of(tasks, firstPage);
+    }
+
+    @Benchmark
+    public TaskPage jdbcFirstPage() {
+        return jdbc.findPage(firstPage);
+    }
+
+    @Benchmark
+    public TaskPage jdbcMiddlePage() {
+        return jdbc.findPage(middlePage);
+    }
+
+    @Benchmark
+    public TaskPage jdbcAllSorted() {
+        List<Task> tasks = jdbc.findAll();
+        return TaskPage.of(tasks, firstPage);
+    }
+
+    /**
+     * Walks the listing to build a request for the page starting at the given position.
+     */
+    private static PageRequest cursorAt(TaskRepository repository, int position) {
+        String limit = Integer.toString(LIMIT);
+        TaskPage page = repository.findPage(PageRequest.first(TaskSort.DUE_DATE, false, LIMIT));
+        for (int read = LIMIT; read < position && page.hasNext(); read += LIMIT) {
+            page = repository.findPage(PageRequest.parse(limit, null, page.getNextCursor()));
+        }
+        return PageRequest.parse(limit, null, page.getNextCursor());
+    }
+}
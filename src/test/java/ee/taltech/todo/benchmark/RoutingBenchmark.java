@@ -0,0 +1,125 @@
+package ee.taltech.todo.benchmark;
+
+import ee.taltech.todo.server.Router;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request dispatch through the routing trie against the chain of
+ * {@code String.matches} calls TaskController used before.
+ *
+ * Each invocation routes the same mix of requests the frontend sends: list,
+ * get by ID, complete, status filter and a miss. Run with {@code -prof gc} to
+ * compare allocation per dispatch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingBenchmark {
+
+    private static final Router.RouteHandler NO_OP = (exchange, vars) -> { };
+
+    private String[] paths;
+    private Router router;
+
+    @Setup
+    public void setUp() {
+        String id = UUID.randomUUID().toString();
+        paths = new String[]{
+                "/api/v1/tasks",
+                "/api/v1/tasks/" + id,
+                "/api/v1/tasks/" + id + "/complete",
+                "/api/v1/tasks/status/PENDING",
+                "/api/v1/tasks/" + id + "/unknown"
+        };
+
+        router = new Router()
+                .add("GET", "/api/v1/tasks", NO_OP)
+                .add("GET", "/api/v1/tasks/search", NO_OP)
+                .add("GET", "/api/v1/tasks/starred", NO_OP)
+                .add("GET", "/api/v1/tasks/overdue", NO_OP)
+                .add("GET", "/api/v1/tasks/status/{status}", NO_OP)
+                .add("GET", "/api/v1/tasks/priority/{priority}", NO_OP)
+                .add("GET", "/api/v1/tasks/{id}", NO_OP)
+                .add("GET", "/api/v1/tasks/{id}/complete", NO_OP)
+                .add("GET", "/api/v1/tasks/{id}/start", NO_OP)
+                .add("GET", "/api/v1/categories", NO_OP)
+                .add("GET", "/api/v1/categories/{id}", NO_OP);
+    }
+
+    @Benchmark
+    public void routerDispatch(Blackhole blackhole) {
+        for (String path : paths) {
+            Router.Match match = router.match("GET", path);
+            blackhole.consume(match.getHandler());
+            blackhole.consume(match.getPathVariables());
+        }
+    }
+
+    @Benchmark
+    public void regexDispatch(Blackhole blackhole) {
+        for (String path : paths) {
+            blackhole.consume(legacyDispatch(path, blackhole));
+        }
+    }
+
+    /**
+     * The regex chain and ID extraction from the previous TaskController.handle.
+     */
+    private static int legacyDispatch(String path, Blackhole blackhole) {
+        if (path.matches("/api/v1/tasks/?$")) {
+            return 1;
+        } else if (path.matches("/api/v1/tasks/search/?$")) {
+            return 2;
+        } else if (path.matches("/api/v1/tasks/[^/]+/?$")) {
+            blackhole.consume(extractId(path));
+            return 3;
+        } else if (path.matches("/api/v1/tasks/status/[^/]+/?$")) {
+            blackhole.consume(extractLastSegment(path));
+            return 4;
+        } else if (path.matches("/api/v1/tasks/priority/[^/]+/?$")) {
+            blackhole.consume(extractLastSegment(path));
+            return 5;
+        } else if (path.matches("/api/v1/tasks/[^/]+/complete/?$")) {
+            blackhole.consume(extractId(path));
+            return 6;
+        } else if (path.matches("/api/v1/tasks/[^/]+/start/?$")) {
+            blackhole.consume(extractId(path));
+            return 7;
+        } else if (path.matches("/api/v1/tasks/starred/?$")) {
+            return 8;
+        } else if (path.matches("/api/v1/tasks/overdue/?$")) {
+            return 9;
+        }
+        return 0;
+    }
+
+    private static String extractId(String path) {
+        String[] parts = path.replaceAll("/$", "").split("/");
+        String lastPart = parts[parts.length - 1];
+        if (lastPart.equals("complete") || lastPart.equals("start")) {
+            return parts[parts.length - 2];
+        }
+        return lastPart;
+    }
+
+    private static String extractLastSegment(String path) {
+        String[] parts = path.replaceAll("/$", "").split("/");
+        return parts[parts.length - 1];
+    }
+}
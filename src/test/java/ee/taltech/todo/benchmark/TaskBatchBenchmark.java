@@ -0,0 +1,137 @@
+package ee.taltech.todo.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import ee.taltech.todo.controller.TaskController;
+import ee.taltech.todo.repository.Database;
+import ee.taltech.todo.repository.InMemoryCategoryRepository;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import ee.taltech.todo.repository.JdbcCategoryRepository;
+import ee.taltech.todo.repository.JdbcTaskRepository;
+import ee.taltech.todo.server.ExecutorMode;
+import ee.taltech.todo.server.Router;
+import ee.taltech.todo.server.ServerSettings;
+import ee.taltech.todo.service.TaskServiceImpl;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating tasks with one {@code POST /api/v1/tasks} per task against
+ * one {@code POST /api/v1/tasks/batch} per {@code batchSize} tasks, over HTTP
+ * through the real TaskController. The {@code tasks} counter reports tasks
+ * created per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class TaskBatchBenchmark {
+
+    @Param({"memory", "jdbc"})
+    private String storage;
+
+    @Param({"10", "100"})
+    private int batchSize;
+
+    private Database database;
+    private HttpServer server;
+    private HttpClient client;
+    private HttpRequest singleRequest;
+    private HttpRequest batchRequest;
+
+    /**
+     * Counts created tasks; JMH reports it as tasks per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long tasks;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkSupport.quietLogging();
+        TaskServiceImpl service;
+        if (storage.equals("jdbc")) {
+            database = new Database("jdbc:h2:mem:batch-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 4, 64);
+            service = new TaskServiceImpl(new JdbcTaskRepository(database), new JdbcCategoryRepository(database, false));
+        } else {
+            service = new TaskServiceImpl(new InMemoryTaskRepository(), new InMemoryCategoryRepository());
+        }
+
+        // TCP_NODELAY, as in production: otherwise every POST waits out a delayed ACK
+        ServerSettings settings = new ServerSettings(ExecutorMode.DISPATCHER, 1024, 1, 1000, true);
+        settings.applySystemProperties();
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), settings.getBacklog());
+        Router router = new Router();
+        new TaskController(service).registerRoutes(router);
+        server.createContext("/api/v1", router);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/tasks";
+        String task = "{\"title\":\"Imported task\",\"description\":\"From the importer\",\"priority\":\"HIGH\"}";
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < batchSize; i++) {
+            batch.append(i > 0 ? "," : "").append("{\"op\":\"create\",").append(task.substring(1));
+        }
+        batch.append(']');
+        singleRequest = HttpRequest.newBuilder(URI.create(base))
+                .POST(HttpRequest.BodyPublishers.ofString(task)).build();
+        batchRequest = HttpRequest.newBuilder(URI.create(base + "/batch"))
+                .POST(HttpRequest.BodyPublishers.ofString(batch.toString())).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Benchmark
+    public void singleRequests(Counters counters) throws Exception {
+        for (int i = 0; i < batchSize; i++) {
+            send(singleRequest, 201);
+        }
+        counters.tasks += batchSize;
+    }
+
+    @Benchmark
+    public void batchRequest(Counters counters) throws Exception {
+        send(batchRequest, 200);
+        counters.tasks += batchSize;
+    }
+
+    private void send(HttpRequest request, int expectedStatus) throws Exception {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ee.taltech.todo.benchmark;
+
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import ee.taltech.todo.repository.PageRequest;
+import ee.taltech.todo.repository.TaskPage;
+import ee.taltech.todo.repository.TaskQuery;
+import ee.taltech.todo.repository.TaskSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a combined query answered by the planner against combining the
+ * single-filter methods by intersecting their full result lists.
+ *
+ * The query asks for pending, low-priority, starred tasks: the starred filter
+ * matches 2% of the tasks, the others about a third each. The paged variant reads
+ * the first 50 pending, low-priority tasks by due date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class TaskQueryBenchmark {
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private InMemoryTaskRepository repository;
+    private TaskQuery query;
+    private TaskQuery broadQuery;
+    private PageRequest page;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        repository = new InMemoryTaskRepository();
+        BenchmarkSupport.generateTasks(size).forEach(repository::save);
+
+        broadQuery = TaskQuery.all().withStatus(TaskStatus.PENDING).withPriority(TaskPriority.LOW);
+        query = broadQuery.withStarred(true);
+        page = PageRequest.first(TaskSort.DUE_DATE, false, 50);
+    }
+
+    @Benchmark
+    public List<Task> plannedQuery() {
+        return repository.find(query);
+    }
+
+    @Benchmark
+    public Set<Task> intersectedLists() {
+        Set<Task> result = new LinkedHashSet<>(repository.findStarred());
+        result.retainAll(Set.copyOf(repository.findByStatus(TaskStatus.PENDING)));
+        result.retainAll(Set.copyOf(repository.findByPriority(TaskPriority.LOW)));
+        return result;
+    }
+
+    @Benchmark
+    public TaskPage plannedPage() {
+        return repository.findPage(broadQuery, page);
+    }
+
+    @Benchmark
+    public TaskPage intersectedListsPage() {
+        List<Task> result = repository.findByStatus(TaskStatus.PENDING);
+        result.retainAll(Set.copyOf(repository.findByPriority(TaskPriority.LOW)));
+        return TaskPage.of(result, page);
+    }
+}
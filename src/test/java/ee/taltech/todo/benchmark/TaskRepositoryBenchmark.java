@@ -0,0 +1,111 @@
+package ee.taltech.todo.benchmark;
+
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares indexed repository lookups against the full scan they replaced.
+ *
+ * The queried status and priority match 1% of the tasks and about 5% of the
+ * tasks are overdue, so with the indexes the cost should follow the result
+ * size while the scan follows the table size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskRepositoryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private InMemoryTaskRepository repository;
+
+    /**
+     * Plain map holding the same tasks, scanned the way the repository used to.
+     */
+    private Map<String, Task> scanStorage;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        repository = new InMemoryTaskRepository();
+        scanStorage = new ConcurrentHashMap<>();
+
+        for (Task task : BenchmarkSupport.generateTasks(size)) {
+            repository.save(task);
+            scanStorage.put(task.getId(), task);
+        }
+    }
+
+    @Benchmark
+    public List<Task> findByStatusIndexed() {
+        return repository.findByStatus(TaskStatus.CANCELLED);
+    }
+
+    @Benchmark
+    public List<Task> findByStatusFullScan() {
+        return scanStorage.values().stream()
+                .filter(task -> TaskStatus.CANCELLED.equals(task.getStatus()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Task> findOverdueIndexed() {
+        return repository.findOverdue();
+    }
+
+    @Benchmark
+    public List<Task> findOverdueFullScan() {
+        return scanStorage.values().stream()
+                .filter(Task::isOverdue)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Task> findByPriorityIndexed() {
+        return repository.findByPriority(TaskPriority.CRITICAL);
+    }
+
+    @Benchmark
+    public List<Task> findByPriorityFullScan() {
+        return scanStorage.values().stream()
+                .filter(task -> TaskPriority.CRITICAL.equals(task.getPriority()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Task> searchIndexed() {
+        return repository.search("dentist");
+    }
+
+    @Benchmark
+    public List<Task> searchFullScan() {
+        String lowerKeyword = "dentist";
+        return scanStorage.values().stream()
+                .filter(task -> task.getTitle() != null &&
+                               task.getTitle().toLowerCase().contains(lowerKeyword))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,64 @@
+package ee.taltech.todo.benchmark;
+
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import ee.taltech.todo.repository.TaskStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading task statistics from the repository's running counters
+ * against counting the lists returned by the filter methods, as the service's
+ * countByStatus and the frontend did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class TaskStatsBenchmark {
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private InMemoryTaskRepository repository;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        repository = new InMemoryTaskRepository();
+        BenchmarkSupport.generateTasks(size).forEach(repository::save);
+    }
+
+    @Benchmark
+    public TaskStats counters() {
+        return repository.getStats();
+    }
+
+    @Benchmark
+    public void listSizes(Blackhole blackhole) {
+        blackhole.consume(repository.count());
+        for (TaskStatus status : TaskStatus.values()) {
+            blackhole.consume(repository.findByStatus(status).size());
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            blackhole.consume(repository.findByPriority(priority).size());
+        }
+        blackhole.consume(repository.findStarred().size());
+        blackhole.consume(repository.findOverdue().size());
+    }
+}
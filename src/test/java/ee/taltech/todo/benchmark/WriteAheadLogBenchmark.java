@@ -0,0 +1,183 @@
+package ee.taltech.todo.benchmark;
+
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.persistence.FsyncPolicy;
+import ee.taltech.todo.persistence.JournalSettings;
+import ee.taltech.todo.persistence.RepositoryJournal;
+import ee.taltech.todo.persistence.TaskCodec;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Write throughput and recovery time of the journaled in-memory task repository.
+ *
+ * {@code save} changes a random stored task on four threads, so that ALWAYS shows the
+ * effect of group commit; {@code saveUnjournaled} is the in-memory baseline. {@code recover} opens a
+ * repository from a snapshot covering {@code size} tasks plus a log tail that
+ * updates {@value #TAIL_UPDATES} of them; snapshot tasks stay undecoded until first access.
+ * {@code recoverAndPreload} also decodes and indexes every task.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class WriteAheadLogBenchmark {
+
+    /**
+     * Tasks updated after the snapshot, i.e. the log tail replayed on recovery.
+     */
+    static final int TAIL_UPDATES = 1000;
+
+    @State(Scope.Benchmark)
+    public static class WriteState {
+
+        @Param({"ALWAYS", "INTERVAL", "NEVER"})
+        public FsyncPolicy policy;
+
+        Path directory;
+        InMemoryTaskRepository repository;
+        InMemoryTaskRepository baseline;
+        RepositoryJournal<Task> journal;
+        List<String> ids;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            BenchmarkSupport.quietLogging();
+            directory = Files.createTempDirectory("wal-bench");
+            List<Task> tasks = BenchmarkSupport.generateTasks(10_000);
+            ids = tasks.stream().map(Task::getId).toList();
+            repository = new InMemoryTaskRepository();
+            baseline = new InMemoryTaskRepository();
+            journal = RepositoryJournal.open("tasks", repository, new TaskCodec(id -> null),
+                    new JournalSettings(directory, policy, 10, 100_000));
+            repository.saveAll(tasks);
+            baseline.saveAll(tasks);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            journal.close();
+            deleteRecursively(directory);
+        }
+
+        String randomId() {
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RecoveryState {
+
+        @Param({"10000", "100000", "1000000"})
+        public int size;
+
+        Path directory;
+        JournalSettings settings;
+        String probeId;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            BenchmarkSupport.quietLogging();
+            directory = Files.createTempDirectory("wal-recovery-bench");
+            settings = new JournalSettings(directory, FsyncPolicy.NEVER, 100, 0);
+
+            InMemoryTaskRepository repository = new InMemoryTaskRepository();
+            try (RepositoryJournal<Task> journal = RepositoryJournal.open("tasks", repository,
+                    new TaskCodec(id -> null), settings)) {
+                List<Task> tasks = BenchmarkSupport.generateTasks(size);
+                tasks.forEach(repository::save);
+                probeId = tasks.get(size / 2 + 1).getId();
+                journal.snapshot();
+                for (int i = 0; i < size; i += size / TAIL_UPDATES) {
+                    repository.update(tasks.get(i).getId(), WriteAheadLogBenchmark::toggleStar);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Task> save(WriteState state) {
+        return state.repository.update(state.randomId(), WriteAheadLogBenchmark::toggleStar);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Task> saveUnjournaled(WriteState state) {
+        return state.baseline.update(state.randomId(), WriteAheadLogBenchmark::toggleStar);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public long recover(RecoveryState state) {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        RepositoryJournal<Task> journal = RepositoryJournal.open("tasks", repository,
+                new TaskCodec(id -> null), state.settings);
+        try {
+            return repository.findById(state.probeId).isPresent() ? 1 : 0;
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public long recoverAndPreload(RecoveryState state) {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        RepositoryJournal<Task> journal = RepositoryJournal.open("tasks", repository,
+                new TaskCodec(id -> null), state.settings);
+        try {
+            repository.preload();
+            return repository.count();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private static void toggleStar(Task task) {
+        task.setStarred(!task.isStarred());
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ee.taltech.todo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AppConfig.
+ */
+class AppConfigTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("test.override");
+    }
+
+    @Test
+    void testGetters_ShouldReadProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("name", " value ");
+        properties.setProperty("count", "5");
+        properties.setProperty("enabled", "true");
+        AppConfig config = new AppConfig(properties);
+
+        assertEquals("value", config.getString("name", "default"));
+        assertEquals(5, config.getInt("count", 1));
+        assertTrue(config.getBoolean("enabled", false));
+    }
+
+    @Test
+    void testGetters_WhenMissing_ShouldReturnDefaults() {
+        AppConfig config = new AppConfig(new Properties());
+
+        assertEquals("default", config.getString("missing", "default"));
+        assertEquals(7, config.getInt("missing", 7));
+        assertFalse(config.getBoolean("missing", false));
+    }
+
+    @Test
+    void testGetString_SystemPropertyShouldOverrideFile() {
+        Properties properties = new Properties();
+        properties.setProperty("test.override", "file");
+        System.setProperty("test.override", "system");
+
+        assertEquals("system", new AppConfig(properties).getString("test.override", null));
+    }
+
+    @Test
+    void testGetInt_WithInvalidValue_ShouldThrowException() {
+        Properties properties = new Properties();
+        properties.setProperty("count", "abc");
+
+        assertThrows(IllegalArgumentException.class, () -> new AppConfig(properties).getInt("count", 1));
+    }
+
+    @Test
+    void testLoad_ShouldReadApplicationProperties() {
+        AppConfig config = AppConfig.load();
+
+        assertEquals("ToDo Application", config.getString("app.name", null));
+    }
+}
@@ -0,0 +1,63 @@
+package ee.taltech.todo.dto;
+
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.service.TaskBatchOperation;
+import ee.taltech.todo.service.TaskService;
+import ee.taltech.todo.util.JsonUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchOperationRequest.
+ */
+class BatchOperationRequestTest {
+
+    @Test
+    void testToOperation_ShouldMapEveryOperationType() {
+        BatchOperationRequest[] requests = JsonUtil.fromJson("["
+                + "{\"op\":\"create\",\"title\":\"New\",\"priority\":\"HIGH\",\"categoryId\":\"c1\"},"
+                + "{\"op\":\"UPDATE\",\"id\":\"t1\",\"version\":3,\"title\":\"Renamed\"},"
+                + "{\"op\":\"update\",\"id\":\"t2\",\"categoryId\":\"\"},"
+                + "{\"op\":\"complete\",\"id\":\"t3\"},"
+                + "{\"op\":\"delete\",\"id\":\"t4\"}]", BatchOperationRequest[].class);
+
+        TaskBatchOperation create = requests[0].toOperation();
+        assertEquals(TaskBatchOperation.Type.CREATE, create.getType());
+        assertEquals("New", create.getTask().getTitle());
+        assertEquals(TaskPriority.HIGH, create.getTask().getPriority());
+        assertEquals("c1", create.getCategoryId());
+
+        TaskBatchOperation update = requests[1].toOperation();
+        assertEquals(TaskBatchOperation.Type.UPDATE, update.getType());
+        assertEquals(3, update.getExpectedVersion());
+        Task task = new Task("Old");
+        update.getChanges().accept(task);
+        assertEquals("Renamed", task.getTitle());
+
+        TaskBatchOperation anyVersion = requests[2].toOperation();
+        assertEquals(TaskService.ANY_VERSION, anyVersion.getExpectedVersion());
+        assertNull(anyVersion.getCategoryId());
+
+        assertEquals(TaskBatchOperation.Type.COMPLETE, requests[3].toOperation().getType());
+        assertEquals("t4", requests[4].toOperation().getTaskId());
+    }
+
+    @Test
+    void testToOperation_WithInvalidRequest_ShouldThrowException() {
+        BatchOperationRequest missingOp = new BatchOperationRequest();
+        BatchOperationRequest unknownOp = new BatchOperationRequest();
+        unknownOp.setOp("archive");
+        BatchOperationRequest missingId = new BatchOperationRequest();
+        missingId.setOp("delete");
+        BatchOperationRequest badVersion = new BatchOperationRequest();
+        badVersion.setOp("update");
+        badVersion.setId("t1");
+        badVersion.setVersion(0L);
+
+        for (BatchOperationRequest request : new BatchOperationRequest[]{missingOp, unknownOp, missingId, badVersion}) {
+            assertThrows(IllegalArgumentException.class, request::toOperation);
+        }
+    }
+}
@@ -25,6 +25,7 @@ class TaskDTOTest {
         task.setPriority(TaskPriority.HIGH);
         task.setStarred(true);
         task.setDueDate(LocalDateTime.of(2025, 12, 31, 23, 59));
+        task.setVersion(5);
 
         Category category = new Category();
         category.setName("Work");
@@ -45,6 +46,7 @@ class TaskDTOTest {
         assertEquals("Work", dto.getCategoryName());
         assertNotNull(dto.getCreatedAt());
         assertNotNull(dto.getUpdatedAt());
+        assertEquals(5, dto.getVersion());
     }
 
     @Test
@@ -0,0 +1,84 @@
+package ee.taltech.todo.event;
+
+import ee.taltech.todo.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChangeEventBus and ChangeEvent.
+ */
+class ChangeEventBusTest {
+
+    private ChangeEventBus bus;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        bus = new ChangeEventBus();
+        task = new Task();
+        task.setTitle("Test Task");
+    }
+
+    @Test
+    void testPublish_ShouldDeliverToEveryListener() {
+        List<ChangeEvent> first = new ArrayList<>();
+        List<ChangeEvent> second = new ArrayList<>();
+        bus.subscribe(first::add);
+        bus.subscribe(second::add);
+
+        ChangeEvent event = ChangeEvent.saved(ChangeEvent.EntityType.TASK, task);
+        bus.publish(event);
+
+        assertEquals(List.of(event), first);
+        assertEquals(List.of(event), second);
+        assertEquals(2, bus.getListenerCount());
+    }
+
+    @Test
+    void testUnsubscribe_ShouldStopDelivery() {
+        List<ChangeEvent> received = new ArrayList<>();
+        ChangeListener listener = received::add;
+        bus.subscribe(listener);
+
+        bus.unsubscribe(listener);
+        bus.publish(ChangeEvent.deleted(ChangeEvent.EntityType.TASK, task.getId()));
+
+        assertTrue(received.isEmpty());
+        assertEquals(0, bus.getListenerCount());
+    }
+
+    @Test
+    void testPublish_WhenListenerThrows_ShouldStillDeliverToOthers() {
+        List<ChangeEvent> received = new ArrayList<>();
+        bus.subscribe(event -> {
+            throw new IllegalStateException("boom");
+        });
+        bus.subscribe(received::add);
+
+        assertDoesNotThrow(() -> bus.publish(ChangeEvent.saved(ChangeEvent.EntityType.TASK, task)));
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void testSubscribe_WithNullListener_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> bus.subscribe(null));
+    }
+
+    @Test
+    void testKey_ShouldIdentifyEntityAcrossActions() {
+        ChangeEvent saved = ChangeEvent.saved(ChangeEvent.EntityType.TASK, task);
+        ChangeEvent deleted = ChangeEvent.deleted(ChangeEvent.EntityType.TASK, task.getId());
+        ChangeEvent otherType = ChangeEvent.deleted(ChangeEvent.EntityType.CATEGORY, task.getId());
+
+        assertEquals(saved.getKey(), deleted.getKey());
+        assertEquals(saved.getKey().hashCode(), deleted.getKey().hashCode());
+        assertNotEquals(saved.getKey(), otherType.getKey());
+        assertSame(task, saved.getEntity());
+        assertNull(deleted.getEntity());
+    }
+}
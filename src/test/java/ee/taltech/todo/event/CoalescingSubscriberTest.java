@@ -0,0 +1,252 @@
+package ee.taltech.todo.event;
+
+import ee.taltech.todo.model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CoalescingSubscriber.
+ */
+class CoalescingSubscriberTest {
+
+    private static final Object RESYNC = "resync";
+    private static final Object HEARTBEAT = "heartbeat";
+    private static final Object CLOSED = "closed";
+
+    private ScheduledExecutorService executor;
+    private BlockingQueue<Object> delivered;
+    private RecordingSink sink;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        delivered = new LinkedBlockingQueue<>();
+        sink = new RecordingSink();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testOnChange_ShouldCoalesceEventsForTheSameEntity() throws Exception {
+        CoalescingSubscriber subscriber = new CoalescingSubscriber(executor, 100, 10, sink);
+        Task first = task("First");
+        Task second = task("Second");
+
+        subscriber.onChange(saved(first));
+        subscriber.onChange(saved(second));
+        Task edited = first.copy();
+        edited.setTitle("First, edited");
+        subscriber.onChange(saved(edited));
+
+        List<?> batch = (List<?>) next();
+        assertEquals(2, batch.size());
+        // The latest change decides the order
+        assertSame(second, ((ChangeEvent) batch.get(0)).getEntity());
+        assertSame(edited, ((ChangeEvent) batch.get(1)).getEntity());
+    }
+
+    @Test
+    void testOnChange_WhileSinkIsBlocked_ShouldCollectOnlyTheLatestChange() throws Exception {
+        CoalescingSubscriber subscriber = new CoalescingSubscriber(executor, 0, 10, sink);
+        sink.blockNextSend();
+        Task task = task("Task");
+
+        subscriber.onChange(saved(task));
+        assertTrue(sink.sending.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            subscriber.onChange(saved(task));
+        }
+        subscriber.onChange(ChangeEvent.deleted(ChangeEvent.EntityType.TASK, task.getId()));
+        assertEquals(1, subscriber.getPendingCount());
+        sink.release.countDown();
+
+        assertEquals(1, ((List<?>) next()).size());
+        List<?> batch = (List<?>) next();
+        assertEquals(1, batch.size());
+        assertEquals(ChangeEvent.Action.DELETED, ((ChangeEvent) batch.get(0)).getAction());
+    }
+
+    @Test
+    void testOnChange_WhenPublishedOutOfOrder_ShouldKeepTheHigherVersion() throws Exception {
+        CoalescingSubscriber subscriber = new CoalescingSubscriber(executor, 100, 10, sink);
+        Task older = task("Older");
+        older.setVersion(2);
+        Task newer = older.copy();
+        newer.setTitle("Newer");
+        newer.setVersion(3);
+        Task other = task("Other");
+
+        subscriber.onChange(saved(newer));
+        subscriber.onChange(saved(other));
+        subscriber.onChange(saved(older));
+
+        List<?> batch = (List<?>) next();
+        assertEquals(2, batch.size());
+        // The stale event neither replaced the pending one nor moved it
+        assertSame(newer, ((ChangeEvent) batch.get(0)).getEntity());
+        assertSame(other, ((ChangeEvent) batch.get(1)).getEntity());
+    }
+
+    @Test
+    void testOnChange_SaveAfterDelete_ShouldKeepTheDelete() throws Exception {
+        CoalescingSubscriber subscriber = new CoalescingSubscriber(executor, 100, 10, sink);
+        Task task = task("Task");
+        task.setVersion(4);
+
+        subscriber.onChange(ChangeEvent.deleted(ChangeEvent.EntityType.TASK, task.getId()));
+        subscriber.onChange(saved(task));
+
+        List<?> batch = (List<?>) next();
+        assertEquals(1, batch.size());
+        assertEquals(ChangeEvent.Action.DELETED, ((ChangeEvent) batch.get(0)).getAction());
+    }
+
+    @Test
+    void testOnChange_WhenTooFarBehind_ShouldDropEventsAndResync() throws Exception {
+        CoalescingSubscriber subscriber = new CoalescingSubscriber(executor, 50, 2, sink);
+
+        subscriber.onChange(saved(task("One")));
+        subscriber.onChange(saved(task("Two")));
+        subscriber.onChange(saved(task("Three")));
+        assertEquals(0, subscriber.getPendingCount());
+        subscriber.onChange(saved(task("Four")));
+
+        assertSame(RESYNC, next());
+        assertNull(delivered.poll(200, TimeUnit.MILLISECONDS));
+        assertFalse(subscriber.isClosed());
+    }
+
+    @Test
+    void testHeartbeat_ShouldReachSinkWhenIdle() throws Exception {
+        CoalescingSubscriber subscriber = new CoalescingSubscriber(executor, 50, 10, sink);
+
+        subscriber.heartbeat();
+
+        assertSame(HEARTBEAT, next());
+    }
+
+    @Test
+    void testDrain_WhenSinkFails_ShouldCloseSubscriber() throws Exception {
+        CoalescingSubscriber subscriber = new CoalescingSubscriber(executor, 0, 10, sink);
+        sink.failNextSend();
+
+        subscriber.onChange(saved(task("Task")));
+
+        assertSame(CLOSED, next());
+        assertTrue(subscriber.isClosed());
+        subscriber.onChange(saved(task("Ignored")));
+        assertNull(delivered.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testClose_ShouldReleaseSinkOnce() throws Exception {
+        CoalescingSubscriber subscriber = new CoalescingSubscriber(executor, 0, 10, sink);
+
+        subscriber.close();
+        subscriber.close();
+
+        assertSame(CLOSED, next());
+        assertNull(delivered.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testOnChange_WhenExecutorIsShutDown_ShouldClose() throws Exception {
+        CoalescingSubscriber subscriber = new CoalescingSubscriber(executor, 0, 10, sink);
+        executor.shutdownNow();
+
+        subscriber.onChange(saved(task("Task")));
+
+        assertTrue(subscriber.isClosed());
+        assertSame(CLOSED, next());
+    }
+
+    @Test
+    void testConstructor_WithInvalidSettings_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new CoalescingSubscriber(null, 0, 10, sink));
+        assertThrows(IllegalArgumentException.class, () -> new CoalescingSubscriber(executor, -1, 10, sink));
+        assertThrows(IllegalArgumentException.class, () -> new CoalescingSubscriber(executor, 0, 0, sink));
+    }
+
+    private Object next() throws InterruptedException {
+        Object item = delivered.poll(5, TimeUnit.SECONDS);
+        assertNotNull(item, "Nothing delivered");
+        return item;
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+
+    private static ChangeEvent saved(Task task) {
+        return ChangeEvent.saved(ChangeEvent.EntityType.TASK, task);
+    }
+
+    /**
+     * Puts everything it receives on the delivered queue.
+     */
+    private final class RecordingSink implements CoalescingSubscriber.Sink {
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private boolean block;
+        private boolean fail;
+
+        void blockNextSend() {
+            block = true;
+        }
+
+        void failNextSend() {
+            fail = true;
+        }
+
+        @Override
+        public void send(List<ChangeEvent> events) throws IOException {
+            if (fail) {
+                fail = false;
+                throw new IOException("Broken pipe");
+            }
+            if (block) {
+                block = false;
+                sending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            delivered.add(events);
+        }
+
+        @Override
+        public void resync() {
+            delivered.add(RESYNC);
+        }
+
+        @Override
+        public void heartbeat() {
+            delivered.add(HEARTBEAT);
+        }
+
+        @Override
+        public void close() {
+            delivered.add(CLOSED);
+        }
+    }
+}
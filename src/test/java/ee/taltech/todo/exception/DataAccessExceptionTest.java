@@ -0,0 +1,27 @@
+package ee.taltech.todo.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DataAccessException.
+ */
+class DataAccessExceptionTest {
+
+    @Test
+    void testConstructor_WithMessageAndCause() {
+        SQLException cause = new SQLException("Connection refused");
+        DataAccessException exception = new DataAccessException("Failed to load task", cause);
+
+        assertEquals("Failed to load task", exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+
+    @Test
+    void testExceptionIsUncheckedException() {
+        assertTrue(RuntimeException.class.isAssignableFrom(DataAccessException.class));
+    }
+}
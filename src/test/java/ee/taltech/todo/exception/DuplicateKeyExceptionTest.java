@@ -0,0 +1,33 @@
+package ee.taltech.todo.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DuplicateKeyException.
+ */
+class DuplicateKeyExceptionTest {
+
+    @Test
+    void testConstructor_WithMessageAndKey() {
+        DuplicateKeyException exception = new DuplicateKeyException("Duplicate key", "Work");
+
+        assertEquals("Duplicate key", exception.getMessage());
+        assertEquals("Work", exception.getKey());
+    }
+
+    @Test
+    void testForKey_ShouldCreateExceptionWithFormattedMessage() {
+        DuplicateKeyException exception = DuplicateKeyException.forKey("Category", "Work");
+
+        assertTrue(exception.getMessage().contains("Category"));
+        assertTrue(exception.getMessage().contains("Work"));
+        assertEquals("Work", exception.getKey());
+    }
+
+    @Test
+    void testExceptionIsUncheckedException() {
+        assertTrue(RuntimeException.class.isAssignableFrom(DuplicateKeyException.class));
+    }
+}
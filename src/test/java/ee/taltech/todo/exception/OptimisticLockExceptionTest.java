@@ -0,0 +1,35 @@
+package ee.taltech.todo.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OptimisticLockException.
+ */
+class OptimisticLockExceptionTest {
+
+    @Test
+    void testForVersion_ShouldCreateExceptionWithFormattedMessage() {
+        OptimisticLockException exception = OptimisticLockException.forVersion("Task", "abc", 3, 4);
+
+        assertTrue(exception.getMessage().contains("Task abc"));
+        assertTrue(exception.getMessage().contains("expected version 3"));
+        assertTrue(exception.getMessage().contains("found version 4"));
+        assertEquals("abc", exception.getEntityId());
+        assertEquals(3, exception.getExpectedVersion());
+        assertEquals(4, exception.getActualVersion());
+    }
+
+    @Test
+    void testForVersion_WhenEntityDeleted_ShouldSayNoStoredVersion() {
+        OptimisticLockException exception = OptimisticLockException.forVersion("Task", "abc", 3, 0);
+
+        assertTrue(exception.getMessage().contains("found no stored version"));
+    }
+
+    @Test
+    void testExceptionIsUncheckedException() {
+        assertTrue(RuntimeException.class.isAssignableFrom(OptimisticLockException.class));
+    }
+}
@@ -0,0 +1,81 @@
+package ee.taltech.todo.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyHistogram.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketIndex_ShouldCoverEveryValueContiguously() {
+        for (int i = 1; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long lowest = LatencyHistogram.highestValue(i - 1) + 1;
+            assertEquals(i, LatencyHistogram.bucketIndex(lowest));
+            assertEquals(i, LatencyHistogram.bucketIndex(LatencyHistogram.highestValue(i)));
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testBucketIndex_ShouldKeepRelativeErrorWithinOneSixteenth() {
+        for (long value = 16; value < LatencyHistogram.MAX_VALUE; value = value * 3 + 7) {
+            long highest = LatencyHistogram.highestValue(LatencyHistogram.bucketIndex(value));
+            assertTrue(highest >= value);
+            assertTrue(highest - value <= value / 16, "value " + value);
+        }
+    }
+
+    @Test
+    void testGetValueAtPercentile_ShouldReturnBucketOfRank() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050 * 1_000_000L, histogram.getSum());
+        assertEquals(50_000_000, histogram.getValueAtPercentile(50), 50_000_000 / 16.0);
+        assertEquals(99_000_000, histogram.getValueAtPercentile(99), 99_000_000 / 16.0);
+        assertEquals(0, new LatencyHistogram().getValueAtPercentile(99));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+    }
+
+    @Test
+    void testGetCountsAtOrBelow_ShouldBeCumulative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(500_000);
+        histogram.record(2_000_000);
+        histogram.record(2_000_000);
+        histogram.record(400_000_000_000L);
+
+        assertArrayEquals(new long[]{1, 2, 4, 4},
+                histogram.getCountsAtOrBelow(new long[]{0, 1_000_000, 10_000_000, 1_000_000_000}));
+        assertEquals(5, histogram.getCountAtOrBelow(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testRecord_FromSeveralThreads_ShouldCountEveryValue() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(4L * 9_999 * 10_000 / 2, histogram.getSum());
+    }
+}
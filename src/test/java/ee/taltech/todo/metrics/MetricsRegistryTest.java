@@ -0,0 +1,116 @@
+package ee.taltech.todo.metrics;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import ee.taltech.todo.server.CompressionSettings;
+import ee.taltech.todo.server.ResponseWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MetricsRegistry and MetricsHandler.
+ */
+class MetricsRegistryTest {
+
+    private MetricsRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MetricsRegistry();
+    }
+
+    @Test
+    void testRegister_WithSameNameAndLabels_ShouldReturnSameMetric() {
+        assertSame(registry.requestMetrics("GET", "/api/v1/tasks"), registry.requestMetrics("GET", "/api/v1/tasks"));
+        assertNotSame(registry.requestMetrics("GET", "/api/v1/tasks"), registry.requestMetrics("POST", "/api/v1/tasks"));
+        assertSame(registry.histogram("op_seconds", "Ops", "operation", "save"),
+                registry.histogram("op_seconds", "Ops", "operation", "save"));
+    }
+
+    @Test
+    void testRegister_WithInvalidArguments_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("bad name", "Ops"));
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("op_seconds", "Ops", "operation"));
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("op_seconds", "Ops", "1st", "x"));
+        assertThrows(IllegalArgumentException.class, () -> registry.requestMetrics(null, "/"));
+    }
+
+    @Test
+    void testScrape_ShouldWriteRequestHistogramsAndCounters() {
+        RequestMetrics route = registry.requestMetrics("GET", "/api/v1/tasks/{id}");
+        route.record(200, 300_000);
+        route.record(200, 3_000_000);
+        route.record(404, 30_000_000);
+        route.recordError();
+
+        String text = registry.scrape();
+
+        String labels = "method=\"GET\",route=\"/api/v1/tasks/{id}\"";
+        assertTrue(text.contains("# TYPE http_server_requests_seconds histogram\n"));
+        assertTrue(text.contains("http_server_requests_seconds_bucket{" + labels + ",le=\"0.0005\"} 1\n"));
+        assertTrue(text.contains("http_server_requests_seconds_bucket{" + labels + ",le=\"0.005\"} 2\n"));
+        assertTrue(text.contains("http_server_requests_seconds_bucket{" + labels + ",le=\"+Inf\"} 3\n"));
+        assertTrue(text.contains("http_server_requests_seconds_sum{" + labels + "} 0.0333\n"));
+        assertTrue(text.contains("http_server_requests_seconds_count{" + labels + "} 3\n"));
+        assertTrue(text.contains("http_server_requests_total{" + labels + ",status=\"200\"} 2\n"));
+        assertTrue(text.contains("http_server_requests_total{" + labels + ",status=\"404\"} 1\n"));
+        assertFalse(text.contains("status=\"500\""));
+        assertTrue(text.contains("http_server_request_errors_total{" + labels + "} 1\n"));
+        assertTrue(text.contains("jvm_memory_used_bytes{area=\"heap\"} "));
+    }
+
+    @Test
+    void testScrape_ShouldWriteEachFamilyHeaderOnceAndEscapeLabels() {
+        registry.histogram("repository_operation_seconds", "Repository operations",
+                "operation", "save").record(1_000);
+        registry.histogram("repository_operation_seconds", "Repository operations",
+                "operation", "say \"hi\"\\\n").record(1_000);
+
+        String text = registry.scrape();
+
+        assertEquals(text.indexOf("# TYPE repository_operation_seconds histogram"),
+                text.lastIndexOf("# TYPE repository_operation_seconds histogram"));
+        assertTrue(text.contains("repository_operation_seconds_count{operation=\"save\"} 1\n"));
+        assertTrue(text.contains("repository_operation_seconds_count{operation=\"say \\\"hi\\\"\\\\\\n\"} 1\n"));
+    }
+
+    @Test
+    void testHandler_ShouldServeScrapeAndRejectOtherMethods() throws IOException {
+        registry.requestMetrics("GET", "/api/v1/tasks").record(200, 1_000);
+        MetricsHandler handler = new MetricsHandler(registry, new ResponseWriter(CompressionSettings.defaults()));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        HttpExchange get = mockExchange("GET", body);
+        handler.handle(get);
+
+        verify(get).sendResponseHeaders(eq(200), anyLong());
+        assertEquals(MetricsRegistry.CONTENT_TYPE, get.getResponseHeaders().getFirst("Content-Type"));
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains("http_server_requests_seconds_count"));
+
+        HttpExchange post = mockExchange("POST", new ByteArrayOutputStream());
+        handler.handle(post);
+
+        verify(post).sendResponseHeaders(eq(405), anyLong());
+        assertEquals("GET", post.getResponseHeaders().getFirst("Allow"));
+    }
+
+    private static HttpExchange mockExchange(String method, ByteArrayOutputStream body) {
+        HttpExchange exchange = mock(HttpExchange.class);
+        when(exchange.getRequestMethod()).thenReturn(method);
+        when(exchange.getRequestHeaders()).thenReturn(new Headers());
+        when(exchange.getResponseHeaders()).thenReturn(new Headers());
+        when(exchange.getRequestBody()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        when(exchange.getResponseBody()).thenReturn(body);
+        return exchange;
+    }
+}
@@ -77,4 +77,25 @@ class CategoryTest {
         category.setColor("rgb(255, 0, 0)");
         assertEquals("rgb(255, 0, 0)", category.getColor());
     }
+
+    @Test
+    void testCopy_ShouldKeepStateAndBeIndependent() {
+        category.setName("Work");
+        category.setColor("#3498db");
+        category.setVersion(3);
+
+        Category copy = category.copy();
+        copy.setName("Home");
+
+        assertEquals(category.getId(), copy.getId());
+        assertEquals(3, copy.getVersion());
+        assertEquals("#3498db", copy.getColor());
+        assertEquals(category.getCreatedAt(), copy.getCreatedAt());
+        assertEquals("Work", category.getName());
+
+        long before = category.getModificationCount();
+        category.copyFrom(copy);
+        assertEquals("Home", category.getName());
+        assertTrue(category.getModificationCount() > before);
+    }
 }
@@ -214,4 +214,44 @@ class TaskTest {
         assertNotEquals(task1.getId(), task3.getId(), "Tasks should have unique IDs");
         assertNotEquals(task2.getId(), task3.getId(), "Tasks should have unique IDs");
     }
+
+    @Test
+    void testModificationCount_ShouldIncreaseOnEveryChange() {
+        long created = task.getModificationCount();
+
+        task.setTitle("Changed");
+        long afterTitle = task.getModificationCount();
+        task.complete();
+
+        assertTrue(afterTitle > created);
+        assertTrue(task.getModificationCount() > afterTitle);
+    }
+
+    @Test
+    void testEncodedForm_ShouldOnlyBeReturnedForMatchingStamp() {
+        byte[] bytes = {1, 2, 3};
+        long stamp = task.getModificationCount();
+
+        task.setEncodedForm(stamp, bytes);
+
+        assertSame(bytes, task.getEncodedForm(stamp));
+        task.setStarred(true);
+        assertNull(task.getEncodedForm(task.getModificationCount()));
+    }
+
+    @Test
+    void testFreeze_ShouldRejectChangesButAllowCopies() {
+        task.freeze();
+
+        assertTrue(task.isFrozen());
+        assertThrows(IllegalStateException.class, () -> task.setTitle("Changed"));
+        assertThrows(IllegalStateException.class, () -> task.complete());
+        assertThrows(IllegalStateException.class, () -> task.setVersion(2));
+        assertEquals(TaskStatus.PENDING, task.getStatus());
+
+        Task copy = task.copy();
+        copy.setTitle("Changed");
+        assertFalse(copy.isFrozen());
+        assertEquals("Changed", copy.getTitle());
+    }
 }
@@ -0,0 +1,107 @@
+package ee.taltech.todo.persistence;
+
+import ee.taltech.todo.exception.DataAccessException;
+import ee.taltech.todo.model.Category;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedSnapshot.
+ */
+class MappedSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private final CategoryCodec codec = new CategoryCodec();
+
+    @Test
+    void testWriteAndOpen_ShouldFindEveryEntityById() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            categories.add(new Category("Category " + i, "Description " + i, "#000000"));
+        }
+        Path path = directory.resolve("categories.snapshot");
+
+        MappedSnapshot.write(path, 7, categories, codec);
+
+        try (MappedSnapshot<Category> snapshot = MappedSnapshot.open(path, codec)) {
+            assertEquals(50, snapshot.size());
+            assertEquals(7, snapshot.getFirstSegment());
+            for (Category category : categories) {
+                int index = snapshot.indexOf(category.getId());
+                assertTrue(index >= 0);
+                assertEquals(category.getId(), snapshot.idAt(index));
+                Category loaded = snapshot.load(index);
+                assertEquals(category.getName(), loaded.getName());
+                assertEquals(category.getCreatedAt(), loaded.getCreatedAt());
+            }
+            assertEquals(-1, snapshot.indexOf("missing"));
+        }
+    }
+
+    @Test
+    void testIds_ShouldBeSortedForBinarySearch() {
+        List<Category> categories = List.of(
+                Category.restore("b", "B", null, null, null, null),
+                Category.restore("c", "C", null, null, null, null),
+                Category.restore("a", "A", null, null, null, null));
+        Path path = directory.resolve("sorted.snapshot");
+
+        MappedSnapshot.write(path, 1, categories, codec);
+
+        try (MappedSnapshot<Category> snapshot = MappedSnapshot.open(path, codec)) {
+            assertEquals("a", snapshot.idAt(0));
+            assertEquals("b", snapshot.idAt(1));
+            assertEquals("c", snapshot.idAt(2));
+        }
+    }
+
+    @Test
+    void testEmptySnapshot_ShouldOpen() {
+        Path path = directory.resolve("empty.snapshot");
+
+        MappedSnapshot.write(path, 3, List.of(), codec);
+
+        try (MappedSnapshot<Category> snapshot = MappedSnapshot.open(path, codec)) {
+            assertEquals(0, snapshot.size());
+            assertEquals(-1, snapshot.indexOf("anything"));
+        }
+    }
+
+    @Test
+    void testOpen_WhenFileMissing_ShouldReturnNull() {
+        assertNull(MappedSnapshot.open(directory.resolve("missing.snapshot"), codec));
+    }
+
+    @Test
+    void testOpen_WithWrongMagic_ShouldThrowException() throws IOException {
+        Path path = directory.resolve("garbage.snapshot");
+        Files.write(path, new byte[64]);
+
+        assertThrows(DataAccessException.class, () -> MappedSnapshot.open(path, codec));
+    }
+
+    @Test
+    void testLoad_WithCorruptRecord_ShouldThrowException() throws IOException {
+        Category category = new Category("Work");
+        Path path = directory.resolve("corrupt.snapshot");
+        MappedSnapshot.write(path, 1, List.of(category), codec);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 0x7F;
+        Files.write(path, bytes);
+
+        try (MappedSnapshot<Category> snapshot = MappedSnapshot.open(path, codec)) {
+            assertEquals(0, snapshot.indexOf(category.getId()));
+            assertThrows(DataAccessException.class, () -> snapshot.load(0));
+        }
+    }
+}
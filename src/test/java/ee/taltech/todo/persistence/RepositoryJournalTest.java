@@ -0,0 +1,205 @@
+package ee.taltech.todo.persistence;
+
+import ee.taltech.todo.exception.OptimisticLockException;
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+import ee.taltech.todo.repository.InMemoryCategoryRepository;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RepositoryJournal: recovery of the in-memory repositories.
+ */
+class RepositoryJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecovery_ShouldRestoreSavesAndDeletesFromLog() {
+        Task kept = new Task("Kept", "Description");
+        Task deleted = new Task("Deleted");
+        try (Store store = new Store(settings(0))) {
+            kept = store.tasks.save(kept).copy();
+            store.tasks.save(deleted);
+            kept.setStatus(TaskStatus.COMPLETED);
+            store.tasks.save(kept);
+            store.tasks.deleteById(deleted.getId());
+        }
+
+        try (Store store = new Store(settings(0))) {
+            assertEquals(1, store.tasks.count());
+            Task restored = store.tasks.findById(kept.getId()).orElseThrow();
+            assertEquals("Kept", restored.getTitle());
+            assertEquals(TaskStatus.COMPLETED, restored.getStatus());
+            assertEquals(1, store.tasks.findByStatus(TaskStatus.COMPLETED).size());
+            assertEquals(kept.getCreatedAt(), restored.getCreatedAt());
+        }
+    }
+
+    @Test
+    void testRecovery_ShouldResolveTaskCategoryToRestoredInstance() {
+        Category work = new Category("Work", "Job", "#3498db");
+        Task task = new Task("Report");
+        task.setCategory(work);
+        task.setPriority(TaskPriority.CRITICAL);
+        task.setDueDate(LocalDateTime.of(2030, 1, 1, 8, 0));
+        try (Store store = new Store(settings(0))) {
+            store.categories.save(work);
+            store.tasks.save(task);
+        }
+
+        try (Store store = new Store(settings(0))) {
+            Category restoredCategory = store.categories.findByName("Work").orElseThrow();
+            Task restored = store.tasks.findById(task.getId()).orElseThrow();
+            assertSame(restoredCategory, restored.getCategory());
+            assertEquals(LocalDateTime.of(2030, 1, 1, 8, 0), restored.getDueDate());
+            assertEquals(1, store.tasks.findByCategoryId(work.getId()).size());
+        }
+    }
+
+    @Test
+    void testSnapshot_ShouldTruncateLogAndRecoverWithTail() throws IOException {
+        Task first = new Task("First");
+        Task second = new Task("Second");
+        try (Store store = new Store(settings(0))) {
+            store.tasks.save(first);
+            store.taskJournal.snapshot();
+            store.tasks.save(second);
+            store.tasks.deleteById(first.getId());
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(path -> path.toString().endsWith(".wal")
+                    && path.getFileName().toString().startsWith("tasks")).count());
+        }
+
+        try (Store store = new Store(settings(0))) {
+            assertEquals(1, store.tasks.count());
+            assertTrue(store.tasks.existsById(second.getId()));
+        }
+    }
+
+    @Test
+    void testRecovery_ShouldKeepEntityVersions() {
+        Task logged = new Task("Logged");
+        Task snapshotted = new Task("Snapshotted");
+        Category work = new Category("Work");
+        try (Store store = new Store(settings(0))) {
+            store.tasks.save(snapshotted);
+            store.tasks.update(snapshotted.getId(), task -> task.setStarred(true));
+            store.categories.save(work);
+            store.categories.save(store.categories.findById(work.getId()).orElseThrow().copy());
+            store.taskJournal.snapshot();
+            store.categoryJournal.snapshot();
+
+            store.tasks.save(logged);
+            store.tasks.update(logged.getId(), task -> task.setTitle("Logged twice"));
+            store.tasks.update(logged.getId(), task -> task.setTitle("Logged three times"));
+        }
+
+        try (Store store = new Store(settings(0))) {
+            assertEquals(3, store.tasks.findById(logged.getId()).orElseThrow().getVersion());
+            assertEquals(2, store.tasks.findById(snapshotted.getId()).orElseThrow().getVersion());
+            assertEquals(2, store.categories.findById(work.getId()).orElseThrow().getVersion());
+
+            // Saves continue from the restored version
+            Task stale = snapshotted.copy();
+            assertThrows(OptimisticLockException.class, () -> store.tasks.save(stale));
+            Task current = store.tasks.findById(logged.getId()).orElseThrow().copy();
+            assertEquals(4, store.tasks.save(current).getVersion());
+        }
+    }
+
+    @Test
+    void testSnapshot_ShouldWaitForChangesInProgress() throws Exception {
+        Task task = new Task("Raced");
+        try (Store store = new Store(settings(0))) {
+            store.tasks.save(new Task("Before"));
+
+            // A change that has been logged but is not yet visible in the repository
+            store.taskJournal.beginChange();
+            CompletableFuture<Void> snapshot = CompletableFuture.runAsync(store.taskJournal::snapshot);
+            try {
+                assertThrows(TimeoutException.class, () -> snapshot.get(200, TimeUnit.MILLISECONDS));
+            } finally {
+                store.taskJournal.endChange();
+            }
+            snapshot.get(5, TimeUnit.SECONDS);
+            store.tasks.save(task);
+        }
+
+        try (Store store = new Store(settings(0))) {
+            assertEquals(2, store.tasks.count());
+            assertTrue(store.tasks.existsById(task.getId()));
+        }
+    }
+
+    @Test
+    void testSnapshotThreshold_ShouldSnapshotInBackground() throws Exception {
+        try (Store store = new Store(settings(5))) {
+            for (int i = 0; i < 20; i++) {
+                store.tasks.save(new Task("Task " + i));
+            }
+        }
+
+        assertTrue(Files.exists(directory.resolve("tasks.snapshot")));
+        try (Store store = new Store(settings(5))) {
+            assertEquals(20, store.tasks.count());
+        }
+    }
+
+    @Test
+    void testDeleteAll_ShouldBeRecovered() {
+        try (Store store = new Store(settings(0))) {
+            store.tasks.save(new Task("One"));
+            store.tasks.save(new Task("Two"));
+            store.tasks.deleteAll();
+        }
+
+        try (Store store = new Store(settings(0))) {
+            assertEquals(0, store.tasks.count());
+        }
+    }
+
+    private JournalSettings settings(int snapshotThreshold) {
+        return new JournalSettings(directory, FsyncPolicy.ALWAYS, 100, snapshotThreshold);
+    }
+
+    /**
+     * Journaled repositories opened the same way the application opens them.
+     */
+    private static final class Store implements AutoCloseable {
+
+        final InMemoryCategoryRepository categories = new InMemoryCategoryRepository();
+        final InMemoryTaskRepository tasks = new InMemoryTaskRepository();
+        final RepositoryJournal<Category> categoryJournal;
+        final RepositoryJournal<Task> taskJournal;
+
+        Store(JournalSettings settings) {
+            categoryJournal = RepositoryJournal.open("categories", categories, new CategoryCodec(), settings);
+            taskJournal = RepositoryJournal.open("tasks", tasks,
+                    new TaskCodec(id -> categories.findById(id).orElse(null)), settings);
+        }
+
+        @Override
+        public void close() {
+            taskJournal.close();
+            categoryJournal.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ee.taltech.todo.persistence;
+
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TaskCodec and CategoryCodec.
+ */
+class TaskCodecTest {
+
+    @Test
+    void testTaskRoundTrip_ShouldPreserveAllFields() throws IOException {
+        Category category = new Category("Work");
+        Task task = new Task("Tähtis ülesanne", "Kirjeldus");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setPriority(TaskPriority.CRITICAL);
+        task.setDueDate(LocalDateTime.of(2030, 5, 6, 7, 8, 9, 123456789));
+        task.setCategory(category);
+        task.setStarred(true);
+        task.setVersion(7);
+
+        TaskCodec codec = new TaskCodec(id -> id.equals(category.getId()) ? category : null);
+        Task decoded = roundTrip(codec, task);
+
+        assertEquals(task.getId(), decoded.getId());
+        assertEquals(task.getTitle(), decoded.getTitle());
+        assertEquals(task.getDescription(), decoded.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, decoded.getStatus());
+        assertEquals(TaskPriority.CRITICAL, decoded.getPriority());
+        assertEquals(task.getDueDate(), decoded.getDueDate());
+        assertSame(category, decoded.getCategory());
+        assertTrue(decoded.isStarred());
+        assertEquals(task.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(task.getUpdatedAt(), decoded.getUpdatedAt());
+        assertEquals(7, decoded.getVersion());
+    }
+
+    @Test
+    void testTaskRoundTrip_WithNullFields_ShouldKeepNulls() throws IOException {
+        Task task = new Task("Only title");
+        task.setPriority(null);
+
+        Task decoded = roundTrip(new TaskCodec(id -> null), task);
+
+        assertNull(decoded.getDescription());
+        assertNull(decoded.getDueDate());
+        assertNull(decoded.getCategory());
+        assertNull(decoded.getPriority());
+    }
+
+    @Test
+    void testCategoryRoundTrip_ShouldPreserveAllFields() throws IOException {
+        Category category = new Category("Personal", "Home", "#2ecc71");
+        category.setVersion(4);
+
+        Category decoded = roundTrip(new CategoryCodec(), category);
+
+        assertEquals(category.getId(), decoded.getId());
+        assertEquals("Personal", decoded.getName());
+        assertEquals("Home", decoded.getDescription());
+        assertEquals("#2ecc71", decoded.getColor());
+        assertEquals(category.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(4, decoded.getVersion());
+    }
+
+    private static <T> T roundTrip(EntityCodec<T> codec, T entity) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(entity, new DataOutputStream(bytes));
+        return codec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
@@ -0,0 +1,164 @@
+package ee.taltech.todo.persistence;
+
+import ee.taltech.todo.exception.DataAccessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WriteAheadLog.
+ */
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCommittedRecords_ShouldBeReplayedInOrder() {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, "test", FsyncPolicy.ALWAYS, 100)) {
+            log.commit(log.append((byte) 1, new byte[]{10}));
+            log.commit(log.append((byte) 2, new byte[]{20, 21}));
+        }
+
+        List<String> records = replayAll();
+
+        assertEquals(List.of("1:10", "2:20"), records);
+    }
+
+    @Test
+    void testClose_ShouldWriteUncommittedRecords() {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, "test", FsyncPolicy.INTERVAL, 60_000)) {
+            log.append((byte) 1, new byte[]{1});
+            log.commit(log.append((byte) 1, new byte[]{2}));
+        }
+
+        assertEquals(2, replayAll().size());
+    }
+
+    @Test
+    void testOpen_WithTornTail_ShouldTruncateAndKeepAppending() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, "test", FsyncPolicy.ALWAYS, 100)) {
+            log.commit(log.append((byte) 1, new byte[]{1}));
+            log.commit(log.append((byte) 1, new byte[]{2}));
+        }
+        Path segment = singleSegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        try (WriteAheadLog log = WriteAheadLog.open(directory, "test", FsyncPolicy.ALWAYS, 100)) {
+            log.commit(log.append((byte) 1, new byte[]{3}));
+        }
+
+        assertEquals(List.of("1:1", "1:3"), replayAll());
+    }
+
+    @Test
+    void testOpen_WithCorruptChecksum_ShouldDropRecord() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, "test", FsyncPolicy.ALWAYS, 100)) {
+            log.commit(log.append((byte) 1, new byte[]{1}));
+            log.commit(log.append((byte) 1, new byte[]{2}));
+        }
+        Path segment = singleSegment();
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 0x7F;
+        Files.write(segment, bytes);
+
+        assertEquals(List.of("1:1"), replayAll());
+    }
+
+    @Test
+    void testRotate_ShouldStartNewSegmentAndDeleteOldOnes() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, "test", FsyncPolicy.ALWAYS, 100)) {
+            log.commit(log.append((byte) 1, new byte[]{1}));
+            long next = log.rotate();
+            log.commit(log.append((byte) 1, new byte[]{2}));
+
+            assertEquals(next, log.getSegment());
+            log.deleteSegmentsBefore(next);
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        assertEquals(List.of("1:2"), replayAll());
+    }
+
+    @Test
+    void testConcurrentCommits_ShouldAllBeDurable() throws Exception {
+        int threads = 8;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try (WriteAheadLog log = WriteAheadLog.open(directory, "test", FsyncPolicy.ALWAYS, 100)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        log.commit(log.append((byte) 1, new byte[]{(byte) i}));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, replayAll().size());
+    }
+
+    @Test
+    void testCommit_AfterFailedWrite_ShouldKeepFailingUntilRecordIsWritten() {
+        WriteAheadLog log = WriteAheadLog.open(directory, "test", FsyncPolicy.NEVER, 100);
+        log.close();
+        // Every write to the closed segment fails
+        long position = log.append((byte) 1, new byte[]{1});
+
+        assertThrows(DataAccessException.class, () -> log.commit(position));
+        assertThrows(DataAccessException.class, () -> log.commit(position));
+    }
+
+    @Test
+    void testCommit_OfPositionNeverAppended_ShouldThrow() {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, "test", FsyncPolicy.ALWAYS, 100)) {
+            long position = log.append((byte) 1, new byte[]{1});
+
+            assertThrows(DataAccessException.class, () -> log.commit(position + 1));
+            log.commit(position);
+        }
+
+        assertEquals(List.of("1:1"), replayAll());
+    }
+
+    private List<String> replayAll() {
+        List<String> records = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(directory, "test", FsyncPolicy.NEVER, 100)) {
+            log.replay(0, (type, payload) -> records.add(type + ":" + payload.readByte()));
+        }
+        return records;
+    }
+
+    private Path singleSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.toList();
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+}
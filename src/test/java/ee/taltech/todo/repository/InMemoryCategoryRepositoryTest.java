@@ -1,11 +1,16 @@
 package ee.taltech.todo.repository;
 
+import ee.taltech.todo.exception.DataAccessException;
+import ee.taltech.todo.exception.DuplicateKeyException;
+import ee.taltech.todo.exception.OptimisticLockException;
 import ee.taltech.todo.model.Category;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,6 +30,52 @@ class InMemoryCategoryRepositoryTest {
         category.setColor("#3498db");
     }
 
+    @Test
+    void testSave_WithStaleVersion_ShouldThrowOptimisticLockException() {
+        repository.save(category);
+        Category first = repository.findById(category.getId()).orElseThrow().copy();
+        Category stale = repository.findById(category.getId()).orElseThrow().copy();
+
+        first.setColor("#000000");
+        repository.save(first);
+        stale.setColor("#ffffff");
+
+        assertThrows(OptimisticLockException.class, () -> repository.save(stale));
+        assertEquals("#000000", repository.findById(category.getId()).orElseThrow().getColor());
+        assertEquals(2, repository.findById(category.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testSave_ShouldKeepCallersInstanceOutOfTheStore() {
+        Category saved = repository.save(category);
+
+        assertNotSame(category, saved);
+        assertEquals(0, category.getVersion());
+        assertEquals(1, saved.getVersion());
+
+        // Changing the caller's instance or a copy does not reach the store until saved
+        category.setColor("#000000");
+        Category copy = saved.copy();
+        copy.setName("Renamed");
+        assertEquals("#3498db", repository.findById(category.getId()).orElseThrow().getColor());
+        assertEquals("Work", repository.findById(category.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void testSave_ShouldUpdateStoredInstanceInPlace() {
+        Category stored = repository.save(category);
+        Category copy = stored.copy();
+        copy.setName("Office");
+
+        Category updated = repository.save(copy);
+
+        // Tasks refer to the stored instance, so a rename must reach it
+        assertSame(stored, updated);
+        assertEquals("Office", stored.getName());
+        assertEquals(2, stored.getVersion());
+        assertThrows(OptimisticLockException.class, () -> repository.save(copy));
+    }
+
     @Test
     void testSave_ShouldStoreCategory() {
         Category saved = repository.save(category);
@@ -77,6 +128,27 @@ class InMemoryCategoryRepositoryTest {
         assertEquals(3, categories.size());
     }
 
+    @Test
+    void testGetCollectionVersion_ShouldIncreaseWithEveryChange() {
+        long initial = repository.getCollectionVersion();
+
+        Category saved = repository.save(category);
+        long afterSave = repository.getCollectionVersion();
+        repository.findAll();
+        assertEquals(afterSave, repository.getCollectionVersion());
+
+        saved.setName("Home");
+        repository.save(saved);
+        long afterUpdate = repository.getCollectionVersion();
+        repository.deleteById("missing");
+        assertEquals(afterUpdate, repository.getCollectionVersion());
+        repository.deleteById(saved.getId());
+
+        assertTrue(initial < afterSave);
+        assertTrue(afterSave < afterUpdate);
+        assertTrue(afterUpdate < repository.getCollectionVersion());
+    }
+
     @Test
     void testDeleteById_WhenCategoryExists_ShouldReturnTrue() {
         repository.save(category);
@@ -96,11 +168,11 @@ class InMemoryCategoryRepositoryTest {
 
     @Test
     void testUpdate_ShouldUpdateExistingCategory() {
-        repository.save(category);
+        Category change = repository.save(category).copy();
 
-        category.setName("Updated Work");
-        category.setColor("#FF5733");
-        Category updated = repository.save(category);
+        change.setName("Updated Work");
+        change.setColor("#FF5733");
+        Category updated = repository.save(change);
 
         assertEquals("Updated Work", updated.getName());
         assertEquals("#FF5733", updated.getColor());
@@ -162,4 +234,159 @@ class InMemoryCategoryRepositoryTest {
         List<Category> allCategories = repository.findAll();
         assertEquals(threadCount * categoriesPerThread, allCategories.size());
     }
+
+    @Test
+    void testSave_WithDuplicateName_ShouldThrowDuplicateKeyException() {
+        repository.save(category);
+        Category duplicate = new Category("Work");
+
+        assertThrows(DuplicateKeyException.class, () -> repository.save(duplicate));
+        assertEquals(1, repository.count());
+        assertFalse(repository.existsById(duplicate.getId()));
+    }
+
+    @Test
+    void testSave_AfterRename_ShouldReleaseOldName() {
+        Category change = repository.save(category).copy();
+        change.setName("Renamed");
+        repository.save(change);
+
+        assertFalse(repository.existsByName("Work"));
+        assertTrue(repository.existsByName("Renamed"));
+
+        Category reuse = new Category("Work");
+        assertDoesNotThrow(() -> repository.save(reuse));
+    }
+
+    @Test
+    void testSave_RenameToTakenName_ShouldLeaveStoredCategoryAndIndexUnchanged() {
+        Category work = repository.save(category);
+        repository.save(new Category("Home"));
+        Category change = work.copy();
+        change.setName("Home");
+
+        assertThrows(DuplicateKeyException.class, () -> repository.save(change));
+
+        assertEquals("Work", work.getName());
+        assertEquals(1, work.getVersion());
+        assertSame(work, repository.findByName("Work").orElseThrow());
+        assertTrue(repository.existsByName("Work"));
+        assertEquals(1, repository.findAll().stream().filter(c -> c.getName().equals("Home")).count());
+    }
+
+    @Test
+    void testDeleteById_ShouldReleaseName() {
+        repository.save(category);
+        repository.deleteById(category.getId());
+
+        assertFalse(repository.existsByName("Work"));
+        assertDoesNotThrow(() -> repository.save(new Category("Work")));
+    }
+
+    @Test
+    void testCaseInsensitiveMode_ShouldFoldNames() {
+        InMemoryCategoryRepository caseInsensitive = new InMemoryCategoryRepository(true);
+        caseInsensitive.save(category);
+
+        assertTrue(caseInsensitive.existsByName("WORK"));
+        assertEquals(category.getId(), caseInsensitive.findByName("work").get().getId());
+        assertThrows(DuplicateKeyException.class, () -> caseInsensitive.save(new Category("wOrK")));
+    }
+
+    @Test
+    void testConcurrentSaves_WithSameName_ShouldAcceptExactlyOne() throws InterruptedException {
+        int threadCount = 16;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                    repository.save(new Category("Shared"));
+                    accepted.incrementAndGet();
+                } catch (DuplicateKeyException | InterruptedException ignored) {
+                    // Expected for all but one thread
+                }
+            });
+            threads[i].start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, accepted.get());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void testAttachSnapshot_ShouldServeNamesAndRejectDuplicates() {
+        repository.attachSnapshot(new ListSnapshotSource<>(List.of(category), Category::getId,
+                c -> Category.restore(c.getId(), c.getName(), c.getDescription(), c.getColor(),
+                        c.getCreatedAt(), c.getUpdatedAt())));
+
+        assertTrue(repository.findByName("Work").isPresent());
+        assertThrows(DuplicateKeyException.class, () -> repository.save(new Category("Work")));
+    }
+
+    @Test
+    void testAttachSnapshot_FindById_ShouldDecodeLazily() {
+        ListSnapshotSource<Category> source = new ListSnapshotSource<>(List.of(category), Category::getId,
+                c -> Category.restore(c.getId(), c.getName(), c.getDescription(), c.getColor(),
+                        c.getCreatedAt(), c.getUpdatedAt()));
+        repository.attachSnapshot(source);
+
+        assertTrue(repository.findById("missing").isEmpty());
+        assertEquals(0, source.getLoads());
+        assertTrue(repository.findById(category.getId()).isPresent());
+        assertEquals(1, source.getLoads());
+    }
+
+    @Test
+    void testSave_WhenJournalFails_ShouldLeaveStoredCategoryAndNamesUnchanged() {
+        Category saved = repository.save(category);
+        repository.setJournal(failingJournal());
+        Category renamed = saved.copy();
+        renamed.setName("Renamed");
+
+        assertThrows(DataAccessException.class, () -> repository.save(renamed));
+        assertThrows(DataAccessException.class, () -> repository.save(new Category("Other")));
+        assertThrows(DataAccessException.class, () -> repository.deleteById(category.getId()));
+
+        assertEquals(category.getName(), saved.getName());
+        assertEquals(1, saved.getVersion());
+        assertSame(saved, repository.findByName(category.getName()).orElseThrow());
+        assertFalse(repository.existsByName("Renamed"));
+        assertFalse(repository.existsByName("Other"));
+        assertEquals(1, repository.count());
+    }
+
+    private static <T> ChangeJournal<T> failingJournal() {
+        return new ChangeJournal<>() {
+            @Override
+            public long recordSave(T entity) {
+                throw new DataAccessException("Journal unavailable", null);
+            }
+
+            @Override
+            public long recordDelete(String id) {
+                throw new DataAccessException("Journal unavailable", null);
+            }
+
+            @Override
+            public void commit(long position) {
+            }
+
+            @Override
+            public void beginChange() {
+            }
+
+            @Override
+            public void endChange() {
+            }
+        };
+    }
 }
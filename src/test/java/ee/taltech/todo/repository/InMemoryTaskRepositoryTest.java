@@ -1,5 +1,8 @@
 package ee.taltech.todo.repository;
 
+import ee.taltech.todo.exception.DataAccessException;
+import ee.taltech.todo.exception.OptimisticLockException;
+import ee.taltech.todo.model.Category;
 import ee.taltech.todo.model.Task;
 import ee.taltech.todo.model.TaskPriority;
 import ee.taltech.todo.model.TaskStatus;
@@ -7,8 +10,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -81,6 +90,30 @@ class InMemoryTaskRepositoryTest {
         assertEquals(3, tasks.size());
     }
 
+    @Test
+    void testGetCollectionVersion_ShouldIncreaseWithEveryChange() {
+        long initial = repository.getCollectionVersion();
+
+        Task saved = repository.save(task);
+        long afterSave = repository.getCollectionVersion();
+        repository.findAll();
+        repository.findById(saved.getId());
+        assertEquals(afterSave, repository.getCollectionVersion());
+
+        Task changed = saved.copy();
+        changed.setTitle("Changed");
+        repository.save(changed);
+        repository.update(saved.getId(), t -> t.setStarred(true));
+        long afterUpdate = repository.getCollectionVersion();
+        repository.deleteById("missing");
+        assertEquals(afterUpdate, repository.getCollectionVersion());
+        repository.deleteById(saved.getId());
+
+        assertTrue(initial < afterSave);
+        assertTrue(afterSave < afterUpdate);
+        assertTrue(afterUpdate < repository.getCollectionVersion());
+    }
+
     @Test
     void testDeleteById_WhenTaskExists_ShouldReturnTrue() {
         repository.save(task);
@@ -100,7 +133,7 @@ class InMemoryTaskRepositoryTest {
 
     @Test
     void testUpdate_ShouldUpdateExistingTask() {
-        repository.save(task);
+        task = repository.save(task).copy();
 
         task.setTitle("Updated Title");
         task.setDescription("Updated Description");
@@ -114,6 +147,180 @@ class InMemoryTaskRepositoryTest {
         assertEquals("Updated Title", found.get().getTitle());
     }
 
+    @Test
+    void testSave_ShouldIncreaseVersion() {
+        assertEquals(0, task.getVersion());
+
+        Task saved = repository.save(task);
+        assertEquals(1, saved.getVersion());
+        assertEquals(0, task.getVersion());
+
+        Task changed = saved.copy();
+        changed.setTitle("Updated Title");
+        assertEquals(2, repository.save(changed).getVersion());
+        assertEquals(2, repository.findById(task.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testSave_OfStoredSnapshot_ShouldNotModifyIt() {
+        Task stored = repository.save(task);
+
+        Task resaved = repository.save(repository.findById(task.getId()).orElseThrow());
+
+        assertTrue(stored.isFrozen());
+        assertEquals(1, stored.getVersion());
+        assertEquals(2, resaved.getVersion());
+    }
+
+    @Test
+    void testSaveAll_ShouldStoreTasksAndReportRejectedOnes() {
+        repository.save(task);
+        Task stale = repository.findById(task.getId()).orElseThrow().copy();
+        Task current = repository.findById(task.getId()).orElseThrow().copy();
+        current.setTitle("Current");
+        repository.save(current);
+        Task created = new Task("Created");
+        stale.setTitle("Stale");
+
+        List<Task> saved = repository.saveAll(List.of(created, stale));
+
+        assertEquals(2, saved.size());
+        assertEquals(created.getId(), saved.get(0).getId());
+        assertEquals(1, saved.get(0).getVersion());
+        assertNull(saved.get(1));
+        assertEquals(2, repository.count());
+        assertEquals("Current", repository.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testDeleteAllById_ShouldReturnDeletedIds() {
+        Task other = new Task("Other");
+        repository.save(task);
+        repository.save(other);
+
+        Set<String> deleted = repository.deleteAllById(List.of(task.getId(), "missing"));
+
+        assertEquals(Set.of(task.getId()), deleted);
+        assertEquals(1, repository.count());
+        assertTrue(repository.existsById(other.getId()));
+    }
+
+    @Test
+    void testSave_WithStaleVersion_ShouldThrowAndKeepStoredTask() {
+        repository.save(task);
+        Task first = repository.findById(task.getId()).orElseThrow().copy();
+        Task second = repository.findById(task.getId()).orElseThrow().copy();
+
+        first.setTitle("First");
+        repository.save(first);
+        second.setTitle("Second");
+        OptimisticLockException exception = assertThrows(OptimisticLockException.class,
+                () -> repository.save(second));
+
+        assertEquals(1, exception.getExpectedVersion());
+        assertEquals(2, exception.getActualVersion());
+        assertEquals(1, second.getVersion());
+        assertEquals("First", repository.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testSave_ShouldStoreFrozenSnapshot() {
+        Task stored = repository.save(task);
+
+        assertTrue(stored.isFrozen());
+        assertNotSame(task, stored);
+        assertSame(stored, repository.findById(task.getId()).orElseThrow());
+        assertThrows(IllegalStateException.class, () -> stored.setTitle("Changed"));
+
+        // The saved instance stays the caller's: changing it does not reach the store
+        task.setTitle("Changed");
+        assertEquals("Test Task", repository.findById(task.getId()).orElseThrow().getTitle());
+        assertEquals(1, repository.searchByTitle("Test").size());
+    }
+
+    @Test
+    void testUpdate_ShouldReplaceSnapshotAndReindex() {
+        Task stored = repository.save(task);
+
+        Task updated = repository.update(task.getId(), t -> t.setStatus(TaskStatus.COMPLETED)).orElseThrow();
+
+        assertTrue(updated.isFrozen());
+        assertEquals(2, updated.getVersion());
+        assertEquals(TaskStatus.PENDING, stored.getStatus());
+        assertSame(updated, repository.findById(task.getId()).orElseThrow());
+        assertEquals(List.of(updated), repository.findByStatus(TaskStatus.COMPLETED));
+        assertTrue(repository.findByStatus(TaskStatus.PENDING).isEmpty());
+    }
+
+    @Test
+    void testUpdate_WhenTaskNotExists_ShouldReturnEmpty() {
+        assertTrue(repository.update("missing", Task::complete).isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testUpdate_WhenChangeThrows_ShouldKeepStoredTask() {
+        Task stored = repository.save(task);
+
+        assertThrows(IllegalStateException.class, () -> repository.update(task.getId(), t -> {
+            t.setTitle("Changed");
+            throw new IllegalStateException("boom");
+        }));
+
+        assertSame(stored, repository.findById(task.getId()).orElseThrow());
+        assertEquals(1, repository.searchByTitle("Test").size());
+    }
+
+    @Test
+    void testUpdate_FromSeveralThreads_ShouldApplyEveryChangeOnce() throws InterruptedException {
+        repository.save(task);
+        int threads = 4;
+        int updatesPerThread = 250;
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                for (int j = 0; j < updatesPerThread; j++) {
+                    repository.update(task.getId(), t -> {
+                        calls.incrementAndGet();
+                        t.toggleStarred();
+                    });
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Task stored = repository.findById(task.getId()).orElseThrow();
+        assertEquals(threads * updatesPerThread, calls.get());
+        assertEquals(1 + threads * updatesPerThread, stored.getVersion());
+        assertFalse(stored.isStarred());
+        assertTrue(repository.findStarred().isEmpty());
+    }
+
+    @Test
+    void testSave_AfterDelete_WithOldVersion_ShouldThrow() {
+        Task copy = repository.save(task).copy();
+        repository.deleteById(task.getId());
+
+        assertThrows(OptimisticLockException.class, () -> repository.save(copy));
+        assertFalse(repository.existsById(task.getId()));
+    }
+
+    @Test
+    void testSave_NewTaskWithTakenId_ShouldThrow() {
+        repository.save(task);
+        Task other = Task.restore(task.getId(), "Other", null, TaskStatus.PENDING, TaskPriority.LOW, null, null,
+                false, task.getCreatedAt(), task.getUpdatedAt());
+
+        assertThrows(OptimisticLockException.class, () -> repository.save(other));
+        assertEquals("Test Task", repository.findById(task.getId()).orElseThrow().getTitle());
+    }
+
     @Test
     void testFindByStatus_ShouldReturnTasksWithStatus() {
         Task pending1 = new Task();
@@ -162,6 +369,76 @@ class InMemoryTaskRepositoryTest {
         assertTrue(highTasks.stream().allMatch(t -> t.getPriority() == TaskPriority.HIGH));
     }
 
+    @Test
+    void testFindByStatus_AfterStatusChange_ShouldMoveTaskBetweenIndexes() {
+        task = repository.save(task).copy();
+        task.setStatus(TaskStatus.COMPLETED);
+        repository.save(task);
+
+        assertTrue(repository.findByStatus(TaskStatus.PENDING).isEmpty());
+        assertEquals(1, repository.findByStatus(TaskStatus.COMPLETED).size());
+    }
+
+    @Test
+    void testFindByPriority_AfterPriorityChange_ShouldMoveTaskBetweenIndexes() {
+        task = repository.save(task).copy();
+        task.setPriority(TaskPriority.LOW);
+        repository.save(task);
+
+        assertTrue(repository.findByPriority(TaskPriority.HIGH).isEmpty());
+        assertEquals(1, repository.findByPriority(TaskPriority.LOW).size());
+    }
+
+    @Test
+    void testFindByStatus_AfterDelete_ShouldNotReturnTask() {
+        repository.save(task);
+        repository.deleteById(task.getId());
+
+        assertTrue(repository.findByStatus(TaskStatus.PENDING).isEmpty());
+        assertTrue(repository.findByPriority(TaskPriority.HIGH).isEmpty());
+    }
+
+    @Test
+    void testDeleteAll_ShouldClearIndexes() {
+        repository.save(task);
+        repository.deleteAll();
+
+        assertEquals(0, repository.count());
+        assertTrue(repository.findByStatus(TaskStatus.PENDING).isEmpty());
+        assertTrue(repository.findByPriority(TaskPriority.HIGH).isEmpty());
+    }
+
+    @Test
+    void testFindByCategory_ShouldFollowCategoryChanges() {
+        Category work = new Category("Work");
+        Category home = new Category("Home");
+
+        task.setCategory(work);
+        task = repository.save(task).copy();
+        assertEquals(1, repository.findByCategory(work).size());
+        assertEquals(1, repository.countByCategoryId(work.getId()));
+
+        task.setCategory(home);
+        repository.save(task);
+
+        assertTrue(repository.findByCategory(work).isEmpty());
+        assertEquals(0, repository.countByCategoryId(work.getId()));
+        assertEquals(1, repository.findByCategoryId(home.getId()).size());
+        assertEquals(1, repository.countByCategoryId(home.getId()));
+    }
+
+    @Test
+    void testCountByCategoryId_AfterDelete_ShouldBeZero() {
+        Category work = new Category("Work");
+        task.setCategory(work);
+        repository.save(task);
+
+        repository.deleteById(task.getId());
+
+        assertEquals(0, repository.countByCategoryId(work.getId()));
+        assertTrue(repository.findByCategoryId(work.getId()).isEmpty());
+    }
+
     @Test
     void testFindStarred_ShouldReturnOnlyStarredTasks() {
         Task starred1 = new Task();
@@ -218,6 +495,61 @@ class InMemoryTaskRepositoryTest {
         assertTrue(overdueTasks.stream().allMatch(Task::isOverdue));
     }
 
+    @Test
+    void testFindOverdue_AfterCompletion_ShouldNotReturnTask() {
+        task.setDueDate(LocalDateTime.now().minusDays(1));
+        task = repository.save(task).copy();
+        assertEquals(1, repository.findOverdue().size());
+
+        task.complete();
+        repository.save(task);
+
+        assertTrue(repository.findOverdue().isEmpty());
+    }
+
+    @Test
+    void testFindByDueDateBetween_ShouldReturnTasksInRangeOrderedByDueDate() {
+        LocalDateTime base = LocalDateTime.of(2025, 10, 1, 12, 0);
+
+        Task later = new Task("Later");
+        later.setDueDate(base.plusDays(2));
+        Task earlier = new Task("Earlier");
+        earlier.setDueDate(base);
+        Task outside = new Task("Outside");
+        outside.setDueDate(base.plusDays(5));
+        Task noDueDate = new Task("No due date");
+
+        repository.save(later);
+        repository.save(earlier);
+        repository.save(outside);
+        repository.save(noDueDate);
+
+        List<Task> results = repository.findByDueDateBetween(base, base.plusDays(2));
+
+        assertEquals(2, results.size());
+        assertEquals("Earlier", results.get(0).getTitle());
+        assertEquals("Later", results.get(1).getTitle());
+    }
+
+    @Test
+    void testFindByDueDateBetween_AfterDueDateCleared_ShouldNotReturnTask() {
+        LocalDateTime dueDate = LocalDateTime.of(2025, 10, 1, 12, 0);
+        task.setDueDate(dueDate);
+        task = repository.save(task).copy();
+
+        task.setDueDate(null);
+        repository.save(task);
+
+        assertTrue(repository.findByDueDateBetween(dueDate.minusDays(1), dueDate.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void testFindByDueDateBetween_WithReversedRange_ShouldReturnEmptyList() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertTrue(repository.findByDueDateBetween(now, now.minusDays(1)).isEmpty());
+    }
+
     @Test
     void testSearchByTitle_ShouldFindTasksByKeyword() {
         Task task1 = new Task();
@@ -258,6 +590,41 @@ class InMemoryTaskRepositoryTest {
         assertEquals(1, results3.size());
     }
 
+    @Test
+    void testSearchByTitle_AfterTitleChange_ShouldUseNewTitle() {
+        task.setTitle("Old title");
+        task = repository.save(task).copy();
+        task.setTitle("Renamed");
+        repository.save(task);
+
+        assertTrue(repository.searchByTitle("old").isEmpty());
+        assertEquals(1, repository.searchByTitle("renamed").size());
+    }
+
+    @Test
+    void testSearch_ShouldMatchTitleAndDescriptionWithAllTerms() {
+        Task task1 = new Task("Complete homework", "Math assignment");
+        Task task2 = new Task("Complete project", "Java programming");
+        Task task3 = new Task("Buy groceries", "Milk, eggs, bread");
+
+        repository.save(task1);
+        repository.save(task2);
+        repository.save(task3);
+
+        assertEquals(2, repository.search("compl").size());
+        assertEquals(1, repository.search("complete java").size());
+        assertEquals(1, repository.search("MILK").size());
+        assertTrue(repository.search("complete milk").isEmpty());
+    }
+
+    @Test
+    void testSearch_AfterDelete_ShouldNotReturnTask() {
+        repository.save(task);
+        repository.deleteById(task.getId());
+
+        assertTrue(repository.search("test").isEmpty());
+    }
+
     @Test
     void testThreadSafety_ConcurrentSaves() throws InterruptedException {
         int threadCount = 10;
@@ -283,4 +650,341 @@ class InMemoryTaskRepositoryTest {
         List<Task> allTasks = repository.findAll();
         assertEquals(threadCount * tasksPerThread, allTasks.size());
     }
+
+    @Test
+    void testAttachSnapshot_FindById_ShouldDecodeOnlyThatTask() {
+        Task first = new Task("First");
+        Task second = new Task("Second");
+        ListSnapshotSource<Task> source = taskSource(List.of(first, second));
+        repository.attachSnapshot(source);
+
+        Optional<Task> found = repository.findById(first.getId());
+
+        assertTrue(found.isPresent());
+        assertEquals("First", found.get().getTitle());
+        assertEquals(1, source.getLoads());
+        assertSame(found.get(), repository.findById(first.getId()).get(), "Decoded task should be cached");
+        assertEquals(1, source.getLoads());
+    }
+
+    @Test
+    void testAttachSnapshot_Queries_ShouldDecodeRemainingTasks() {
+        Task pending = new Task("Pending");
+        Task done = new Task("Done");
+        done.setStatus(TaskStatus.COMPLETED);
+        ListSnapshotSource<Task> source = taskSource(List.of(pending, done));
+        repository.attachSnapshot(source);
+
+        assertEquals(1, repository.findByStatus(TaskStatus.COMPLETED).size());
+        assertEquals(2, repository.count());
+        assertEquals(2, source.getLoads());
+        assertTrue(source.isClosed());
+    }
+
+    @Test
+    void testAttachSnapshot_Save_ShouldSupersedeSnapshotCopy() {
+        Task snapshotCopy = new Task("Old title");
+        snapshotCopy.setVersion(1);
+        ListSnapshotSource<Task> source = taskSource(List.of(snapshotCopy));
+        repository.attachSnapshot(source);
+
+        Task updated = Task.restore(snapshotCopy.getId(), "New title", null, TaskStatus.PENDING,
+                TaskPriority.LOW, null, null, false, snapshotCopy.getCreatedAt(), LocalDateTime.now());
+        updated.setVersion(1);
+        Task saved = repository.save(updated);
+        repository.preload();
+
+        assertEquals(2, saved.getVersion());
+        assertEquals("New title", repository.findById(snapshotCopy.getId()).get().getTitle());
+        assertEquals(1, repository.count());
+        assertEquals(1, source.getLoads());
+    }
+
+    @Test
+    void testAttachSnapshot_SaveOverUndecodedTask_ShouldRejectStaleVersion() {
+        Task snapshotCopy = new Task("Persisted");
+        snapshotCopy.setVersion(1);
+        repository.attachSnapshot(taskSource(List.of(snapshotCopy)));
+
+        Task stale = Task.restore(snapshotCopy.getId(), "Overwrite", null, TaskStatus.PENDING,
+                TaskPriority.LOW, null, null, false, snapshotCopy.getCreatedAt(), LocalDateTime.now());
+
+        assertThrows(OptimisticLockException.class, () -> repository.save(stale));
+        assertEquals(Collections.singletonList(null), repository.saveAll(List.of(stale)));
+        assertEquals("Persisted", repository.findById(snapshotCopy.getId()).get().getTitle());
+        assertEquals(1, repository.findById(snapshotCopy.getId()).get().getVersion());
+    }
+
+    @Test
+    void testAttachSnapshot_DeleteUndecodedTask_ShouldRemoveIt() {
+        Task snapshotCopy = new Task("Delete me");
+        repository.attachSnapshot(taskSource(List.of(snapshotCopy)));
+
+        assertTrue(repository.deleteById(snapshotCopy.getId()));
+
+        assertFalse(repository.existsById(snapshotCopy.getId()));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testAttachSnapshot_WhenRepositoryNotEmpty_ShouldThrowException() {
+        repository.save(task);
+
+        assertThrows(IllegalStateException.class,
+                () -> repository.attachSnapshot(taskSource(List.of(new Task("Other")))));
+    }
+
+    @Test
+    void testSave_WhenJournalFails_ShouldLeaveStoredTaskAndIndexesUnchanged() {
+        Task saved = repository.save(task);
+        repository.setJournal(failingJournal());
+        Task change = saved.copy();
+        change.setTitle("Unjournaled");
+        change.setStatus(TaskStatus.COMPLETED);
+
+        assertThrows(DataAccessException.class, () -> repository.save(change));
+        assertThrows(DataAccessException.class, () -> repository.update(task.getId(), Task::complete));
+        assertThrows(DataAccessException.class, () -> repository.deleteById(task.getId()));
+
+        assertSame(saved, repository.findById(task.getId()).orElseThrow());
+        assertEquals(1, repository.countByStatus(TaskStatus.PENDING));
+        assertEquals(0, repository.countByStatus(TaskStatus.COMPLETED));
+        assertTrue(repository.searchByTitle("Unjournaled").isEmpty());
+        assertEquals(1, repository.searchByTitle("Test").size());
+    }
+
+    private static <T> ChangeJournal<T> failingJournal() {
+        return new ChangeJournal<>() {
+            @Override
+            public long recordSave(T entity) {
+                throw new DataAccessException("Journal unavailable", null);
+            }
+
+            @Override
+            public long recordDelete(String id) {
+                throw new DataAccessException("Journal unavailable", null);
+            }
+
+            @Override
+            public void commit(long position) {
+            }
+
+            @Override
+            public void beginChange() {
+            }
+
+            @Override
+            public void endChange() {
+            }
+        };
+    }
+
+    private static ListSnapshotSource<Task> taskSource(List<Task> tasks) {
+        return new ListSnapshotSource<>(tasks, Task::getId, t -> {
+            Task restored = Task.restore(t.getId(), t.getTitle(), t.getDescription(), t.getStatus(),
+                    t.getPriority(), t.getDueDate(), t.getCategory(), t.isStarred(), t.getCreatedAt(),
+                    t.getUpdatedAt());
+            restored.setVersion(t.getVersion());
+            return restored;
+        });
+    }
+
+    @Test
+    void testFindPage_ShouldReturnEveryTaskOnceInRequestedOrder() {
+        List<Task> tasks = saveSortableTasks();
+
+        for (TaskSort sort : TaskSort.values()) {
+            for (boolean descending : new boolean[]{false, true}) {
+                assertEquals(expectedOrder(tasks, sort, descending), readAllPages(sort, descending, 4),
+                        sort + (descending ? " descending" : " ascending"));
+            }
+        }
+    }
+
+    @Test
+    void testFindPage_WhenPageIsExactlyFull_ShouldHaveNoNextCursor() {
+        repository.save(task);
+        repository.save(new Task("Other", null));
+
+        TaskPage page = repository.findPage(PageRequest.first(TaskSort.CREATED_AT, false, 2));
+
+        assertEquals(2, page.getTasks().size());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testFindPage_AfterUpdate_ShouldListTaskAtNewPosition() {
+        List<Task> tasks = saveSortableTasks();
+        Task moved = tasks.get(3).copy();
+        moved.setPriority(TaskPriority.CRITICAL);
+        tasks.set(3, repository.save(moved));
+
+        List<String> ids = readAllPages(TaskSort.PRIORITY, true, 5);
+
+        assertEquals(expectedOrder(tasks, TaskSort.PRIORITY, true), ids);
+        repository.deleteById(moved.getId());
+        assertFalse(readAllPages(TaskSort.PRIORITY, true, 5).contains(moved.getId()));
+    }
+
+    /**
+     * Saves tasks with varied, partly equal and partly missing sort values.
+     */
+    private List<Task> saveSortableTasks() {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        TaskPriority[] priorities = TaskPriority.values();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            Task t = new Task("Task " + i, null);
+            t.setPriority(priorities[i % priorities.length]);
+            t.setDueDate(i % 5 == 0 ? null : base.plusDays(i % 7));
+            tasks.add(repository.save(t));
+        }
+        return tasks;
+    }
+
+    private List<String> readAllPages(TaskSort sort, boolean descending, int limit) {
+        List<String> ids = new ArrayList<>();
+        TaskPage page = repository.findPage(PageRequest.first(sort, descending, limit));
+        while (true) {
+            assertTrue(page.getTasks().size() <= limit);
+            page.getTasks().forEach(t -> ids.add(t.getId()));
+            if (!page.hasNext()) {
+                return ids;
+            }
+            page = repository.findPage(PageRequest.parse(Integer.toString(limit), null, page.getNextCursor()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> expectedOrder(List<Task> tasks, TaskSort sort, boolean descending) {
+        Comparator<Task> order = Comparator.comparing((Task t) -> (Comparable<Object>) sort.valueOf(t),
+                Comparator.nullsLast(Comparator.<Comparable<Object>>naturalOrder())).thenComparing(Task::getId);
+        return tasks.stream()
+                .sorted(descending ? order.reversed() : order)
+                .map(Task::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testFind_ShouldReturnTasksMatchingEveryFilter() {
+        Category first = new Category("First");
+        Category second = new Category("Second");
+        List<Task> tasks = saveQueryableTasks(first, second);
+
+        for (TaskQuery query : sampleQueries(first)) {
+            Set<String> expected = tasks.stream().filter(query::matches).map(Task::getId).collect(Collectors.toSet());
+            Set<String> actual = repository.find(query).stream().map(Task::getId).collect(Collectors.toSet());
+            assertEquals(expected, actual, query.toString());
+        }
+    }
+
+    @Test
+    void testFindPage_WithQuery_ShouldPageThroughMatchingTasks() {
+        Category first = new Category("First");
+        Category second = new Category("Second");
+        List<Task> tasks = saveQueryableTasks(first, second);
+
+        for (TaskQuery query : sampleQueries(first)) {
+            List<Task> matching = tasks.stream().filter(query::matches).collect(Collectors.toList());
+            List<String> ids = new ArrayList<>();
+            TaskPage page = repository.findPage(query, PageRequest.first(TaskSort.DUE_DATE, true, 7));
+            page.getTasks().forEach(t -> ids.add(t.getId()));
+            while (page.hasNext()) {
+                page = repository.findPage(query, PageRequest.parse("7", null, page.getNextCursor()));
+                page.getTasks().forEach(t -> ids.add(t.getId()));
+            }
+            assertEquals(expectedOrder(matching, TaskSort.DUE_DATE, true), ids, query.toString());
+        }
+    }
+
+    @Test
+    void testFindStarred_AfterUnstarring_ShouldNotReturnTask() {
+        task.setStarred(true);
+        task = repository.save(task).copy();
+        assertEquals(1, repository.findStarred().size());
+
+        task.setStarred(false);
+        repository.save(task);
+
+        assertTrue(repository.findStarred().isEmpty());
+        assertTrue(repository.find(TaskQuery.all().withStarred(true)).isEmpty());
+    }
+
+    @Test
+    void testGetStats_ShouldMatchCountsOfStoredTasks() {
+        Category first = new Category("First");
+        Category second = new Category("Second");
+        List<Task> tasks = saveQueryableTasks(first, second);
+
+        // Move tasks between counts, make some overdue and remove one
+        for (int i = 0; i < 30; i++) {
+            Task t = tasks.get(i).copy();
+            t.setStatus(TaskStatus.PENDING);
+            t.setPriority(TaskPriority.CRITICAL);
+            t.setStarred(!t.isStarred());
+            t.setCategory(i % 3 == 0 ? null : second);
+            t.setDueDate(i % 4 == 0 ? LocalDateTime.now().minusDays(i + 1) : t.getDueDate());
+            repository.save(t);
+        }
+        repository.deleteById(tasks.get(40).getId());
+
+        assertStats(repository.findAll(), repository.getStats());
+        assertEquals(repository.findByStatus(TaskStatus.PENDING).size(), repository.countByStatus(TaskStatus.PENDING));
+    }
+
+    private static void assertStats(List<Task> tasks, TaskStats stats) {
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(tasks.size(), stats.getTotal());
+        for (TaskStatus status : TaskStatus.values()) {
+            assertEquals(tasks.stream().filter(t -> t.getStatus() == status).count(),
+                    stats.getByStatus().get(status), status.name());
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            assertEquals(tasks.stream().filter(t -> t.getPriority() == priority).count(),
+                    stats.getByPriority().get(priority), priority.name());
+        }
+        assertEquals(tasks.stream().filter(t -> t.getCategory() != null)
+                        .collect(Collectors.groupingBy(t -> t.getCategory().getId(), Collectors.counting())),
+                stats.getByCategory());
+        assertEquals(tasks.stream().filter(Task::isStarred).count(), stats.getStarred());
+        assertEquals(tasks.stream().filter(t -> t.getDueDate() != null && t.getDueDate().isBefore(now)
+                && t.getStatus() != TaskStatus.COMPLETED && t.getStatus() != TaskStatus.CANCELLED).count(),
+                stats.getOverdue());
+        assertTrue(stats.getOverdue() > 0);
+    }
+
+    /**
+     * Saves tasks covering every combination of status, priority, starred and
+     * due date, spread over two categories.
+     */
+    private List<Task> saveQueryableTasks(Category first, Category second) {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Task t = new Task((i % 3 == 0 ? "Java " : "Report ") + i, null);
+            t.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            t.setPriority(TaskPriority.values()[i % TaskPriority.values().length]);
+            t.setStarred(i % 7 == 0);
+            t.setDueDate(i % 5 == 0 ? null : base.plusDays(i % 11));
+            t.setCategory(i % 2 == 0 ? first : second);
+            tasks.add(repository.save(t));
+        }
+        return tasks;
+    }
+
+    private List<TaskQuery> sampleQueries(Category category) {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        return List.of(
+                TaskQuery.all(),
+                TaskQuery.all().withStatus(TaskStatus.PENDING),
+                TaskQuery.all().withStatus(TaskStatus.COMPLETED).withPriority(TaskPriority.LOW),
+                TaskQuery.all().withStarred(true),
+                TaskQuery.all().withStarred(false).withCategoryId(category.getId()),
+                TaskQuery.all().withDueBetween(base.plusDays(2), base.plusDays(4)),
+                TaskQuery.all().withDueBetween(null, base.plusDays(1)).withTitle("java"),
+                TaskQuery.all().withTitle("jav").withPriority(TaskPriority.HIGH).withStarred(true),
+                TaskQuery.all().withTitle("java 3"),
+                TaskQuery.all().withCategoryId("missing"));
+    }
 }
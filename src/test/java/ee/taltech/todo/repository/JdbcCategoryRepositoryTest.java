@@ -0,0 +1,151 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.exception.DuplicateKeyException;
+import ee.taltech.todo.exception.OptimisticLockException;
+import ee.taltech.todo.model.Category;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdbcCategoryRepository against an in-memory H2 database.
+ */
+class JdbcCategoryRepositoryTest {
+
+    private Database database;
+    private JdbcCategoryRepository repository;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        database = createDatabase();
+        repository = new JdbcCategoryRepository(database, false);
+        category = new Category("Work", "Work related", "#3498db");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void testSave_WithStaleVersion_ShouldThrowOptimisticLockException() {
+        repository.save(category);
+        Category first = repository.findById(category.getId()).orElseThrow();
+        Category stale = Category.restore(first.getId(), first.getName(), first.getDescription(), first.getColor(),
+                first.getCreatedAt(), first.getUpdatedAt());
+        stale.setVersion(first.getVersion());
+
+        first.setColor("#000000");
+        repository.save(first);
+        stale.setColor("#ffffff");
+
+        assertThrows(OptimisticLockException.class, () -> repository.save(stale));
+        assertEquals("#000000", repository.findById(category.getId()).orElseThrow().getColor());
+        assertEquals(2, repository.findById(category.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testSaveAndFindById_ShouldRoundTripAllFields() {
+        repository.save(category);
+
+        Optional<Category> found = repository.findById(category.getId());
+
+        assertTrue(found.isPresent());
+        assertEquals("Work", found.get().getName());
+        assertEquals("Work related", found.get().getDescription());
+        assertEquals("#3498db", found.get().getColor());
+        assertEquals(category.getCreatedAt(), found.get().getCreatedAt());
+    }
+
+    @Test
+    void testSave_WhenRenamed_ShouldUpdateNameLookup() {
+        Category renamed = repository.save(category).copy();
+
+        renamed.setName("Office");
+        repository.save(renamed);
+
+        assertEquals(1, repository.count());
+        assertFalse(repository.existsByName("Work"));
+        assertTrue(repository.findByName("Office").isPresent());
+    }
+
+    @Test
+    void testSave_WithDuplicateName_ShouldThrowDuplicateKeyException() {
+        repository.save(category);
+
+        DuplicateKeyException exception = assertThrows(DuplicateKeyException.class,
+                () -> repository.save(new Category("Work")));
+
+        assertEquals("Work", exception.getKey());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void testFindByName_CaseSensitiveByDefault() {
+        repository.save(category);
+
+        assertFalse(repository.findByName("work").isPresent());
+        assertDoesNotThrow(() -> repository.save(new Category("work")));
+    }
+
+    @Test
+    void testCaseInsensitiveNames_ShouldTreatCaseVariantsAsDuplicates() {
+        JdbcCategoryRepository insensitive = new JdbcCategoryRepository(database, true);
+        insensitive.save(category);
+
+        assertTrue(insensitive.findByName("WORK").isPresent());
+        assertThrows(DuplicateKeyException.class, () -> insensitive.save(new Category("work")));
+    }
+
+    @Test
+    void testGetCollectionVersion_ShouldIncreaseWithEveryChange() {
+        long initial = repository.getCollectionVersion();
+
+        Category saved = repository.save(category);
+        long afterSave = repository.getCollectionVersion();
+        repository.findAll();
+        assertEquals(afterSave, repository.getCollectionVersion());
+
+        saved.setName("Home");
+        repository.save(saved);
+        long afterUpdate = repository.getCollectionVersion();
+        repository.deleteById("missing");
+        assertEquals(afterUpdate, repository.getCollectionVersion());
+        repository.deleteById(saved.getId());
+
+        assertTrue(initial < afterSave);
+        assertTrue(afterSave < afterUpdate);
+        assertTrue(afterUpdate < repository.getCollectionVersion());
+    }
+
+    @Test
+    void testDeleteById_ShouldReleaseName() {
+        repository.save(category);
+
+        assertTrue(repository.deleteById(category.getId()));
+
+        assertFalse(repository.existsById(category.getId()));
+        assertDoesNotThrow(() -> repository.save(new Category("Work")));
+    }
+
+    @Test
+    void testDeleteAll_ShouldRemoveAllCategories() {
+        repository.save(category);
+        repository.save(new Category("Personal"));
+
+        repository.deleteAll();
+
+        assertEquals(0, repository.count());
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    private static Database createDatabase() {
+        return new Database("jdbc:h2:mem:categories-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 4, 16);
+    }
+}
@@ -0,0 +1,503 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.exception.OptimisticLockException;
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdbcTaskRepository against an in-memory H2 database.
+ */
+class JdbcTaskRepositoryTest {
+
+    private Database database;
+    private JdbcTaskRepository repository;
+    private JdbcCategoryRepository categoryRepository;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        database = new Database("jdbc:h2:mem:tasks-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 4, 16);
+        repository = new JdbcTaskRepository(database);
+        categoryRepository = new JdbcCategoryRepository(database, false);
+        task = new Task();
+        task.setTitle("Test Task");
+        task.setDescription("Test Description");
+        task.setPriority(TaskPriority.HIGH);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void testSaveAndFindById_ShouldRoundTripAllFields() {
+        Category category = categoryRepository.save(new Category("Work", "Work stuff", "#3498db"));
+        task.setCategory(category);
+        task.setDueDate(LocalDateTime.of(2030, 1, 15, 9, 30));
+        task.setStarred(true);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        repository.save(task);
+
+        Optional<Task> found = repository.findById(task.getId());
+
+        assertTrue(found.isPresent());
+        Task loaded = found.get();
+        assertEquals(task.getTitle(), loaded.getTitle());
+        assertEquals(task.getDescription(), loaded.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, loaded.getStatus());
+        assertEquals(TaskPriority.HIGH, loaded.getPriority());
+        assertEquals(task.getDueDate(), loaded.getDueDate());
+        assertTrue(loaded.isStarred());
+        assertEquals(task.getCreatedAt(), loaded.getCreatedAt());
+        assertNotNull(loaded.getCategory());
+        assertEquals("Work", loaded.getCategory().getName());
+    }
+
+    @Test
+    void testSave_WhenTaskExists_ShouldUpdateRow() {
+        Task updated = repository.save(task).copy();
+
+        updated.setTitle("Updated");
+        updated.setStatus(TaskStatus.COMPLETED);
+        repository.save(updated);
+
+        assertEquals(1, repository.count());
+        assertEquals("Updated", repository.findById(task.getId()).get().getTitle());
+        assertEquals(1, repository.findByStatus(TaskStatus.COMPLETED).size());
+        assertTrue(repository.findByStatus(TaskStatus.PENDING).isEmpty());
+    }
+
+    @Test
+    void testSave_ShouldIncreaseVersion() {
+        assertEquals(0, task.getVersion());
+
+        Task saved = repository.save(task);
+        assertEquals(1, saved.getVersion());
+        assertEquals(0, task.getVersion());
+
+        Task changed = saved.copy();
+        changed.setTitle("Updated Title");
+        assertEquals(2, repository.save(changed).getVersion());
+        assertEquals(1, changed.getVersion());
+        assertEquals(2, repository.findById(task.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testUpdate_ShouldApplyChangeToStoredRow() {
+        repository.save(task);
+
+        Task updated = repository.update(task.getId(), Task::complete).orElseThrow();
+
+        assertEquals(TaskStatus.COMPLETED, updated.getStatus());
+        assertEquals(2, updated.getVersion());
+        assertEquals(TaskStatus.COMPLETED, repository.findById(task.getId()).orElseThrow().getStatus());
+        assertTrue(repository.update("missing", Task::complete).isEmpty());
+    }
+
+    @Test
+    void testSaveAll_ShouldStoreTasksAndReportRejectedOnes() {
+        repository.save(task);
+        Task stale = repository.findById(task.getId()).orElseThrow().copy();
+        Task current = repository.findById(task.getId()).orElseThrow().copy();
+        current.setTitle("Current");
+        repository.save(current);
+        Task created = new Task("Created");
+        stale.setTitle("Stale");
+
+        List<Task> saved = repository.saveAll(List.of(created, stale));
+
+        assertEquals(2, saved.size());
+        assertEquals(created.getId(), saved.get(0).getId());
+        assertEquals(1, saved.get(0).getVersion());
+        assertEquals(0, created.getVersion());
+        assertNull(saved.get(1));
+        assertEquals(2, repository.count());
+        assertEquals("Current", repository.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testDeleteAllById_ShouldReturnDeletedIds() {
+        Task other = new Task("Other");
+        repository.save(task);
+        repository.save(other);
+
+        Set<String> deleted = repository.deleteAllById(List.of(task.getId(), "missing"));
+
+        assertEquals(Set.of(task.getId()), deleted);
+        assertEquals(1, repository.count());
+        assertTrue(repository.existsById(other.getId()));
+    }
+
+    @Test
+    void testSave_WithStaleVersion_ShouldThrowAndKeepStoredTask() {
+        repository.save(task);
+        Task first = repository.findById(task.getId()).orElseThrow().copy();
+        Task second = repository.findById(task.getId()).orElseThrow().copy();
+
+        first.setTitle("First");
+        repository.save(first);
+        second.setTitle("Second");
+        OptimisticLockException exception = assertThrows(OptimisticLockException.class,
+                () -> repository.save(second));
+
+        assertEquals(1, exception.getExpectedVersion());
+        assertEquals(2, exception.getActualVersion());
+        assertEquals(1, second.getVersion());
+        assertEquals("First", repository.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testSave_AfterDelete_WithOldVersion_ShouldThrow() {
+        Task copy = repository.save(task).copy();
+        repository.deleteById(task.getId());
+
+        assertThrows(OptimisticLockException.class, () -> repository.save(copy));
+        assertFalse(repository.existsById(task.getId()));
+    }
+
+    @Test
+    void testSave_NewTaskWithTakenId_ShouldThrow() {
+        repository.save(task);
+        Task other = Task.restore(task.getId(), "Other", null, TaskStatus.PENDING, TaskPriority.LOW, null, null,
+                false, task.getCreatedAt(), task.getUpdatedAt());
+
+        assertThrows(OptimisticLockException.class, () -> repository.save(other));
+        assertEquals("Test Task", repository.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testSave_WithNull_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> repository.save(null));
+    }
+
+    @Test
+    void testGetCollectionVersion_ShouldIncreaseWithEveryChange() {
+        long initial = repository.getCollectionVersion();
+
+        Task saved = repository.save(task);
+        long afterSave = repository.getCollectionVersion();
+        repository.findAll();
+        repository.findById(saved.getId());
+        assertEquals(afterSave, repository.getCollectionVersion());
+
+        Task changed = saved.copy();
+        changed.setTitle("Changed");
+        repository.save(changed);
+        long afterUpdate = repository.getCollectionVersion();
+        repository.deleteById("missing");
+        assertEquals(afterUpdate, repository.getCollectionVersion());
+        repository.deleteById(saved.getId());
+
+        assertTrue(initial < afterSave);
+        assertTrue(afterSave < afterUpdate);
+        assertTrue(afterUpdate < repository.getCollectionVersion());
+    }
+
+    @Test
+    void testDeleteById_ShouldRemoveTask() {
+        repository.save(task);
+
+        assertTrue(repository.deleteById(task.getId()));
+        assertFalse(repository.existsById(task.getId()));
+        assertFalse(repository.deleteById(task.getId()));
+    }
+
+    @Test
+    void testDeleteAll_ShouldRemoveAllTasks() {
+        repository.save(task);
+        repository.save(new Task("Second"));
+
+        repository.deleteAll();
+
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testFindByPriorityAndStarred_ShouldFilter() {
+        Task low = new Task("Low");
+        low.setPriority(TaskPriority.LOW);
+        low.setStarred(true);
+        repository.save(task);
+        repository.save(low);
+
+        assertEquals(1, repository.findByPriority(TaskPriority.HIGH).size());
+        List<Task> starred = repository.findStarred();
+        assertEquals(1, starred.size());
+        assertEquals(low.getId(), starred.get(0).getId());
+    }
+
+    @Test
+    void testFindByCategoryId_ShouldUseCategoryColumn() {
+        Category work = categoryRepository.save(new Category("Work"));
+        task.setCategory(work);
+        repository.save(task);
+        repository.save(new Task("Uncategorized"));
+
+        assertEquals(1, repository.findByCategoryId(work.getId()).size());
+        assertEquals(1, repository.countByCategoryId(work.getId()));
+        assertEquals(1, repository.findByCategory(work).size());
+    }
+
+    @Test
+    void testDeleteCategory_ShouldDetachTasks() {
+        Category work = categoryRepository.save(new Category("Work"));
+        task.setCategory(work);
+        repository.save(task);
+
+        categoryRepository.deleteById(work.getId());
+
+        assertNull(repository.findById(task.getId()).get().getCategory());
+    }
+
+    @Test
+    void testFindOverdue_ShouldExcludeClosedAndFutureTasks() {
+        task.setDueDate(LocalDateTime.now().minusDays(2));
+        Task done = new Task("Done");
+        done.setDueDate(LocalDateTime.now().minusDays(3));
+        done.setStatus(TaskStatus.COMPLETED);
+        Task future = new Task("Future");
+        future.setDueDate(LocalDateTime.now().plusDays(3));
+        repository.save(task);
+        repository.save(done);
+        repository.save(future);
+
+        List<Task> overdue = repository.findOverdue();
+
+        assertEquals(1, overdue.size());
+        assertEquals(task.getId(), overdue.get(0).getId());
+    }
+
+    @Test
+    void testFindByDueDateBetween_ShouldReturnTasksOrderedByDueDate() {
+        LocalDateTime base = LocalDateTime.of(2030, 6, 1, 12, 0);
+        Task later = new Task("Later");
+        later.setDueDate(base.plusDays(2));
+        Task earlier = new Task("Earlier");
+        earlier.setDueDate(base.plusDays(1));
+        Task outside = new Task("Outside");
+        outside.setDueDate(base.plusDays(10));
+        repository.save(later);
+        repository.save(earlier);
+        repository.save(outside);
+
+        List<Task> result = repository.findByDueDateBetween(base, base.plusDays(5));
+
+        assertEquals(2, result.size());
+        assertEquals(earlier.getId(), result.get(0).getId());
+        assertEquals(later.getId(), result.get(1).getId());
+        assertTrue(repository.findByDueDateBetween(base.plusDays(5), base).isEmpty());
+    }
+
+    @Test
+    void testSearch_ShouldMatchWordPrefixesInTitleAndDescription() {
+        task.setTitle("Java project");
+        task.setDescription("Finish the report");
+        Task other = new Task("Groceries", "Buy bread");
+        repository.save(task);
+        repository.save(other);
+
+        assertEquals(1, repository.search("proj rep").size());
+        assertEquals(1, repository.search("BREAD").size());
+        assertTrue(repository.search("ava").isEmpty(), "Only word prefixes should match");
+        assertEquals(1, repository.searchByTitle("jav").size());
+        assertTrue(repository.searchByTitle("report").isEmpty());
+    }
+
+    @Test
+    void testSearch_WithRegexCharacters_ShouldBeTreatedAsSeparators() {
+        task.setTitle("C++ basics");
+        repository.save(task);
+
+        assertEquals(1, repository.search("c++").size());
+        assertTrue(repository.search("(").isEmpty());
+    }
+
+    @Test
+    void testFindPage_ShouldReturnEveryTaskOnceInRequestedOrder() {
+        List<Task> tasks = saveSortableTasks();
+
+        for (TaskSort sort : TaskSort.values()) {
+            for (boolean descending : new boolean[]{false, true}) {
+                assertEquals(expectedOrder(tasks, sort, descending), readAllPages(sort, descending, 4),
+                        sort + (descending ? " descending" : " ascending"));
+            }
+        }
+    }
+
+    @Test
+    void testFindPage_WhenPageIsExactlyFull_ShouldHaveNoNextCursor() {
+        repository.save(task);
+        repository.save(new Task("Other", null));
+
+        TaskPage page = repository.findPage(PageRequest.first(TaskSort.CREATED_AT, false, 2));
+
+        assertEquals(2, page.getTasks().size());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    /**
+     * Saves tasks with varied, partly equal and partly missing sort values.
+     */
+    private List<Task> saveSortableTasks() {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        TaskPriority[] priorities = TaskPriority.values();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            Task t = new Task("Task " + i, null);
+            t.setPriority(priorities[i % priorities.length]);
+            t.setDueDate(i % 5 == 0 ? null : base.plusDays(i % 7));
+            tasks.add(repository.save(t));
+        }
+        return tasks;
+    }
+
+    private List<String> readAllPages(TaskSort sort, boolean descending, int limit) {
+        List<String> ids = new ArrayList<>();
+        TaskPage page = repository.findPage(PageRequest.first(sort, descending, limit));
+        while (true) {
+            assertTrue(page.getTasks().size() <= limit);
+            page.getTasks().forEach(t -> ids.add(t.getId()));
+            if (!page.hasNext()) {
+                return ids;
+            }
+            page = repository.findPage(PageRequest.parse(Integer.toString(limit), null, page.getNextCursor()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> expectedOrder(List<Task> tasks, TaskSort sort, boolean descending) {
+        Comparator<Task> order = Comparator.comparing((Task t) -> (Comparable<Object>) sort.valueOf(t),
+                Comparator.nullsLast(Comparator.<Comparable<Object>>naturalOrder())).thenComparing(Task::getId);
+        return tasks.stream()
+                .sorted(descending ? order.reversed() : order)
+                .map(Task::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testFind_ShouldReturnTasksMatchingEveryFilter() {
+        Category first = categoryRepository.save(new Category("First"));
+        Category second = categoryRepository.save(new Category("Second"));
+        List<Task> tasks = saveQueryableTasks(first, second);
+
+        for (TaskQuery query : sampleQueries(first)) {
+            Set<String> expected = tasks.stream().filter(query::matches).map(Task::getId).collect(Collectors.toSet());
+            Set<String> actual = repository.find(query).stream().map(Task::getId).collect(Collectors.toSet());
+            assertEquals(expected, actual, query.toString());
+        }
+    }
+
+    @Test
+    void testFindPage_WithQuery_ShouldPageThroughMatchingTasks() {
+        Category first = categoryRepository.save(new Category("First"));
+        Category second = categoryRepository.save(new Category("Second"));
+        List<Task> tasks = saveQueryableTasks(first, second);
+
+        for (TaskQuery query : sampleQueries(first)) {
+            List<Task> matching = tasks.stream().filter(query::matches).collect(Collectors.toList());
+            List<String> ids = new ArrayList<>();
+            TaskPage page = repository.findPage(query, PageRequest.first(TaskSort.DUE_DATE, true, 7));
+            page.getTasks().forEach(t -> ids.add(t.getId()));
+            while (page.hasNext()) {
+                page = repository.findPage(query, PageRequest.parse("7", null, page.getNextCursor()));
+                page.getTasks().forEach(t -> ids.add(t.getId()));
+            }
+            assertEquals(expectedOrder(matching, TaskSort.DUE_DATE, true), ids, query.toString());
+        }
+    }
+
+    @Test
+    void testGetStats_ShouldMatchCountsOfStoredTasks() {
+        Category first = categoryRepository.save(new Category("First"));
+        Category second = categoryRepository.save(new Category("Second"));
+        List<Task> tasks = saveQueryableTasks(first, second);
+
+        // Move tasks between counts, make some overdue and remove one
+        for (int i = 0; i < 30; i++) {
+            Task t = tasks.get(i);
+            t.setStatus(TaskStatus.PENDING);
+            t.setPriority(TaskPriority.CRITICAL);
+            t.setStarred(!t.isStarred());
+            t.setCategory(i % 3 == 0 ? null : second);
+            t.setDueDate(i % 4 == 0 ? LocalDateTime.now().minusDays(i + 1) : t.getDueDate());
+            repository.save(t);
+        }
+        repository.deleteById(tasks.get(40).getId());
+
+        assertStats(repository.findAll(), repository.getStats());
+        assertEquals(repository.findByStatus(TaskStatus.PENDING).size(), repository.countByStatus(TaskStatus.PENDING));
+    }
+
+    private static void assertStats(List<Task> tasks, TaskStats stats) {
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(tasks.size(), stats.getTotal());
+        for (TaskStatus status : TaskStatus.values()) {
+            assertEquals(tasks.stream().filter(t -> t.getStatus() == status).count(),
+                    stats.getByStatus().get(status), status.name());
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            assertEquals(tasks.stream().filter(t -> t.getPriority() == priority).count(),
+                    stats.getByPriority().get(priority), priority.name());
+        }
+        assertEquals(tasks.stream().filter(t -> t.getCategory() != null)
+                        .collect(Collectors.groupingBy(t -> t.getCategory().getId(), Collectors.counting())),
+                stats.getByCategory());
+        assertEquals(tasks.stream().filter(Task::isStarred).count(), stats.getStarred());
+        assertEquals(tasks.stream().filter(t -> t.getDueDate() != null && t.getDueDate().isBefore(now)
+                && t.getStatus() != TaskStatus.COMPLETED && t.getStatus() != TaskStatus.CANCELLED).count(),
+                stats.getOverdue());
+        assertTrue(stats.getOverdue() > 0);
+    }
+
+    /**
+     * Saves tasks covering every combination of status, priority, starred and
+     * due date, spread over two categories.
+     */
+    private List<Task> saveQueryableTasks(Category first, Category second) {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Task t = new Task((i % 3 == 0 ? "Java " : "Report ") + i, null);
+            t.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            t.setPriority(TaskPriority.values()[i % TaskPriority.values().length]);
+            t.setStarred(i % 7 == 0);
+            t.setDueDate(i % 5 == 0 ? null : base.plusDays(i % 11));
+            t.setCategory(i % 2 == 0 ? first : second);
+            tasks.add(repository.save(t));
+        }
+        return tasks;
+    }
+
+    private List<TaskQuery> sampleQueries(Category category) {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        return List.of(
+                TaskQuery.all(),
+                TaskQuery.all().withStatus(TaskStatus.PENDING),
+                TaskQuery.all().withStatus(TaskStatus.COMPLETED).withPriority(TaskPriority.LOW),
+                TaskQuery.all().withStarred(true),
+                TaskQuery.all().withStarred(false).withCategoryId(category.getId()),
+                TaskQuery.all().withDueBetween(base.plusDays(2), base.plusDays(4)),
+                TaskQuery.all().withDueBetween(null, base.plusDays(1)).withTitle("java"),
+                TaskQuery.all().withTitle("jav").withPriority(TaskPriority.HIGH).withStarred(true),
+                TaskQuery.all().withTitle("java 3"),
+                TaskQuery.all().withCategoryId("missing"));
+    }
+}
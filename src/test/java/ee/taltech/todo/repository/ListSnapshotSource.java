@@ -0,0 +1,65 @@
+package ee.taltech.todo.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * List-backed SnapshotSource for repository tests. Counts decoded entities.
+ */
+class ListSnapshotSource<T> implements SnapshotSource<T> {
+
+    private final List<T> entities;
+    private final Function<T, String> idOf;
+    private final UnaryOperator<T> copier;
+    private int loads;
+    private boolean closed;
+
+    ListSnapshotSource(List<T> entities, Function<T, String> idOf, UnaryOperator<T> copier) {
+        this.entities = new ArrayList<>(entities);
+        this.entities.sort(Comparator.comparing(idOf));
+        this.idOf = idOf;
+        this.copier = copier;
+    }
+
+    @Override
+    public int size() {
+        return entities.size();
+    }
+
+    @Override
+    public int indexOf(String id) {
+        for (int i = 0; i < entities.size(); i++) {
+            if (idOf.apply(entities.get(i)).equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String idAt(int index) {
+        return idOf.apply(entities.get(index));
+    }
+
+    @Override
+    public synchronized T load(int index) {
+        loads++;
+        return copier.apply(entities.get(index));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    synchronized int getLoads() {
+        return loads;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+}
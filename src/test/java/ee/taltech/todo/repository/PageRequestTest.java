@@ -0,0 +1,84 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PageRequest.
+ */
+class PageRequestTest {
+
+    @Test
+    void testParse_WithoutParameters_ShouldUseDefaults() {
+        PageRequest page = PageRequest.parse(null, null, null);
+
+        assertEquals(PageRequest.DEFAULT_SORT, page.getSort());
+        assertFalse(page.isDescending());
+        assertEquals(PageRequest.DEFAULT_LIMIT, page.getLimit());
+        assertTrue(page.isFirstPage());
+    }
+
+    @Test
+    void testParse_WithDescendingSort_ShouldReverseOrder() {
+        PageRequest page = PageRequest.parse("10", "-dueDate", null);
+
+        assertEquals(TaskSort.DUE_DATE, page.getSort());
+        assertTrue(page.isDescending());
+        assertEquals(10, page.getLimit());
+    }
+
+    @Test
+    void testParse_WithInvalidParameters_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> PageRequest.parse("0", null, null));
+        assertThrows(IllegalArgumentException.class, () -> PageRequest.parse("501", null, null));
+        assertThrows(IllegalArgumentException.class, () -> PageRequest.parse("ten", null, null));
+        assertThrows(IllegalArgumentException.class, () -> PageRequest.parse(null, "title", null));
+        assertThrows(IllegalArgumentException.class, () -> PageRequest.parse(null, null, "not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> PageRequest.parse(null, null, encode("1|dueDate|a|x|id")));
+        assertThrows(IllegalArgumentException.class, () -> PageRequest.parse(null, null, encode("2|dueDate|a||id")));
+    }
+
+    @Test
+    void testCursor_ShouldCarrySortAndPosition() {
+        Task task = new Task("Task", null);
+        task.setDueDate(LocalDateTime.of(2030, 1, 1, 9, 0, 0, 500));
+        PageRequest first = PageRequest.first(TaskSort.DUE_DATE, true, 20);
+
+        PageRequest next = PageRequest.parse(null, null, first.cursorAfter(task));
+
+        assertEquals(TaskSort.DUE_DATE, next.getSort());
+        assertTrue(next.isDescending());
+        assertEquals(PageRequest.DEFAULT_LIMIT, next.getLimit());
+        assertEquals(TaskSort.DUE_DATE.keyOf(task), next.getAfter());
+    }
+
+    @Test
+    void testCursor_WithTaskWithoutDueDate_ShouldRoundTrip() {
+        Task task = new Task("Task", null);
+        PageRequest first = PageRequest.first(TaskSort.DUE_DATE, false, 5);
+
+        PageRequest next = PageRequest.parse("5", "dueDate", first.cursorAfter(task));
+
+        assertEquals(TaskSort.DUE_DATE.keyOf(task), next.getAfter());
+    }
+
+    @Test
+    void testParse_WithCursorOfOtherSort_ShouldThrowException() {
+        Task task = new Task("Task", null);
+        String cursor = PageRequest.first(TaskSort.PRIORITY, false, 5).cursorAfter(task);
+
+        assertThrows(IllegalArgumentException.class, () -> PageRequest.parse(null, "-priority", cursor));
+        assertThrows(IllegalArgumentException.class, () -> PageRequest.parse(null, "createdAt", cursor));
+        assertEquals(TaskSort.PRIORITY, PageRequest.parse(null, "priority", cursor).getSort());
+    }
+
+    private static String encode(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,49 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TaskPage.
+ */
+class TaskPageTest {
+
+    @Test
+    void testOf_ShouldPageThroughUnorderedTasks() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Task task = new Task("Task " + i, null);
+            task.setPriority(TaskPriority.values()[i % 4]);
+            tasks.add(task);
+        }
+        Collections.shuffle(tasks);
+
+        List<Task> read = new ArrayList<>();
+        TaskPage page = TaskPage.of(tasks, PageRequest.first(TaskSort.PRIORITY, true, 3));
+        read.addAll(page.getTasks());
+        while (page.hasNext()) {
+            page = TaskPage.of(tasks, PageRequest.parse("3", null, page.getNextCursor()));
+            read.addAll(page.getTasks());
+        }
+
+        assertEquals(7, read.size());
+        for (int i = 1; i < read.size(); i++) {
+            assertTrue(TaskSort.PRIORITY.keyOf(read.get(i - 1)).compareTo(TaskSort.PRIORITY.keyOf(read.get(i))) > 0);
+        }
+    }
+
+    @Test
+    void testOf_WithNoTasks_ShouldReturnEmptyLastPage() {
+        TaskPage page = TaskPage.of(Collections.emptyList(), PageRequest.first(TaskSort.CREATED_AT, false, 10));
+
+        assertTrue(page.getTasks().isEmpty());
+        assertFalse(page.hasNext());
+    }
+}
@@ -0,0 +1,90 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TaskQuery.
+ */
+class TaskQueryTest {
+
+    private Task task;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category("Work");
+        task = new Task("Prepare Java project", "Report");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setPriority(TaskPriority.HIGH);
+        task.setCategory(category);
+        task.setStarred(true);
+        task.setDueDate(LocalDateTime.of(2030, 5, 1, 12, 0));
+    }
+
+    @Test
+    void testAll_ShouldMatchEveryTask() {
+        assertTrue(TaskQuery.all().isUnfiltered());
+        assertTrue(TaskQuery.all().matches(task));
+        assertTrue(TaskQuery.all().matches(new Task()));
+    }
+
+    @Test
+    void testMatches_ShouldRequireEveryFilter() {
+        TaskQuery query = TaskQuery.all()
+                .withStatus(TaskStatus.IN_PROGRESS)
+                .withPriority(TaskPriority.HIGH)
+                .withCategoryId(category.getId())
+                .withStarred(true)
+                .withDueBetween(LocalDateTime.of(2030, 5, 1, 12, 0), null)
+                .withTitle("proj JAVA");
+
+        assertFalse(query.isUnfiltered());
+        assertTrue(query.matches(task));
+        assertFalse(query.withStatus(TaskStatus.PENDING).matches(task));
+        assertFalse(query.withPriority(TaskPriority.LOW).matches(task));
+        assertFalse(query.withCategoryId("other").matches(task));
+        assertFalse(query.withStarred(false).matches(task));
+        assertFalse(query.withDueBetween(null, LocalDateTime.of(2030, 4, 30, 0, 0)).matches(task));
+        assertFalse(query.withTitle("report").matches(task), "Only the title should be searched");
+        assertFalse(query.withTitle("ava").matches(task), "Only word prefixes should match");
+    }
+
+    @Test
+    void testMatches_WithDueRange_ShouldNotMatchTaskWithoutDueDate() {
+        task.setDueDate(null);
+
+        assertFalse(TaskQuery.all().withDueBetween(null, LocalDateTime.MAX).matches(task));
+    }
+
+    @Test
+    void testWithTitle_ShouldTokenizeText() {
+        TaskQuery query = TaskQuery.all().withTitle("C++ Basics, basics");
+
+        assertEquals(Set.of("c", "basics"), query.getTitleTerms());
+        assertTrue(TaskQuery.all().withTitle("  ,. ").isUnfiltered());
+    }
+
+    @Test
+    void testWithDueBetween_WithReversedRange_ShouldThrowException() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class, () -> TaskQuery.all().withDueBetween(now, now.minusDays(1)));
+    }
+
+    @Test
+    void testEquals_ShouldCompareFilters() {
+        assertEquals(TaskQuery.all().withStatus(TaskStatus.PENDING).withTitle("a b"),
+                TaskQuery.all().withTitle("B a").withStatus(TaskStatus.PENDING));
+        assertNotEquals(TaskQuery.all(), TaskQuery.all().withStarred(false));
+    }
+}
@@ -0,0 +1,73 @@
+package ee.taltech.todo.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TextIndex.
+ */
+class TextIndexTest {
+
+    private TextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TextIndex();
+    }
+
+    @Test
+    void testTokenize_ShouldSplitOnNonWordCharactersAndLowerCase() {
+        List<String> tokens = TextIndex.tokenize("Buy milk, EGGS & bread-2", new ArrayList<>());
+
+        assertEquals(List.of("buy", "milk", "eggs", "bread", "2"), tokens);
+    }
+
+    @Test
+    void testSearch_WithPrefix_ShouldMatchWords() {
+        index.put("1", "Quarterly report");
+        index.put("2", "Report card");
+        index.put("3", "Dentist");
+
+        assertEquals(Set.of("1", "2"), index.search("rep"));
+        assertEquals(Set.of("1"), index.search("report quart"));
+    }
+
+    @Test
+    void testSearch_ShouldNotMatchInsideWords() {
+        index.put("1", "Homework");
+
+        assertTrue(index.search("work").isEmpty());
+    }
+
+    @Test
+    void testPut_WhenReindexed_ShouldDropOldTokens() {
+        index.put("1", "First title");
+        index.put("1", "Second title");
+
+        assertTrue(index.search("first").isEmpty());
+        assertEquals(Set.of("1"), index.search("second"));
+        assertEquals(Set.of("1"), index.search("title"));
+    }
+
+    @Test
+    void testRemove_ShouldRemoveDocument() {
+        index.put("1", "Some title", "and a description");
+        index.remove("1");
+
+        assertTrue(index.search("title").isEmpty());
+        assertTrue(index.search("description").isEmpty());
+    }
+
+    @Test
+    void testSearch_WithOnlyPunctuation_ShouldReturnEmpty() {
+        index.put("1", "Title");
+
+        assertTrue(index.search("!!!").isEmpty());
+    }
+}
@@ -0,0 +1,66 @@
+package ee.taltech.todo.repository;
+
+import ee.taltech.todo.metrics.LatencyHistogram;
+import ee.taltech.todo.metrics.MetricsRegistry;
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimedTaskRepository and TimedCategoryRepository.
+ */
+class TimedTaskRepositoryTest {
+
+    private MetricsRegistry registry;
+    private TaskRepository tasks;
+    private CategoryRepository categories;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MetricsRegistry();
+        tasks = new TimedTaskRepository(new InMemoryTaskRepository(), registry, "tasks");
+        categories = new TimedCategoryRepository(new InMemoryCategoryRepository(), registry, "categories");
+    }
+
+    @Test
+    void testOperations_ShouldBePassedOnAndTimed() {
+        Task task = tasks.save(new Task("Write report"));
+        tasks.findById(task.getId());
+        tasks.findById("missing");
+        tasks.saveAll(List.of(new Task("One"), new Task("Two")));
+        categories.save(new Category("Work"));
+
+        assertEquals(3, tasks.count());
+        assertTrue(categories.existsByName("Work"));
+        assertEquals(1, timer("tasks", "save").getCount());
+        assertEquals(2, timer("tasks", "findById").getCount());
+        assertEquals(1, timer("tasks", "saveAll").getCount());
+        assertEquals(1, timer("categories", "save").getCount());
+        assertTrue(registry.scrape().contains(
+                "repository_operation_seconds_count{repository=\"tasks\",operation=\"findById\"} 2\n"));
+    }
+
+    @Test
+    void testOperations_WhenDelegateThrows_ShouldStillBeTimed() {
+        assertThrows(IllegalArgumentException.class, () -> tasks.save(null));
+
+        assertEquals(1, timer("tasks", "save").getCount());
+    }
+
+    @Test
+    void testConstructor_WithNullArguments_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new TimedTaskRepository(null, registry, "tasks"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimedCategoryRepository(new InMemoryCategoryRepository(), null, "categories"));
+    }
+
+    private LatencyHistogram timer(String repository, String operation) {
+        return registry.histogram(TimedTaskRepository.METRIC, TimedTaskRepository.HELP,
+                "repository", repository, "operation", operation);
+    }
+}
@@ -0,0 +1,49 @@
+package ee.taltech.todo.server;
+
+import ee.taltech.todo.config.AppConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompressionSettings.
+ */
+class CompressionSettingsTest {
+
+    @Test
+    void testFromConfig_WhenEmpty_ShouldUseDefaults() {
+        CompressionSettings settings = CompressionSettings.fromConfig(new AppConfig(new Properties()));
+
+        assertTrue(settings.isEnabled());
+        assertEquals(1024, settings.getMinSize());
+        assertEquals(1, settings.getLevel());
+        assertEquals(32, settings.getPoolSize());
+    }
+
+    @Test
+    void testFromConfig_ShouldReadCompressionKeys() {
+        Properties properties = new Properties();
+        properties.setProperty("compression.enabled", "false");
+        properties.setProperty("compression.minSize", "0");
+        properties.setProperty("compression.level", "9");
+        properties.setProperty("compression.poolSize", "4");
+
+        CompressionSettings settings = CompressionSettings.fromConfig(new AppConfig(properties));
+
+        assertFalse(settings.isEnabled());
+        assertEquals(0, settings.getMinSize());
+        assertEquals(9, settings.getLevel());
+        assertEquals(4, settings.getPoolSize());
+    }
+
+    @Test
+    void testConstructor_WithInvalidValues_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressionSettings(true, -1, 6, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CompressionSettings(true, 0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CompressionSettings(true, 0, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CompressionSettings(true, 0, 6, 0));
+        assertDoesNotThrow(() -> new CompressionSettings(true, 0, -1, 1));
+    }
+}
@@ -0,0 +1,100 @@
+package ee.taltech.todo.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConditionalRequests.
+ */
+class ConditionalRequestsTest {
+
+    @Test
+    void testCollectionTag_ShouldBeQuotedAndDifferPerVersion() {
+        String tag = ConditionalRequests.collectionTag(7);
+
+        assertTrue(tag.startsWith("\"") && tag.endsWith("\""));
+        assertEquals(tag, ConditionalRequests.collectionTag(7));
+        assertNotEquals(tag, ConditionalRequests.collectionTag(8));
+        assertEquals("\"3\"", ConditionalRequests.entityTag(3));
+    }
+
+    @Test
+    void testMatchesAny_ShouldUseWeakComparison() {
+        String tag = ConditionalRequests.collectionTag(1);
+
+        assertTrue(ConditionalRequests.matchesAny(tag, tag));
+        assertTrue(ConditionalRequests.matchesAny("W/" + tag, tag));
+        assertTrue(ConditionalRequests.matchesAny("\"other\", " + tag, tag));
+        assertTrue(ConditionalRequests.matchesAny("*", tag));
+        assertFalse(ConditionalRequests.matchesAny("\"other\"", tag));
+        assertFalse(ConditionalRequests.matchesAny(null, tag));
+    }
+
+    @Test
+    void testEncodedTag_ShouldNameTheCodingAndBeReversible() {
+        String tag = ConditionalRequests.entityTag(3);
+
+        assertEquals("\"3-gzip\"", ConditionalRequests.encodedTag(tag, ContentEncoding.GZIP));
+        assertEquals("\"3-deflate\"", ConditionalRequests.encodedTag(tag, ContentEncoding.DEFLATE));
+        assertEquals(tag, ConditionalRequests.withoutEncoding("\"3-gzip\""));
+        assertEquals(tag, ConditionalRequests.withoutEncoding(tag));
+        assertTrue(ConditionalRequests.matchesAny("W/\"3-deflate\"", tag));
+        assertFalse(ConditionalRequests.matchesAny("\"4-gzip\"", tag));
+    }
+
+    @Test
+    void testNotModified_WithEncodedTag_ShouldEchoItAndVaryByEncoding() throws IOException {
+        String tag = ConditionalRequests.collectionTag(4);
+        String gzipTag = ConditionalRequests.encodedTag(tag, ContentEncoding.GZIP);
+        HttpExchange exchange = mockExchange(gzipTag);
+
+        assertTrue(ConditionalRequests.notModified(exchange, tag));
+
+        verify(exchange).sendResponseHeaders(304, -1);
+        assertEquals(gzipTag, exchange.getResponseHeaders().getFirst("ETag"));
+        assertEquals("Accept-Encoding", exchange.getResponseHeaders().getFirst("Vary"));
+    }
+
+    @Test
+    void testNotModified_WhenTagMatches_ShouldSend304WithoutBody() throws IOException {
+        String tag = ConditionalRequests.collectionTag(4);
+        HttpExchange exchange = mockExchange(tag);
+
+        assertTrue(ConditionalRequests.notModified(exchange, tag));
+
+        verify(exchange).sendResponseHeaders(304, -1);
+        verify(exchange).close();
+        assertEquals(tag, exchange.getResponseHeaders().getFirst("ETag"));
+    }
+
+    @Test
+    void testNotModified_WhenTagDiffers_ShouldOnlySetHeaders() throws IOException {
+        HttpExchange exchange = mockExchange(ConditionalRequests.collectionTag(4));
+        String current = ConditionalRequests.collectionTag(5);
+
+        assertFalse(ConditionalRequests.notModified(exchange, current));
+
+        verify(exchange, never()).sendResponseHeaders(anyInt(), anyLong());
+        assertEquals(current, exchange.getResponseHeaders().getFirst("ETag"));
+        assertEquals("no-cache", exchange.getResponseHeaders().getFirst("Cache-Control"));
+    }
+
+    private static HttpExchange mockExchange(String ifNoneMatch) {
+        HttpExchange exchange = mock(HttpExchange.class);
+        Headers requestHeaders = new Headers();
+        requestHeaders.set("If-None-Match", ifNoneMatch);
+        when(exchange.getRequestHeaders()).thenReturn(requestHeaders);
+        when(exchange.getResponseHeaders()).thenReturn(new Headers());
+        lenient().when(exchange.getRequestBody()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        return exchange;
+    }
+}
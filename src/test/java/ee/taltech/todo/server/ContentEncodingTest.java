@@ -0,0 +1,36 @@
+package ee.taltech.todo.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContentEncoding.
+ */
+class ContentEncodingTest {
+
+    @Test
+    void testNegotiate_ShouldPreferGzip() {
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("gzip, deflate, br"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("deflate, gzip"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("*"));
+    }
+
+    @Test
+    void testNegotiate_ShouldRespectQualityValues() {
+        assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0.5, deflate"));
+        assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0, *"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("GZIP ; Q=0.8"));
+        assertNull(ContentEncoding.negotiate("gzip;q=0, deflate;q=0"));
+        assertNull(ContentEncoding.negotiate("*;q=0"));
+    }
+
+    @Test
+    void testNegotiate_WithoutUsableCoding_ShouldReturnNull() {
+        assertNull(ContentEncoding.negotiate(null));
+        assertNull(ContentEncoding.negotiate(""));
+        assertNull(ContentEncoding.negotiate("identity"));
+        assertNull(ContentEncoding.negotiate("br"));
+        assertNull(ContentEncoding.negotiate("gzip;q=abc"));
+    }
+}
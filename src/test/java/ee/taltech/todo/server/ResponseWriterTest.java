@@ -0,0 +1,207 @@
+package ee.taltech.todo.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ResponseWriter and CompressingOutputStream.
+ */
+class ResponseWriterTest {
+
+    private static final int MIN_SIZE = 256;
+
+    private ResponseWriter writer;
+    private ByteArrayOutputStream responseBody;
+
+    @BeforeEach
+    void setUp() {
+        writer = new ResponseWriter(new CompressionSettings(true, MIN_SIZE, 6, 2));
+        responseBody = new ByteArrayOutputStream();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.close();
+    }
+
+    @Test
+    void testSend_WhenClientAcceptsGzip_ShouldCompressLargeBody() throws IOException {
+        HttpExchange exchange = mockExchange("gzip, deflate");
+        exchange.getResponseHeaders().set("ETag", "\"3\"");
+        byte[] body = json(50);
+
+        writer.send(exchange, 200, ResponseWriter.JSON, body);
+
+        assertEquals("gzip", exchange.getResponseHeaders().getFirst("Content-Encoding"));
+        assertEquals("Accept-Encoding", exchange.getResponseHeaders().getFirst("Vary"));
+        assertEquals("\"3-gzip\"", exchange.getResponseHeaders().getFirst("ETag"));
+        verify(exchange).sendResponseHeaders(200, responseBody.size());
+        assertTrue(responseBody.size() < body.length / 4);
+        assertArrayEquals(body, gunzip(responseBody.toByteArray()));
+    }
+
+    @Test
+    void testSend_WhenClientAcceptsDeflate_ShouldUseZlibFormat() throws IOException {
+        HttpExchange exchange = mockExchange("deflate");
+        byte[] body = json(50);
+
+        writer.send(exchange, 200, ResponseWriter.JSON, body);
+
+        assertEquals("deflate", exchange.getResponseHeaders().getFirst("Content-Encoding"));
+        assertArrayEquals(body, inflate(responseBody.toByteArray()));
+    }
+
+    @Test
+    void testSend_ShouldNotCompressSmallBodiesOrOtherTypes() throws IOException {
+        HttpExchange small = mockExchange("gzip");
+        small.getResponseHeaders().set("ETag", "\"3\"");
+        writer.send(small, 200, ResponseWriter.JSON, "{}".getBytes(StandardCharsets.UTF_8));
+        assertNull(small.getResponseHeaders().getFirst("Content-Encoding"));
+        assertEquals("Accept-Encoding", small.getResponseHeaders().getFirst("Vary"));
+        assertEquals("\"3\"", small.getResponseHeaders().getFirst("ETag"));
+        verify(small).sendResponseHeaders(200, 2);
+
+        responseBody.reset();
+        HttpExchange image = mockExchange("gzip");
+        writer.send(image, 200, "image/png", new byte[MIN_SIZE * 2]);
+        assertNull(image.getResponseHeaders().getFirst("Content-Encoding"));
+        assertNull(image.getResponseHeaders().getFirst("Vary"));
+        assertEquals(MIN_SIZE * 2, responseBody.size());
+    }
+
+    @Test
+    void testSend_WithoutAcceptEncoding_ShouldSendBodyAsIs() throws IOException {
+        HttpExchange exchange = mockExchange(null);
+        byte[] body = json(50);
+
+        writer.send(exchange, 200, ResponseWriter.JSON, body);
+
+        assertNull(exchange.getResponseHeaders().getFirst("Content-Encoding"));
+        assertArrayEquals(body, responseBody.toByteArray());
+    }
+
+    @Test
+    void testSend_WhenDisabled_ShouldNeverCompress() throws IOException {
+        ResponseWriter disabled = new ResponseWriter(new CompressionSettings(false, 0, 6, 1));
+        HttpExchange exchange = mockExchange("gzip");
+        byte[] body = json(50);
+
+        disabled.send(exchange, 200, ResponseWriter.JSON, body);
+
+        assertNull(exchange.getResponseHeaders().getFirst("Vary"));
+        assertArrayEquals(body, responseBody.toByteArray());
+    }
+
+    @Test
+    void testSendJson_WithNull_ShouldSendNoBodyAndDrainRequest() throws IOException {
+        HttpExchange exchange = mockExchange("gzip");
+        InputStream requestBody = mock(InputStream.class);
+        when(exchange.getRequestBody()).thenReturn(requestBody);
+
+        writer.sendJson(exchange, 204, null);
+
+        verify(requestBody).close();
+        verify(exchange).sendResponseHeaders(204, -1);
+        verify(exchange).close();
+    }
+
+    @Test
+    void testOpenStream_WhenBodyIsLarge_ShouldStreamCompressed() throws IOException {
+        HttpExchange exchange = mockExchange("gzip");
+        byte[] body = json(200);
+
+        try (OutputStream out = writer.openStream(exchange, 200, ResponseWriter.JSON)) {
+            // Small writes, as a list is written element by element
+            for (int offset = 0; offset < body.length; offset += 100) {
+                out.write(body, offset, Math.min(100, body.length - offset));
+            }
+        }
+
+        verify(exchange).sendResponseHeaders(200, 0);
+        assertEquals("gzip", exchange.getResponseHeaders().getFirst("Content-Encoding"));
+        assertArrayEquals(body, gunzip(responseBody.toByteArray()));
+    }
+
+    @Test
+    void testOpenStream_WhenBodyStaysSmall_ShouldSendItWithLength() throws IOException {
+        HttpExchange exchange = mockExchange("gzip");
+        byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+
+        try (OutputStream out = writer.openStream(exchange, 200, ResponseWriter.JSON)) {
+            out.write(body);
+        }
+
+        verify(exchange).sendResponseHeaders(200, body.length);
+        assertNull(exchange.getResponseHeaders().getFirst("Content-Encoding"));
+        assertArrayEquals(body, responseBody.toByteArray());
+    }
+
+    @Test
+    void testCompress_ShouldReuseDeflatersAcrossResponses() throws IOException {
+        DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, true, 1);
+        Deflater first = pool.acquire();
+        pool.release(first);
+
+        assertEquals(1, pool.getIdleCount());
+        assertSame(first, pool.acquire());
+        assertNotSame(first, pool.acquire());
+        pool.close();
+
+        // Each response's data is complete on its own after its deflater was reused
+        for (int i = 1; i <= 3; i++) {
+            byte[] body = json(i * 10);
+            assertArrayEquals(body, gunzip(writer.compress(body, ContentEncoding.GZIP)));
+        }
+    }
+
+    private HttpExchange mockExchange(String acceptEncoding) {
+        HttpExchange exchange = mock(HttpExchange.class);
+        Headers requestHeaders = new Headers();
+        if (acceptEncoding != null) {
+            requestHeaders.set("Accept-Encoding", acceptEncoding);
+        }
+        when(exchange.getRequestHeaders()).thenReturn(requestHeaders);
+        when(exchange.getResponseHeaders()).thenReturn(new Headers());
+        lenient().when(exchange.getResponseBody()).thenReturn(responseBody);
+        lenient().when(exchange.getRequestBody()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        return exchange;
+    }
+
+    private static byte[] json(int tasks) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < tasks; i++) {
+            json.append(i == 0 ? "\n  " : ",\n  ")
+                    .append("{\"id\": \"").append(i)
+                    .append("\", \"status\": \"TODO\", \"priority\": \"MEDIUM\", \"createdAt\": \"2024-01-01T10:00:00\"}");
+        }
+        return json.append("\n]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) throws IOException {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package ee.taltech.todo.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import ee.taltech.todo.metrics.MetricsRegistry;
+import ee.taltech.todo.metrics.RequestMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Router.
+ */
+class RouterTest {
+
+    private Router router;
+
+    private final Router.RouteHandler list = (exchange, vars) -> { };
+    private final Router.RouteHandler starred = (exchange, vars) -> { };
+    private final Router.RouteHandler byId = (exchange, vars) -> { };
+    private final Router.RouteHandler complete = (exchange, vars) -> { };
+    private final Router.RouteHandler byStatus = (exchange, vars) -> { };
+    private final Router.RouteHandler twoVariables = (exchange, vars) -> { };
+
+    @BeforeEach
+    void setUp() {
+        router = new Router()
+                .add("GET", "/api/v1/tasks", list)
+                .add("GET", "/api/v1/tasks/starred", starred)
+                .add("GET", "/api/v1/tasks/{id}", byId)
+                .add("DELETE", "/api/v1/tasks/{id}", byId)
+                .add("POST", "/api/v1/tasks/{id}/complete", complete)
+                .add("GET", "/api/v1/tasks/status/{status}", byStatus)
+                .add("GET", "/api/v1/categories/{categoryId}/tasks/{id}", twoVariables);
+    }
+
+    @Test
+    void testMatch_ShouldExtractPathVariables() {
+        Router.Match match = router.match("GET", "/api/v1/tasks/abc");
+
+        assertSame(byId, match.getHandler());
+        assertArrayEquals(new String[]{"abc"}, match.getPathVariables());
+    }
+
+    @Test
+    void testMatch_WithSeveralVariables_ShouldKeepTemplateOrder() {
+        Router.Match match = router.match("GET", "/api/v1/categories/c1/tasks/t1");
+
+        assertSame(twoVariables, match.getHandler());
+        assertArrayEquals(new String[]{"c1", "t1"}, match.getPathVariables());
+    }
+
+    @Test
+    void testMatch_ShouldPreferLiteralSegments() {
+        assertSame(starred, router.match("GET", "/api/v1/tasks/starred").getHandler());
+        assertSame(byStatus, router.match("GET", "/api/v1/tasks/status/PENDING").getHandler());
+    }
+
+    @Test
+    void testMatch_WhenLiteralBranchDeadEnds_ShouldFallBackToVariable() {
+        Router.Match match = router.match("POST", "/api/v1/tasks/starred/complete");
+
+        assertSame(complete, match.getHandler());
+        assertArrayEquals(new String[]{"starred"}, match.getPathVariables());
+    }
+
+    @Test
+    void testMatch_ShouldIgnoreTrailingSlash() {
+        assertSame(list, router.match("GET", "/api/v1/tasks/").getHandler());
+        assertSame(complete, router.match("POST", "/api/v1/tasks/abc/complete/").getHandler());
+    }
+
+    @Test
+    void testMatch_WithUnknownPath_ShouldReturnNotFound() {
+        assertSame(Router.Match.NOT_FOUND, router.match("GET", "/api/v1/unknown"));
+        assertSame(Router.Match.NOT_FOUND, router.match("GET", "/api/v1/tasks/abc/unknown"));
+        assertSame(Router.Match.NOT_FOUND, router.match("GET", "/api/v1"));
+        assertSame(Router.Match.NOT_FOUND, router.match("GET", "/api/v1/tasks//complete"));
+    }
+
+    @Test
+    void testMatch_WithUnsupportedMethod_ShouldReturnMethodNotAllowed() {
+        assertSame(Router.Match.METHOD_NOT_ALLOWED, router.match("PUT", "/api/v1/tasks/abc"));
+        assertSame(Router.Match.METHOD_NOT_ALLOWED, router.match("GET", "/api/v1/tasks/abc/complete"));
+    }
+
+    @Test
+    void testAdd_WithDuplicateRoute_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> router.add("GET", "/api/v1/tasks/{taskId}", list));
+        assertThrows(IllegalArgumentException.class, () -> router.add("GET", "api/v1/tasks", list));
+    }
+
+    @Test
+    void testHandle_ShouldDispatchToHandler() throws IOException {
+        String[] received = new String[1];
+        router.add("GET", "/api/v1/echo/{value}", (exchange, vars) -> received[0] = vars[0]);
+        HttpExchange exchange = mockExchange("GET", "/api/v1/echo/hello");
+
+        router.handle(exchange);
+
+        assertEquals("hello", received[0]);
+        assertEquals("*", exchange.getResponseHeaders().getFirst("Access-Control-Allow-Origin"));
+    }
+
+    @Test
+    void testHandle_WithUnknownPath_ShouldSendJsonError() throws IOException {
+        HttpExchange exchange = mockExchange("GET", "/api/v1/unknown");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        when(exchange.getResponseBody()).thenReturn(body);
+
+        router.handle(exchange);
+
+        verify(exchange).sendResponseHeaders(eq(404), anyLong());
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains("\"status\": 404"));
+    }
+
+    @Test
+    void testHandle_WhenHandlerThrows_ShouldSendServerError() throws IOException {
+        router.add("GET", "/api/v1/fail", (exchange, vars) -> {
+            throw new IllegalStateException("boom");
+        });
+        HttpExchange exchange = mockExchange("GET", "/api/v1/fail");
+        when(exchange.getResponseBody()).thenReturn(new ByteArrayOutputStream());
+
+        router.handle(exchange);
+
+        verify(exchange).sendResponseHeaders(eq(500), anyLong());
+    }
+
+    @Test
+    void testHandle_WithPreflightRequest_ShouldRespondWithoutBody() throws IOException {
+        HttpExchange exchange = mock(HttpExchange.class);
+        when(exchange.getResponseHeaders()).thenReturn(new Headers());
+        when(exchange.getRequestMethod()).thenReturn("OPTIONS");
+
+        router.handle(exchange);
+
+        verify(exchange).sendResponseHeaders(204, -1);
+    }
+
+    @Test
+    void testHandle_WithMetrics_ShouldRecordByRouteTemplate() throws IOException {
+        MetricsRegistry metrics = new MetricsRegistry();
+        Router timed = new Router(metrics)
+                .add("GET", "/api/v1/tasks/{id}", byId)
+                .add("GET", "/api/v1/fail", (exchange, vars) -> {
+                    throw new IllegalStateException("boom");
+                });
+
+        HttpExchange first = mockExchange("GET", "/api/v1/tasks/a");
+        when(first.getResponseCode()).thenReturn(200);
+        timed.handle(first);
+        HttpExchange second = mockExchange("GET", "/api/v1/tasks/b");
+        when(second.getResponseCode()).thenReturn(404);
+        timed.handle(second);
+        HttpExchange failing = mockExchange("GET", "/api/v1/fail");
+        when(failing.getResponseBody()).thenReturn(new ByteArrayOutputStream());
+        when(failing.getResponseCode()).thenReturn(500);
+        timed.handle(failing);
+
+        RequestMetrics byIdMetrics = metrics.requestMetrics("GET", "/api/v1/tasks/{id}");
+        assertEquals(2, byIdMetrics.getLatency().getCount());
+        assertEquals(1, byIdMetrics.getStatusCount(200));
+        assertEquals(1, byIdMetrics.getStatusCount(404));
+        assertEquals(0, byIdMetrics.getErrorCount());
+
+        RequestMetrics failMetrics = metrics.requestMetrics("GET", "/api/v1/fail");
+        assertEquals(1, failMetrics.getErrorCount());
+        assertEquals(1, failMetrics.getStatusCount(500));
+    }
+
+    @Test
+    void testHandle_WithMetrics_ShouldRecordUnmatchedPathsTogether() throws IOException {
+        MetricsRegistry metrics = new MetricsRegistry();
+        Router timed = new Router(metrics).add("GET", "/api/v1/tasks", list);
+
+        for (String path : new String[]{"/api/v1/a", "/api/v1/b", "/api/v1/c"}) {
+            HttpExchange exchange = mockExchange("GET", path);
+            when(exchange.getResponseBody()).thenReturn(new ByteArrayOutputStream());
+            when(exchange.getResponseCode()).thenReturn(404);
+            timed.handle(exchange);
+        }
+
+        RequestMetrics unmatched = metrics.requestMetrics("*", MetricsRegistry.UNMATCHED_ROUTE);
+        assertEquals(3, unmatched.getStatusCount(404));
+        assertFalse(metrics.scrape().contains("/api/v1/a"));
+    }
+
+    private static HttpExchange mockExchange(String method, String path) {
+        HttpExchange exchange = mock(HttpExchange.class);
+        when(exchange.getResponseHeaders()).thenReturn(new Headers());
+        when(exchange.getRequestMethod()).thenReturn(method);
+        when(exchange.getRequestURI()).thenReturn(URI.create(path));
+        return exchange;
+    }
+}
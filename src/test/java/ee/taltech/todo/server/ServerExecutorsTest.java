@@ -0,0 +1,121 @@
+package ee.taltech.todo.server;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ServerExecutors.
+ */
+class ServerExecutorsTest {
+
+    @Test
+    void testResolve_ShouldUseVirtualThreadsOnlyWhenAvailable() {
+        ExecutorMode expected = Runtime.version().feature() >= 21 ? ExecutorMode.VIRTUAL : ExecutorMode.PLATFORM;
+
+        assertEquals(expected, ServerExecutors.resolve(ExecutorMode.AUTO));
+        assertEquals(expected, ServerExecutors.resolve(ExecutorMode.VIRTUAL));
+        assertEquals(ExecutorMode.PLATFORM, ServerExecutors.resolve(ExecutorMode.PLATFORM));
+        assertEquals(ExecutorMode.DISPATCHER, ServerExecutors.resolve(ExecutorMode.DISPATCHER));
+    }
+
+    @Test
+    void testCreate_WithDispatcherMode_ShouldReturnNull() {
+        assertNull(ServerExecutors.create(new ServerSettings(ExecutorMode.DISPATCHER, 0, 1, 1, true)));
+    }
+
+    @Test
+    void testCreate_WithPlatformMode_ShouldBoundThreadsAndQueue() throws InterruptedException {
+        ExecutorService executor = ServerExecutors.create(new ServerSettings(ExecutorMode.PLATFORM, 0, 2, 1, true));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertTrue(executor instanceof ThreadPoolExecutor);
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            assertEquals(2, pool.getMaximumPoolSize());
+
+            // Two workers busy and one task queued: the next task runs on the caller
+            for (int i = 0; i < 3; i++) {
+                executor.execute(() -> awaitQuietly(release));
+            }
+            Thread[] ranOn = new Thread[1];
+            executor.execute(() -> ranOn[0] = Thread.currentThread());
+
+            assertSame(Thread.currentThread(), ranOn[0]);
+        } finally {
+            release.countDown();
+            ServerExecutors.shutdown(executor, 5);
+        }
+        assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    void testServer_WithExecutor_ShouldHandleRequestsConcurrently() throws Exception {
+        int clients = 4;
+        CountDownLatch allArrived = new CountDownLatch(clients);
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            allArrived.countDown();
+            // Each handler waits for the others: only completes if they run at the same time
+            boolean concurrent = awaitQuietly(allArrived);
+            byte[] body = String.valueOf(concurrent).getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        ExecutorService executor = ServerExecutors.create(new ServerSettings(ExecutorMode.AUTO, 0, clients, 10, true));
+        server.setExecutor(executor);
+        server.start();
+
+        ExecutorService clientPool = Executors.newFixedThreadPool(clients);
+        try {
+            URL url = new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+            List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                responses.add(clientPool.submit(() -> get(url)));
+            }
+            for (Future<String> response : responses) {
+                assertEquals("true", response.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            clientPool.shutdownNow();
+            server.stop(0);
+            ServerExecutors.shutdown(executor, 5);
+        }
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String get(URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try (InputStream is = connection.getInputStream()) {
+            return new String(is.readAllBytes());
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
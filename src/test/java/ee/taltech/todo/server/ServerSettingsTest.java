@@ -0,0 +1,79 @@
+package ee.taltech.todo.server;
+
+import ee.taltech.todo.config.AppConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ServerSettings.
+ */
+class ServerSettingsTest {
+
+    @Test
+    void testFromConfig_WhenEmpty_ShouldUseDefaults() {
+        ServerSettings settings = ServerSettings.fromConfig(new AppConfig(new Properties()));
+
+        assertEquals(ExecutorMode.AUTO, settings.getExecutorMode());
+        assertEquals(128, settings.getBacklog());
+        assertEquals(32, settings.getWorkerThreads());
+        assertEquals(1000, settings.getQueueCapacity());
+        assertTrue(settings.isTcpNoDelay());
+    }
+
+    @Test
+    void testFromConfig_ShouldReadServerKeys() {
+        Properties properties = new Properties();
+        properties.setProperty("server.executor", "platform");
+        properties.setProperty("server.backlog", "0");
+        properties.setProperty("server.workerThreads", "4");
+        properties.setProperty("server.queueCapacity", "10");
+        properties.setProperty("server.tcpNoDelay", "false");
+
+        ServerSettings settings = ServerSettings.fromConfig(new AppConfig(properties));
+
+        assertEquals(ExecutorMode.PLATFORM, settings.getExecutorMode());
+        assertEquals(0, settings.getBacklog());
+        assertEquals(4, settings.getWorkerThreads());
+        assertEquals(10, settings.getQueueCapacity());
+        assertFalse(settings.isTcpNoDelay());
+    }
+
+    @Test
+    void testFromConfig_WithUnknownMode_ShouldThrowException() {
+        Properties properties = new Properties();
+        properties.setProperty("server.executor", "fibers");
+
+        assertThrows(IllegalArgumentException.class, () -> ServerSettings.fromConfig(new AppConfig(properties)));
+    }
+
+    @Test
+    void testConstructor_WithInvalidValues_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new ServerSettings(null, 0, 1, 1, true));
+        assertThrows(IllegalArgumentException.class, () -> new ServerSettings(ExecutorMode.AUTO, -1, 1, 1, true));
+        assertThrows(IllegalArgumentException.class, () -> new ServerSettings(ExecutorMode.AUTO, 0, 0, 1, true));
+        assertThrows(IllegalArgumentException.class, () -> new ServerSettings(ExecutorMode.AUTO, 0, 1, 0, true));
+    }
+
+    @Test
+    void testApplySystemProperties_ShouldNotOverrideExplicitProperty() {
+        String previous = System.getProperty(ServerSettings.NO_DELAY_PROPERTY);
+        try {
+            System.setProperty(ServerSettings.NO_DELAY_PROPERTY, "false");
+            new ServerSettings(ExecutorMode.AUTO, 0, 1, 1, true).applySystemProperties();
+            assertEquals("false", System.getProperty(ServerSettings.NO_DELAY_PROPERTY));
+
+            System.clearProperty(ServerSettings.NO_DELAY_PROPERTY);
+            new ServerSettings(ExecutorMode.AUTO, 0, 1, 1, true).applySystemProperties();
+            assertEquals("true", System.getProperty(ServerSettings.NO_DELAY_PROPERTY));
+        } finally {
+            if (previous == null) {
+                System.clearProperty(ServerSettings.NO_DELAY_PROPERTY);
+            } else {
+                System.setProperty(ServerSettings.NO_DELAY_PROPERTY, previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package ee.taltech.todo.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StaticAssets.
+ */
+class StaticAssetsTest {
+
+    private static final String SCRIPT = "function render() { return 'rendered'; }\n".repeat(100);
+
+    @TempDir
+    Path directory;
+
+    private StaticAssets assets;
+    private ByteArrayOutputStream responseBody;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(directory.resolve("index.html"), "<html><body>ToDo</body></html>");
+        Files.createDirectories(directory.resolve("js"));
+        Files.writeString(directory.resolve("js/app.js"), SCRIPT);
+        assets = StaticAssets.fromDirectory(directory, new CompressionSettings(true, 1024, 1, 1), 0);
+        responseBody = new ByteArrayOutputStream();
+    }
+
+    @AfterEach
+    void tearDown() {
+        assets.close();
+    }
+
+    @Test
+    void testHandle_ShouldServeIndexWithValidators() throws IOException {
+        HttpExchange exchange = mockExchange("/", new Headers());
+
+        assets.handle(exchange);
+
+        verify(exchange).sendResponseHeaders(200, responseBody.size());
+        assertEquals("<html><body>ToDo</body></html>", responseBody.toString(StandardCharsets.UTF_8));
+        Headers headers = exchange.getResponseHeaders();
+        assertEquals("text/html", headers.getFirst("Content-Type"));
+        assertEquals("no-cache", headers.getFirst("Cache-Control"));
+        assertNotNull(headers.getFirst("ETag"));
+        assertNotNull(headers.getFirst("Last-Modified"));
+        // Too small to be worth a compressed copy
+        assertNull(headers.getFirst("Vary"));
+    }
+
+    @Test
+    void testHandle_WhenClientAcceptsGzip_ShouldServePrecompressedCopy() throws IOException {
+        Headers request = new Headers();
+        request.set("Accept-Encoding", "gzip");
+        HttpExchange exchange = mockExchange("/js/app.js", request);
+
+        assets.handle(exchange);
+
+        assertEquals("gzip", exchange.getResponseHeaders().getFirst("Content-Encoding"));
+        assertEquals("Accept-Encoding", exchange.getResponseHeaders().getFirst("Vary"));
+        assertTrue(exchange.getResponseHeaders().getFirst("ETag").endsWith("-gzip\""));
+        assertEquals("application/javascript", exchange.getResponseHeaders().getFirst("Content-Type"));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(responseBody.toByteArray()))) {
+            assertEquals(SCRIPT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testHandle_WithMatchingValidators_ShouldSend304() throws IOException {
+        HttpExchange first = mockExchange("/js/app.js", new Headers());
+        assets.handle(first);
+        String tag = first.getResponseHeaders().getFirst("ETag");
+        String lastModified = first.getResponseHeaders().getFirst("Last-Modified");
+
+        Headers byTag = new Headers();
+        byTag.set("If-None-Match", tag);
+        HttpExchange second = mockExchange("/js/app.js", byTag);
+        assets.handle(second);
+        verify(second).sendResponseHeaders(304, -1);
+
+        Headers byDate = new Headers();
+        byDate.set("If-Modified-Since", lastModified);
+        HttpExchange third = mockExchange("/js/app.js", byDate);
+        assets.handle(third);
+        verify(third).sendResponseHeaders(304, -1);
+
+        // If-None-Match wins over If-Modified-Since
+        Headers stale = new Headers();
+        stale.set("If-None-Match", "\"other\"");
+        stale.set("If-Modified-Since", lastModified);
+        HttpExchange fourth = mockExchange("/js/app.js", stale);
+        assets.handle(fourth);
+        verify(fourth).sendResponseHeaders(eq(200), anyLong());
+    }
+
+    @Test
+    void testHandle_WithUnknownPath_ShouldSend404() throws IOException {
+        HttpExchange missing = mockExchange("/missing.css", new Headers());
+        assets.handle(missing);
+        verify(missing).sendResponseHeaders(eq(404), anyLong());
+
+        HttpExchange outside = mockExchange("/../index.html", new Headers());
+        assets.handle(outside);
+        verify(outside).sendResponseHeaders(eq(404), anyLong());
+    }
+
+    @Test
+    void testReload_ShouldPickUpChangedFiles() throws IOException {
+        Files.writeString(directory.resolve("index.html"), "<html>Changed</html>");
+        Files.writeString(directory.resolve("js/extra.js"), "var extra;");
+
+        assets.reload();
+
+        assertEquals(3, assets.size());
+        assets.handle(mockExchange("/index.html", new Headers()));
+        assertEquals("<html>Changed</html>", responseBody.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWatch_ShouldReloadWhenFileChanges() throws Exception {
+        assets.watch();
+
+        Files.writeString(directory.resolve("js/late.js"), "var late;");
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (assets.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(3, assets.size());
+    }
+
+    @Test
+    void testFromClasspath_ShouldLoadFrontend() throws IOException {
+        try (StaticAssets frontend = StaticAssets.fromClasspath("static", CompressionSettings.defaults(), 60)) {
+            HttpExchange exchange = mockExchange("/", new Headers());
+            frontend.handle(exchange);
+
+            verify(exchange).sendResponseHeaders(eq(200), anyLong());
+            assertEquals("public, max-age=60", exchange.getResponseHeaders().getFirst("Cache-Control"));
+        }
+        assertThrows(IOException.class, () -> StaticAssets.fromClasspath("no-such-dir", CompressionSettings.defaults(), 0));
+    }
+
+    private HttpExchange mockExchange(String path, Headers requestHeaders) {
+        HttpExchange exchange = mock(HttpExchange.class);
+        responseBody.reset();
+        when(exchange.getRequestURI()).thenReturn(URI.create(path));
+        lenient().when(exchange.getRequestHeaders()).thenReturn(requestHeaders);
+        when(exchange.getResponseHeaders()).thenReturn(new Headers());
+        lenient().when(exchange.getResponseBody()).thenReturn(responseBody);
+        lenient().when(exchange.getRequestBody()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        return exchange;
+    }
+}
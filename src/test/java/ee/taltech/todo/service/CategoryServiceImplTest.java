@@ -1,7 +1,10 @@
 package ee.taltech.todo.service;
 
+import ee.taltech.todo.event.ChangeEvent;
+import ee.taltech.todo.event.ChangeEventBus;
 import ee.taltech.todo.exception.CategoryNotFoundException;
 import ee.taltech.todo.exception.DuplicateEntityException;
+import ee.taltech.todo.exception.DuplicateKeyException;
 import ee.taltech.todo.exception.ValidationException;
 import ee.taltech.todo.model.Category;
 import ee.taltech.todo.repository.CategoryRepository;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -64,6 +68,15 @@ class CategoryServiceImplTest {
         verify(categoryRepository, never()).save(any(Category.class));
     }
 
+    @Test
+    void testCreateCategory_WhenRepositoryRejectsDuplicate_ShouldThrowDuplicateEntityException() {
+        when(categoryRepository.existsByName("Work")).thenReturn(false);
+        when(categoryRepository.save(any(Category.class)))
+                .thenThrow(DuplicateKeyException.forKey("Category", "Work"));
+
+        assertThrows(DuplicateEntityException.class, () -> categoryService.createCategory(category));
+    }
+
     @Test
     void testCreateCategory_WithInvalidCategory_ShouldThrowValidationException() {
         category.setName(null);
@@ -101,7 +114,8 @@ class CategoryServiceImplTest {
         when(categoryRepository.existsById(category.getId())).thenReturn(true);
         when(categoryRepository.findByName("Work")).thenReturn(Optional.of(existingCategory));
 
-        assertThrows(RuntimeException.class, () -> categoryService.updateCategory(category));
+        assertThrows(DuplicateEntityException.class, () -> categoryService.updateCategory(category));
+        verify(categoryRepository, never()).save(any(Category.class));
     }
 
     @Test
@@ -200,6 +214,28 @@ class CategoryServiceImplTest {
         verify(categoryRepository, times(1)).deleteById(categoryId);
     }
 
+    @Test
+    void testChanges_ShouldBePublishedAfterTheyAreStored() throws Exception {
+        ChangeEventBus events = new ChangeEventBus();
+        List<ChangeEvent> published = new ArrayList<>();
+        events.subscribe(published::add);
+        categoryService = new CategoryServiceImpl(categoryRepository, events);
+
+        when(categoryRepository.existsByName("Work")).thenReturn(false);
+        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+        when(categoryRepository.existsById(category.getId())).thenReturn(true);
+        when(categoryRepository.deleteById(category.getId())).thenReturn(true);
+
+        categoryService.createCategory(category);
+        categoryService.deleteCategory(category.getId());
+
+        assertEquals(2, published.size());
+        assertSame(category, published.get(0).getEntity());
+        assertEquals(ChangeEvent.EntityType.CATEGORY, published.get(0).getEntityType());
+        assertEquals(ChangeEvent.Action.DELETED, published.get(1).getAction());
+        assertEquals(category.getId(), published.get(1).getEntityId());
+    }
+
     @Test
     void testDeleteCategory_WhenCategoryNotExists_ShouldThrowException() {
         String categoryId = "999";
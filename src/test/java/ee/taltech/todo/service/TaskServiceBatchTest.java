@@ -0,0 +1,137 @@
+package ee.taltech.todo.service;
+
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskStatus;
+import ee.taltech.todo.repository.CategoryRepository;
+import ee.taltech.todo.repository.Database;
+import ee.taltech.todo.repository.InMemoryCategoryRepository;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import ee.taltech.todo.repository.JdbcCategoryRepository;
+import ee.taltech.todo.repository.JdbcTaskRepository;
+import ee.taltech.todo.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TaskServiceImpl.applyBatch against both repository implementations.
+ */
+class TaskServiceBatchTest {
+
+    private Database database;
+    private TaskRepository taskRepository;
+    private CategoryRepository categoryRepository;
+    private TaskService service;
+
+    @AfterEach
+    void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "jdbc"})
+    void testApplyBatch_ShouldApplyEveryKindOfOperation(String storage) throws Exception {
+        createService(storage);
+        Category work = categoryRepository.save(new Category("Work"));
+        Task toUpdate = service.createTask(new Task("Update me"));
+        Task toComplete = service.createTask(new Task("Complete me"));
+        Task toDelete = service.createTask(new Task("Delete me"));
+
+        List<TaskBatchResult> results = service.applyBatch(List.of(
+                TaskBatchOperation.create(new Task("Created"), work.getId()),
+                TaskBatchOperation.update(toUpdate.getId(), 1, null, t -> t.setTitle("Updated")),
+                TaskBatchOperation.complete(toComplete.getId()),
+                TaskBatchOperation.delete(toDelete.getId())));
+
+        assertOutcomes(results, TaskBatchResult.Outcome.CREATED, TaskBatchResult.Outcome.UPDATED,
+                TaskBatchResult.Outcome.UPDATED, TaskBatchResult.Outcome.DELETED);
+        Task created = service.getTaskById(results.get(0).getTaskId());
+        assertEquals("Created", created.getTitle());
+        assertEquals("Work", created.getCategory().getName());
+        assertEquals("Updated", service.getTaskById(toUpdate.getId()).getTitle());
+        assertEquals(2, results.get(1).getTask().getVersion());
+        assertEquals(TaskStatus.COMPLETED, service.getTaskById(toComplete.getId()).getStatus());
+        assertEquals(3, service.getTotalCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "jdbc"})
+    void testApplyBatch_ShouldReportFailuresPerOperation(String storage) throws Exception {
+        createService(storage);
+        Task stored = service.createTask(new Task("Stored"));
+
+        List<TaskBatchResult> results = service.applyBatch(List.of(
+                TaskBatchOperation.create(new Task(""), null),
+                TaskBatchOperation.update(stored.getId(), 5, null, t -> t.setTitle("Stale")),
+                TaskBatchOperation.complete(stored.getId()),
+                TaskBatchOperation.delete("missing"),
+                TaskBatchOperation.create(new Task("No category"), "missing-category"),
+                TaskBatchOperation.create(new Task("Valid"), null)));
+
+        assertOutcomes(results, TaskBatchResult.Outcome.INVALID, TaskBatchResult.Outcome.STALE_VERSION,
+                TaskBatchResult.Outcome.CONFLICT, TaskBatchResult.Outcome.NOT_FOUND,
+                TaskBatchResult.Outcome.NOT_FOUND, TaskBatchResult.Outcome.CREATED);
+        assertNotNull(results.get(0).getError());
+        Task unchanged = service.getTaskById(stored.getId());
+        assertEquals("Stored", unchanged.getTitle());
+        assertEquals(TaskStatus.PENDING, unchanged.getStatus());
+        assertEquals(2, service.getTotalCount());
+    }
+
+    @Test
+    void testApplyBatch_WhenIdIsTaken_ShouldReportConflict() throws Exception {
+        createService("memory");
+        Task stored = service.createTask(new Task("Stored"));
+        Task sameId = stored.copy();
+        sameId.setVersion(0);
+
+        List<TaskBatchResult> results = service.applyBatch(List.of(TaskBatchOperation.create(sameId, null)));
+
+        assertOutcomes(results, TaskBatchResult.Outcome.CONFLICT);
+        assertEquals(1, service.getTaskById(stored.getId()).getVersion());
+    }
+
+    @Test
+    void testApplyBatch_WithInvalidBatch_ShouldThrowException() {
+        createService("memory");
+        List<TaskBatchOperation> tooLarge = new ArrayList<>();
+        for (int i = 0; i <= TaskService.MAX_BATCH_SIZE; i++) {
+            tooLarge.add(TaskBatchOperation.delete("id-" + i));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> service.applyBatch(null));
+        assertThrows(IllegalArgumentException.class, () -> service.applyBatch(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> service.applyBatch(tooLarge));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.applyBatch(Collections.singletonList(null)));
+    }
+
+    private static void assertOutcomes(List<TaskBatchResult> results, TaskBatchResult.Outcome... expected) {
+        List<TaskBatchResult.Outcome> outcomes = new ArrayList<>();
+        results.forEach(result -> outcomes.add(result.getOutcome()));
+        assertEquals(List.of(expected), outcomes, results::toString);
+    }
+
+    private void createService(String storage) {
+        if (storage.equals("jdbc")) {
+            database = new Database("jdbc:h2:mem:batch-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 4, 16);
+            taskRepository = new JdbcTaskRepository(database);
+            categoryRepository = new JdbcCategoryRepository(database, false);
+        } else {
+            taskRepository = new InMemoryTaskRepository();
+            categoryRepository = new InMemoryCategoryRepository();
+        }
+        service = new TaskServiceImpl(taskRepository, categoryRepository);
+    }
+}
@@ -0,0 +1,150 @@
+package ee.taltech.todo.service;
+
+import ee.taltech.todo.exception.OptimisticLockException;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.repository.Database;
+import ee.taltech.todo.repository.InMemoryCategoryRepository;
+import ee.taltech.todo.repository.InMemoryTaskRepository;
+import ee.taltech.todo.repository.JdbcCategoryRepository;
+import ee.taltech.todo.repository.JdbcTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for concurrent task updates through TaskServiceImpl, against
+ * both repository implementations. Every thread increments a counter kept in
+ * the task's description, so a lost update shows up as a missing increment.
+ */
+class TaskServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 50;
+
+    private Database database;
+
+    @AfterEach
+    void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "jdbc"})
+    void testUpdateTask_WithAnyVersion_ShouldApplyEveryUpdate(String storage) throws Exception {
+        TaskService service = createService(storage);
+        Task task = createCounterTask(service);
+
+        List<Throwable> failures = runConcurrently(() -> {
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                service.updateTask(task.getId(), TaskService.ANY_VERSION, null, TaskServiceConcurrencyTest::increment);
+            }
+        });
+
+        assertEquals(List.of(), failures);
+        Task stored = service.getTaskById(task.getId());
+        int updates = THREADS * UPDATES_PER_THREAD;
+        assertEquals(String.valueOf(updates), stored.getDescription());
+        assertEquals(updates + 1, stored.getVersion());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "jdbc"})
+    void testUpdateTask_WithExpectedVersion_ShouldAcceptOneWriterPerVersion(String storage) throws Exception {
+        TaskService service = createService(storage);
+        Task task = createCounterTask(service);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Throwable> failures = runConcurrently(() -> {
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                long version = service.getTaskById(task.getId()).getVersion();
+                try {
+                    service.updateTask(task.getId(), version, null, TaskServiceConcurrencyTest::increment);
+                    accepted.incrementAndGet();
+                } catch (OptimisticLockException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(List.of(), failures);
+        assertEquals(THREADS * UPDATES_PER_THREAD, accepted.get() + rejected.get());
+        Task stored = service.getTaskById(task.getId());
+        assertEquals(String.valueOf(accepted.get()), stored.getDescription());
+        assertEquals(accepted.get() + 1, stored.getVersion());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "jdbc"})
+    void testUpdateTask_ShouldNotChangeInstancesHeldByReaders(String storage) throws Exception {
+        TaskService service = createService(storage);
+        Task task = createCounterTask(service);
+        Task read = service.getTaskById(task.getId());
+
+        service.updateTask(task.getId(), read.getVersion(), null, TaskServiceConcurrencyTest::increment);
+
+        assertEquals("0", read.getDescription());
+        assertEquals("1", service.getTaskById(task.getId()).getDescription());
+    }
+
+    private TaskService createService(String storage) {
+        if (storage.equals("jdbc")) {
+            database = new Database("jdbc:h2:mem:stress-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                    "sa", "", THREADS, 16);
+            return new TaskServiceImpl(new JdbcTaskRepository(database), new JdbcCategoryRepository(database, false));
+        }
+        return new TaskServiceImpl(new InMemoryTaskRepository(), new InMemoryCategoryRepository());
+    }
+
+    private static Task createCounterTask(TaskService service) throws Exception {
+        return service.createTask(new Task("Counter", "0"));
+    }
+
+    private static void increment(Task task) {
+        task.setDescription(String.valueOf(Integer.parseInt(task.getDescription()) + 1));
+    }
+
+    /**
+     * Runs the work on every thread at once and returns what the threads threw.
+     */
+    private static List<Throwable> runConcurrently(Work work) throws InterruptedException {
+        List<Throwable> failures = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+
+        for (int i = 0; i < THREADS; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                    work.run();
+                } catch (Throwable t) {
+                    synchronized (failures) {
+                        failures.add(t);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return failures;
+    }
+
+    @FunctionalInterface
+    private interface Work {
+        void run() throws Exception;
+    }
+}
@@ -1,5 +1,8 @@
 package ee.taltech.todo.service;
 
+import ee.taltech.todo.event.ChangeEvent;
+import ee.taltech.todo.event.ChangeEventBus;
+import ee.taltech.todo.exception.OptimisticLockException;
 import ee.taltech.todo.exception.TaskNotFoundException;
 import ee.taltech.todo.exception.ValidationException;
 import ee.taltech.todo.model.Category;
@@ -14,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -98,6 +102,7 @@ class TaskServiceImplTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     void testUpdateTask_WithValidTask_ShouldUpdateTask() throws TaskNotFoundException, ValidationException {
         when(taskRepository.existsById(task.getId())).thenReturn(true);
         when(taskRepository.save(any(Task.class))).thenReturn(task);
@@ -109,6 +114,7 @@ class TaskServiceImplTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     void testUpdateTask_WhenTaskNotExists_ShouldThrowException() {
         when(taskRepository.existsById(task.getId())).thenReturn(false);
 
@@ -141,24 +147,81 @@ class TaskServiceImplTest {
         String taskId = task.getId();
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.update(eq(taskId), any())).thenCallRealMethod();
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Task completed = taskService.completeTask(taskId);
 
         assertEquals(TaskStatus.COMPLETED, completed.getStatus());
+        assertEquals(TaskStatus.PENDING, task.getStatus());
         verify(taskRepository, times(1)).save(task);
     }
 
+    @Test
+    void testChanges_ShouldBePublishedAfterTheyAreStored() throws Exception {
+        ChangeEventBus events = new ChangeEventBus();
+        List<ChangeEvent> published = new ArrayList<>();
+        events.subscribe(published::add);
+        taskService = new TaskServiceImpl(taskRepository, categoryRepository, events);
+        String taskId = task.getId();
+
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.update(eq(taskId), any())).thenCallRealMethod();
+        when(taskRepository.existsById(taskId)).thenReturn(true);
+        when(taskRepository.deleteById(taskId)).thenReturn(true);
+
+        taskService.createTask(task);
+        Task completed = taskService.completeTask(taskId);
+        taskService.deleteTask(taskId);
+
+        assertEquals(3, published.size());
+        assertEquals(ChangeEvent.Action.SAVED, published.get(0).getAction());
+        assertSame(completed, published.get(1).getEntity());
+        assertEquals(ChangeEvent.Action.DELETED, published.get(2).getAction());
+        assertEquals(taskId, published.get(2).getEntityId());
+        assertEquals(ChangeEvent.EntityType.TASK, published.get(2).getEntityType());
+    }
+
+    @Test
+    void testFailedChanges_ShouldNotBePublished() {
+        ChangeEventBus events = new ChangeEventBus();
+        List<ChangeEvent> published = new ArrayList<>();
+        events.subscribe(published::add);
+        taskService = new TaskServiceImpl(taskRepository, categoryRepository, events);
+        task.setTitle(null);
+
+        when(taskRepository.existsById("999")).thenReturn(false);
+
+        assertThrows(ValidationException.class, () -> taskService.createTask(task));
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask("999"));
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void testGetCollectionVersion_ShouldCoverTasksAndCategories() {
+        when(taskRepository.getCollectionVersion()).thenReturn(5L, 5L);
+        when(categoryRepository.getCollectionVersion()).thenReturn(2L, 3L);
+
+        long before = taskService.getCollectionVersion();
+        long afterCategoryChange = taskService.getCollectionVersion();
+
+        assertTrue(afterCategoryChange > before);
+        verify(taskRepository, never()).findAll();
+    }
+
     @Test
     void testStartTask_ShouldChangeStatusToInProgress() throws TaskNotFoundException {
         String taskId = task.getId();
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.update(eq(taskId), any())).thenCallRealMethod();
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Task started = taskService.startTask(taskId);
 
         assertEquals(TaskStatus.IN_PROGRESS, started.getStatus());
+        assertEquals(TaskStatus.PENDING, task.getStatus());
         verify(taskRepository, times(1)).save(task);
     }
 
@@ -167,11 +230,13 @@ class TaskServiceImplTest {
         String taskId = task.getId();
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.update(eq(taskId), any())).thenCallRealMethod();
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Task cancelled = taskService.cancelTask(taskId);
 
         assertEquals(TaskStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(TaskStatus.PENDING, task.getStatus());
         verify(taskRepository, times(1)).save(task);
     }
 
@@ -235,12 +300,38 @@ class TaskServiceImplTest {
     @Test
     void testSearchTasks_ShouldReturnMatchingTasks() {
         List<Task> searchResults = Arrays.asList(task);
-        when(taskRepository.searchByTitle("test")).thenReturn(searchResults);
+        when(taskRepository.search("test")).thenReturn(searchResults);
 
         List<Task> result = taskService.searchTasks("test");
 
         assertEquals(1, result.size());
-        verify(taskRepository, times(1)).searchByTitle("test");
+        verify(taskRepository, times(1)).search("test");
+    }
+
+    @Test
+    void testGetTasksByCategory_ShouldQueryByCategoryId() {
+        when(taskRepository.findByCategoryId("456")).thenReturn(List.of(task));
+
+        List<Task> result = taskService.getTasksByCategory("456");
+
+        assertEquals(1, result.size());
+        verify(categoryRepository, never()).findById(any());
+    }
+
+    @Test
+    void testCountByCategory_ShouldUseRepositoryCount() {
+        when(taskRepository.countByCategoryId("456")).thenReturn(3L);
+
+        assertEquals(3, taskService.countByCategory("456"));
+        verify(taskRepository, never()).findByCategoryId(any());
+    }
+
+    @Test
+    void testCountByStatus_ShouldUseRepositoryCount() {
+        when(taskRepository.countByStatus(TaskStatus.PENDING)).thenReturn(7L);
+
+        assertEquals(7, taskService.countByStatus(TaskStatus.PENDING));
+        verify(taskRepository, never()).findByStatus(any());
     }
 
     @Test
@@ -252,20 +343,59 @@ class TaskServiceImplTest {
         category.setName("Work");
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.update(eq(taskId), any())).thenCallRealMethod();
         when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Task result = taskService.assignCategory(taskId, categoryId);
 
         assertEquals(category, result.getCategory());
+        assertNull(task.getCategory());
         verify(taskRepository, times(1)).save(task);
     }
 
     @Test
     void testAssignCategory_WhenTaskNotExists_ShouldThrowException() {
+        when(categoryRepository.findById("456")).thenReturn(Optional.of(new Category("Work")));
         when(taskRepository.findById("999")).thenReturn(Optional.empty());
+        when(taskRepository.update(eq("999"), any())).thenCallRealMethod();
 
         assertThrows(TaskNotFoundException.class, () ->
             taskService.assignCategory("999", "456"));
     }
+
+    @Test
+    void testUpdateTask_WithExpectedVersion_WhenStoredVersionDiffers_ShouldThrowWithoutSaving() {
+        task.setVersion(3);
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        assertThrows(OptimisticLockException.class, () ->
+                taskService.updateTask(task.getId(), 2, null, t -> t.setTitle("Changed")));
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateTask_WithAnyVersion_ShouldRetryAfterConflict() throws Exception {
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class)))
+                .thenThrow(OptimisticLockException.forVersion("Task", task.getId(), 0, 1))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Task result = taskService.updateTask(task.getId(), TaskService.ANY_VERSION, null, t -> t.setTitle("Changed"));
+
+        assertEquals("Changed", result.getTitle());
+        assertEquals("Test Task", task.getTitle());
+        verify(taskRepository, times(2)).save(any(Task.class));
+    }
+
+    @Test
+    void testUpdateTask_WithExpectedVersion_WhenSaveConflicts_ShouldNotRetry() {
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class)))
+                .thenThrow(OptimisticLockException.forVersion("Task", task.getId(), 0, 1));
+
+        assertThrows(OptimisticLockException.class, () ->
+                taskService.updateTask(task.getId(), 0, null, t -> t.setTitle("Changed")));
+        verify(taskRepository, times(1)).save(any(Task.class));
+    }
 }
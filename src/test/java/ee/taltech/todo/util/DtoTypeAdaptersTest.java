@@ -0,0 +1,155 @@
+package ee.taltech.todo.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import ee.taltech.todo.dto.CategoryDTO;
+import ee.taltech.todo.dto.CreateCategoryRequest;
+import ee.taltech.todo.dto.CreateTaskRequest;
+import ee.taltech.todo.dto.TaskDTO;
+import ee.taltech.todo.dto.UpdateTaskRequest;
+import ee.taltech.todo.model.TaskPriority;
+import ee.taltech.todo.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DtoTypeAdapters, checked against Gson's reflective adapters.
+ */
+class DtoTypeAdaptersTest {
+
+    /**
+     * The reflective configuration JsonUtil used before the hand-written adapters.
+     */
+    private static final Gson REFLECTIVE = reflectiveGson(false);
+    private static final Gson REFLECTIVE_WITH_NULLS = reflectiveGson(true);
+
+    private final Gson gson = DtoTypeAdapters.register(new GsonBuilder().setPrettyPrinting()).create();
+    private final Gson gsonWithNulls =
+            DtoTypeAdapters.register(new GsonBuilder().setPrettyPrinting().serializeNulls()).create();
+
+    @Test
+    void testWrite_TaskDTO_ShouldMatchReflectiveOutput() {
+        TaskDTO full = new TaskDTO();
+        full.setId("id-1");
+        full.setTitle("Title with \"quotes\" and <html> & ümlauts");
+        full.setDescription("Line\nbreak");
+        full.setStatus(TaskStatus.IN_PROGRESS);
+        full.setPriority(TaskPriority.CRITICAL);
+        full.setDueDate(LocalDateTime.of(2025, 10, 4, 12, 30, 0, 5000));
+        full.setCategoryId("cat-1");
+        full.setCategoryName("Work");
+        full.setStarred(true);
+        full.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0));
+        full.setUpdatedAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5, 600_000_000));
+        TaskDTO sparse = new TaskDTO();
+        sparse.setId("id-2");
+
+        for (TaskDTO dto : new TaskDTO[]{full, sparse}) {
+            assertEquals(REFLECTIVE.toJson(dto), gson.toJson(dto));
+            assertEquals(REFLECTIVE_WITH_NULLS.toJson(dto), gsonWithNulls.toJson(dto));
+        }
+    }
+
+    @Test
+    void testWrite_OtherDtos_ShouldMatchReflectiveOutput() {
+        CategoryDTO category = new CategoryDTO();
+        category.setId("cat-1");
+        category.setName("Work");
+        category.setColor("#ff0000");
+        category.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+
+        CreateTaskRequest create = new CreateTaskRequest();
+        create.setTitle("New");
+        create.setPriority(TaskPriority.HIGH);
+        create.setDueDate(LocalDateTime.of(2025, 5, 6, 7, 8, 9));
+
+        UpdateTaskRequest update = new UpdateTaskRequest();
+        update.setStatus(TaskStatus.COMPLETED);
+        update.setStarred(false);
+
+        CreateCategoryRequest createCategory = new CreateCategoryRequest();
+        createCategory.setName("Home");
+
+        for (Object dto : new Object[]{category, new CategoryDTO(), create, update, new UpdateTaskRequest(),
+                createCategory}) {
+            assertEquals(REFLECTIVE.toJson(dto), gson.toJson(dto));
+            assertEquals(REFLECTIVE_WITH_NULLS.toJson(dto), gsonWithNulls.toJson(dto));
+        }
+    }
+
+    @Test
+    void testRead_TaskDTO_ShouldMatchReflectiveInput() {
+        String json = "{\"id\":\"1\",\"title\":\"T\",\"status\":\"COMPLETED\",\"priority\":\"LOW\","
+                + "\"dueDate\":\"2025-10-04T12:30\",\"starred\":true,\"unknown\":{\"nested\":[1,2]},"
+                + "\"categoryName\":null,\"createdAt\":\"2025-10-04T12:30:15.25\"}";
+
+        TaskDTO expected = REFLECTIVE.fromJson(json, TaskDTO.class);
+        TaskDTO actual = gson.fromJson(json, TaskDTO.class);
+
+        assertEquals(REFLECTIVE.toJson(expected), REFLECTIVE.toJson(actual));
+    }
+
+    @Test
+    void testRead_UpdateTaskRequest_ShouldMatchReflectiveInput() {
+        String[] inputs = {
+                "{\"title\":\"T\",\"status\":\"IN_PROGRESS\",\"starred\":false,\"categoryId\":\"c\"}",
+                "{\"status\":\"NOT_A_STATUS\",\"priority\":null,\"starred\":\"true\"}",
+                "{\"title\":42,\"description\":true,\"dueDate\":\"2025-01-01T00:00:00\"}",
+                "{}"
+        };
+
+        for (String json : inputs) {
+            UpdateTaskRequest expected = REFLECTIVE.fromJson(json, UpdateTaskRequest.class);
+            UpdateTaskRequest actual = gson.fromJson(json, UpdateTaskRequest.class);
+            assertEquals(REFLECTIVE.toJson(expected), REFLECTIVE.toJson(actual), json);
+        }
+    }
+
+    @Test
+    void testRead_CreateRequests_ShouldMatchReflectiveInput() {
+        String task = "{\"title\":\"T\",\"description\":\"D\",\"priority\":\"HIGH\","
+                + "\"dueDate\":\"2025-10-04T12:30\",\"categoryId\":\"c\",\"extra\":1}";
+        String category = "{\"name\":\"Work\",\"description\":\"D\",\"color\":\"#fff\"}";
+
+        assertEquals(REFLECTIVE.toJson(REFLECTIVE.fromJson(task, CreateTaskRequest.class)),
+                REFLECTIVE.toJson(gson.fromJson(task, CreateTaskRequest.class)));
+        assertEquals(REFLECTIVE.toJson(REFLECTIVE.fromJson(category, CreateCategoryRequest.class)),
+                REFLECTIVE.toJson(gson.fromJson(category, CreateCategoryRequest.class)));
+        assertEquals(REFLECTIVE.toJson(REFLECTIVE.fromJson(category, CategoryDTO.class)),
+                REFLECTIVE.toJson(gson.fromJson(category, CategoryDTO.class)));
+    }
+
+    @Test
+    void testRead_WithNullDocument_ShouldReturnNull() {
+        assertNull(gson.fromJson("null", TaskDTO.class));
+    }
+
+    @Test
+    void testRead_WithWrongValueType_ShouldThrowException() {
+        assertThrows(RuntimeException.class, () -> gson.fromJson("{\"title\":{}}", CreateTaskRequest.class));
+        assertThrows(RuntimeException.class, () -> gson.fromJson("[]", CreateTaskRequest.class));
+    }
+
+    private static Gson reflectiveGson(boolean serializeNulls) {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        GsonBuilder builder = new GsonBuilder()
+                .setPrettyPrinting()
+                .registerTypeAdapter(LocalDateTime.class,
+                        (JsonSerializer<LocalDateTime>) (src, typeOfSrc, context) ->
+                                new JsonPrimitive(src.format(formatter)))
+                .registerTypeAdapter(LocalDateTime.class,
+                        (JsonDeserializer<LocalDateTime>) (json, typeOfT, context) ->
+                                LocalDateTime.parse(json.getAsString(), formatter));
+        if (serializeNulls) {
+            builder.serializeNulls();
+        }
+        return builder.create();
+    }
+}
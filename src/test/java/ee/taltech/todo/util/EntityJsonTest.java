@@ -0,0 +1,106 @@
+package ee.taltech.todo.util;
+
+import ee.taltech.todo.dto.CategoryDTO;
+import ee.taltech.todo.dto.TaskDTO;
+import ee.taltech.todo.model.Category;
+import ee.taltech.todo.model.Task;
+import ee.taltech.todo.model.TaskPriority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EntityJson.
+ */
+class EntityJsonTest {
+
+    private Category category;
+    private Task first;
+    private Task second;
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category("Work", "Job stuff", "#ff0000");
+        first = new Task("First ü", "Description with \"quotes\"");
+        first.setCategory(category);
+        first.setDueDate(LocalDateTime.of(2025, 10, 4, 12, 30));
+        second = new Task("Second", null);
+        second.setPriority(TaskPriority.HIGH);
+        tasks = List.of(first, second);
+    }
+
+    @Test
+    void testWriteTasks_ShouldMatchStreamedDtos() throws IOException {
+        assertEquals(expectedTasks(), writeTasks());
+        // Second write comes from the cache
+        assertEquals(expectedTasks(), writeTasks());
+    }
+
+    @Test
+    void testWriteTasks_AfterTaskChange_ShouldWriteNewValues() throws IOException {
+        writeTasks();
+
+        second.setTitle("Renamed");
+
+        String json = writeTasks();
+        assertEquals(expectedTasks(), json);
+        assertTrue(json.contains("Renamed"));
+    }
+
+    @Test
+    void testWriteTasks_AfterCategoryRename_ShouldWriteNewCategoryName() throws IOException {
+        writeTasks();
+
+        category.setName("Office");
+
+        String json = writeTasks();
+        assertEquals(expectedTasks(), json);
+        assertTrue(json.contains("Office"));
+    }
+
+    @Test
+    void testWriteTasks_WithNoTasks_ShouldWriteEmptyArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        EntityJson.writeTasks(out, Collections.emptyList());
+
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteCategories_ShouldMatchStreamedDtos() throws IOException {
+        List<Category> categories = List.of(category, new Category("Home"));
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        JsonUtil.writeArray(expected, categories, CategoryDTO::fromEntity);
+
+        category.setColor("#00ff00");
+        ByteArrayOutputStream changed = new ByteArrayOutputStream();
+        JsonUtil.writeArray(changed, categories, CategoryDTO::fromEntity);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        EntityJson.writeCategories(actual, categories);
+
+        assertNotEquals(expected.toString(StandardCharsets.UTF_8), actual.toString(StandardCharsets.UTF_8));
+        assertEquals(changed.toString(StandardCharsets.UTF_8), actual.toString(StandardCharsets.UTF_8));
+    }
+
+    private String writeTasks() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EntityJson.writeTasks(out, tasks);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private String expectedTasks() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonUtil.writeArray(out, tasks, TaskDTO::fromEntity);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
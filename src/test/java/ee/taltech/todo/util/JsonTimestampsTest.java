@@ -0,0 +1,85 @@
+package ee.taltech.todo.util;
+
+import com.google.gson.stream.JsonWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JsonTimestamps.
+ */
+class JsonTimestampsTest {
+
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    @Test
+    void testWrite_ShouldMatchIsoFormatter() throws IOException {
+        LocalDateTime[] values = {
+                LocalDateTime.of(2025, 10, 4, 12, 30),
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5),
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5, 100_000_000),
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5, 120_000),
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_456_789),
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5, 1),
+                LocalDateTime.of(7, 12, 31, 23, 59, 59),
+                LocalDateTime.of(12345, 6, 7, 8, 9),
+                LocalDateTime.of(-44, 3, 15, 0, 0)
+        };
+
+        for (LocalDateTime value : values) {
+            assertEquals("\"" + value.format(ISO) + "\"", write(value), value.toString());
+        }
+    }
+
+    @Test
+    void testWrite_WithNull_ShouldWriteNull() throws IOException {
+        assertEquals("null", write(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2025-10-04T12:30",
+            "2025-10-04T12:30:15",
+            "2025-10-04T12:30:15.5",
+            "2025-10-04T12:30:15.123456789",
+            "2024-02-29T00:00",
+            "2025-10-04t12:30",
+            "2025-10-04T12:30:15.",
+            "+12345-06-07T08:09"
+    })
+    void testParse_ShouldMatchIsoFormatter(String text) {
+        assertEquals(LocalDateTime.parse(text, ISO), JsonTimestamps.parse(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2025-02-29T00:00",
+            "2025-13-01T00:00",
+            "2025-10-04T24:00",
+            "2025-10-04T12:30:15.1234567890",
+            "2025-10-04T12:3x",
+            "2025-10-04",
+            "2025-10-04T12:30Z",
+            ""
+    })
+    void testParse_WithInvalidText_ShouldThrowParseException(String text) {
+        assertThrows(DateTimeParseException.class, () -> JsonTimestamps.parse(text));
+    }
+
+    private static String write(LocalDateTime value) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter writer = new JsonWriter(out);
+        writer.setLenient(true);
+        JsonTimestamps.write(writer, value);
+        writer.flush();
+        return out.toString();
+    }
+}
@@ -5,7 +5,14 @@ import ee.taltech.todo.model.TaskPriority;
 import ee.taltech.todo.model.TaskStatus;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -113,4 +120,33 @@ class JsonUtilTest {
         assertEquals(original.getPriority(), deserialized.getPriority());
         assertEquals(original.isStarred(), deserialized.isStarred());
     }
+
+    @Test
+    void testWriteArray_ShouldMatchToJsonOfMappedList() throws IOException {
+        List<String> ids = Arrays.asList("1", "2", "ä");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonUtil.writeArray(out, ids, JsonUtilTest::dto);
+
+        String expected = JsonUtil.toJson(ids.stream().map(JsonUtilTest::dto).collect(Collectors.toList()));
+        assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteArray_WithNoElements_ShouldWriteEmptyArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonUtil.writeArray(out, Collections.emptyList(), item -> item);
+
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static TaskDTO dto(String id) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(id);
+        dto.setTitle("Task " + id);
+        dto.setStatus(TaskStatus.PENDING);
+        dto.setDueDate(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        return dto;
+    }
 }
@@ -0,0 +1,87 @@
+package ee.taltech.todo.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SampledLogger.
+ */
+class SampledLoggerTest {
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        logger = (Logger) LoggerFactory.getLogger("ee.taltech.todo.util.SampledLoggerTest.target");
+        logger.setAdditive(false);
+        logger.setLevel(Level.DEBUG);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void testDebug_ShouldPassMessagesUpToTheLimit() {
+        SampledLogger sampled = new SampledLogger(logger, 3);
+
+        for (int i = 0; i < 10; i++) {
+            sampled.debug("Message {}", i);
+        }
+
+        // A new second may start part way, so more than the limit can pass, but not all
+        assertTrue(appender.list.size() >= 3 && appender.list.size() < 10, "Passed: " + appender.list.size());
+        assertEquals("Message 0", appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    void testDebug_WhenLevelIsDisabled_ShouldNotUseTheLimit() {
+        SampledLogger sampled = new SampledLogger(logger, 1);
+        logger.setLevel(Level.INFO);
+
+        sampled.debug("Dropped by level {}", 1);
+        sampled.info("Kept {}", 2);
+
+        assertEquals(1, appender.list.size());
+        assertEquals("Kept 2", appender.list.get(0).getFormattedMessage());
+        assertEquals(0, sampled.getDroppedCount());
+        assertFalse(sampled.isDebugEnabled());
+        assertTrue(sampled.isInfoEnabled());
+    }
+
+    @Test
+    void testTryPass_InTheNextSecond_ShouldReportDroppedMessages() throws InterruptedException {
+        SampledLogger sampled = new SampledLogger(logger, 1);
+        sampled.debug("First");
+        sampled.debug("Second");
+        sampled.debug("Third");
+
+        Thread.sleep(1100);
+        sampled.debug("Later");
+
+        ILoggingEvent last = appender.list.get(appender.list.size() - 1);
+        assertEquals("Later", last.getFormattedMessage());
+        assertTrue(appender.list.stream().anyMatch(event -> event.getLevel() == Level.INFO
+                && event.getFormattedMessage().contains("dropped")));
+        assertEquals(0, sampled.getDroppedCount());
+    }
+
+    @Test
+    void testConstructor_WithInvalidValues_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new SampledLogger(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SampledLogger(logger, 0));
+    }
+}